@@ -0,0 +1,54 @@
+package com.thiefspin.bookingsystem;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reference generation when the first candidate is unique, with the uniqueness lookup answered by
+ * a stub-only Mockito mock; what remains is {@link java.util.UUID} generation, formatting and the
+ * stream pipeline.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BookingReferenceGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingReferenceGeneratorBenchmark {
+
+  private BookingReferenceGenerator generator;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    AppointmentRepository repository = mock(AppointmentRepository.class,
+        withSettings().stubOnly());
+    when(repository.existsBookingReference(anyString())).thenReturn(false);
+    generator = new BookingReferenceGenerator(repository,
+        new BookingMetrics(new SimpleMeterRegistry()));
+  }
+
+  @Benchmark
+  public String generate() {
+    return generator.generate();
+  }
+}
@@ -0,0 +1,55 @@
+package com.thiefspin.bookingsystem.appointments;
+
+import com.thiefspin.bookingsystem.appointments.requests.AppointmentRequest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping between the appointment entity, the API model and booking requests.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=AppointmentEntityBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentEntityBenchmark {
+
+  private AppointmentEntity entity;
+  private AppointmentRequest request;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    LocalDateTime appointmentDateTime = LocalDateTime.of(2025, 1, 6, 9, 30);
+    entity = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", "+27821234567", appointmentDateTime, 30, "Account opening",
+        "Please call me 5 minutes before", AppointmentStatus.CONFIRMED, Instant.now(),
+        Instant.now(), null, null);
+    request = new AppointmentRequest(1L, "John", "Doe", "john.doe@example.com", "+27821234567",
+        appointmentDateTime, 30, "Account opening", "Please call me 5 minutes before");
+  }
+
+  @Benchmark
+  public Appointment toModel() {
+    return entity.toModel();
+  }
+
+  @Benchmark
+  public AppointmentEntity fromRequest() {
+    return AppointmentEntity.fromRequest(request, "BK12345678");
+  }
+}
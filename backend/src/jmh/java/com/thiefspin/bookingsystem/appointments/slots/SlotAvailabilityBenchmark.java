@@ -0,0 +1,98 @@
+package com.thiefspin.bookingsystem.appointments.slots;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Slot generation for one day of a branch open from 08:00 to 17:00, and the search for the next
+ * free slot across a fully booked week. The repository is a stub-only Mockito mock that reports
+ * {@code booked} appointments in every slot, so its cost is part of every figure; the search gets
+ * the week's bookings in one call, as a map with an entry for every slot.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=SlotAvailabilityBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotAvailabilityBenchmark {
+
+  private static final int DAYS = 7;
+
+  @Param({"15", "30"})
+  private int slotMinutes;
+
+  private SlotAvailabilityService service;
+  private SlotAvailabilityService fullyBookedService;
+  private Branch branch;
+  private List<Branch> branches;
+  private LocalDate date;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    branch = new Branch(1L, "JHB-001", "Johannesburg Central", "123 Main Street",
+        "+27111234567", LocalTime.of(8, 0), LocalTime.of(17, 0), 3);
+    branches = List.of(branch);
+    date = LocalDate.now().plusDays(1);
+    service = service(1);
+    fullyBookedService = service(3);
+  }
+
+  private SlotAvailabilityService service(int booked) {
+    AppointmentRepository repository = mock(AppointmentRepository.class,
+        withSettings().stubOnly());
+    when(repository.countActiveAppointmentsAtTime(anyLong(), any())).thenReturn(booked);
+    Map<LocalDateTime, Integer> week = new HashMap<>();
+    for (LocalDateTime slot = date.atTime(branch.openingTime());
+        slot.isBefore(date.plusDays(DAYS).atStartOfDay()); slot = slot.plusMinutes(slotMinutes)) {
+      week.put(slot, booked);
+    }
+    when(repository.countActiveAppointmentsBySlot(anyCollection(), any(), any()))
+        .thenReturn(Map.of(branch.id(), week));
+    SlotAvailabilityService slots = new SlotAvailabilityService(repository,
+        new BookingMetrics(new SimpleMeterRegistry()));
+    ReflectionTestUtils.setField(slots, "slotDurationMinutes", slotMinutes);
+    return slots;
+  }
+
+  @Benchmark
+  public List<TimeSlot> availableSlots() {
+    return service.getAvailableSlots(branch, date);
+  }
+
+  @Benchmark
+  public Map<Long, TimeSlot> nextAvailableSlotFullyBooked() {
+    return fullyBookedService.findNextAvailableSlots(branches, date, DAYS);
+  }
+}
@@ -0,0 +1,98 @@
+package com.thiefspin.bookingsystem.appointments.validation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Booking and cancellation checks that pass, and an operating hours check that fails, which
+ * includes the cost of building the {@link BadRequestException}. The branch and appointment
+ * lookups are answered by stub-only Mockito mocks.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=AppointmentValidatorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentValidatorBenchmark {
+
+  private AppointmentValidator validator;
+  private Branch branch;
+  private AppointmentEntity appointment;
+  private LocalDateTime withinHours;
+  private LocalDateTime afterClosing;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    branch = new Branch(1L, "JHB-001", "Johannesburg Central", "123 Main Street",
+        "+27111234567", LocalTime.of(8, 0), LocalTime.of(17, 0), 3);
+    AppointmentRepository repository = mock(AppointmentRepository.class,
+        withSettings().stubOnly());
+    when(repository.countActiveAppointmentsAtTime(anyLong(), any())).thenReturn(1);
+    BranchService branchService = mock(BranchService.class, withSettings().stubOnly());
+    when(branchService.findById(1L)).thenReturn(Optional.of(branch));
+    validator = new AppointmentValidator(repository, branchService,
+        new BookingMetrics(new SimpleMeterRegistry()));
+
+    withinHours = LocalDateTime.now().plusDays(1).with(LocalTime.of(10, 0));
+    afterClosing = withinHours.with(LocalTime.of(16, 45));
+    appointment = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", "+27821234567", withinHours, 30, "Account opening", null,
+        AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null);
+  }
+
+  @Benchmark
+  public void slotAvailable() throws BadRequestException {
+    validator.validateSlotAvailable(1L, withinHours);
+  }
+
+  @Benchmark
+  public void withinOperatingHours() throws BadRequestException {
+    validator.validateWithinOperatingHours(branch, withinHours, 30);
+  }
+
+  @Benchmark
+  public BadRequestException outsideOperatingHours() {
+    try {
+      validator.validateWithinOperatingHours(branch, afterClosing, 30);
+      return null;
+    } catch (BadRequestException ex) {
+      return ex;
+    }
+  }
+
+  @Benchmark
+  public void cancellable() throws BadRequestException {
+    validator.validateCancellable(appointment);
+  }
+}
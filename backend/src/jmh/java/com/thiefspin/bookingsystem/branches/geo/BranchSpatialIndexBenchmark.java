@@ -0,0 +1,85 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Nearest-k and radius queries against branches scattered over South Africa.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=BranchSpatialIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BranchSpatialIndexBenchmark {
+
+  private static final int QUERY_COUNT = 1024;
+
+  @Param("100000")
+  private int branchCount;
+
+  private List<BranchEntity> entities;
+  private BranchSpatialIndex index;
+  private double[] latitudes;
+  private double[] longitudes;
+  private int cursor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    Instant now = Instant.now();
+    entities = new ArrayList<>(branchCount);
+    for (long id = 1; id <= branchCount; id++) {
+      entities.add(new BranchEntity(id, "B" + id, "Branch " + id, "Address " + id,
+          "+27215550101", null, LocalTime.of(8, 0), LocalTime.of(17, 0), 3,
+          random.nextInt(10) > 0, now, now,
+          random.nextDouble(-34.8, -22.1), random.nextDouble(16.5, 32.9)));
+    }
+    index = BranchSpatialIndex.build(entities);
+
+    latitudes = new double[QUERY_COUNT];
+    longitudes = new double[QUERY_COUNT];
+    for (int i = 0; i < QUERY_COUNT; i++) {
+      latitudes[i] = random.nextDouble(-34.8, -22.1);
+      longitudes[i] = random.nextDouble(16.5, 32.9);
+    }
+  }
+
+  @Benchmark
+  public List<BranchDistance> nearest10() {
+    int i = cursor++ & (QUERY_COUNT - 1);
+    return index.nearest(latitudes[i], longitudes[i], 10, null, true);
+  }
+
+  @Benchmark
+  public List<BranchDistance> within5Km() {
+    int i = cursor++ & (QUERY_COUNT - 1);
+    return index.within(latitudes[i], longitudes[i], 5, true);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public BranchSpatialIndex build() {
+    return BranchSpatialIndex.build(entities);
+  }
+}
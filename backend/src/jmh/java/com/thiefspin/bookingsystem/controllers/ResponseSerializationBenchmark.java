@@ -0,0 +1,80 @@
+package com.thiefspin.bookingsystem.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
+import com.thiefspin.bookingsystem.branches.Branch;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialization of the two largest read responses: a day of slots and a page of
+ * branches. The mapper is configured as Spring Boot configures the application's, with dates
+ * written as ISO strings.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=ResponseSerializationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+  private ObjectMapper mapper;
+  private List<TimeSlot> slots;
+  private Page<Branch> branches;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    mapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+            SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+        .build();
+
+    slots = new ArrayList<>();
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+    for (int i = 0; i < 18; i++) {
+      LocalDateTime slotStart = start.plusMinutes(30L * i);
+      slots.add(new TimeSlot(slotStart, slotStart.plusMinutes(30), i % 3 != 0, i % 4, 3));
+    }
+
+    List<Branch> content = new ArrayList<>();
+    for (int i = 1; i <= 20; i++) {
+      content.add(new Branch((long) i, "JHB-%03d".formatted(i), "Johannesburg Branch " + i,
+          i + " Main Street, Johannesburg, 2001", "+27-11-555-%04d".formatted(i),
+          LocalTime.of(8, 0), LocalTime.of(17, 0), 3));
+    }
+    branches = new PageImpl<>(content, PageRequest.of(0, 20), 250);
+  }
+
+  @Benchmark
+  public byte[] slots() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(slots);
+  }
+
+  @Benchmark
+  public byte[] branchPage() throws JsonProcessingException {
+    return mapper.writeValueAsBytes(branches);
+  }
+}
@@ -0,0 +1,76 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Messages per second through a single SMTP connection to {@link SmtpTestServer}, with and
+ * without pipelining, and with a simulated round-trip latency to the relay.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=SmtpThroughputBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SmtpThroughputBenchmark {
+
+  private static final int BATCH = 20;
+
+  @Param({"true", "false"})
+  private boolean pipelining;
+
+  @Param({"0", "1"})
+  private long latencyMillis;
+
+  private SmtpTestServer server;
+  private SmtpMailer mailer;
+  private SmtpMessage message;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    server = new SmtpTestServer(pipelining, Duration.ofMillis(latencyMillis), false);
+    mailer = new SmtpMailer(new SmtpProperties("127.0.0.1", server.port(), null, null, false,
+        "bookings@company.com", "bench", 1, BATCH, 10_000, Integer.MAX_VALUE,
+        Duration.ofMinutes(5), Duration.ofSeconds(2), Duration.ofSeconds(10),
+        Duration.ofSeconds(30), 0.0, null));
+    mailer.start();
+    message = new SmtpMessage("bookings@company.com", "customer@example.com",
+        "Appointment confirmed - BK12345678",
+        "Dear John Doe,\n\nYour appointment has been confirmed!\n".repeat(10));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    mailer.stop();
+    server.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void sendBatch() {
+    CompletableFuture<?>[] sends = new CompletableFuture<?>[BATCH];
+    for (int i = 0; i < BATCH; i++) {
+      sends[i] = mailer.submit(message);
+    }
+    CompletableFuture.allOf(sends).join();
+  }
+}
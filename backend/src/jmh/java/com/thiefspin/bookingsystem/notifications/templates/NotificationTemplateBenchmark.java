@@ -0,0 +1,91 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannel;
+import com.thiefspin.bookingsystem.notifications.channels.RenderedNotification;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Rendering throughput of the shipped templates, against formatting the same text with
+ * {@link String#formatted} and {@link DateTimeFormatter} as notifications used to be built.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=NotificationTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationTemplateBenchmark {
+
+  private static final DateTimeFormatter DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy 'at' h:mm a");
+
+  private static final String BASELINE = """
+      Dear %s %s,
+
+      Your appointment has been confirmed!
+
+      Booking Details:
+         Reference: %s
+         Date/Time: %s
+         Duration: %d minutes%s
+
+      Important Information:
+         - Please save your booking reference for future use
+         - To cancel or modify, you'll need your email and reference
+         - You will receive a reminder 24 hours before your appointment
+      """;
+
+  private NotificationTemplates templates;
+  private AppointmentEntity appointment;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    templates = new NotificationTemplates(new DefaultResourceLoader());
+    appointment = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", "+27821234567", LocalDateTime.of(2025, 1, 6, 9, 30), 30,
+        "Account opening", null, AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null);
+  }
+
+  @Benchmark
+  public RenderedNotification confirmationEmail() {
+    return templates.render(NotificationEventType.CONFIRMATION, NotificationChannel.EMAIL,
+        appointment);
+  }
+
+  @Benchmark
+  public RenderedNotification confirmationSms() {
+    return templates.render(NotificationEventType.CONFIRMATION, NotificationChannel.SMS,
+        appointment);
+  }
+
+  @Benchmark
+  public String formattedBaseline() {
+    return BASELINE.formatted(
+        appointment.customerFirstName(),
+        appointment.customerLastName(),
+        appointment.bookingReference(),
+        appointment.appointmentDateTime().format(DATE_TIME_FORMATTER),
+        appointment.durationMinutes(),
+        appointment.purpose() != null ? "\n   Purpose: " + appointment.purpose() : "");
+  }
+}
@@ -0,0 +1,22 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * The bookable slots of a branch, assuming the application's 30 minute slots.
+ */
+record BranchSlots(long id, LocalTime openingTime, LocalTime closingTime, int capacity) {
+
+  static final int SLOT_MINUTES = 30;
+
+  int slotsPerDay() {
+    return (int) (Duration.between(openingTime, closingTime).toMinutes() / SLOT_MINUTES);
+  }
+
+  LocalDateTime slot(LocalDate date, int index) {
+    return LocalDateTime.of(date, openingTime.plusMinutes((long) SLOT_MINUTES * index));
+  }
+}
@@ -0,0 +1,38 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Bookings racing for the same slot: every {@code contenders} consecutive arrivals ask for one
+ * slot of {@code branch}, more than it can hold, then the rush moves on to the next slot. The
+ * slots are past the seeded days, so each starts empty.
+ */
+record HotSlotRush(URI baseUri, double rate, BranchSlots branch, LocalDate firstDay,
+                   int contenders) implements Workload {
+
+  @Override
+  public String name() {
+    return "hot-slot-rush";
+  }
+
+  @Override
+  public HttpRequest request(long arrival, SplittableRandom random) {
+    long slotNumber = arrival / contenders;
+    LocalDateTime slot = branch.slot(firstDay.plusDays(slotNumber / branch.slotsPerDay()),
+        (int) (slotNumber % branch.slotsPerDay()));
+    String body = """
+        {"branchId":%d,"firstName":"Rush","lastName":"Customer%d",\
+        "email":"rush%d@example.com","phoneNumber":"+27821234567",\
+        "appointmentDateTime":"%s","durationMinutes":30}"""
+        .formatted(branch.id(), arrival, arrival, slot);
+    return HttpRequest.newBuilder(baseUri.resolve("/api/appointments/book"))
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofString(body))
+        .build();
+  }
+}
@@ -0,0 +1,188 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.thiefspin.bookingsystem.BookingSystemApplication;
+import com.thiefspin.bookingsystem.loadtest.LoadTestReport.OverbookedSlot;
+import com.thiefspin.bookingsystem.loadtest.LoadTestReport.WorkloadResult;
+import com.thiefspin.bookingsystem.loadtest.LookupCancelChurn.SeededAppointment;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Boots the application against a throwaway Postgres, seeds it, drives the slot browsing, hot
+ * slot rush and lookup/cancel churn workloads together and writes a {@link LoadTestReport}.
+ * <p>
+ * Run with {@code ./gradlew loadTest}, overriding any of {@link LoadTestSettings} with
+ * {@code -Ploadtest.<name>=<value>}, for example {@code -Ploadtest.rush-rate=200}. The
+ * application and the load generator share the machine, so numbers are only comparable between
+ * runs on the same hardware.
+ */
+public final class LoadTest {
+
+  // Seeds every slot of the first seed-days days to one short of capacity, so browsing sees
+  // realistic counts and bookings there still succeed
+  private static final String SEED_SQL = """
+      INSERT INTO booking.appointments (booking_reference, branch_id, customer_first_name,
+                                        customer_last_name, customer_email, customer_phone,
+                                        appointment_date_time, duration_minutes, status)
+      SELECT 'BK' || lpad(upper(to_hex(n)), 8, '0'), branch_id, 'Load', 'Customer',
+             'load' || n || '@example.com', '+27821234567', slot, 30,
+             'CONFIRMED'::booking.appointment_status
+      FROM (SELECT row_number() OVER () AS n, b.id AS branch_id,
+                   (current_date + d) + b.opening_time + make_interval(mins => 30 * s) AS slot
+            FROM booking.branches b
+                     CROSS JOIN generate_series(1, ?) AS d
+                     CROSS JOIN LATERAL generate_series(0,
+                         (EXTRACT(EPOCH FROM b.closing_time - b.opening_time) / 1800)::INT - 1) AS s
+                     CROSS JOIN LATERAL generate_series(1,
+                         b.max_concurrent_appointments_per_slot - 1) AS seat
+            WHERE b.is_active) seeded
+      """;
+
+  private static final String OVERBOOKED_SQL = """
+      SELECT a.branch_id, a.appointment_date_time, COUNT(*) AS booked,
+             b.max_concurrent_appointments_per_slot AS capacity
+      FROM booking.appointments a
+               JOIN booking.branches b ON b.id = a.branch_id
+      WHERE a.status IN ('PENDING', 'CONFIRMED')
+      GROUP BY a.branch_id, a.appointment_date_time, b.max_concurrent_appointments_per_slot
+      HAVING COUNT(*) > b.max_concurrent_appointments_per_slot
+      ORDER BY a.branch_id, a.appointment_date_time
+      """;
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+        .withDatabaseName("booking_system_load")
+        .withCommand("postgres", "-c", "max_connections=200")) {
+      postgres.start();
+      try (ConfigurableApplicationContext app = start(postgres)) {
+        LoadTestReport report = run(settings, app);
+        write(settings, report);
+      }
+    }
+  }
+
+  private static ConfigurableApplicationContext start(PostgreSQLContainer<?> postgres) {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("spring.datasource.url", postgres.getJdbcUrl());
+    properties.put("spring.datasource.username", postgres.getUsername());
+    properties.put("spring.datasource.password", postgres.getPassword());
+    properties.put("server.port", "0");
+    properties.put("logging.level.com.thiefspin.bookingsystem", "INFO");
+    properties.put("logging.level.org.springframework.web.cors", "INFO");
+    return new SpringApplicationBuilder(BookingSystemApplication.class)
+        .properties(properties)
+        .run();
+  }
+
+  private static LoadTestReport run(LoadTestSettings settings, ConfigurableApplicationContext app)
+      throws InterruptedException {
+    JdbcTemplate jdbcTemplate = app.getBean(JdbcTemplate.class);
+    URI baseUri = URI.create("http://localhost:"
+        + app.getEnvironment().getRequiredProperty("local.server.port"));
+
+    List<BranchSlots> branches = jdbcTemplate.query("""
+            SELECT id, opening_time, closing_time, max_concurrent_appointments_per_slot
+            FROM booking.branches
+            WHERE is_active
+            ORDER BY id
+            """,
+        (rs, row) -> new BranchSlots(rs.getLong("id"),
+            rs.getTime("opening_time").toLocalTime(), rs.getTime("closing_time").toLocalTime(),
+            rs.getInt("max_concurrent_appointments_per_slot")));
+
+    LocalDate firstDay = LocalDate.now().plusDays(1);
+    // The rush books past the seeded days, one slot per contenders arrivals
+    int rushDays = (int) Math.ceil(settings.rushRate()
+        * (settings.warmup().plus(settings.duration()).toSeconds() + 1)
+        / settings.rushContenders() / branches.get(0).slotsPerDay()) + 1;
+    LocalDate rushFirstDay = firstDay.plusDays(settings.seedDays());
+    for (YearMonth month = YearMonth.from(firstDay);
+        !month.isAfter(YearMonth.from(rushFirstDay.plusDays(rushDays)));
+        month = month.plusMonths(1)) {
+      jdbcTemplate.queryForObject("SELECT booking.create_appointment_partition(?)",
+          String.class, month.atDay(1));
+    }
+    int seeded = jdbcTemplate.update(SEED_SQL, settings.seedDays());
+    jdbcTemplate.execute("ANALYZE booking.appointments");
+    List<SeededAppointment> appointments = jdbcTemplate.query("""
+            SELECT customer_email, booking_reference
+            FROM booking.appointments
+            WHERE customer_email LIKE 'load%'
+            """,
+        (rs, row) -> new SeededAppointment(rs.getString(1), rs.getString(2)));
+    System.out.printf("Seeded %d appointments across %d branches%n", seeded, branches.size());
+
+    List<Workload> workloads = List.of(
+        new SlotBrowsing(baseUri, settings.browseRate(), branches, firstDay),
+        new HotSlotRush(baseUri, settings.rushRate(), branches.get(0), rushFirstDay,
+            settings.rushContenders()),
+        new LookupCancelChurn(baseUri, settings.churnRate(), appointments,
+            settings.cancelRatio())
+    );
+    List<WorkloadStats> stats = workloads.stream().map(workload -> new WorkloadStats()).toList();
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+    Instant startedAt = Instant.now();
+    System.out.printf("Warming up for %s, then measuring for %s%n", settings.warmup(),
+        settings.duration());
+    new OpenModelDriver(client, settings.requestTimeout(), settings.maxInFlight())
+        .run(workloads, stats, settings.warmup(), settings.duration());
+
+    double seconds = settings.duration().toMillis() / 1000.0;
+    List<WorkloadResult> results = new ArrayList<>();
+    for (int i = 0; i < workloads.size(); i++) {
+      results.add(stats.get(i).result(workloads.get(i).name(), workloads.get(i).rate(), seconds));
+    }
+    List<OverbookedSlot> overbooked = jdbcTemplate.query(OVERBOOKED_SQL,
+        (rs, row) -> new OverbookedSlot(rs.getLong("branch_id"),
+            rs.getObject("appointment_date_time", LocalDateTime.class), rs.getInt("booked"),
+            rs.getInt("capacity")));
+    return new LoadTestReport(startedAt, seconds, seeded, results, overbooked);
+  }
+
+  private static void write(LoadTestSettings settings, LoadTestReport report) throws Exception {
+    ObjectMapper mapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(SerializationFeature.INDENT_OUTPUT);
+    if (settings.report().getParent() != null) {
+      Files.createDirectories(settings.report().getParent());
+    }
+    mapper.writeValue(settings.report().toFile(), report);
+
+    for (WorkloadResult workload : report.workloads()) {
+      System.out.printf("%-20s %8.1f req/s (%8.1f ok/s)  p50 %7.1f ms  p99 %7.1f ms  "
+              + "max %7.1f ms  rejected %d  failed %d%n",
+          workload.name(), workload.throughput(), workload.successThroughput(),
+          workload.latencyMillis().p50(), workload.latencyMillis().p99(),
+          workload.latencyMillis().max(), workload.rejected(), workload.failed());
+    }
+    System.out.printf("Overbooked slots: %d%nReport written to %s%n",
+        report.overbookedSlots().size(), settings.report().toAbsolutePath());
+  }
+}
@@ -0,0 +1,38 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The machine-readable result of a run. Throughput is per second of the measured period;
+ * {@code rejected} counts 4xx responses, which the rush and churn workloads expect, and
+ * {@code failed} counts 5xx responses, transport errors and arrivals dropped because
+ * {@code max-in-flight} requests were outstanding.
+ */
+record LoadTestReport(
+    Instant startedAt,
+    double measuredSeconds,
+    int seededAppointments,
+    List<WorkloadResult> workloads,
+    List<OverbookedSlot> overbookedSlots
+) {
+
+  record WorkloadResult(
+      String name,
+      double targetRate,
+      double throughput,
+      double successThroughput,
+      long completed,
+      long succeeded,
+      long rejected,
+      long failed,
+      Latency latencyMillis,
+      Map<String, Long> outcomes
+  ) {}
+
+  record Latency(double p50, double p90, double p99, double p999, double max, double mean) {}
+
+  record OverbookedSlot(long branchId, LocalDateTime slot, int booked, int capacity) {}
+}
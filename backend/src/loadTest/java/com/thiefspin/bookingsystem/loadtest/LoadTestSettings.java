@@ -0,0 +1,43 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Read from {@code loadtest.*} system properties, which {@code ./gradlew loadTest} passes on from
+ * {@code -Ploadtest.*}. Rates are arrivals per second; a rate of zero disables the workload.
+ */
+record LoadTestSettings(
+    Duration warmup,
+    Duration duration,
+    double browseRate,
+    double rushRate,
+    double churnRate,
+    int rushContenders,
+    double cancelRatio,
+    int seedDays,
+    int maxInFlight,
+    Duration requestTimeout,
+    Path report
+) {
+
+  static LoadTestSettings fromSystemProperties() {
+    return new LoadTestSettings(
+        Duration.parse(property("warmup", "PT15S")),
+        Duration.parse(property("duration", "PT60S")),
+        Double.parseDouble(property("browse-rate", "200")),
+        Double.parseDouble(property("rush-rate", "50")),
+        Double.parseDouble(property("churn-rate", "50")),
+        Integer.parseInt(property("rush-contenders", "20")),
+        Double.parseDouble(property("cancel-ratio", "0.25")),
+        Integer.parseInt(property("seed-days", "14")),
+        Integer.parseInt(property("max-in-flight", "10000")),
+        Duration.parse(property("request-timeout", "PT10S")),
+        Path.of(property("report", "build/reports/load-test/report.json"))
+    );
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty("loadtest." + name, defaultValue);
+  }
+}
@@ -0,0 +1,40 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Customers looking up seeded appointments by email and reference, a share of whom then cancel.
+ * Appointments are picked at random, so later in a run some cancellations find the appointment
+ * already cancelled and are rejected.
+ */
+record LookupCancelChurn(URI baseUri, double rate, List<SeededAppointment> appointments,
+                         double cancelRatio) implements Workload {
+
+  record SeededAppointment(String email, String bookingReference) {}
+
+  @Override
+  public String name() {
+    return "lookup-cancel-churn";
+  }
+
+  @Override
+  public HttpRequest request(long arrival, SplittableRandom random) {
+    SeededAppointment appointment = appointments.get(random.nextInt(appointments.size()));
+    String query = "?email=" + URLEncoder.encode(appointment.email(), StandardCharsets.UTF_8)
+        + "&bookingReference=" + appointment.bookingReference();
+    if (random.nextDouble() < cancelRatio) {
+      return HttpRequest.newBuilder(baseUri.resolve("/api/appointments/cancel" + query))
+          .PUT(BodyPublishers.noBody())
+          .build();
+    }
+    return HttpRequest.newBuilder(baseUri.resolve("/api/appointments/lookup" + query))
+        .GET()
+        .build();
+  }
+}
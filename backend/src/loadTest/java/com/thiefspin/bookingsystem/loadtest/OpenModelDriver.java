@@ -0,0 +1,115 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives workloads as an open model: arrivals follow a Poisson process at each workload's rate
+ * whether or not earlier requests have completed, and every request is sent from its own virtual
+ * thread. A closed model, where a fixed set of users wait for each response, would slow down with
+ * the server and hide exactly the queueing this is meant to find.
+ */
+final class OpenModelDriver {
+
+  private final HttpClient client;
+
+  private final Duration requestTimeout;
+
+  private final Semaphore inFlight;
+
+  OpenModelDriver(HttpClient client, Duration requestTimeout, int maxInFlight) {
+    this.client = client;
+    this.requestTimeout = requestTimeout;
+    this.inFlight = new Semaphore(maxInFlight);
+  }
+
+  /**
+   * Runs {@code workloads} side by side for {@code warmup} and then {@code duration}, and waits
+   * for outstanding requests. Only requests due after the warmup are recorded in {@code stats}.
+   */
+  void run(List<Workload> workloads, List<WorkloadStats> stats, Duration warmup,
+      Duration duration) throws InterruptedException {
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Thread> schedulers = new ArrayList<>();
+      for (int i = 0; i < workloads.size(); i++) {
+        Workload workload = workloads.get(i);
+        WorkloadStats workloadStats = stats.get(i);
+        if (workload.rate() > 0) {
+          schedulers.add(Thread.ofPlatform().name("arrivals-" + workload.name()).start(
+              () -> schedule(workload, workloadStats, requests, start, measureFrom, end)));
+        }
+      }
+
+      for (Thread scheduler : schedulers) {
+        scheduler.join();
+      }
+    }
+  }
+
+  private void schedule(Workload workload, WorkloadStats stats, ExecutorService requests,
+      long start, long measureFrom, long end) {
+    SplittableRandom random = new SplittableRandom(workload.name().hashCode());
+    double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / workload.rate();
+    long due = start;
+    for (long arrival = 0; ; arrival++) {
+      due += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+      if (due >= end) {
+        return;
+      }
+      long wait = due - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      // Warmup requests are sent but not recorded
+      WorkloadStats recorder = due >= measureFrom ? stats : null;
+      if (!inFlight.tryAcquire()) {
+        if (recorder != null) {
+          recorder.dropped();
+        }
+        continue;
+      }
+      HttpRequest request = workload.request(arrival, random);
+      long dueAt = due;
+      requests.execute(() -> send(request, recorder, dueAt));
+    }
+  }
+
+  private void send(HttpRequest request, WorkloadStats stats, long due) {
+    try {
+      int status = client.send(withTimeout(request), BodyHandlers.discarding()).statusCode();
+      if (stats != null) {
+        stats.response(status, System.nanoTime() - due);
+      }
+    } catch (Exception ex) {
+      if (ex instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      if (stats != null) {
+        stats.failure(ex, System.nanoTime() - due);
+      }
+    } finally {
+      inFlight.release();
+    }
+  }
+
+  private HttpRequest withTimeout(HttpRequest request) {
+    return HttpRequest.newBuilder(request, (name, value) -> true)
+        .timeout(requestTimeout)
+        .build();
+  }
+}
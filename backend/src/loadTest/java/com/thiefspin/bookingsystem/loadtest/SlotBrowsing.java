@@ -0,0 +1,30 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Customers browsing the slots of a random branch on a random day in the next two weeks, most of
+ * which the slots cache has seen before.
+ */
+record SlotBrowsing(URI baseUri, double rate, List<BranchSlots> branches, LocalDate firstDay)
+    implements Workload {
+
+  @Override
+  public String name() {
+    return "slot-browsing";
+  }
+
+  @Override
+  public HttpRequest request(long arrival, SplittableRandom random) {
+    BranchSlots branch = branches.get(random.nextInt(branches.size()));
+    LocalDate date = firstDay.plusDays(random.nextInt(14));
+    return HttpRequest.newBuilder(baseUri.resolve(
+            "/api/appointments/slots?branchId=" + branch.id() + "&date=" + date))
+        .GET()
+        .build();
+  }
+}
@@ -0,0 +1,17 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * A stream of requests arriving at {@link #rate()} per second. Requests are built on the single
+ * thread that schedules the workload's arrivals, so implementations need not be thread-safe.
+ */
+interface Workload {
+
+  String name();
+
+  double rate();
+
+  HttpRequest request(long arrival, SplittableRandom random);
+}
@@ -0,0 +1,80 @@
+package com.thiefspin.bookingsystem.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+
+/**
+ * Latency and outcomes of one workload. Latency runs from when a request was due to be sent, not
+ * when it was, so a stalled server is charged for the requests that queued up behind it.
+ */
+final class WorkloadStats {
+
+  private final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+
+  private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+  private final LongAdder succeeded = new LongAdder();
+
+  private final LongAdder rejected = new LongAdder();
+
+  private final LongAdder failed = new LongAdder();
+
+  void response(int status, long latencyNanos) {
+    latency.recordValue(latencyNanos);
+    outcome("HTTP " + status);
+    if (status < 400) {
+      succeeded.increment();
+    } else if (status < 500) {
+      rejected.increment();
+    } else {
+      failed.increment();
+    }
+  }
+
+  void failure(Throwable error, long latencyNanos) {
+    latency.recordValue(latencyNanos);
+    outcome(error.getClass().getSimpleName());
+    failed.increment();
+  }
+
+  void dropped() {
+    outcome("dropped");
+    failed.increment();
+  }
+
+  LoadTestReport.WorkloadResult result(String name, double targetRate, double seconds) {
+    long completed = succeeded.sum() + rejected.sum() + failed.sum();
+    Map<String, Long> counts = new TreeMap<>();
+    outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+    return new LoadTestReport.WorkloadResult(
+        name,
+        targetRate,
+        completed / seconds,
+        succeeded.sum() / seconds,
+        completed,
+        succeeded.sum(),
+        rejected.sum(),
+        failed.sum(),
+        new LoadTestReport.Latency(
+            millis(latency.getValueAtPercentile(50)),
+            millis(latency.getValueAtPercentile(90)),
+            millis(latency.getValueAtPercentile(99)),
+            millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()),
+            latency.getMean() / TimeUnit.MILLISECONDS.toNanos(1)),
+        counts
+    );
+  }
+
+  private void outcome(String outcome) {
+    outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
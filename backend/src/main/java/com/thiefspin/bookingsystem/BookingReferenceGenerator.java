@@ -1,6 +1,9 @@
 package com.thiefspin.bookingsystem;
 
 import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
@@ -15,23 +18,37 @@ public class BookingReferenceGenerator {
 
   private AppointmentRepository repository;
 
+  private BookingMetrics metrics;
+
   public String generate() {
-    return Stream.generate(this::generateRandom)
-        .limit(MAX_ATTEMPTS)
-        .filter(this::isReferenceUnique)
-        .findFirst()
-        .orElseThrow(() -> new IllegalStateException(
-            "Failed to generate unique reference"
-        ));
+    long started = System.nanoTime();
+    boolean success = false;
+    try {
+      String reference = Stream.generate(this::candidate)
+          .limit(MAX_ATTEMPTS)
+          .filter(this::isReferenceUnique)
+          .findFirst()
+          .orElseThrow(() -> new IllegalStateException(
+              "Failed to generate unique reference"
+          ));
+      success = true;
+      return reference;
+    } finally {
+      metrics.record(Operation.GENERATE_REFERENCE, started, success);
+    }
   }
 
-  private String generateRandom() {
-    String uuid = UUID.randomUUID().toString().replace("-", "").toUpperCase();
+  /**
+   * Returns a reference in the booking reference format without checking that it is unused, for
+   * callers that check many at once and {@link #generate()} a replacement for any that are taken.
+   */
+  public String candidate() {
+    String uuid = UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
     return PREFIX + uuid.substring(0, 8);
   }
 
   private boolean isReferenceUnique(String reference) {
-    return repository.findByBookingReference(reference).isEmpty();
+    return !repository.existsBookingReference(reference);
   }
 }
 
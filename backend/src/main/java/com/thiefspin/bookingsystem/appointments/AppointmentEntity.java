@@ -44,7 +44,7 @@ public record AppointmentEntity(
     String notes,
 
     @Column("status")
-    String status,
+    AppointmentStatus status,
 
     @Column("created_at")
     Instant createdAt,
@@ -72,7 +72,7 @@ public record AppointmentEntity(
         durationMinutes,
         purpose,
         notes,
-        AppointmentStatus.valueOf(status)
+        status
     );
   }
 
@@ -89,7 +89,7 @@ public record AppointmentEntity(
         request.durationMinutes(),
         request.purpose(),
         request.notes(),
-        AppointmentStatus.CONFIRMED.name(),
+        AppointmentStatus.CONFIRMED,
         Instant.now(),
         Instant.now(),
         null,
@@ -110,7 +110,7 @@ public record AppointmentEntity(
         this.durationMinutes(),
         this.purpose(),
         this.notes(),
-        AppointmentStatus.CANCELLED.name(),
+        AppointmentStatus.CANCELLED,
         this.createdAt(),
         cancelledAt,
         cancelledAt,
@@ -2,16 +2,37 @@ package com.thiefspin.bookingsystem.appointments;
 
 import com.thiefspin.bookingsystem.util.repository.BaseDataRepository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AppointmentRepository extends BaseDataRepository<AppointmentEntity, Long> {
+public interface AppointmentRepository extends BaseDataRepository<AppointmentEntity, Long>,
+    AppointmentSlotRepository {
 
-  Optional<AppointmentEntity> findByBookingReference(String bookingReference);
+  /**
+   * Looks the reference up in {@code booking_references} first, so only the partition holding
+   * the appointment is read.
+   */
+  @Query("SELECT a.* FROM booking.booking_references r " +
+      "JOIN booking.appointments a " +
+      "ON a.id = r.appointment_id AND a.appointment_date_time = r.appointment_date_time " +
+      "WHERE r.booking_reference = :bookingReference")
+  Optional<AppointmentEntity> findByBookingReference(
+      @Param("bookingReference") String bookingReference
+  );
+
+  /**
+   * Whether the reference was ever handed out, including to appointments since archived or
+   * detached with their partition, which {@link #findByBookingReference} no longer finds.
+   */
+  @Query("SELECT EXISTS (SELECT 1 FROM booking.booking_references " +
+      "WHERE booking_reference = :bookingReference)")
+  boolean existsBookingReference(@Param("bookingReference") String bookingReference);
 
   @Query("SELECT * FROM booking.appointments " +
       "WHERE branch_id = :branchId " +
@@ -33,8 +54,82 @@ public interface AppointmentRepository extends BaseDataRepository<AppointmentEnt
       @Param("dateTime") LocalDateTime dateTime
   );
 
+  @Query("SELECT a.* FROM booking.booking_references r " +
+      "JOIN booking.appointments a " +
+      "ON a.id = r.appointment_id AND a.appointment_date_time = r.appointment_date_time " +
+      "WHERE r.booking_reference = :bookingReference " +
+      "AND a.customer_email = :customerEmail")
   List<AppointmentEntity> findByCustomerEmailAndBookingReference(
-      String customerEmail,
-      String bookingReference
+      @Param("customerEmail") String customerEmail,
+      @Param("bookingReference") String bookingReference
+  );
+
+  /**
+   * Claims up to {@code limit} confirmed appointments up to {@code until} that still need a
+   * reminder, in {@code (appointment_date_time, id)} order after the given keyset cursor. Rows
+   * locked by another node are skipped, and the claim lapses on its own after the lease.
+   * Appointments booked less than {@code leadSeconds} ahead are never claimed.
+   */
+  @Query("UPDATE booking.appointments a " +
+      "SET reminder_claimed_until = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds) " +
+      "WHERE a.id IN (" +
+      "  SELECT id FROM booking.appointments " +
+      "  WHERE status = 'CONFIRMED' AND reminder_sent_at IS NULL " +
+      "  AND (appointment_date_time, id) > (:afterDateTime, :afterId) " +
+      "  AND appointment_date_time <= :until " +
+      "  AND (reminder_claimed_until IS NULL OR reminder_claimed_until < CURRENT_TIMESTAMP) " +
+      "  AND created_at < appointment_date_time - make_interval(secs => :leadSeconds) " +
+      "  ORDER BY appointment_date_time, id " +
+      "  LIMIT :limit " +
+      "  FOR UPDATE SKIP LOCKED" +
+      ") " +
+      "AND a.appointment_date_time >= :afterDateTime AND a.appointment_date_time <= :until " +
+      "RETURNING a.*")
+  List<AppointmentEntity> claimReminders(
+      @Param("afterDateTime") LocalDateTime afterDateTime,
+      @Param("afterId") Long afterId,
+      @Param("until") LocalDateTime until,
+      @Param("limit") int limit,
+      @Param("leaseSeconds") double leaseSeconds,
+      @Param("leadSeconds") double leadSeconds
+  );
+
+  @Modifying
+  @Query("UPDATE booking.appointments " +
+      "SET reminder_sent_at = CURRENT_TIMESTAMP, reminder_claimed_until = NULL " +
+      "WHERE id IN (:ids)")
+  int markRemindersSent(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("UPDATE booking.appointments SET reminder_claimed_until = NULL " +
+      "WHERE id IN (:ids) AND reminder_sent_at IS NULL")
+  int releaseReminderClaims(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Closes up to {@code limit} pending or confirmed appointments that started before
+   * {@code cutoff}, in {@code (appointment_date_time, id)} order after the given keyset cursor:
+   * confirmed ones become {@code COMPLETED} and ones never confirmed become {@code NO_SHOW}.
+   * Rows changed concurrently are re-checked by the outer condition, so a cancellation that
+   * commits first wins.
+   */
+  @Query("UPDATE booking.appointments a " +
+      "SET status = CAST(CASE a.status WHEN 'CONFIRMED' THEN 'COMPLETED' ELSE 'NO_SHOW' END " +
+      "  AS booking.appointment_status) " +
+      "WHERE a.id IN (" +
+      "  SELECT id FROM booking.appointments " +
+      "  WHERE status IN ('PENDING', 'CONFIRMED') " +
+      "  AND (appointment_date_time, id) > (:afterDateTime, :afterId) " +
+      "  AND appointment_date_time < :cutoff " +
+      "  ORDER BY appointment_date_time, id " +
+      "  LIMIT :limit" +
+      ") " +
+      "AND a.status IN ('PENDING', 'CONFIRMED') " +
+      "AND a.appointment_date_time >= :afterDateTime AND a.appointment_date_time < :cutoff " +
+      "RETURNING a.*")
+  List<AppointmentEntity> closePastAppointments(
+      @Param("afterDateTime") LocalDateTime afterDateTime,
+      @Param("afterId") Long afterId,
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("limit") int limit
   );
 }
@@ -7,7 +7,13 @@ import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
 import com.thiefspin.bookingsystem.appointments.validation.AppointmentValidator;
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
-import com.thiefspin.bookingsystem.notifications.NotificationService;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.config.jfr.AppointmentEvent;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.outbox.NotificationOutbox;
 import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
 import java.time.Instant;
@@ -16,6 +22,7 @@ import java.util.List;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,8 +41,14 @@ public class AppointmentService {
 
   private final SlotAvailabilityService slotAvailabilityService;
 
-  private final NotificationService notificationService;
+  private final NotificationOutbox notificationOutbox;
 
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  private final BookingMetrics metrics;
+
+  @Cacheable(cacheNames = CacheNames.LOOKUPS, key = "#email + '|' + #bookingReference",
+      sync = true)
   public Optional<Appointment> findByEmailAndReference(String email, String bookingReference) {
     return repository.findByCustomerEmailAndBookingReference(email, bookingReference)
         .stream()
@@ -46,48 +59,75 @@ public class AppointmentService {
   @Transactional
   public Appointment createAppointment(AppointmentRequest request)
       throws NotFoundException, BadRequestException {
-    var branch = fetchBranch(request.branchId());
-
-    validator.validateSlotAvailable(request.branchId(), request.appointmentDateTime());
-    validator.validateWithinOperatingHours(branch, request.appointmentDateTime(),
-        request.durationMinutes());
-
-    String bookingReference = referenceGenerator.generate();
-    AppointmentEntity entity = AppointmentEntity.fromRequest(request, bookingReference);
-    AppointmentEntity saved = repository.save(entity);
-
-    notificationService.sendConfirmationEvent(saved)
-        .exceptionally(ex -> {
-          log.error("Failed to send confirmation event for appointment {}", saved.id(), ex);
-          return null;
-        });
-
-    return saved.toModel();
+    long started = System.nanoTime();
+    AppointmentEvent event = new AppointmentEvent();
+    event.start();
+    boolean success = false;
+    try {
+      var branch = fetchBranch(request.branchId());
+
+      validator.validateWithinBookingHorizon(request.appointmentDateTime());
+      validator.validateSlotAvailable(request.branchId(), request.appointmentDateTime());
+      validator.validateWithinOperatingHours(branch, request.appointmentDateTime(),
+          request.durationMinutes());
+
+      String bookingReference = referenceGenerator.generate();
+      AppointmentEntity entity = AppointmentEntity.fromRequest(request, bookingReference);
+      AppointmentEntity saved = repository.save(entity);
+      invalidateSlots(saved);
+
+      notificationOutbox.enqueue(saved, NotificationEventType.CONFIRMATION);
+
+      success = true;
+      return saved.toModel();
+    } finally {
+      metrics.record(Operation.CREATE_APPOINTMENT, started, success);
+      event.finish("create", request.branchId(), request.appointmentDateTime(), success);
+    }
   }
 
   @Transactional
   public Appointment cancelAppointment(String bookingReference, String reason)
       throws NotFoundException, BadRequestException {
-    AppointmentEntity appointment = repository.findByBookingReference(bookingReference)
-        .orElseThrow(() -> new NotFoundException("Appointment not found"));
-
-    validator.validateCancellable(appointment);
-
-    AppointmentEntity cancelled = appointment.withCancellation(reason, Instant.now());
-    AppointmentEntity saved = repository.save(cancelled);
-
-    notificationService.sendCancellationEvent(saved)
-        .exceptionally(ex -> {
-          log.error("Failed to send cancellation event for appointment {}", saved.id(), ex);
-          return null;
-        });
-
-    return saved.toModel();
+    long started = System.nanoTime();
+    AppointmentEvent event = new AppointmentEvent();
+    event.start();
+    AppointmentEntity appointment = null;
+    boolean success = false;
+    try {
+      appointment = repository.findByBookingReference(bookingReference)
+          .orElseThrow(() -> new NotFoundException("Appointment not found"));
+
+      validator.validateCancellable(appointment);
+
+      AppointmentEntity cancelled = appointment.withCancellation(reason, Instant.now());
+      AppointmentEntity saved = repository.save(cancelled);
+      invalidateSlots(saved);
+      cacheInvalidationBus.evict(CacheNames.LOOKUPS,
+          saved.customerEmail() + '|' + saved.bookingReference());
+
+      notificationOutbox.enqueue(saved, NotificationEventType.CANCELLATION);
+
+      success = true;
+      return saved.toModel();
+    } finally {
+      metrics.record(Operation.CANCEL_APPOINTMENT, started, success);
+      event.finish("cancel",
+          appointment == null ? null : appointment.branchId(),
+          appointment == null ? null : appointment.appointmentDateTime(),
+          success);
+    }
   }
 
+  @Cacheable(cacheNames = CacheNames.SLOTS, key = "#branchId + ':' + #date", sync = true)
   public List<TimeSlot> getAvailableSlots(Long branchId, LocalDate date) throws NotFoundException {
     var branch = fetchBranch(branchId);
-    return slotAvailabilityService.getAvailableSlots(branch, date);
+    return List.copyOf(slotAvailabilityService.getAvailableSlots(branch, date));
+  }
+
+  private void invalidateSlots(AppointmentEntity appointment) {
+    cacheInvalidationBus.evict(CacheNames.SLOTS,
+        appointment.branchId() + ":" + appointment.appointmentDateTime().toLocalDate());
   }
 
   private Branch fetchBranch(Long branchId) throws NotFoundException {
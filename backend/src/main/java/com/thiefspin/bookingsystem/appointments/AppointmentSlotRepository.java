@@ -0,0 +1,15 @@
+package com.thiefspin.bookingsystem.appointments;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface AppointmentSlotRepository {
+
+  /**
+   * Active bookings per branch and start time in {@code [start, end)}, read with one grouped
+   * query. Start times without active bookings are absent.
+   */
+  Map<Long, Map<LocalDateTime, Integer>> countActiveAppointmentsBySlot(
+      Collection<Long> branchIds, LocalDateTime start, LocalDateTime end);
+}
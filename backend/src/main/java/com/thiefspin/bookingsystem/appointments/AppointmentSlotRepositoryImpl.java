@@ -0,0 +1,44 @@
+package com.thiefspin.bookingsystem.appointments;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+class AppointmentSlotRepositoryImpl implements AppointmentSlotRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public Map<Long, Map<LocalDateTime, Integer>> countActiveAppointmentsBySlot(
+      Collection<Long> branchIds, LocalDateTime start, LocalDateTime end) {
+    if (branchIds.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<Long, Map<LocalDateTime, Integer>> counts = new HashMap<>();
+    jdbcTemplate.query("""
+            SELECT branch_id, appointment_date_time, COUNT(*) AS bookings
+            FROM booking.appointments
+            WHERE branch_id IN (:branchIds)
+            AND appointment_date_time >= :start
+            AND appointment_date_time < :end
+            AND status IN ('PENDING', 'CONFIRMED')
+            GROUP BY branch_id, appointment_date_time
+            """,
+        new MapSqlParameterSource()
+            .addValue("branchIds", branchIds)
+            .addValue("start", start)
+            .addValue("end", end),
+        rs -> {
+          counts.computeIfAbsent(rs.getLong("branch_id"), id -> new HashMap<>())
+              .put(rs.getObject("appointment_date_time", LocalDateTime.class),
+                  rs.getInt("bookings"));
+        });
+    return counts;
+  }
+}
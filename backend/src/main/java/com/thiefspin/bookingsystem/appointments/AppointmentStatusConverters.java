@@ -0,0 +1,51 @@
+package com.thiefspin.bookingsystem.appointments;
+
+import java.sql.JDBCType;
+import java.util.List;
+import org.postgresql.util.PGobject;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.jdbc.core.mapping.JdbcValue;
+
+/**
+ * Maps {@link AppointmentStatus} to the {@code booking.appointment_status} column type. Values are
+ * bound untyped so Postgres casts them to the enum; a plain string would be sent as
+ * {@code varchar}, which Postgres does not cast implicitly.
+ */
+public final class AppointmentStatusConverters {
+
+  private AppointmentStatusConverters() {
+  }
+
+  public static List<Converter<?, ?>> all() {
+    return List.of(new ToColumn(), new FromString(), new FromPgObject());
+  }
+
+  @WritingConverter
+  static final class ToColumn implements Converter<AppointmentStatus, JdbcValue> {
+
+    @Override
+    public JdbcValue convert(AppointmentStatus source) {
+      return JdbcValue.of(source.name(), JDBCType.OTHER);
+    }
+  }
+
+  @ReadingConverter
+  static final class FromString implements Converter<String, AppointmentStatus> {
+
+    @Override
+    public AppointmentStatus convert(String source) {
+      return AppointmentStatus.valueOf(source);
+    }
+  }
+
+  @ReadingConverter
+  static final class FromPgObject implements Converter<PGobject, AppointmentStatus> {
+
+    @Override
+    public AppointmentStatus convert(PGobject source) {
+      return AppointmentStatus.valueOf(source.getValue());
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Utilization of a branch over a date range, served from the rollups")
+public record BranchUtilization(
+
+    @Schema(description = "ID of the branch", example = "1")
+    Long branchId,
+
+    @Schema(description = "First day of the range", example = "2025-01-01", format = "date")
+    LocalDate from,
+
+    @Schema(description = "Last day of the range, inclusive", example = "2025-01-31",
+        format = "date")
+    LocalDate to,
+
+    @Schema(description = "Booked minutes as a percentage of the branch's capacity",
+        example = "62.5")
+    double occupancyPercent,
+
+    @Schema(description = "Appointments booked and not cancelled", example = "420")
+    long bookings,
+
+    @Schema(description = "Appointments cancelled", example = "35")
+    long cancellations,
+
+    @Schema(description = "Cancelled appointments as a percentage of all appointments made",
+        example = "7.7")
+    double cancellationRatePercent,
+
+    @Schema(description = "Appointments the customer did not attend", example = "12")
+    long noShows,
+
+    @Schema(description = "Occupancy per day of the week")
+    List<WeekdayUtilization> byWeekday,
+
+    @Schema(description = "Occupancy per hour of the day, for the hours the branch is open")
+    List<HourUtilization> byHour,
+
+    @Schema(description = "Appointments made, by how far ahead they were booked")
+    List<LeadTimeCount> leadTimes
+) {}
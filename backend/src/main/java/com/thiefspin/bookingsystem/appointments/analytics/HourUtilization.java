@@ -0,0 +1,13 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Occupancy of a branch in one hour of the day")
+public record HourUtilization(
+
+    @Schema(description = "Hour of the day", example = "9", minimum = "0", maximum = "23")
+    int hour,
+
+    @Schema(description = "Booked minutes as a percentage of capacity", example = "84.0")
+    double occupancyPercent
+) {}
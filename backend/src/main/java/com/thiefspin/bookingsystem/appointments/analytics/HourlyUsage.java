@@ -0,0 +1,8 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import java.time.DayOfWeek;
+
+/**
+ * Booked minutes summed over every hourly bucket with the same weekday and hour of day.
+ */
+record HourlyUsage(DayOfWeek dayOfWeek, int hour, long bookedMinutes) {}
@@ -0,0 +1,15 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+/**
+ * How far ahead of the appointment a booking was made. The ordinals are the values
+ * {@code booking.lead_time_bucket} stores, so constants may only be appended.
+ */
+public enum LeadTimeBucket {
+  UNDER_1_HOUR,
+  UNDER_1_DAY,
+  UNDER_3_DAYS,
+  UNDER_7_DAYS,
+  UNDER_14_DAYS,
+  UNDER_30_DAYS,
+  OVER_30_DAYS
+}
@@ -0,0 +1,14 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of appointments booked within a lead time bucket")
+public record LeadTimeCount(
+
+    @Schema(description = "How far ahead of the appointment it was booked",
+        example = "UNDER_7_DAYS")
+    LeadTimeBucket leadTime,
+
+    @Schema(description = "Appointments booked", example = "120")
+    long bookings
+) {}
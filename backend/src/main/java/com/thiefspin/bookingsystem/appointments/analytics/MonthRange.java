@@ -0,0 +1,14 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import java.time.YearMonth;
+import java.util.stream.Stream;
+
+/**
+ * The months from {@code first} to {@code last}, both inclusive.
+ */
+public record MonthRange(YearMonth first, YearMonth last) {
+
+  Stream<YearMonth> months() {
+    return Stream.iterate(first, month -> !month.isAfter(last), month -> month.plusMonths(1));
+  }
+}
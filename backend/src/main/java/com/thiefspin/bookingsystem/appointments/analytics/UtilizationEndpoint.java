@@ -0,0 +1,37 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import java.time.YearMonth;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code POST /actuator/utilization} rebuilds the utilization rollups, optionally only for the
+ * months {@code from} to {@code to} given as {@code yyyy-MM}.
+ * <p>
+ * A rebuild holds a repeatable-read snapshot per month, and the endpoint has no authentication
+ * of its own, so it is not exposed over HTTP by default. Add it to {@code ACTUATOR_WEB_EXPOSURE}
+ * only behind an internal {@code management.server.port}.
+ */
+@Component
+@Endpoint(id = "utilization")
+@AllArgsConstructor
+public class UtilizationEndpoint {
+
+  private final UtilizationRebuild rebuild;
+
+  @WriteOperation
+  public Map<String, Integer> rebuild(@Nullable String from, @Nullable String to) {
+    int months;
+    if (from == null) {
+      months = rebuild.rebuild();
+    } else {
+      YearMonth first = YearMonth.parse(from);
+      months = rebuild.rebuild(new MonthRange(first, to == null ? first : YearMonth.parse(to)));
+    }
+    return Map.of("monthsRebuilt", months);
+  }
+}
@@ -0,0 +1,26 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code rebuildLease} has to cover the slowest single month of a rebuild, as it is renewed once
+ * per month recomputed.
+ */
+@ConfigurationProperties(prefix = "appointments.analytics")
+public record UtilizationProperties(
+    Integer batchSize,
+    Integer maxBatchesPerPoll,
+    Duration lease,
+    Integer rebuildParallelism,
+    Duration rebuildLease
+) {
+
+  public UtilizationProperties {
+    batchSize = batchSize == null ? 1000 : batchSize;
+    maxBatchesPerPoll = maxBatchesPerPoll == null ? 20 : maxBatchesPerPoll;
+    lease = lease == null ? Duration.ofMinutes(1) : lease;
+    rebuildParallelism = rebuildParallelism == null ? 4 : rebuildParallelism;
+    rebuildLease = rebuildLease == null ? Duration.ofMinutes(30) : rebuildLease;
+  }
+}
@@ -0,0 +1,106 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes the utilization rollups from {@code booking.appointments}, one month per task on
+ * {@code rebuild-parallelism} threads.
+ * <p>
+ * Every month is replaced in its own repeatable read transaction: the rollups are recomputed from
+ * the transaction's snapshot and only the deltas visible in that snapshot are dropped, so changes
+ * committed while a month is rebuilt are folded on top afterwards rather than lost or counted
+ * twice. The rollup lease is held throughout so no deltas are folded meanwhile.
+ * <p>
+ * Months whose appointments have been archived or detached since cannot be recomputed, which is
+ * why a rebuild only covers the months it is given, by default those that still have
+ * appointments.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(UtilizationProperties.class)
+public class UtilizationRebuild {
+
+  private final UtilizationRepository repository;
+
+  private final TransactionTemplate repeatableRead;
+
+  private final JobLeases jobLeases;
+
+  private final UtilizationProperties properties;
+
+  public UtilizationRebuild(UtilizationRepository repository,
+      PlatformTransactionManager transactionManager, JobLeases jobLeases,
+      UtilizationProperties properties) {
+    this.repository = repository;
+    this.repeatableRead = new TransactionTemplate(transactionManager);
+    this.repeatableRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.jobLeases = jobLeases;
+    this.properties = properties;
+  }
+
+  /**
+   * Rebuilds every month with appointments and returns how many months were rebuilt.
+   */
+  public int rebuild() {
+    return repository.appointmentMonths().map(this::rebuild).orElse(0);
+  }
+
+  /**
+   * Rebuilds the given months and returns how many were rebuilt, or fails with
+   * {@link IllegalStateException} when a fold or another rebuild is under way.
+   */
+  public int rebuild(MonthRange range) {
+    Optional<JobLease> acquired = jobLeases.tryAcquire(UtilizationRollups.JOB_NAME,
+        properties.rebuildLease());
+    if (acquired.isEmpty()) {
+      throw new IllegalStateException("Utilization rollups are being updated elsewhere");
+    }
+
+    JobLease lease = acquired.get();
+    ExecutorService workers = Executors.newFixedThreadPool(properties.rebuildParallelism(),
+        Thread.ofPlatform().name("utilization-rebuild-", 0).factory());
+    List<Future<?>> tasks = new ArrayList<>();
+    try {
+      for (YearMonth month : range.months().toList()) {
+        tasks.add(workers.submit(() -> {
+          repeatableRead.executeWithoutResult(status -> repository.rebuild(month));
+          log.debug("Rebuilt utilization rollups for {}", month);
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+        if (!jobLeases.renew(lease, properties.rebuildLease())) {
+          throw new IllegalStateException("Lost the utilization rollup lease during a rebuild");
+        }
+      }
+      log.info("Rebuilt utilization rollups for {} months from {} to {}", tasks.size(),
+          range.first(), range.last());
+      return tasks.size();
+    } catch (ExecutionException ex) {
+      throw ex.getCause() instanceof RuntimeException cause
+          ? cause
+          : new IllegalStateException("Failed to rebuild utilization rollups", ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while rebuilding utilization rollups", ex);
+    } finally {
+      workers.shutdownNow();
+      jobLeases.release(lease);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads and maintains the rollup tables of {@code V11__Utilization_rollups.sql}.
+ */
+@Repository
+public class UtilizationRepository {
+
+  private static final String FOLD_SQL = """
+      WITH batch AS (
+          DELETE FROM booking.utilization_deltas
+          WHERE id IN (SELECT id FROM booking.utilization_deltas ORDER BY id LIMIT ?)
+          RETURNING *
+      ),
+      hourly AS (
+          INSERT INTO booking.utilization_hourly AS h
+              (branch_id, bucket_start, booked, booked_minutes, cancelled, no_shows)
+          SELECT branch_id, date_trunc('hour', appointment_date_time), SUM(booked),
+                 SUM(booked_minutes), SUM(cancelled), SUM(no_shows)
+          FROM batch
+          GROUP BY 1, 2
+          ON CONFLICT (branch_id, bucket_start) DO UPDATE
+          SET booked = h.booked + EXCLUDED.booked,
+              booked_minutes = h.booked_minutes + EXCLUDED.booked_minutes,
+              cancelled = h.cancelled + EXCLUDED.cancelled,
+              no_shows = h.no_shows + EXCLUDED.no_shows
+      ),
+      daily AS (
+          INSERT INTO booking.utilization_daily AS d
+              (branch_id, bucket_date, booked, booked_minutes, cancelled, no_shows)
+          SELECT branch_id, appointment_date_time::DATE, SUM(booked), SUM(booked_minutes),
+                 SUM(cancelled), SUM(no_shows)
+          FROM batch
+          GROUP BY 1, 2
+          ON CONFLICT (branch_id, bucket_date) DO UPDATE
+          SET booked = d.booked + EXCLUDED.booked,
+              booked_minutes = d.booked_minutes + EXCLUDED.booked_minutes,
+              cancelled = d.cancelled + EXCLUDED.cancelled,
+              no_shows = d.no_shows + EXCLUDED.no_shows
+      ),
+      lead_times AS (
+          INSERT INTO booking.utilization_lead_times AS l
+              (branch_id, bucket_date, lead_time_bucket, bookings)
+          SELECT branch_id, appointment_date_time::DATE, lead_time_bucket, COUNT(*)
+          FROM batch
+          WHERE lead_time_bucket IS NOT NULL
+          GROUP BY 1, 2, 3
+          ON CONFLICT (branch_id, bucket_date, lead_time_bucket) DO UPDATE
+          SET bookings = l.bookings + EXCLUDED.bookings
+      )
+      SELECT COUNT(*) FROM batch
+      """;
+
+  private static final String[] CLEAR_MONTH_SQL = {
+      "DELETE FROM booking.utilization_deltas"
+          + " WHERE appointment_date_time >= ? AND appointment_date_time < ?",
+      "DELETE FROM booking.utilization_hourly WHERE bucket_start >= ? AND bucket_start < ?",
+      "DELETE FROM booking.utilization_daily WHERE bucket_date >= ? AND bucket_date < ?",
+      "DELETE FROM booking.utilization_lead_times WHERE bucket_date >= ? AND bucket_date < ?"
+  };
+
+  private static final String REBUILD_HOURLY_SQL = """
+      INSERT INTO booking.utilization_hourly
+          (branch_id, bucket_start, booked, booked_minutes, cancelled, no_shows)
+      SELECT branch_id,
+             date_trunc('hour', appointment_date_time),
+             COUNT(*) FILTER (WHERE status <> 'CANCELLED'),
+             COALESCE(SUM(duration_minutes) FILTER (WHERE status <> 'CANCELLED'), 0),
+             COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+             COUNT(*) FILTER (WHERE status = 'NO_SHOW')
+      FROM booking.appointments
+      WHERE appointment_date_time >= ? AND appointment_date_time < ?
+      GROUP BY 1, 2
+      """;
+
+  private static final String REBUILD_DAILY_SQL = """
+      INSERT INTO booking.utilization_daily
+          (branch_id, bucket_date, booked, booked_minutes, cancelled, no_shows)
+      SELECT branch_id, bucket_start::DATE, SUM(booked), SUM(booked_minutes), SUM(cancelled),
+             SUM(no_shows)
+      FROM booking.utilization_hourly
+      WHERE bucket_start >= ? AND bucket_start < ?
+      GROUP BY 1, 2
+      """;
+
+  private static final String REBUILD_LEAD_TIMES_SQL = """
+      INSERT INTO booking.utilization_lead_times
+          (branch_id, bucket_date, lead_time_bucket, bookings)
+      SELECT branch_id,
+             appointment_date_time::DATE,
+             booking.lead_time_bucket(appointment_date_time - created_at),
+             COUNT(*)
+      FROM booking.appointments
+      WHERE appointment_date_time >= ? AND appointment_date_time < ?
+      GROUP BY 1, 2, 3
+      """;
+
+  private static final String HOURLY_USAGE_SQL = """
+      SELECT EXTRACT(ISODOW FROM bucket_start)::INT AS day_of_week,
+             EXTRACT(HOUR FROM bucket_start)::INT AS hour,
+             SUM(booked_minutes) AS booked_minutes
+      FROM booking.utilization_hourly
+      WHERE branch_id = ? AND bucket_start >= ? AND bucket_start < ?
+      GROUP BY 1, 2
+      """;
+
+  private static final String TOTALS_SQL = """
+      SELECT COALESCE(SUM(booked), 0) AS booked,
+             COALESCE(SUM(booked_minutes), 0) AS booked_minutes,
+             COALESCE(SUM(cancelled), 0) AS cancelled,
+             COALESCE(SUM(no_shows), 0) AS no_shows
+      FROM booking.utilization_daily
+      WHERE branch_id = ? AND bucket_date >= ? AND bucket_date <= ?
+      """;
+
+  private static final String LEAD_TIMES_SQL = """
+      SELECT lead_time_bucket, SUM(bookings) AS bookings
+      FROM booking.utilization_lead_times
+      WHERE branch_id = ? AND bucket_date >= ? AND bucket_date <= ?
+      GROUP BY lead_time_bucket
+      """;
+
+  private static final String MONTHS_SQL = """
+      SELECT date_trunc('month', MIN(appointment_date_time))::DATE AS first_month,
+             date_trunc('month', MAX(appointment_date_time))::DATE AS last_month
+      FROM booking.appointments
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UtilizationRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Applies up to {@code limit} of the oldest pending deltas to the rollups and removes them,
+   * returning how many were applied.
+   */
+  public int fold(int limit) {
+    Integer folded = jdbcTemplate.queryForObject(FOLD_SQL, Integer.class, limit);
+    return folded == null ? 0 : folded;
+  }
+
+  /**
+   * Replaces the rollups of {@code month} with ones computed from the appointments, dropping the
+   * month's pending deltas. Has to run in a single repeatable read transaction, so the deltas
+   * dropped are exactly the changes the recomputed rollups already include.
+   */
+  public void rebuild(YearMonth month) {
+    LocalDate start = month.atDay(1);
+    LocalDate end = month.plusMonths(1).atDay(1);
+    for (String sql : CLEAR_MONTH_SQL) {
+      jdbcTemplate.update(sql, start, end);
+    }
+    jdbcTemplate.update(REBUILD_HOURLY_SQL, start.atStartOfDay(), end.atStartOfDay());
+    jdbcTemplate.update(REBUILD_DAILY_SQL, start.atStartOfDay(), end.atStartOfDay());
+    jdbcTemplate.update(REBUILD_LEAD_TIMES_SQL, start.atStartOfDay(), end.atStartOfDay());
+  }
+
+  /**
+   * The first and last month with appointments, or empty when there are none.
+   */
+  public Optional<MonthRange> appointmentMonths() {
+    return jdbcTemplate.query(MONTHS_SQL, rs -> {
+      rs.next();
+      LocalDate first = rs.getObject("first_month", LocalDate.class);
+      LocalDate last = rs.getObject("last_month", LocalDate.class);
+      return first == null
+          ? Optional.empty()
+          : Optional.of(new MonthRange(YearMonth.from(first), YearMonth.from(last)));
+    });
+  }
+
+  public List<HourlyUsage> hourlyUsage(Long branchId, LocalDate from, LocalDate to) {
+    return jdbcTemplate.query(HOURLY_USAGE_SQL, (rs, rowNum) -> new HourlyUsage(
+        DayOfWeek.of(rs.getInt("day_of_week")),
+        rs.getInt("hour"),
+        rs.getLong("booked_minutes")
+    ), branchId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+  }
+
+  public UtilizationTotals totals(Long branchId, LocalDate from, LocalDate to) {
+    return jdbcTemplate.queryForObject(TOTALS_SQL, (rs, rowNum) -> new UtilizationTotals(
+        rs.getLong("booked"),
+        rs.getLong("booked_minutes"),
+        rs.getLong("cancelled"),
+        rs.getLong("no_shows")
+    ), branchId, from, to);
+  }
+
+  /**
+   * Bookings per lead time bucket, indexed by {@link LeadTimeBucket#ordinal()}.
+   */
+  public long[] leadTimes(Long branchId, LocalDate from, LocalDate to) {
+    long[] counts = new long[LeadTimeBucket.values().length];
+    jdbcTemplate.query(LEAD_TIMES_SQL, rs -> {
+      counts[rs.getInt("lead_time_bucket")] = rs.getLong("bookings");
+    }, branchId, from, to);
+    return counts;
+  }
+}
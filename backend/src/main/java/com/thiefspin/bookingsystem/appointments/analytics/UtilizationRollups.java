@@ -0,0 +1,85 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds the deltas that appointment inserts and status changes leave in
+ * {@code booking.utilization_deltas} into the hourly, daily and lead time rollups.
+ * <p>
+ * Each batch is one statement that deletes the oldest deltas and adds their sums to the rollups,
+ * so a batch is applied exactly once. The job shares its lease with {@link UtilizationRebuild},
+ * which must not have deltas folded under it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "appointments.analytics.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class UtilizationRollups {
+
+  static final String JOB_NAME = "utilization-rollups";
+
+  private final UtilizationRepository repository;
+
+  private final JobLeases jobLeases;
+
+  private final UtilizationProperties properties;
+
+  public UtilizationRollups(UtilizationRepository repository, JobLeases jobLeases,
+      UtilizationProperties properties) {
+    this.repository = repository;
+    this.jobLeases = jobLeases;
+    this.properties = properties;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${appointments.analytics.poll-interval:PT10S}",
+      initialDelayString = "${appointments.analytics.poll-interval:PT10S}"
+  )
+  public void run() {
+    try {
+      int folded = fold();
+      if (folded > 0) {
+        log.debug("Folded {} utilization deltas", folded);
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to fold utilization deltas", ex);
+    }
+  }
+
+  /**
+   * Folds up to {@code max-batches-per-poll} batches and returns how many deltas were folded.
+   * Does nothing when another node, or a rebuild, holds the lease.
+   */
+  int fold() {
+    Optional<JobLease> acquired = jobLeases.tryAcquire(JOB_NAME, properties.lease());
+    if (acquired.isEmpty()) {
+      log.debug("Utilization rollups are being updated elsewhere");
+      return 0;
+    }
+
+    JobLease lease = acquired.get();
+    int folded = 0;
+    try {
+      for (int batch = 0; batch < properties.maxBatchesPerPoll(); batch++) {
+        int count = repository.fold(properties.batchSize());
+        folded += count;
+        if (count < properties.batchSize() || !jobLeases.renew(lease, properties.lease())) {
+          break;
+        }
+      }
+    } finally {
+      jobLeases.release(lease);
+    }
+    return folded;
+  }
+}
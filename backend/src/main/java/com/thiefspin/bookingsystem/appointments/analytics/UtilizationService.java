@@ -0,0 +1,111 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves branch utilization from the rollups. Capacity is the branch's concurrent appointments
+ * per slot over its opening hours, every day of the range.
+ */
+@Service
+@AllArgsConstructor
+public class UtilizationService {
+
+  private static final int MINUTES_PER_HOUR = 60;
+
+  private final UtilizationRepository repository;
+
+  private final BranchService branchService;
+
+  public BranchUtilization utilization(Long branchId, LocalDate from, LocalDate to)
+      throws NotFoundException, BadRequestException {
+    if (to.isBefore(from)) {
+      throw new BadRequestException("End date must not be before start date");
+    }
+    Branch branch = branchService.findById(branchId)
+        .orElseThrow(() -> new NotFoundException("Branch not found"));
+
+    long[] hourCapacity = hourlyCapacity(branch);
+    long dayCapacity = 0;
+    for (long minutes : hourCapacity) {
+      dayCapacity += minutes;
+    }
+    long days = ChronoUnit.DAYS.between(from, to) + 1;
+    long[] weekdays = new long[DayOfWeek.values().length];
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      weekdays[day.getDayOfWeek().ordinal()]++;
+    }
+
+    long[] minutesByHour = new long[24];
+    long[] minutesByWeekday = new long[weekdays.length];
+    for (HourlyUsage usage : repository.hourlyUsage(branchId, from, to)) {
+      minutesByHour[usage.hour()] += usage.bookedMinutes();
+      minutesByWeekday[usage.dayOfWeek().ordinal()] += usage.bookedMinutes();
+    }
+
+    List<WeekdayUtilization> byWeekday = new ArrayList<>();
+    for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+      if (weekdays[dayOfWeek.ordinal()] > 0) {
+        byWeekday.add(new WeekdayUtilization(dayOfWeek, percent(
+            minutesByWeekday[dayOfWeek.ordinal()], weekdays[dayOfWeek.ordinal()] * dayCapacity)));
+      }
+    }
+    List<HourUtilization> byHour = new ArrayList<>();
+    for (int hour = 0; hour < hourCapacity.length; hour++) {
+      if (hourCapacity[hour] > 0) {
+        byHour.add(new HourUtilization(hour,
+            percent(minutesByHour[hour], days * hourCapacity[hour])));
+      }
+    }
+    List<LeadTimeCount> leadTimes = new ArrayList<>();
+    long[] leadTimeCounts = repository.leadTimes(branchId, from, to);
+    for (LeadTimeBucket bucket : LeadTimeBucket.values()) {
+      leadTimes.add(new LeadTimeCount(bucket, leadTimeCounts[bucket.ordinal()]));
+    }
+
+    UtilizationTotals totals = repository.totals(branchId, from, to);
+    return new BranchUtilization(
+        branchId,
+        from,
+        to,
+        percent(totals.bookedMinutes(), days * dayCapacity),
+        totals.booked(),
+        totals.cancelled(),
+        percent(totals.cancelled(), totals.booked() + totals.cancelled()),
+        totals.noShows(),
+        byWeekday,
+        byHour,
+        leadTimes
+    );
+  }
+
+  /**
+   * Appointment minutes the branch can take in each hour of a day.
+   */
+  static long[] hourlyCapacity(Branch branch) {
+    int opens = branch.openingTime().toSecondOfDay() / 60;
+    int closes = branch.closingTime().toSecondOfDay() / 60;
+    long[] capacity = new long[24];
+    for (int hour = 0; hour < capacity.length; hour++) {
+      int start = Math.max(opens, hour * MINUTES_PER_HOUR);
+      int end = Math.min(closes, (hour + 1) * MINUTES_PER_HOUR);
+      if (end > start) {
+        capacity[hour] = (long) (end - start) * branch.maxConcurrentAppointmentsPerSlot();
+      }
+    }
+    return capacity;
+  }
+
+  private static double percent(long part, long whole) {
+    return whole == 0 ? 0 : Math.round(part * 1000.0 / whole) / 10.0;
+  }
+}
@@ -0,0 +1,3 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+record UtilizationTotals(long booked, long bookedMinutes, long cancelled, long noShows) {}
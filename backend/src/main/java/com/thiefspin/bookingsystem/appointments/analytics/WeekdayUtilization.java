@@ -0,0 +1,14 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.DayOfWeek;
+
+@Schema(description = "Occupancy of a branch on one day of the week")
+public record WeekdayUtilization(
+
+    @Schema(description = "Day of the week", example = "MONDAY")
+    DayOfWeek dayOfWeek,
+
+    @Schema(description = "Booked minutes as a percentage of capacity", example = "71.3")
+    double occupancyPercent
+) {}
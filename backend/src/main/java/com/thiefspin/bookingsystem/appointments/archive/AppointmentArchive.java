@@ -0,0 +1,73 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import com.thiefspin.bookingsystem.appointments.Appointment;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only lookups of archived appointments by booking reference.
+ * <p>
+ * Segments are searched newest first, so if a run was interrupted between writing a segment and
+ * deleting its rows, the copy archived last wins. A segment's index is loaded on first use and
+ * kept; segments are never modified once their index exists.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class AppointmentArchive {
+
+  private final Path directory;
+
+  private final Map<Path, ArchiveSegment> segments = new ConcurrentHashMap<>();
+
+  public AppointmentArchive(ArchiveProperties properties) {
+    this.directory = properties.directory();
+  }
+
+  public Optional<Appointment> findByBookingReference(String bookingReference) {
+    try {
+      for (Path indexFile : indexFiles()) {
+        Optional<List<String>> fields = segment(indexFile).find(bookingReference);
+        if (fields.isPresent()) {
+          return Optional.of(ArchiveColumns.toEntity(fields.get()).toModel());
+        }
+      }
+      return Optional.empty();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to read the appointment archive", ex);
+    }
+  }
+
+  private List<Path> indexFiles() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(ArchiveSegmentWriter.INDEX_SUFFIX))
+          .sorted(Comparator.comparing(Path::getFileName).reversed())
+          .toList();
+    }
+  }
+
+  private ArchiveSegment segment(Path indexFile) throws IOException {
+    ArchiveSegment segment = segments.get(indexFile);
+    if (segment == null) {
+      segment = ArchiveSegment.open(indexFile);
+      segments.put(indexFile, segment);
+      log.debug("Opened archive segment {} with {} blocks", indexFile, segment.blocks());
+    }
+    return segment;
+  }
+}
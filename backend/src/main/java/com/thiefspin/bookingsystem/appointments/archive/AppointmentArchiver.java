@@ -0,0 +1,214 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closed appointments older than {@code min-age} out of {@code booking.appointments} into
+ * segments under {@code directory}, for {@link AppointmentArchive} to serve.
+ * <p>
+ * A run streams the rows through a server-side cursor with a fixed fetch size, in booking
+ * reference order, into a new {@link ArchiveSegmentWriter}; the ids written are spilled to a
+ * scratch file rather than kept in memory. Only once the segment is on disk and renamed into
+ * place are the rows deleted, in batches of their own. Their booking references stay reserved in
+ * {@code booking_references}, so an archived reference is never handed out again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "appointments.archive.enabled", havingValue = "true")
+public class AppointmentArchiver {
+
+  static final String JOB_NAME = "appointment-archive";
+
+  private static final DateTimeFormatter SEGMENT_NAME =
+      DateTimeFormatter.ofPattern("'appointments-'yyyyMMdd'T'HHmmss");
+
+  private static final String SELECT_SQL = "SELECT " + String.join(", ", ArchiveColumns.NAMES)
+      + " FROM booking.appointments"
+      + " WHERE appointment_date_time < ?"
+      + " AND status IN ('CANCELLED', 'COMPLETED', 'NO_SHOW')"
+      + " ORDER BY booking_reference COLLATE \"C\"";
+
+  private static final String DELETE_SQL = "DELETE FROM booking.appointments"
+      + " WHERE id = ANY (?) AND appointment_date_time < ?"
+      + " AND status IN ('CANCELLED', 'COMPLETED', 'NO_SHOW')";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate readOnly;
+
+  private final JobLeases jobLeases;
+
+  private final ArchiveProperties properties;
+
+  private final Clock clock;
+
+  @Autowired
+  public AppointmentArchiver(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager, JobLeases jobLeases,
+      ArchiveProperties properties) {
+    this(jdbcTemplate, transactionManager, jobLeases, properties, Clock.systemDefaultZone());
+  }
+
+  AppointmentArchiver(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+      JobLeases jobLeases, ArchiveProperties properties, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.jobLeases = jobLeases;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @Scheduled(cron = "${appointments.archive.cron:0 0 3 * * *}")
+  public void run() {
+    try {
+      long archived = archive();
+      if (archived > 0) {
+        log.info("Archived {} appointments", archived);
+      }
+    } catch (DataAccessException | UncheckedIOException ex) {
+      log.warn("Failed to archive appointments", ex);
+    }
+  }
+
+  /**
+   * Archives and deletes every eligible appointment, returning how many were archived. Does
+   * nothing when another node holds the lease.
+   */
+  long archive() {
+    Optional<JobLease> acquired = jobLeases.tryAcquire(JOB_NAME, properties.lease());
+    if (acquired.isEmpty()) {
+      log.debug("Appointment archival is running on another node");
+      return 0;
+    }
+
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime cutoff = now.minus(properties.minAge());
+    String name = SEGMENT_NAME.format(now);
+    Path directory = properties.directory();
+    Path dataFile = directory.resolve(name + ArchiveSegmentWriter.DATA_SUFFIX);
+    Path indexFile = directory.resolve(name + ArchiveSegmentWriter.INDEX_SUFFIX);
+    Path dataTmp = directory.resolve(name + ArchiveSegmentWriter.DATA_SUFFIX + ".tmp");
+    Path indexTmp = directory.resolve(name + ArchiveSegmentWriter.INDEX_SUFFIX + ".tmp");
+    Path idsFile = directory.resolve(name + ".ids.tmp");
+    try {
+      Files.createDirectories(directory);
+      long rows = export(cutoff, dataTmp, indexTmp, idsFile);
+      if (rows == 0) {
+        return 0;
+      }
+      Files.move(dataTmp, dataFile, StandardCopyOption.ATOMIC_MOVE);
+      Files.move(indexTmp, indexFile, StandardCopyOption.ATOMIC_MOVE);
+      log.info("Wrote archive segment {} with {} appointments", dataFile, rows);
+
+      delete(acquired.get(), idsFile, cutoff);
+      return rows;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to write archive segment " + dataFile, ex);
+    } finally {
+      deleteQuietly(dataTmp);
+      deleteQuietly(indexTmp);
+      deleteQuietly(idsFile);
+      jobLeases.release(acquired.get());
+    }
+  }
+
+  private long export(LocalDateTime cutoff, Path dataFile, Path indexFile, Path idsFile)
+      throws IOException {
+    try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(dataFile, indexFile,
+        properties.rowsPerBlock());
+        BufferedWriter ids = Files.newBufferedWriter(idsFile, StandardCharsets.UTF_8)) {
+      String[] fields = new String[ArchiveColumns.NAMES.size()];
+      readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+        PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        // A fetch size inside a transaction makes the driver read through a cursor
+        statement.setFetchSize(properties.fetchSize());
+        statement.setObject(1, cutoff);
+        return statement;
+      }, (ResultSet rs) -> {
+        for (int i = 0; i < fields.length; i++) {
+          fields[i] = ArchiveColumns.read(rs, i);
+        }
+        try {
+          writer.append(fields[ArchiveColumns.BOOKING_REFERENCE], fields);
+          ids.write(fields[0]);
+          ids.newLine();
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }));
+      writer.finish();
+      return writer.rows();
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private void delete(JobLease lease, Path idsFile, LocalDateTime cutoff) throws IOException {
+    int batchSize = properties.deleteBatchSize();
+    Long[] batch = new Long[batchSize];
+    int size = 0;
+    long deleted = 0;
+    try (BufferedReader ids = Files.newBufferedReader(idsFile, StandardCharsets.UTF_8)) {
+      for (String line = ids.readLine(); line != null; line = ids.readLine()) {
+        batch[size++] = Long.valueOf(line);
+        if (size == batchSize) {
+          deleted += deleteBatch(batch, size, cutoff);
+          size = 0;
+          if (!jobLeases.renew(lease, properties.lease())) {
+            log.warn("Lost the archive lease after deleting {} archived appointments", deleted);
+            return;
+          }
+        }
+      }
+    }
+    if (size > 0) {
+      deleted += deleteBatch(batch, size, cutoff);
+    }
+    log.debug("Deleted {} archived appointments", deleted);
+  }
+
+  private int deleteBatch(Long[] batch, int size, LocalDateTime cutoff) {
+    Long[] ids = size == batch.length ? batch : Arrays.copyOf(batch, size);
+    return jdbcTemplate.update(connection -> {
+      PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+      statement.setArray(1, connection.createArrayOf("bigint", ids));
+      statement.setObject(2, cutoff);
+      return statement;
+    });
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException ex) {
+      log.warn("Failed to delete {}", file, ex);
+    }
+  }
+}
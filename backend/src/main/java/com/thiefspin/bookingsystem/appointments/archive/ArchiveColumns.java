@@ -0,0 +1,77 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * The columns of an archived appointment, in file order. Timestamps are written as ISO local
+ * date-times, as stored.
+ */
+final class ArchiveColumns {
+
+  static final List<String> NAMES = List.of(
+      "id", "booking_reference", "branch_id", "customer_first_name", "customer_last_name",
+      "customer_email", "customer_phone", "appointment_date_time", "duration_minutes", "purpose",
+      "notes", "status", "created_at", "updated_at", "cancelled_at", "cancellation_reason"
+  );
+
+  static final int BOOKING_REFERENCE = 1;
+
+  private static final boolean[] TIMESTAMPS = timestamps("appointment_date_time", "created_at",
+      "updated_at", "cancelled_at");
+
+  private static final ZoneId ZONE = ZoneId.systemDefault();
+
+  private ArchiveColumns() {
+  }
+
+  /**
+   * Reads column {@code index} of the current row as the string that is archived.
+   */
+  static String read(ResultSet rs, int index) throws SQLException {
+    if (TIMESTAMPS[index]) {
+      LocalDateTime value = rs.getObject(index + 1, LocalDateTime.class);
+      return value == null ? null : value.toString();
+    }
+    return rs.getString(index + 1);
+  }
+
+  static AppointmentEntity toEntity(List<String> fields) {
+    return new AppointmentEntity(
+        Long.valueOf(fields.get(0)),
+        fields.get(1),
+        Long.valueOf(fields.get(2)),
+        fields.get(3),
+        fields.get(4),
+        fields.get(5),
+        fields.get(6),
+        LocalDateTime.parse(fields.get(7)),
+        Integer.valueOf(fields.get(8)),
+        fields.get(9),
+        fields.get(10),
+        AppointmentStatus.valueOf(fields.get(11)),
+        instant(fields.get(12)),
+        instant(fields.get(13)),
+        instant(fields.get(14)),
+        fields.get(15)
+    );
+  }
+
+  private static boolean[] timestamps(String... names) {
+    boolean[] flags = new boolean[NAMES.size()];
+    for (String name : names) {
+      flags[NAMES.indexOf(name)] = true;
+    }
+    return flags;
+  }
+
+  private static Instant instant(String value) {
+    return value == null ? null : LocalDateTime.parse(value).atZone(ZONE).toInstant();
+  }
+}
@@ -0,0 +1,29 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code minAge} is how long after it took place a closed appointment is archived; the lease has
+ * to cover streaming a whole run out, as it is only renewed while archived rows are deleted.
+ */
+@ConfigurationProperties(prefix = "appointments.archive")
+public record ArchiveProperties(
+    Path directory,
+    Duration minAge,
+    Integer fetchSize,
+    Integer rowsPerBlock,
+    Integer deleteBatchSize,
+    Duration lease
+) {
+
+  public ArchiveProperties {
+    directory = directory == null ? Path.of("archive", "appointments") : directory;
+    minAge = minAge == null ? Duration.ofDays(730) : minAge;
+    fetchSize = fetchSize == null ? 1000 : fetchSize;
+    rowsPerBlock = rowsPerBlock == null ? 1000 : rowsPerBlock;
+    deleteBatchSize = deleteBatchSize == null ? 1000 : deleteBatchSize;
+    lease = lease == null ? Duration.ofHours(1) : lease;
+  }
+}
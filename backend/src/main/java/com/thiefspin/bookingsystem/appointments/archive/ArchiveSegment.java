@@ -0,0 +1,102 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import com.thiefspin.bookingsystem.util.csv.CsvReader;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A finished archive segment opened for lookups. Only the sparse index is held in memory: one
+ * entry per block, so a lookup costs a binary search and inflating a single block.
+ */
+final class ArchiveSegment {
+
+  private final Path dataFile;
+
+  private final String[] firstKeys;
+
+  private final String[] lastKeys;
+
+  private final long[] offsets;
+
+  private final int[] lengths;
+
+  private ArchiveSegment(Path dataFile, String[] firstKeys, String[] lastKeys, long[] offsets,
+      int[] lengths) {
+    this.dataFile = dataFile;
+    this.firstKeys = firstKeys;
+    this.lastKeys = lastKeys;
+    this.offsets = offsets;
+    this.lengths = lengths;
+  }
+
+  static ArchiveSegment open(Path indexFile) throws IOException {
+    String name = indexFile.getFileName().toString();
+    Path dataFile = indexFile.resolveSibling(
+        name.substring(0, name.length() - ArchiveSegmentWriter.INDEX_SUFFIX.length())
+            + ArchiveSegmentWriter.DATA_SUFFIX);
+
+    List<String> lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+    int blocks = lines.size();
+    String[] firstKeys = new String[blocks];
+    String[] lastKeys = new String[blocks];
+    long[] offsets = new long[blocks];
+    int[] lengths = new int[blocks];
+    for (int i = 0; i < blocks; i++) {
+      String[] parts = lines.get(i).split("\t");
+      firstKeys[i] = parts[0];
+      lastKeys[i] = parts[1];
+      offsets[i] = Long.parseLong(parts[2]);
+      lengths[i] = Integer.parseInt(parts[3]);
+    }
+    return new ArchiveSegment(dataFile, firstKeys, lastKeys, offsets, lengths);
+  }
+
+  int blocks() {
+    return firstKeys.length;
+  }
+
+  /**
+   * Returns the archived fields of the appointment with {@code bookingReference}, if this segment
+   * holds it.
+   */
+  Optional<List<String>> find(String bookingReference) throws IOException {
+    int block = Arrays.binarySearch(firstKeys, bookingReference);
+    if (block < 0) {
+      block = -block - 2;
+    }
+    if (block < 0 || bookingReference.compareTo(lastKeys[block]) > 0) {
+      return Optional.empty();
+    }
+
+    ByteBuffer compressed = ByteBuffer.allocate(lengths[block]);
+    try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+      while (compressed.hasRemaining()) {
+        if (channel.read(compressed, offsets[block] + compressed.position()) < 0) {
+          throw new IOException("Archive block truncated in " + dataFile);
+        }
+      }
+    }
+
+    CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(new ByteArrayInputStream(compressed.array())),
+        StandardCharsets.UTF_8)));
+    for (List<String> fields = reader.next(); fields != null; fields = reader.next()) {
+      if (bookingReference.equals(fields.get(ArchiveColumns.BOOKING_REFERENCE))) {
+        return Optional.of(fields);
+      }
+    }
+    return Optional.empty();
+  }
+}
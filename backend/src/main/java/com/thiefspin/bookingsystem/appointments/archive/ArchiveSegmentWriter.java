@@ -0,0 +1,131 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import com.thiefspin.bookingsystem.util.csv.CsvWriter;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes one archive segment: rows in booking reference order, cut into blocks of
+ * {@code rowsPerBlock} rows that are each compressed as a separate gzip member, plus a sparse
+ * index with one line per block.
+ * <p>
+ * Concatenated gzip members are themselves a valid gzip file, so the data file reads as a single
+ * CSV with one header row to {@code zcat} or any tool that reads compressed CSV, while a lookup
+ * only has to inflate the one block its index entry points at. Only the current block is held in
+ * memory.
+ */
+final class ArchiveSegmentWriter implements Closeable {
+
+  static final String DATA_SUFFIX = ".csv.gz";
+
+  static final String INDEX_SUFFIX = ".idx";
+
+  private final FileChannel data;
+
+  private final BufferedWriter index;
+
+  private final int rowsPerBlock;
+
+  private final StringWriter block = new StringWriter();
+
+  private final CsvWriter csv = new CsvWriter(block);
+
+  private String firstKey;
+
+  private String lastKey;
+
+  private int blockRows;
+
+  private long rows;
+
+  ArchiveSegmentWriter(Path dataFile, Path indexFile, int rowsPerBlock) throws IOException {
+    this.data = FileChannel.open(dataFile, StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE);
+    this.index = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE_NEW);
+    this.rowsPerBlock = rowsPerBlock;
+    for (String name : ArchiveColumns.NAMES) {
+      csv.field(name);
+    }
+    csv.endRecord();
+  }
+
+  long rows() {
+    return rows;
+  }
+
+  /**
+   * Appends a row whose booking reference is {@code key}; keys must arrive in ascending order.
+   */
+  void append(String key, String[] fields) throws IOException {
+    if (lastKey != null && key.compareTo(lastKey) <= 0) {
+      throw new IllegalStateException(
+          "Archive rows out of order: " + key + " after " + lastKey);
+    }
+    if (firstKey == null) {
+      firstKey = key;
+    }
+    lastKey = key;
+    for (String field : fields) {
+      csv.field(field);
+    }
+    csv.endRecord();
+    rows++;
+    if (++blockRows == rowsPerBlock) {
+      writeBlock();
+    }
+  }
+
+  /**
+   * Writes the last block and forces both files to disk.
+   */
+  void finish() throws IOException {
+    if (blockRows > 0) {
+      writeBlock();
+    }
+    index.flush();
+    data.force(true);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (data; index) {
+      // Closes both, reporting the first failure
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    long offset = data.position();
+    OutputStream unclosable = new FilterOutputStream(Channels.newOutputStream(data)) {
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+      }
+
+      @Override
+      public void close() throws IOException {
+        flush();
+      }
+    };
+    try (GZIPOutputStream gzip = new GZIPOutputStream(unclosable, 64 * 1024)) {
+      gzip.write(block.getBuffer().toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    index.write(firstKey + '\t' + lastKey + '\t' + offset + '\t' + (data.position() - offset));
+    index.newLine();
+    block.getBuffer().setLength(0);
+    blockRows = 0;
+    firstKey = null;
+  }
+}
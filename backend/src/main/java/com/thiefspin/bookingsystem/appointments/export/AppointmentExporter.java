@@ -0,0 +1,139 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiefspin.bookingsystem.appointments.export.ExportFormat.RowWriter;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Streams a branch's appointments straight from a server-side cursor to the response.
+ * <p>
+ * Rows are read with a fixed fetch size inside a read-only transaction, which is what makes the
+ * Postgres driver use a cursor instead of materialising the result, and written out one at a time
+ * through a fixed-size buffer, so memory stays flat however many rows there are. A client that
+ * disconnects fails the next write, which aborts the query and releases the connection.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ExportProperties.class)
+public class AppointmentExporter {
+
+  private static final List<ExportColumn> COLUMNS = ExportColumn.ALL;
+
+  private static final String SELECT_SQL = "SELECT "
+      + COLUMNS.stream().map(ExportColumn::column).collect(Collectors.joining(", "))
+      + " FROM booking.appointments"
+      + " WHERE branch_id = ? AND appointment_date_time >= ? AND appointment_date_time < ?"
+      + " ORDER BY appointment_date_time, id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate readOnly;
+
+  private final BranchService branchService;
+
+  private final JsonFactory json;
+
+  private final ExportProperties properties;
+
+  public AppointmentExporter(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager, BranchService branchService,
+      ObjectMapper objectMapper, ExportProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+    this.branchService = branchService;
+    this.json = objectMapper.getFactory();
+    this.properties = properties;
+  }
+
+  /**
+   * Checks an export request up front, so it can be rejected before any of the response is
+   * written.
+   */
+  public void validate(Long branchId, LocalDate from, LocalDate to)
+      throws NotFoundException, BadRequestException {
+    if (to.isBefore(from)) {
+      throw new BadRequestException("Export end date must not be before its start date");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= properties.maxDays()) {
+      throw new BadRequestException(
+          "Exports may span at most " + properties.maxDays() + " days");
+    }
+    if (branchService.findById(branchId).isEmpty()) {
+      throw new NotFoundException("Branch not found");
+    }
+  }
+
+  /**
+   * Writes the branch's appointments from {@code from} to {@code to}, both inclusive, to
+   * {@code out} and returns how many were written. {@code out} is flushed but not closed.
+   */
+  public long export(Long branchId, LocalDate from, LocalDate to, ExportFormat format,
+      boolean gzip, OutputStream out) throws IOException {
+    long started = System.nanoTime();
+    GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192) : null;
+    BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+        gzip ? compressed : out, StandardCharsets.UTF_8), properties.bufferSize());
+    RowWriter rows = format.writer(writer, json);
+    Object[] values = new Object[COLUMNS.size()];
+    long[] count = {0};
+
+    rows.header(COLUMNS);
+    try {
+      readOnly.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+        PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(properties.fetchSize());
+        statement.setLong(1, branchId);
+        statement.setObject(2, from.atStartOfDay());
+        statement.setObject(3, to.plusDays(1).atStartOfDay());
+        return statement;
+      }, (ResultSet rs) -> {
+        for (int i = 0; i < values.length; i++) {
+          values[i] = rs.getObject(i + 1, COLUMNS.get(i).type());
+        }
+        try {
+          rows.row(COLUMNS, values);
+        } catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+        count[0]++;
+      }));
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    rows.finish();
+    writer.flush();
+    if (compressed != null) {
+      compressed.finish();
+    }
+    out.flush();
+
+    log.debug("Exported {} appointments of branch {} as {} in {} ms", count[0], branchId, format,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    return count[0];
+  }
+}
@@ -0,0 +1,26 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An exported column: its name in {@code booking.appointments}, the matching {@code Appointment}
+ * field and the type it is read as.
+ */
+record ExportColumn(String column, String field, Class<?> type) {
+
+  static final List<ExportColumn> ALL = List.of(
+      new ExportColumn("id", "id", Long.class),
+      new ExportColumn("booking_reference", "bookingReference", String.class),
+      new ExportColumn("branch_id", "branchId", Long.class),
+      new ExportColumn("customer_first_name", "customerFirstName", String.class),
+      new ExportColumn("customer_last_name", "customerLastName", String.class),
+      new ExportColumn("customer_email", "customerEmail", String.class),
+      new ExportColumn("customer_phone", "customerPhone", String.class),
+      new ExportColumn("appointment_date_time", "appointmentDateTime", LocalDateTime.class),
+      new ExportColumn("duration_minutes", "durationMinutes", Integer.class),
+      new ExportColumn("purpose", "purpose", String.class),
+      new ExportColumn("notes", "notes", String.class),
+      new ExportColumn("status", "status", String.class)
+  );
+}
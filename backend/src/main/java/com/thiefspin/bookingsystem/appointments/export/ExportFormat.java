@@ -0,0 +1,120 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.thiefspin.bookingsystem.util.csv.CsvWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public enum ExportFormat {
+
+  CSV("text/csv", "csv") {
+    @Override
+    RowWriter writer(Writer out, JsonFactory json) {
+      CsvWriter csv = new CsvWriter(out);
+      return new RowWriter() {
+        @Override
+        public void header(List<ExportColumn> columns) throws IOException {
+          for (ExportColumn column : columns) {
+            csv.field(column.column());
+          }
+          csv.endRecord();
+        }
+
+        @Override
+        public void row(List<ExportColumn> columns, Object[] values) throws IOException {
+          for (Object value : values) {
+            csv.field(value instanceof LocalDateTime dateTime ? format(dateTime) : value);
+          }
+          csv.endRecord();
+        }
+
+        @Override
+        public void finish() throws IOException {
+          csv.flush();
+        }
+      };
+    }
+  },
+
+  NDJSON("application/x-ndjson", "ndjson") {
+    @Override
+    RowWriter writer(Writer out, JsonFactory json) throws IOException {
+      JsonGenerator generator = json.createGenerator(out);
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      return new RowWriter() {
+        @Override
+        public void header(List<ExportColumn> columns) {
+        }
+
+        @Override
+        public void row(List<ExportColumn> columns, Object[] values) throws IOException {
+          generator.writeStartObject();
+          for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i).field());
+            Object value = values[i];
+            if (value == null) {
+              generator.writeNull();
+            } else if (value instanceof Long number) {
+              generator.writeNumber(number);
+            } else if (value instanceof Integer number) {
+              generator.writeNumber(number);
+            } else if (value instanceof LocalDateTime dateTime) {
+              generator.writeString(format(dateTime));
+            } else {
+              generator.writeString(value.toString());
+            }
+          }
+          generator.writeEndObject();
+          generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+          generator.close();
+        }
+      };
+    }
+  };
+
+  private final String mediaType;
+
+  private final String extension;
+
+  ExportFormat(String mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  public String mediaType() {
+    return mediaType;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  abstract RowWriter writer(Writer out, JsonFactory json) throws IOException;
+
+  private static String format(LocalDateTime value) {
+    return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+  }
+
+  /**
+   * Writes rows as they are read; nothing but the current row is held.
+   */
+  interface RowWriter {
+
+    void header(List<ExportColumn> columns) throws IOException;
+
+    void row(List<ExportColumn> columns, Object[] values) throws IOException;
+
+    /**
+     * Flushes what is buffered without closing the underlying writer.
+     */
+    void finish() throws IOException;
+  }
+}
@@ -0,0 +1,21 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code maxDays} bounds how many days one export may span, since a connection is held for as
+ * long as the client takes to download it.
+ */
+@ConfigurationProperties(prefix = "appointments.export")
+public record ExportProperties(
+    Integer fetchSize,
+    Integer bufferSize,
+    Integer maxDays
+) {
+
+  public ExportProperties {
+    fetchSize = fetchSize == null ? 1000 : fetchSize;
+    bufferSize = bufferSize == null ? 65536 : bufferSize;
+    maxDays = maxDays == null ? 366 : maxDays;
+  }
+}
@@ -0,0 +1,422 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import com.thiefspin.bookingsystem.BookingReferenceGenerator;
+import com.thiefspin.bookingsystem.appointments.imports.CapacityLedger.BranchMonth;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.util.csv.CsvReader;
+import com.thiefspin.bookingsystem.util.csv.CsvWriter;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.ConflictException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loads appointments in bulk from CSV, for onboarding branches from another booking system.
+ * <p>
+ * The input is parsed and validated one row at a time and accepted rows are streamed with
+ * {@code COPY} into a temporary staging table, so neither the input nor the accepted rows are
+ * held in memory. Rows without a booking reference get a candidate from
+ * {@link BookingReferenceGenerator}, and generated references that turn out to be taken are
+ * replaced. Given booking references that already exist, or repeat within the input, are then
+ * rejected in one statement. Only then is capacity checked, in memory with a
+ * {@link CapacityLedger}, over the active staged rows in input order, so a duplicate never takes a
+ * place a later row needed; rows over capacity are rejected and the rest inserted in appointment
+ * order with a single {@code INSERT ... SELECT}. The whole import is one transaction: it lands
+ * completely or not at all. Every rejected row is written, with the reason, to a file under
+ * {@code rejects-directory}; rows rejected after staging are written from the staging table, so
+ * columns of the input that are not imported are left empty for them.
+ * <p>
+ * Imported appointments go through the same triggers as bookings, so they get booking reference
+ * and utilization records, and confirmed future ones get reminders; no confirmation is sent.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ImportProperties.class)
+public class AppointmentImporter {
+
+  private static final String LOCK_SQL =
+      "SELECT pg_try_advisory_xact_lock(hashtext('appointment-import'))";
+
+  private static final String CREATE_STAGING_SQL = """
+      CREATE TEMPORARY TABLE appointment_import
+      (
+          line                  BIGINT                     NOT NULL,
+          booking_reference     VARCHAR(20)                NOT NULL,
+          branch_id             BIGINT                     NOT NULL,
+          customer_first_name   VARCHAR(100)               NOT NULL,
+          customer_last_name    VARCHAR(100)               NOT NULL,
+          customer_email        VARCHAR(255)               NOT NULL,
+          customer_phone        VARCHAR(20)                NOT NULL,
+          appointment_date_time TIMESTAMP                  NOT NULL,
+          duration_minutes      INT                        NOT NULL,
+          purpose               VARCHAR(500),
+          notes                 TEXT,
+          status                booking.appointment_status NOT NULL,
+          created_at            TIMESTAMP                  NOT NULL,
+          cancelled_at          TIMESTAMP,
+          cancellation_reason   TEXT,
+          reference_generated   BOOLEAN                    NOT NULL
+      ) ON COMMIT DROP
+      """;
+
+  private static final String COPY_SQL = "COPY appointment_import ("
+      + String.join(", ", ImportRow.COLUMNS) + ") FROM STDIN WITH (FORMAT csv)";
+
+  // Generated references that are taken, or repeat one given in the input or generated for an
+  // earlier row
+  private static final String TAKEN_GENERATED_REFERENCES_SQL = """
+      SELECT d.line
+      FROM (SELECT line, booking_reference, reference_generated,
+                   row_number() OVER (PARTITION BY booking_reference
+                                      ORDER BY reference_generated, line) AS n
+            FROM appointment_import) d
+      WHERE d.reference_generated
+        AND (d.n > 1 OR EXISTS (SELECT 1
+                                FROM booking.booking_references r
+                                WHERE r.booking_reference = d.booking_reference))
+      """;
+
+  private static final String REPLACE_REFERENCE_SQL =
+      "UPDATE appointment_import SET booking_reference = ? WHERE line = ?";
+
+  private static final int MAX_REFERENCE_ROUNDS = 5;
+
+  private static final String REJECT_DUPLICATES_SQL = """
+      DELETE FROM appointment_import i
+      USING (SELECT line, booking_reference,
+                    row_number() OVER (PARTITION BY booking_reference ORDER BY line) AS n
+             FROM appointment_import) d
+      WHERE i.line = d.line
+        AND (d.n > 1 OR EXISTS (SELECT 1
+                                FROM booking.booking_references r
+                                WHERE r.booking_reference = d.booking_reference))
+      RETURNING i.*
+      """;
+
+  private static final String ACTIVE_ROWS_SQL = """
+      SELECT line, branch_id, appointment_date_time
+      FROM appointment_import
+      WHERE status IN ('PENDING', 'CONFIRMED')
+      ORDER BY line
+      """;
+
+  private static final int FETCH_SIZE = 1000;
+
+  private static final String REJECT_LINES_SQL =
+      "DELETE FROM appointment_import WHERE line = ANY (?) RETURNING *";
+
+  private static final String INSERT_COLUMNS = String.join(", ",
+      ImportRow.APPOINTMENT_COLUMNS);
+
+  private static final String INSERT_SQL = "INSERT INTO booking.appointments (" + INSERT_COLUMNS
+      + ", updated_at) SELECT " + INSERT_COLUMNS + ", created_at FROM appointment_import"
+      + " ORDER BY appointment_date_time";
+
+  private static final String SLOT_COUNTS_SQL = """
+      SELECT appointment_date_time, COUNT(*) AS booked
+      FROM booking.appointments
+      WHERE branch_id = ? AND appointment_date_time >= ? AND appointment_date_time < ?
+        AND status IN ('PENDING', 'CONFIRMED')
+      GROUP BY appointment_date_time
+      """;
+
+  private static final String CREATE_PARTITION_SQL =
+      "SELECT booking.create_appointment_partition(?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final TransactionTemplate transaction;
+
+  // For queries made while the import connection is busy with COPY
+  private final TransactionTemplate separateTransaction;
+
+  private final BranchRepository branchRepository;
+
+  private final BookingReferenceGenerator referenceGenerator;
+
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  private final ImportProperties properties;
+
+  private final Clock clock;
+
+  @Autowired
+  public AppointmentImporter(JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager, BranchRepository branchRepository,
+      BookingReferenceGenerator referenceGenerator, CacheInvalidationBus cacheInvalidationBus,
+      ImportProperties properties) {
+    this(jdbcTemplate, transactionManager, branchRepository, referenceGenerator,
+        cacheInvalidationBus, properties, Clock.systemDefaultZone());
+  }
+
+  AppointmentImporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+      BranchRepository branchRepository, BookingReferenceGenerator referenceGenerator,
+      CacheInvalidationBus cacheInvalidationBus, ImportProperties properties, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.separateTransaction = new TransactionTemplate(transactionManager);
+    this.separateTransaction.setPropagationBehavior(
+        TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.branchRepository = branchRepository;
+    this.referenceGenerator = referenceGenerator;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  /**
+   * Imports the CSV in {@code in}, whose first row names the columns. Fails with a
+   * {@link BadRequestException} when a required column is missing and with a
+   * {@link ConflictException} when another import is running.
+   */
+  public ImportResult importCsv(InputStream in)
+      throws IOException, BadRequestException, ConflictException {
+    long started = System.nanoTime();
+    String importId = UUID.randomUUID().toString();
+    CsvReader reader = new CsvReader(new BufferedReader(
+        new InputStreamReader(in, StandardCharsets.UTF_8), properties.bufferSize()));
+    List<String> header = reader.next();
+    if (header == null) {
+      throw new BadRequestException("Import is empty");
+    }
+    Map<String, Branch> branchesByCode = branchRepository.findAllBranches().stream()
+        .map(BranchEntity::toModel)
+        .collect(Collectors.toMap(Branch::code, Function.identity()));
+    ImportRowParser parser = new ImportRowParser(header, branchesByCode,
+        referenceGenerator::candidate, clock);
+
+    Files.createDirectories(properties.rejectsDirectory());
+    Path rejectsFile = properties.rejectsDirectory().resolve("appointments-" + importId + ".csv");
+    ImportResult result;
+    try (Writer rejectsOut = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8)) {
+      CsvWriter rejects = new CsvWriter(rejectsOut);
+      rejects.field("row").field("reason");
+      for (String column : header) {
+        rejects.field(column);
+      }
+      rejects.endRecord();
+
+      result = transaction.execute(status -> jdbcTemplate.execute(
+          (ConnectionCallback<ImportResult>) connection -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class))) {
+              return null;
+            }
+            try {
+              return load(connection, importId, header, reader, parser, branchesByCode,
+                  rejects, rejectsFile);
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          }));
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+
+    if (result == null) {
+      Files.deleteIfExists(rejectsFile);
+      throw new ConflictException("Another appointment import is running");
+    }
+    if (result.rejected() == 0) {
+      Files.deleteIfExists(rejectsFile);
+      result = new ImportResult(importId, result.rowsRead(), result.imported(), 0, null);
+    }
+    if (result.imported() > 0) {
+      cacheInvalidationBus.clear(CacheNames.SLOTS);
+      cacheInvalidationBus.clear(CacheNames.LOOKUPS);
+    }
+    log.info("Import {} read {} rows, imported {} and rejected {} in {} ms", importId,
+        result.rowsRead(), result.imported(), result.rejected(),
+        (System.nanoTime() - started) / 1_000_000);
+    return result;
+  }
+
+  private ImportResult load(Connection connection, String importId, List<String> header,
+      CsvReader reader, ImportRowParser parser, Map<String, Branch> branchesByCode,
+      CsvWriter rejects, Path rejectsFile) throws IOException, SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(CREATE_STAGING_SQL);
+    }
+
+    long rowsRead = 0;
+    long rejected = 0;
+    Set<YearMonth> months = new HashSet<>();
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    try (PGCopyOutputStream copy = new PGCopyOutputStream(pgConnection, COPY_SQL,
+        properties.bufferSize())) {
+      Writer staging = new BufferedWriter(
+          new OutputStreamWriter(copy, StandardCharsets.UTF_8), properties.bufferSize());
+      CsvWriter csv = new CsvWriter(staging);
+      for (List<String> fields = reader.next(); fields != null; fields = reader.next()) {
+        // The header is row 1
+        long row = ++rowsRead + 1;
+        try {
+          ImportRow parsed = parser.parse(row, fields);
+          if (months.add(YearMonth.from(parsed.appointmentDateTime()))) {
+            createPartition(YearMonth.from(parsed.appointmentDateTime()));
+          }
+          parsed.writeTo(csv);
+        } catch (RowRejectedException ex) {
+          reject(rejects, row, ex.getMessage(), fields);
+          rejected++;
+        }
+      }
+      staging.flush();
+    }
+
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ANALYZE appointment_import");
+    }
+    replaceTakenReferences();
+    Map<Long, Branch> branchesById = branchesByCode.values().stream()
+        .collect(Collectors.toMap(Branch::id, Function.identity()));
+    long[] staged = {0};
+    jdbcTemplate.query(REJECT_DUPLICATES_SQL, (ResultSet rs) -> {
+      String reference = rs.getString("booking_reference");
+      rejectStaged(rejects, rs, "Duplicate booking reference " + reference, header,
+          branchesById);
+      staged[0]++;
+    });
+
+    List<Long> overCapacity = new ArrayList<>();
+    CapacityLedger capacity = new CapacityLedger(this::slotCounts);
+    jdbcTemplate.query(con -> {
+      PreparedStatement statement = con.prepareStatement(ACTIVE_ROWS_SQL);
+      // Streamed, as there can be as many active rows as the input had
+      statement.setFetchSize(FETCH_SIZE);
+      return statement;
+    }, (ResultSet rs) -> {
+      if (!capacity.tryReserve(branchesById.get(rs.getLong("branch_id")),
+          rs.getObject("appointment_date_time", LocalDateTime.class))) {
+        overCapacity.add(rs.getLong("line"));
+      }
+    });
+    if (!overCapacity.isEmpty()) {
+      jdbcTemplate.query(con -> {
+        PreparedStatement statement = con.prepareStatement(REJECT_LINES_SQL);
+        statement.setArray(1, con.createArrayOf("bigint", overCapacity.toArray()));
+        return statement;
+      }, (ResultSet rs) -> {
+        rejectStaged(rejects, rs, "Slot is fully booked", header, branchesById);
+        staged[0]++;
+      });
+    }
+
+    int imported = jdbcTemplate.update(INSERT_SQL);
+    rejects.flush();
+    return new ImportResult(importId, rowsRead, imported, rejected + staged[0],
+        rejectsFile.toString());
+  }
+
+  /**
+   * Gives rows whose generated reference is taken a new one from the generator, until none
+   * collide. Any still colliding after a few rounds are rejected as duplicates.
+   */
+  private void replaceTakenReferences() {
+    for (int round = 0; round < MAX_REFERENCE_ROUNDS; round++) {
+      List<Long> lines = jdbcTemplate.queryForList(TAKEN_GENERATED_REFERENCES_SQL, Long.class);
+      if (lines.isEmpty()) {
+        return;
+      }
+      log.debug("Replacing {} generated booking references that are taken", lines.size());
+      jdbcTemplate.batchUpdate(REPLACE_REFERENCE_SQL, lines.stream()
+          .map(line -> new Object[] {referenceGenerator.generate(), line})
+          .toList());
+    }
+  }
+
+  private static void reject(CsvWriter rejects, long row, String reason, List<String> fields)
+      throws IOException {
+    rejects.field(row).field(reason);
+    for (String field : fields) {
+      rejects.field(field);
+    }
+    rejects.endRecord();
+  }
+
+  /**
+   * Writes a row rejected after staging, with the staged values under the input's column names.
+   */
+  private static void rejectStaged(CsvWriter rejects, ResultSet rs, String reason,
+      List<String> header, Map<Long, Branch> branchesById) throws SQLException {
+    List<String> fields = new ArrayList<>(header.size());
+    for (String name : header) {
+      String column = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+      fields.add(switch (column) {
+        case "branch_code" -> branchesById.get(rs.getLong("branch_id")).code();
+        case "appointment_date_time", "created_at", "cancelled_at" ->
+            Objects.toString(rs.getObject(column, LocalDateTime.class), null);
+        default -> ImportRow.APPOINTMENT_COLUMNS.contains(column) ? rs.getString(column) : null;
+      });
+    }
+    try {
+      reject(rejects, rs.getLong("line"), reason, fields);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void createPartition(YearMonth month) {
+    separateTransaction.executeWithoutResult(status -> {
+      String created = jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, String.class,
+          month.atDay(1));
+      if (created != null) {
+        log.info("Created appointment partition {} for an import", created);
+      }
+    });
+  }
+
+  private Map<LocalDateTime, Integer> slotCounts(BranchMonth key) {
+    return separateTransaction.execute(status -> {
+      Map<LocalDateTime, Integer> counts = new HashMap<>();
+      jdbcTemplate.query(SLOT_COUNTS_SQL, (ResultSet rs) -> {
+        counts.put(rs.getObject("appointment_date_time", LocalDateTime.class),
+            rs.getInt("booked"));
+      }, key.branchId(), key.month().atDay(1).atStartOfDay(),
+          key.month().plusMonths(1).atDay(1).atStartOfDay());
+      return counts;
+    });
+  }
+}
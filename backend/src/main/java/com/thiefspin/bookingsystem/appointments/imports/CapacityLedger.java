@@ -0,0 +1,45 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Counts active appointments per branch and start time while an import runs, so capacity is
+ * checked in memory instead of with a query per row.
+ * <p>
+ * The counts of a branch-month are loaded from the database the first time an active row falls
+ * in it; only active appointments take capacity, so a history of closed appointments costs
+ * nothing here. Bookings made through the API while an import runs are not seen.
+ */
+final class CapacityLedger {
+
+  private final Function<BranchMonth, Map<LocalDateTime, Integer>> loader;
+
+  private final Map<BranchMonth, Map<LocalDateTime, Integer>> counts = new HashMap<>();
+
+  CapacityLedger(Function<BranchMonth, Map<LocalDateTime, Integer>> loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * Takes one place in the slot starting at {@code start}, returning {@code false} when the slot
+   * is already full.
+   */
+  boolean tryReserve(Branch branch, LocalDateTime start) {
+    Map<LocalDateTime, Integer> month = counts.computeIfAbsent(
+        new BranchMonth(branch.id(), YearMonth.from(start)),
+        key -> new HashMap<>(loader.apply(key)));
+    int booked = month.getOrDefault(start, 0);
+    if (booked >= branch.maxConcurrentAppointmentsPerSlot()) {
+      return false;
+    }
+    month.put(start, booked + 1);
+    return true;
+  }
+
+  record BranchMonth(Long branchId, YearMonth month) {}
+}
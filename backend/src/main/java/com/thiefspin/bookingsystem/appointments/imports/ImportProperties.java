@@ -0,0 +1,20 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code rejectsDirectory} is where every import writes the rows it rejected, one file per
+ * import.
+ */
+@ConfigurationProperties(prefix = "appointments.import")
+public record ImportProperties(
+    Path rejectsDirectory,
+    Integer bufferSize
+) {
+
+  public ImportProperties {
+    rejectsDirectory = rejectsDirectory == null ? Path.of("imports", "rejects") : rejectsDirectory;
+    bufferSize = bufferSize == null ? 65536 : bufferSize;
+  }
+}
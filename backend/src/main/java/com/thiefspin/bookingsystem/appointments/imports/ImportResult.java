@@ -0,0 +1,23 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a bulk appointment import")
+public record ImportResult(
+
+    @Schema(description = "Identifier of the import", example = "3f2c9a4e-8d1b-4c57-9e0f-2a6b7c1d5e93")
+    String importId,
+
+    @Schema(description = "Data rows read from the input", example = "1000000")
+    long rowsRead,
+
+    @Schema(description = "Appointments created", example = "998754")
+    long imported,
+
+    @Schema(description = "Rows rejected", example = "1246")
+    long rejected,
+
+    @Schema(description = "File on the server listing each rejected row with the reason",
+        example = "imports/rejects/appointments-3f2c9a4e-8d1b-4c57-9e0f-2a6b7c1d5e93.csv")
+    String rejectsFile
+) {}
@@ -0,0 +1,62 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.util.csv.CsvWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A validated input row, written to the {@code COPY} stream in {@link #COLUMNS} order.
+ */
+record ImportRow(
+    long line,
+    String bookingReference,
+    Long branchId,
+    String customerFirstName,
+    String customerLastName,
+    String customerEmail,
+    String customerPhone,
+    LocalDateTime appointmentDateTime,
+    int durationMinutes,
+    String purpose,
+    String notes,
+    AppointmentStatus status,
+    LocalDateTime createdAt,
+    LocalDateTime cancelledAt,
+    String cancellationReason,
+    boolean referenceGenerated
+) {
+
+  static final List<String> COLUMNS = List.of(
+      "line", "booking_reference", "branch_id", "customer_first_name", "customer_last_name",
+      "customer_email", "customer_phone", "appointment_date_time", "duration_minutes", "purpose",
+      "notes", "status", "created_at", "cancelled_at", "cancellation_reason",
+      "reference_generated"
+  );
+
+  /**
+   * The columns that go into {@code booking.appointments}.
+   */
+  static final List<String> APPOINTMENT_COLUMNS = COLUMNS.subList(1, COLUMNS.size() - 1);
+
+  void writeTo(CsvWriter csv) throws IOException {
+    csv.field(line)
+        .field(bookingReference)
+        .field(branchId)
+        .field(customerFirstName)
+        .field(customerLastName)
+        .field(customerEmail)
+        .field(customerPhone)
+        .field(appointmentDateTime)
+        .field(durationMinutes)
+        .field(purpose)
+        .field(notes)
+        .field(status.name())
+        .field(createdAt)
+        .field(cancelledAt)
+        .field(cancellationReason)
+        .field(referenceGenerated)
+        .endRecord();
+  }
+}
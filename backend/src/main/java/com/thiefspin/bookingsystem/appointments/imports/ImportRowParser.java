@@ -0,0 +1,225 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Validates input rows against the same rules as a booking made through the API, except that
+ * appointments may be in the past and capacity is left to the importer, which checks it once
+ * duplicate booking references are out of the way. Past appointments must already be closed: the
+ * lifecycle job only closes appointments ahead of its watermark, so an active one imported behind
+ * it would stay active for good.
+ * <p>
+ * Columns are matched by the names in the header row and may come in any order. A row without a
+ * booking reference is given a new one; a row without {@code created_at} is taken to have been
+ * booked now, and one without {@code status} to be confirmed, which only works for appointments
+ * still to come.
+ */
+final class ImportRowParser {
+
+  static final List<String> REQUIRED_COLUMNS = List.of(
+      "branch_code", "customer_first_name", "customer_last_name", "customer_email",
+      "customer_phone", "appointment_date_time", "duration_minutes"
+  );
+
+  private static final Pattern BOOKING_REFERENCE = Pattern.compile("^BK[A-Z0-9]{8}$");
+
+  // The database's chk_email_format and chk_phone_format
+  private static final Pattern EMAIL =
+      Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+  private static final Pattern PHONE = Pattern.compile("^[\\+]?[0-9\\-\\s\\(\\)]+$");
+
+  private final Map<String, Integer> columns = new HashMap<>();
+
+  private final Map<String, Branch> branchesByCode;
+
+  private final Supplier<String> referenceCandidates;
+
+  private final Clock clock;
+
+  /**
+   * {@code referenceCandidates} supplies references for rows without one. They are not checked
+   * here; the importer replaces any that turn out to be taken.
+   */
+  ImportRowParser(List<String> header, Map<String, Branch> branchesByCode,
+      Supplier<String> referenceCandidates, Clock clock)
+      throws BadRequestException {
+    for (int i = 0; i < header.size(); i++) {
+      if (header.get(i) != null) {
+        columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+      }
+    }
+    for (String column : REQUIRED_COLUMNS) {
+      if (!columns.containsKey(column)) {
+        throw new BadRequestException("Import is missing the required column " + column);
+      }
+    }
+    this.branchesByCode = branchesByCode;
+    this.referenceCandidates = referenceCandidates;
+    this.clock = clock;
+  }
+
+  ImportRow parse(long line, List<String> fields) throws RowRejectedException {
+    Branch branch = branchesByCode.get(required(fields, "branch_code"));
+    if (branch == null) {
+      throw new RowRejectedException("Unknown branch code");
+    }
+
+    String firstName = text(fields, "customer_first_name", true, 100);
+    String lastName = text(fields, "customer_last_name", true, 100);
+    String email = matching(fields, "customer_email", 255, EMAIL);
+    String phone = matching(fields, "customer_phone", 20, PHONE);
+    String purpose = text(fields, "purpose", false, 500);
+    String notes = text(fields, "notes", false, 1000);
+    String cancellationReason = text(fields, "cancellation_reason", false, 1000);
+
+    LocalDateTime appointmentDateTime = dateTime(fields, "appointment_date_time");
+    int durationMinutes = integer(fields, "duration_minutes");
+    if (durationMinutes < 15) {
+      throw new RowRejectedException("Appointment duration must be at least 15 minutes");
+    }
+    LocalTime start = appointmentDateTime.toLocalTime();
+    LocalTime end = start.plusMinutes(durationMinutes);
+    if (start.isBefore(branch.openingTime()) || end.isAfter(branch.closingTime())
+        || end.isBefore(start)) {
+      throw new RowRejectedException("Appointment time is outside branch operating hours");
+    }
+
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime createdAt = dateTime(fields, "created_at");
+    if (createdAt == null) {
+      createdAt = now;
+    }
+    if (!appointmentDateTime.isAfter(createdAt)) {
+      throw new RowRejectedException(
+          "Appointment must be after created_at, which is required for past appointments");
+    }
+
+    LocalDateTime cancelledAt = dateTime(fields, "cancelled_at");
+    String bookingReference = bookingReference(fields);
+    boolean referenceGenerated = bookingReference == null;
+    if (referenceGenerated) {
+      bookingReference = referenceCandidates.get();
+    }
+    AppointmentStatus status = status(fields);
+    boolean active = status == null
+        || status == AppointmentStatus.PENDING
+        || status == AppointmentStatus.CONFIRMED;
+    if (active && appointmentDateTime.isBefore(now)) {
+      throw new RowRejectedException(
+          "Past appointments must have status COMPLETED, NO_SHOW or CANCELLED");
+    }
+    if (status == null) {
+      status = AppointmentStatus.CONFIRMED;
+    }
+
+    return new ImportRow(
+        line,
+        bookingReference,
+        branch.id(),
+        firstName,
+        lastName,
+        email,
+        phone,
+        appointmentDateTime,
+        durationMinutes,
+        purpose,
+        notes,
+        status,
+        createdAt,
+        cancelledAt,
+        cancellationReason,
+        referenceGenerated
+    );
+  }
+
+  private String value(List<String> fields, String column) {
+    Integer index = columns.get(column);
+    if (index == null || index >= fields.size()) {
+      return null;
+    }
+    String value = fields.get(index);
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+
+  private String required(List<String> fields, String column) throws RowRejectedException {
+    String value = value(fields, column);
+    if (value == null) {
+      throw new RowRejectedException(column + " is required");
+    }
+    return value;
+  }
+
+  private String text(List<String> fields, String column, boolean required, int maxLength)
+      throws RowRejectedException {
+    String value = required ? required(fields, column) : value(fields, column);
+    if (value != null && value.length() > maxLength) {
+      throw new RowRejectedException(column + " must not exceed " + maxLength + " characters");
+    }
+    return value;
+  }
+
+  private String matching(List<String> fields, String column, int maxLength, Pattern pattern)
+      throws RowRejectedException {
+    String value = text(fields, column, true, maxLength);
+    if (!pattern.matcher(value).matches()) {
+      throw new RowRejectedException(column + " format is invalid");
+    }
+    return value;
+  }
+
+  private LocalDateTime dateTime(List<String> fields, String column)
+      throws RowRejectedException {
+    String value = REQUIRED_COLUMNS.contains(column)
+        ? required(fields, column)
+        : value(fields, column);
+    try {
+      return value == null ? null : LocalDateTime.parse(value);
+    } catch (DateTimeParseException ex) {
+      throw new RowRejectedException(column + " must be an ISO date-time");
+    }
+  }
+
+  private int integer(List<String> fields, String column) throws RowRejectedException {
+    try {
+      return Integer.parseInt(required(fields, column));
+    } catch (NumberFormatException ex) {
+      throw new RowRejectedException(column + " must be a whole number");
+    }
+  }
+
+  private AppointmentStatus status(List<String> fields) throws RowRejectedException {
+    String value = value(fields, "status");
+    if (value == null) {
+      return null;
+    }
+    try {
+      return AppointmentStatus.valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new RowRejectedException("Unknown status " + value);
+    }
+  }
+
+  private String bookingReference(List<String> fields) throws RowRejectedException {
+    String value = value(fields, "booking_reference");
+    if (value == null) {
+      return null;
+    }
+    if (!BOOKING_REFERENCE.matcher(value).matches()) {
+      throw new RowRejectedException("booking_reference format is invalid");
+    }
+    return value;
+  }
+}
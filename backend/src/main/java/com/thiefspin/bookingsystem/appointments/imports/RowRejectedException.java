@@ -0,0 +1,12 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+/**
+ * Thrown for an input row that cannot be imported. Rejections are expected in bulk, so no stack
+ * trace is captured.
+ */
+class RowRejectedException extends Exception {
+
+  RowRejectedException(String reason) {
+    super(reason, null, false, false);
+  }
+}
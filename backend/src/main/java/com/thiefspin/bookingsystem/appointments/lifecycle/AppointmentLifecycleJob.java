@@ -0,0 +1,148 @@
+package com.thiefspin.bookingsystem.appointments.lifecycle;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves appointments that are over out of the active statuses, so the rows every capacity query
+ * filters on stay limited to the ones that can still take place.
+ * <p>
+ * Each chunk is a single short {@code UPDATE ... WHERE id IN (...)} in keyset order from the
+ * watermark, committed on its own so row locks are held for one chunk only. The watermark is
+ * checkpointed with the job's lease after every chunk; a run that dies part way resumes there,
+ * and re-running a chunk is harmless because closed rows no longer match. New appointments are
+ * always in the future, so nothing can appear behind the watermark.
+ * <p>
+ * Cached appointment lookups carry the status, so the lookups cache is cleared on every node
+ * after a run that closed anything.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AppointmentLifecycleProperties.class)
+@ConditionalOnProperty(
+    name = "appointments.lifecycle.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class AppointmentLifecycleJob {
+
+  static final String JOB_NAME = "appointment-lifecycle";
+
+  private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private static final Comparator<AppointmentEntity> KEYSET_ORDER = Comparator
+      .comparing(AppointmentEntity::appointmentDateTime)
+      .thenComparing(AppointmentEntity::id);
+
+  private final AppointmentRepository repository;
+
+  private final JobLeases jobLeases;
+
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  private final AppointmentLifecycleProperties properties;
+
+  private final Clock clock;
+
+  @Autowired
+  public AppointmentLifecycleJob(AppointmentRepository repository, JobLeases jobLeases,
+      CacheInvalidationBus cacheInvalidationBus, AppointmentLifecycleProperties properties) {
+    this(repository, jobLeases, cacheInvalidationBus, properties, Clock.systemDefaultZone());
+  }
+
+  AppointmentLifecycleJob(AppointmentRepository repository, JobLeases jobLeases,
+      CacheInvalidationBus cacheInvalidationBus, AppointmentLifecycleProperties properties,
+      Clock clock) {
+    this.repository = repository;
+    this.jobLeases = jobLeases;
+    this.cacheInvalidationBus = cacheInvalidationBus;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${appointments.lifecycle.interval:PT5M}",
+      initialDelayString = "${appointments.lifecycle.interval:PT5M}"
+  )
+  public void run() {
+    try {
+      int closed = closePastAppointments();
+      if (closed > 0) {
+        log.info("Closed {} past appointments", closed);
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to close past appointments", ex);
+    }
+  }
+
+  /**
+   * Closes past appointments from the watermark onwards, up to {@code max-chunks-per-run} chunks,
+   * and returns how many were closed. Does nothing when another node holds the lease.
+   */
+  int closePastAppointments() {
+    Optional<JobLease> acquired = jobLeases.tryAcquire(JOB_NAME, properties.lease());
+    if (acquired.isEmpty()) {
+      log.debug("Appointment lifecycle job is running on another node");
+      return 0;
+    }
+
+    JobLease lease = acquired.get();
+    LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.grace());
+    LocalDateTime afterDateTime = lease.watermarkAt() != null ? lease.watermarkAt() : EPOCH;
+    long afterId = lease.watermarkId() != null ? lease.watermarkId() : 0;
+    int closed = 0;
+    try {
+      for (int chunk = 0; chunk < properties.maxChunksPerRun(); chunk++) {
+        List<AppointmentEntity> updated = repository.closePastAppointments(afterDateTime,
+            afterId, cutoff, properties.chunkSize());
+        if (updated.isEmpty()) {
+          break;
+        }
+
+        AppointmentEntity last = updated.stream().max(KEYSET_ORDER).orElseThrow();
+        afterDateTime = last.appointmentDateTime();
+        afterId = last.id();
+        closed += updated.size();
+        if (!jobLeases.checkpoint(lease, afterDateTime, afterId, properties.lease())) {
+          log.warn("Lost the appointment lifecycle lease after closing {} appointments", closed);
+          return closed;
+        }
+        if (updated.size() < properties.chunkSize() || !pause()) {
+          break;
+        }
+      }
+    } finally {
+      jobLeases.release(lease);
+      if (closed > 0) {
+        cacheInvalidationBus.clear(CacheNames.LOOKUPS);
+      }
+    }
+    return closed;
+  }
+
+  private boolean pause() {
+    try {
+      Thread.sleep(properties.pauseBetweenChunks());
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.thiefspin.bookingsystem.appointments.lifecycle;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code grace} is how long after its start an appointment is closed; it should cover the
+ * longest appointment so none is closed while still under way.
+ */
+@ConfigurationProperties(prefix = "appointments.lifecycle")
+public record AppointmentLifecycleProperties(
+    Duration grace,
+    Integer chunkSize,
+    Integer maxChunksPerRun,
+    Duration pauseBetweenChunks,
+    Duration lease
+) {
+
+  public AppointmentLifecycleProperties {
+    grace = grace == null ? Duration.ofHours(4) : grace;
+    chunkSize = chunkSize == null ? 500 : chunkSize;
+    maxChunksPerRun = maxChunksPerRun == null ? 200 : maxChunksPerRun;
+    pauseBetweenChunks = pauseBetweenChunks == null ? Duration.ofMillis(50) : pauseBetweenChunks;
+    lease = lease == null ? Duration.ofMinutes(2) : lease;
+  }
+}
@@ -0,0 +1,150 @@
+package com.thiefspin.bookingsystem.appointments.partitions;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly partitions of {@code booking.appointments} in step with the calendar.
+ * <p>
+ * Partitions are created {@code premake-months} ahead, so a booking never lands in a month
+ * without one; there is deliberately no default partition, as attaching a month next to one
+ * means scanning it. Months older than {@code retention-months} are detached with
+ * {@code DETACH PARTITION CONCURRENTLY} and left in place as plain tables under the same name,
+ * out of reach of every query on {@code appointments}, for archiving.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(AppointmentPartitionProperties.class)
+@ConditionalOnProperty(
+    name = "appointments.partitions.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class AppointmentPartitionMaintenance {
+
+  static final String JOB_NAME = "appointment-partitions";
+
+  private static final Pattern PARTITION_NAME = Pattern.compile("appointments_p(\\d{6})");
+
+  private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private static final String LIST_SQL = """
+      SELECT c.relname, i.inhdetachpending
+      FROM pg_inherits i
+      JOIN pg_class c ON c.oid = i.inhrelid
+      WHERE i.inhparent = 'booking.appointments'::regclass
+      ORDER BY c.relname
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final JobLeases jobLeases;
+
+  private final AppointmentPartitionProperties properties;
+
+  private final Clock clock;
+
+  @Autowired
+  public AppointmentPartitionMaintenance(JdbcTemplate jdbcTemplate, JobLeases jobLeases,
+      AppointmentPartitionProperties properties) {
+    this(jdbcTemplate, jobLeases, properties, Clock.systemDefaultZone());
+  }
+
+  AppointmentPartitionMaintenance(JdbcTemplate jdbcTemplate, JobLeases jobLeases,
+      AppointmentPartitionProperties properties, Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.jobLeases = jobLeases;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    run();
+  }
+
+  @Scheduled(cron = "${appointments.partitions.cron:0 30 2 * * *}")
+  public void run() {
+    try {
+      maintain();
+    } catch (DataAccessException ex) {
+      log.warn("Failed to maintain appointment partitions", ex);
+    }
+  }
+
+  /**
+   * Creates missing partitions up to the premake horizon and detaches those past retention.
+   * Does nothing when another node is doing the same.
+   */
+  void maintain() {
+    Optional<JobLease> acquired = jobLeases.tryAcquire(JOB_NAME, properties.lease());
+    if (acquired.isEmpty()) {
+      log.debug("Appointment partition maintenance is running on another node");
+      return;
+    }
+
+    try {
+      YearMonth current = YearMonth.now(clock);
+      for (int ahead = 0; ahead <= properties.premakeMonths(); ahead++) {
+        String created = jdbcTemplate.queryForObject(
+            "SELECT booking.create_appointment_partition(?)", String.class,
+            current.plusMonths(ahead).atDay(1));
+        if (created != null) {
+          log.info("Created appointment partition {}", created);
+        }
+      }
+
+      if (properties.retentionMonths() > 0) {
+        YearMonth oldestKept = current.minusMonths(properties.retentionMonths());
+        for (Partition partition : expiredPartitions(oldestKept)) {
+          // CONCURRENTLY cannot run inside a transaction, and an interrupted one has to be
+          // finalized rather than started again
+          jdbcTemplate.execute("ALTER TABLE booking.appointments DETACH PARTITION booking."
+              + partition.name() + (partition.detachPending() ? " FINALIZE" : " CONCURRENTLY"));
+          log.info("Detached appointment partition {}", partition.name());
+        }
+      }
+    } finally {
+      jobLeases.release(acquired.get());
+    }
+  }
+
+  /**
+   * Returns the attached partitions for months before {@code oldestKept}, oldest first.
+   */
+  List<Partition> expiredPartitions(YearMonth oldestKept) {
+    List<Partition> expired = new ArrayList<>();
+    List<Partition> attached = jdbcTemplate.query(LIST_SQL,
+        (rs, rowNum) -> new Partition(rs.getString("relname"), rs.getBoolean("inhdetachpending")));
+    for (Partition partition : attached) {
+      Matcher matcher = PARTITION_NAME.matcher(partition.name());
+      if (matcher.matches()
+          && YearMonth.parse(matcher.group(1), MONTH_SUFFIX).isBefore(oldestKept)) {
+        expired.add(partition);
+      }
+    }
+    return expired;
+  }
+
+  record Partition(String name, boolean detachPending) {
+
+  }
+}
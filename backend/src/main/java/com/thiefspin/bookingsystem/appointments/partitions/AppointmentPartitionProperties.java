@@ -0,0 +1,21 @@
+package com.thiefspin.bookingsystem.appointments.partitions;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code retentionMonths} of zero keeps every partition attached.
+ */
+@ConfigurationProperties(prefix = "appointments.partitions")
+public record AppointmentPartitionProperties(
+    Integer premakeMonths,
+    Integer retentionMonths,
+    Duration lease
+) {
+
+  public AppointmentPartitionProperties {
+    premakeMonths = premakeMonths == null ? 12 : premakeMonths;
+    retentionMonths = retentionMonths == null ? 36 : retentionMonths;
+    lease = lease == null ? Duration.ofMinutes(10) : lease;
+  }
+}
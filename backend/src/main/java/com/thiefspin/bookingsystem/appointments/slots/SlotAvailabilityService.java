@@ -2,12 +2,20 @@ package com.thiefspin.bookingsystem.appointments.slots;
 
 import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
 import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.config.jfr.SlotGenerationEvent;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +28,8 @@ public class SlotAvailabilityService {
 
   private final AppointmentRepository repository;
 
+  private final BookingMetrics metrics;
+
   @Value("${branch.max-time-slot-minutes}")
   private int slotDurationMinutes;
 
@@ -29,10 +39,60 @@ public class SlotAvailabilityService {
       return Collections.emptyList();
     }
 
-    return generateSlots(branch, date);
+    long started = System.nanoTime();
+    SlotGenerationEvent event = new SlotGenerationEvent();
+    event.start();
+    List<TimeSlot> slots = List.of();
+    boolean success = false;
+    try {
+      slots = generateSlots(branch, date);
+      success = true;
+      return slots;
+    } finally {
+      metrics.record(Operation.AVAILABLE_SLOTS, started, success);
+      event.finish(branch.id(), date, slots.size(), success);
+    }
+  }
+
+  /**
+   * The next free slot of each branch within {@code days} days of {@code from}, keyed by branch
+   * id. Bookings of every branch are counted with one grouped query over the whole window, so the
+   * cost does not grow with the number of slots searched.
+   */
+  public Map<Long, TimeSlot> findNextAvailableSlots(Collection<Branch> branches, LocalDate from,
+      int days) {
+    if (branches.isEmpty() || days <= 0) {
+      return Map.of();
+    }
+    LocalDate first = from.isBefore(LocalDate.now()) ? LocalDate.now() : from;
+    LocalDate end = from.plusDays(days);
+    Map<Long, Map<LocalDateTime, Integer>> bookings = repository.countActiveAppointmentsBySlot(
+        branches.stream().map(Branch::id).toList(), first.atStartOfDay(), end.atStartOfDay());
+
+    Map<Long, TimeSlot> next = new HashMap<>();
+    for (Branch branch : branches) {
+      Map<LocalDateTime, Integer> branchBookings = bookings.getOrDefault(branch.id(), Map.of());
+      for (LocalDate date = first; date.isBefore(end); date = date.plusDays(1)) {
+        Optional<TimeSlot> slot = generateSlots(branch, date,
+            slotDateTime -> branchBookings.getOrDefault(slotDateTime, 0)).stream()
+            .filter(TimeSlot::available)
+            .findFirst();
+        if (slot.isPresent()) {
+          next.put(branch.id(), slot.get());
+          break;
+        }
+      }
+    }
+    return next;
   }
 
   private List<TimeSlot> generateSlots(Branch branch, LocalDate date) {
+    return generateSlots(branch, date,
+        slotDateTime -> repository.countActiveAppointmentsAtTime(branch.id(), slotDateTime));
+  }
+
+  private List<TimeSlot> generateSlots(Branch branch, LocalDate date,
+      ToIntFunction<LocalDateTime> bookings) {
     List<TimeSlot> slots = new ArrayList<>();
     LocalTime currentTime = branch.openingTime();
     LocalTime closingTime = branch.closingTime();
@@ -45,7 +105,7 @@ public class SlotAvailabilityService {
         continue;
       }
 
-      TimeSlot slot = createTimeSlot(branch, slotDateTime);
+      TimeSlot slot = createTimeSlot(branch, slotDateTime, bookings.applyAsInt(slotDateTime));
       slots.add(slot);
 
       currentTime = currentTime.plusMinutes(slotDurationMinutes);
@@ -58,9 +118,9 @@ public class SlotAvailabilityService {
     return slotEndTime.isBefore(closingTime) || slotEndTime.equals(closingTime);
   }
 
-  private TimeSlot createTimeSlot(Branch branch, LocalDateTime slotDateTime) {
+  private TimeSlot createTimeSlot(Branch branch, LocalDateTime slotDateTime,
+      int currentBookings) {
     LocalDateTime slotEndDateTime = slotDateTime.plusMinutes(slotDurationMinutes);
-    Integer currentBookings = repository.countActiveAppointmentsAtTime(branch.id(), slotDateTime);
     Integer maxBookings = branch.maxConcurrentAppointmentsPerSlot();
 
     return new TimeSlot(
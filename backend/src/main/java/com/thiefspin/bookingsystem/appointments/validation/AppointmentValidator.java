@@ -2,46 +2,118 @@ package com.thiefspin.bookingsystem.appointments.validation;
 
 import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
 import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
-import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.config.jfr.ValidationEvent;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Rejection;
 import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import lombok.AllArgsConstructor;
+import java.time.YearMonth;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class AppointmentValidator {
 
   private final AppointmentRepository repository;
 
   private final BranchService branchService;
 
+  private final BookingMetrics metrics;
+
+  /**
+   * Appointments are partitioned by month and partitions only exist this many months ahead, so
+   * later bookings are refused rather than failing on insert.
+   */
+  @Value("${appointments.partitions.premake-months:12}")
+  private int bookingHorizonMonths;
+
+  /**
+   * Refuses appointments from the start of the month {@code bookingHorizonMonths} ahead. The last
+   * premade month is left out, as partition maintenance only creates it some time into the new
+   * month.
+   */
+  public void validateWithinBookingHorizon(LocalDateTime appointmentDateTime)
+      throws BadRequestException {
+    ValidationEvent event = new ValidationEvent();
+    event.start();
+    Rejection rejection = null;
+    try {
+      LocalDateTime horizon = YearMonth.now().plusMonths(bookingHorizonMonths).atDay(1)
+          .atStartOfDay();
+      if (!appointmentDateTime.isBefore(horizon)) {
+        rejection = Rejection.BEYOND_HORIZON;
+        metrics.reject(rejection);
+        throw new BadRequestException(
+            "Appointments can only be booked before %s".formatted(horizon.toLocalDate()));
+      }
+    } finally {
+      event.finish("booking_horizon", null, appointmentDateTime, rejection);
+    }
+  }
+
   public void validateSlotAvailable(Long branchId, LocalDateTime dateTime)
       throws BadRequestException {
-    if (!isSlotAvailable(branchId, dateTime)) {
-      throw new BadRequestException(
-          "Slot at %s for branch %d is not available"
-              .formatted(dateTime, branchId)
-      );
+    ValidationEvent event = new ValidationEvent();
+    event.start();
+    Rejection rejection = null;
+    try {
+      if (!isSlotAvailable(branchId, dateTime)) {
+        rejection = Rejection.SLOT_FULL;
+        metrics.reject(rejection);
+        throw new BadRequestException(
+            "Slot at %s for branch %d is not available"
+                .formatted(dateTime, branchId)
+        );
+      }
+    } finally {
+      event.finish("slot_available", branchId, dateTime, rejection);
     }
   }
 
   public void validateWithinOperatingHours(Branch branch, LocalDateTime appointmentDateTime,
       int durationMinutes)
       throws BadRequestException {
-    LocalTime appointmentTime = appointmentDateTime.toLocalTime();
-    LocalTime endTime = appointmentTime.plusMinutes(durationMinutes);
+    ValidationEvent event = new ValidationEvent();
+    event.start();
+    Rejection rejection = null;
+    try {
+      LocalTime appointmentTime = appointmentDateTime.toLocalTime();
+      LocalTime endTime = appointmentTime.plusMinutes(durationMinutes);
 
-    if (appointmentTime.isBefore(branch.openingTime()) || endTime.isAfter(branch.closingTime())) {
-      throw new BadRequestException("Appointment time is outside branch operating hours");
+      if (appointmentTime.isBefore(branch.openingTime())
+          || endTime.isAfter(branch.closingTime())) {
+        rejection = Rejection.OUTSIDE_HOURS;
+        metrics.reject(rejection);
+        throw new BadRequestException("Appointment time is outside branch operating hours");
+      }
+    } finally {
+      event.finish("operating_hours", branch.id(), appointmentDateTime, rejection);
     }
   }
 
   public void validateCancellable(AppointmentEntity appointment) throws BadRequestException {
-    var status = AppointmentStatus.valueOf(appointment.status());
+    ValidationEvent event = new ValidationEvent();
+    event.start();
+    Rejection rejection = null;
+    try {
+      checkCancellable(appointment);
+    } catch (BadRequestException ex) {
+      rejection = Rejection.NOT_CANCELLABLE;
+      metrics.reject(rejection);
+      throw ex;
+    } finally {
+      event.finish("cancellable", appointment.branchId(), appointment.appointmentDateTime(),
+          rejection);
+    }
+  }
+
+  private void checkCancellable(AppointmentEntity appointment) throws BadRequestException {
+    var status = appointment.status();
 
     switch (status) {
       case CANCELLED -> throw new BadRequestException("Appointment is already cancelled");
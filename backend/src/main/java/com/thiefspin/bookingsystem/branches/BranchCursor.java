@@ -0,0 +1,38 @@
+package com.thiefspin.bookingsystem.branches;
+
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (name, id) ordering of branches, exchanged with clients as an opaque
+ * URL-safe token.
+ */
+public record BranchCursor(String name, long id) {
+
+  private static final char SEPARATOR = '\u0000';
+
+  public static BranchCursor after(Branch branch) {
+    return new BranchCursor(branch.name(), branch.id());
+  }
+
+  public String encode() {
+    String raw = name + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static BranchCursor decode(String token) throws BadRequestException {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new BadRequestException("Invalid branch cursor");
+      }
+      return new BranchCursor(raw.substring(0, separator),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid branch cursor");
+    }
+  }
+}
@@ -44,7 +44,13 @@ public record BranchEntity(
     Instant createdAt,
 
     @Column("updated_at")
-    Instant updatedAt
+    Instant updatedAt,
+
+    @Column("latitude")
+    Double latitude,
+
+    @Column("longitude")
+    Double longitude
 ) {
 
   public Branch toModel() {
@@ -0,0 +1,17 @@
+package com.thiefspin.bookingsystem.branches;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface BranchPagingRepository {
+
+  Page<BranchEntity> findPageWithTotal(Pageable pageable);
+
+  Slice<BranchEntity> findSlice(Pageable pageable);
+
+  List<BranchEntity> findAfter(BranchCursor after, int limit);
+
+  Page<BranchEntity> searchActive(String searchTerm, Pageable pageable);
+}
@@ -0,0 +1,188 @@
+package com.thiefspin.bookingsystem.branches;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Names are ordered under the "C" collation so that keyset positions agree with the in-memory
+ * catalog snapshot, which orders by code point.
+ */
+@RequiredArgsConstructor
+class BranchPagingRepositoryImpl implements BranchPagingRepository {
+
+  private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+      "id", "id",
+      "code", "code",
+      "name", "name COLLATE \"C\"",
+      "address", "address",
+      "openingTime", "opening_time",
+      "closingTime", "closing_time",
+      "maxConcurrentAppointmentsPerSlot", "max_concurrent_appointments_per_slot"
+  );
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Override
+  public Page<BranchEntity> findPageWithTotal(Pageable pageable) {
+    String sql = """
+        SELECT b.*, COUNT(*) OVER () AS total_count
+        FROM booking.branches b
+        ORDER BY %s
+        LIMIT :limit OFFSET :offset
+        """.formatted(orderBy(pageable.getSort()));
+
+    long[] total = {0};
+    List<BranchEntity> content = jdbcTemplate.query(sql, pageParameters(pageable, 0),
+        (rs, rowNum) -> {
+          total[0] = rs.getLong("total_count");
+          return mapRow(rs);
+        });
+
+    if (content.isEmpty() && pageable.getOffset() > 0) {
+      total[0] = jdbcTemplate.getJdbcTemplate()
+          .queryForObject("SELECT COUNT(*) FROM booking.branches", Long.class);
+    }
+    return new PageImpl<>(content, pageable, total[0]);
+  }
+
+  @Override
+  public Slice<BranchEntity> findSlice(Pageable pageable) {
+    String sql = """
+        SELECT * FROM booking.branches
+        ORDER BY %s
+        LIMIT :limit OFFSET :offset
+        """.formatted(orderBy(pageable.getSort()));
+
+    List<BranchEntity> rows = jdbcTemplate.query(sql, pageParameters(pageable, 1),
+        (rs, rowNum) -> mapRow(rs));
+
+    boolean hasNext = rows.size() > pageable.getPageSize();
+    List<BranchEntity> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  @Override
+  public List<BranchEntity> findAfter(BranchCursor after, int limit) {
+    if (after == null) {
+      return jdbcTemplate.query("""
+              SELECT * FROM booking.branches
+              ORDER BY name COLLATE "C", id
+              LIMIT :limit
+              """,
+          new MapSqlParameterSource("limit", limit),
+          (rs, rowNum) -> mapRow(rs));
+    }
+
+    return jdbcTemplate.query("""
+            SELECT * FROM booking.branches
+            WHERE (name COLLATE "C", id) > (:name, :id)
+            ORDER BY name COLLATE "C", id
+            LIMIT :limit
+            """,
+        new MapSqlParameterSource()
+            .addValue("name", after.name())
+            .addValue("id", after.id())
+            .addValue("limit", limit),
+        (rs, rowNum) -> mapRow(rs));
+  }
+
+  /**
+   * Ranks hits the way {@code BranchSearchIndex} does, so a search answered here while the
+   * catalog is not loaded comes back in the same order: an exact code match first, then names
+   * starting with the term, names containing it, codes containing it and addresses containing it,
+   * each by name.
+   */
+  @Override
+  public Page<BranchEntity> searchActive(String searchTerm, Pageable pageable) {
+    long[] total = {0};
+    List<BranchEntity> content = jdbcTemplate.query("""
+            SELECT b.*, COUNT(*) OVER () AS total_count
+            FROM booking.branches b
+            WHERE is_active = true
+            AND (
+                LOWER(name) LIKE CONCAT('%', :searchTerm, '%')
+                OR LOWER(address) LIKE CONCAT('%', :searchTerm, '%')
+                OR LOWER(code) LIKE CONCAT('%', :searchTerm, '%')
+            )
+            ORDER BY CASE
+                         WHEN LOWER(code) = :searchTerm THEN 0
+                         WHEN LOWER(name) LIKE CONCAT(:searchTerm, '%') THEN 1
+                         WHEN LOWER(name) LIKE CONCAT('%', :searchTerm, '%') THEN 2
+                         WHEN LOWER(code) LIKE CONCAT('%', :searchTerm, '%') THEN 3
+                         ELSE 4
+                     END,
+                     name COLLATE "C", id
+            LIMIT :limit OFFSET :offset
+            """,
+        pageParameters(pageable, 0).addValue("searchTerm", searchTerm),
+        (rs, rowNum) -> {
+          total[0] = rs.getLong("total_count");
+          return mapRow(rs);
+        });
+    return new PageImpl<>(content, pageable, total[0]);
+  }
+
+  private static MapSqlParameterSource pageParameters(Pageable pageable, int extraRows) {
+    return new MapSqlParameterSource()
+        .addValue("limit", pageable.getPageSize() + extraRows)
+        .addValue("offset", pageable.getOffset());
+  }
+
+  private static String orderBy(Sort sort) {
+    List<String> terms = new ArrayList<>();
+    boolean orderedById = false;
+    for (Sort.Order order : sort) {
+      String column = SORTABLE_COLUMNS.get(order.getProperty());
+      if (column == null) {
+        continue;
+      }
+      terms.add(column + (order.isAscending() ? " ASC" : " DESC"));
+      orderedById |= column.equals("id");
+    }
+    if (terms.isEmpty()) {
+      terms.add("name COLLATE \"C\" ASC");
+    }
+    if (!orderedById) {
+      terms.add("id ASC");
+    }
+    return String.join(", ", terms);
+  }
+
+  private static BranchEntity mapRow(ResultSet rs) throws SQLException {
+    return new BranchEntity(
+        rs.getLong("id"),
+        rs.getString("code"),
+        rs.getString("name"),
+        rs.getString("address"),
+        rs.getString("phone_number"),
+        rs.getString("email"),
+        rs.getObject("opening_time", LocalTime.class),
+        rs.getObject("closing_time", LocalTime.class),
+        rs.getInt("max_concurrent_appointments_per_slot"),
+        rs.getBoolean("is_active"),
+        toInstant(rs.getTimestamp("created_at")),
+        toInstant(rs.getTimestamp("updated_at")),
+        rs.getObject("latitude", Double.class),
+        rs.getObject("longitude", Double.class)
+    );
+  }
+
+  private static Instant toInstant(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toInstant() : null;
+  }
+}
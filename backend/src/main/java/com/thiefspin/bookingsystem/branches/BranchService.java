@@ -1,56 +1,120 @@
 package com.thiefspin.bookingsystem.branches;
 
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalog;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import com.thiefspin.bookingsystem.branches.search.BranchSearchIndex;
+import com.thiefspin.bookingsystem.branches.search.BranchSearchResult;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.pagination.KeysetPage;
+import com.thiefspin.bookingsystem.util.pagination.PaginationMode;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class BranchService {
 
+  static final int MAX_SCROLL_SIZE = 100;
+
   private final BranchRepository repository;
 
-  public Page<Branch> list(Pageable pageable) {
-    return repository.findAll(pageable)
-        .map(BranchEntity::toModel);
+  private final BranchCatalog catalog;
+
+  private final CacheInvalidationBus cacheInvalidationBus;
+
+  private final BookingMetrics metrics;
+
+  public Slice<Branch> list(Pageable pageable, PaginationMode mode) {
+    Optional<BranchCatalogSnapshot> snapshot = catalog.current()
+        .filter(it -> BranchCatalogSnapshot.supports(pageable.getSort()));
+
+    if (snapshot.isPresent()) {
+      List<Branch> content = snapshot.get().range(pageable.getOffset(), pageable.getPageSize());
+      return toSlice(content, pageable, snapshot.get().size(), mode);
+    }
+
+    return switch (mode) {
+      case EXACT -> repository.findPageWithTotal(pageable).map(BranchEntity::toModel);
+      case SLICE -> repository.findSlice(pageable).map(BranchEntity::toModel);
+    };
+  }
+
+  public KeysetPage<Branch> scroll(String after, int size) throws BadRequestException {
+    int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    BranchCursor cursor = after == null || after.isBlank() ? null : BranchCursor.decode(after);
+
+    List<Branch> rows = catalog.current()
+        .map(snapshot -> snapshot.after(cursor, limit + 1))
+        .orElseGet(() -> repository.findAfter(cursor, limit + 1).stream()
+            .map(BranchEntity::toModel)
+            .toList());
+
+    boolean hasNext = rows.size() > limit;
+    List<Branch> window = hasNext ? rows.subList(0, limit) : rows;
+
+    return new KeysetPage<>(
+        window,
+        limit,
+        hasNext,
+        hasNext ? BranchCursor.after(window.get(limit - 1)).encode() : null
+    );
   }
 
-  @Cacheable(value = "branches", key = "#id")
   public Optional<Branch> findById(Long id) {
-    return repository.findById(id).map(BranchEntity::toModel);
+    return catalog.current()
+        .map(snapshot -> snapshot.findById(id))
+        .orElseGet(() -> repository.findById(id).map(BranchEntity::toModel));
+  }
+
+  @EventListener(BranchesChangedEvent.class)
+  public void onBranchesChanged() {
+    cacheInvalidationBus.clear(CacheNames.BRANCHES);
   }
 
-  public Page<Branch> search(String query, Pageable pageable) {
-    String searchTerm = query.trim().toLowerCase();
+  public Slice<Branch> search(String query, Pageable pageable, PaginationMode mode) {
+    String searchTerm = BranchSearchIndex.normalize(query);
 
     if (searchTerm.isEmpty()) {
       return Page.empty(pageable);
     }
 
-    return createPage(
-        () -> repository.searchBranches(searchTerm, pageable.getPageSize(), pageable.getOffset()),
-        () -> repository.countSearchResults(searchTerm),
-        pageable
-    );
+    long started = System.nanoTime();
+    boolean success = false;
+    try {
+      Slice<Branch> branches;
+      Optional<BranchCatalogSnapshot> snapshot = catalog.current();
+      if (snapshot.isEmpty()) {
+        branches = repository.searchActive(searchTerm, pageable).map(BranchEntity::toModel);
+      } else {
+        BranchSearchResult result = snapshot.get().searchIndex()
+            .search(searchTerm, pageable.getOffset(), pageable.getPageSize());
+        branches = toSlice(result.content(), pageable, result.total(), mode);
+      }
+      success = true;
+      return branches;
+    } finally {
+      metrics.record(Operation.BRANCH_SEARCH, started, success);
+    }
   }
 
-  private Page<Branch> createPage(
-      Supplier<List<BranchEntity>> contentSupplier,
-      Supplier<Long> countSupplier,
-      Pageable pageable
-  ) {
-    List<Branch> content = contentSupplier.get().stream()
-        .map(BranchEntity::toModel)
-        .toList();
-
-    long total = countSupplier.get();
-
-    return new PageImpl<>(content, pageable, total);
+  private static Slice<Branch> toSlice(List<Branch> content, Pageable pageable, long total,
+      PaginationMode mode) {
+    return switch (mode) {
+      case EXACT -> new PageImpl<>(content, pageable, total);
+      case SLICE -> new SliceImpl<>(content, pageable,
+          pageable.getOffset() + content.size() < total);
+    };
   }
 }
@@ -0,0 +1,7 @@
+package com.thiefspin.bookingsystem.branches;
+
+/**
+ * Published when a node's branch catalog sees the branch table change, so that the in-memory
+ * branch views of every other node can be rebuilt without waiting for their own check.
+ */
+public record BranchesChangedEvent() {}
@@ -0,0 +1,117 @@
+package com.thiefspin.bookingsystem.branches.catalog;
+
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.BranchesChangedEvent;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidatedEvent;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link BranchCatalogSnapshot}. The snapshot is swapped atomically on startup,
+ * when the branches cache is invalidated on any node and whenever the scheduled check sees the
+ * branch table change. Branches are edited directly in the database, so the node whose check
+ * sees a change first publishes a {@link BranchesChangedEvent} for the other nodes to follow.
+ * A snapshot that could not be verified against the database within the configured staleness
+ * bound is not served, so readers fall back to the database.
+ */
+@Slf4j
+@Component
+public class BranchCatalog {
+
+  private final BranchRepository repository;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Duration maxStaleness;
+
+  private final AtomicReference<BranchCatalogSnapshot> current = new AtomicReference<>();
+
+  private volatile String fingerprint;
+
+  private volatile Instant verifiedAt = Instant.MIN;
+
+  public BranchCatalog(
+      BranchRepository repository,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${branch.catalog.max-staleness:PT10M}") Duration maxStaleness
+  ) {
+    this.repository = repository;
+    this.eventPublisher = eventPublisher;
+    this.maxStaleness = maxStaleness;
+  }
+
+  public Optional<BranchCatalogSnapshot> current() {
+    BranchCatalogSnapshot snapshot = current.get();
+    if (snapshot == null) {
+      return Optional.of(refresh());
+    }
+    if (verifiedAt.plus(maxStaleness).isBefore(Instant.now())) {
+      log.debug("Branch catalog version {} is stale, falling back to the database",
+          snapshot.version());
+      return Optional.empty();
+    }
+    return Optional.of(snapshot);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    refresh();
+  }
+
+  @EventListener(condition = "#event.cacheName() == '" + CacheNames.BRANCHES + "'")
+  public void onBranchesInvalidated(CacheInvalidatedEvent event) {
+    if (!Objects.equals(repository.fingerprint(), fingerprint)) {
+      refresh();
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${branch.catalog.refresh-interval:PT1M}",
+      initialDelayString = "${branch.catalog.refresh-interval:PT1M}"
+  )
+  public void refreshIfChanged() {
+    try {
+      if (Objects.equals(repository.fingerprint(), fingerprint)) {
+        verifiedAt = Instant.now();
+        return;
+      }
+      boolean loaded = fingerprint != null;
+      refresh();
+      if (loaded) {
+        eventPublisher.publishEvent(new BranchesChangedEvent());
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to refresh branch catalog, still serving version {}",
+          current.get() != null ? current.get().version() : 0, ex);
+    }
+  }
+
+  public synchronized BranchCatalogSnapshot refresh() {
+    String latestFingerprint = repository.fingerprint();
+    BranchCatalogSnapshot previous = current.get();
+    BranchCatalogSnapshot snapshot = BranchCatalogSnapshot.build(
+        repository.findAllBranches(),
+        previous != null ? previous.version() + 1 : 1,
+        Instant.now()
+    );
+
+    current.set(snapshot);
+    fingerprint = latestFingerprint;
+    verifiedAt = snapshot.loadedAt();
+    log.debug("Loaded branch catalog version {} with {} branches",
+        snapshot.version(), snapshot.size());
+    return snapshot;
+  }
+}
@@ -0,0 +1,159 @@
+package com.thiefspin.bookingsystem.branches.catalog;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchCursor;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.geo.BranchSpatialIndex;
+import com.thiefspin.bookingsystem.branches.search.BranchSearchIndex;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Immutable, versioned view of every branch. Branches are held in an array ordered by
+ * (name, id) so that offset and keyset reads are plain array slices. Names compare by code
+ * point, matching the {@code COLLATE "C"} ordering of the database listings, so a cursor issued
+ * by either path resumes at the same place on the other.
+ */
+public final class BranchCatalogSnapshot {
+
+  private static final Comparator<Branch> NAME_ORDER = Comparator
+      .comparing(Branch::name, BranchCatalogSnapshot::compareCodePoints)
+      .thenComparing(Branch::id);
+
+  private final long version;
+  private final Instant loadedAt;
+  private final Branch[] byName;
+  private final Map<Long, Branch> byId;
+  private final Map<String, Branch> byCode;
+  private final BranchSearchIndex searchIndex;
+  private final BranchSpatialIndex spatialIndex;
+
+  private BranchCatalogSnapshot(
+      long version,
+      Instant loadedAt,
+      Branch[] byName,
+      Map<Long, Branch> byId,
+      Map<String, Branch> byCode,
+      BranchSearchIndex searchIndex,
+      BranchSpatialIndex spatialIndex
+  ) {
+    this.version = version;
+    this.loadedAt = loadedAt;
+    this.byName = byName;
+    this.byId = byId;
+    this.byCode = byCode;
+    this.searchIndex = searchIndex;
+    this.spatialIndex = spatialIndex;
+  }
+
+  public static BranchCatalogSnapshot build(List<BranchEntity> entities, long version,
+      Instant loadedAt) {
+    Branch[] byName = entities.stream()
+        .map(BranchEntity::toModel)
+        .sorted(NAME_ORDER)
+        .toArray(Branch[]::new);
+
+    Map<Long, Branch> byId = new HashMap<>(byName.length * 2);
+    Map<String, Branch> byCode = new HashMap<>(byName.length * 2);
+    for (Branch branch : byName) {
+      byId.put(branch.id(), branch);
+      byCode.put(branch.code(), branch);
+    }
+
+    return new BranchCatalogSnapshot(
+        version,
+        loadedAt,
+        byName,
+        Map.copyOf(byId),
+        Map.copyOf(byCode),
+        BranchSearchIndex.build(entities),
+        BranchSpatialIndex.build(entities)
+    );
+  }
+
+  /**
+   * Whether a listing in the given order can be served from the name-ordered array.
+   */
+  public static boolean supports(Sort sort) {
+    for (Sort.Order order : sort) {
+      boolean nameOrIdAscending = order.isAscending()
+          && (order.getProperty().equals("name") || order.getProperty().equals("id"));
+      if (!nameOrIdAscending) {
+        return false;
+      }
+    }
+    return sort.isUnsorted() || sort.iterator().next().getProperty().equals("name");
+  }
+
+  public long version() {
+    return version;
+  }
+
+  public Instant loadedAt() {
+    return loadedAt;
+  }
+
+  public int size() {
+    return byName.length;
+  }
+
+  public Optional<Branch> findById(Long id) {
+    return Optional.ofNullable(byId.get(id));
+  }
+
+  public Optional<Branch> findByCode(String code) {
+    return Optional.ofNullable(byCode.get(code));
+  }
+
+  public BranchSearchIndex searchIndex() {
+    return searchIndex;
+  }
+
+  public BranchSpatialIndex spatialIndex() {
+    return spatialIndex;
+  }
+
+  public List<Branch> range(long offset, int limit) {
+    if (offset >= byName.length) {
+      return List.of();
+    }
+    int from = (int) offset;
+    int to = (int) Math.min(byName.length, offset + limit);
+    return List.of(Arrays.copyOfRange(byName, from, to));
+  }
+
+  public List<Branch> after(BranchCursor cursor, int limit) {
+    int from = 0;
+    if (cursor != null) {
+      Branch probe = new Branch(cursor.id(), null, cursor.name(), null, null, null, null, null);
+      int position = Arrays.binarySearch(byName, probe, NAME_ORDER);
+      from = position >= 0 ? position + 1 : -position - 1;
+    }
+    return range(from, limit);
+  }
+
+  /**
+   * Code point order, which is the byte order of UTF-8 and therefore of the "C" collation.
+   * {@link String#compareTo} differs from it for characters outside the Basic Multilingual Plane.
+   */
+  static int compareCodePoints(String left, String right) {
+    int i = 0;
+    int j = 0;
+    while (i < left.length() && j < right.length()) {
+      int a = left.codePointAt(i);
+      int b = right.codePointAt(j);
+      if (a != b) {
+        return Integer.compare(a, b);
+      }
+      i += Character.charCount(a);
+      j += Character.charCount(b);
+    }
+    return Boolean.compare(i < left.length(), j < right.length());
+  }
+}
@@ -0,0 +1,8 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+
+public record BranchDistance(
+    Branch branch,
+    double distanceKm
+) {}
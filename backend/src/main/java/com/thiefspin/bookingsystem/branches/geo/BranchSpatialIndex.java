@@ -0,0 +1,337 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable k-d tree over branch locations.
+ * <p>
+ * Latitude/longitude pairs are projected onto the unit sphere and indexed as 3D points. The
+ * straight-line (chord) distance between two such points grows monotonically with their
+ * great-circle distance, so Euclidean nearest-neighbour and radius searches in 3D give exact
+ * great-circle answers without trigonometry in the inner loop. The tree is stored implicitly:
+ * the median of every range is its node, so queries walk array ranges and never allocate nodes.
+ */
+public final class BranchSpatialIndex {
+
+  static final double EARTH_RADIUS_KM = 6371.0088;
+
+  private static final BranchSpatialIndex EMPTY = build(List.of());
+
+  private final Branch[] branches;
+  private final boolean[] active;
+  private final double[] points;
+
+  private BranchSpatialIndex(Branch[] branches, boolean[] active, double[] points) {
+    this.branches = branches;
+    this.active = active;
+    this.points = points;
+  }
+
+  public static BranchSpatialIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds an index over the branches in {@code entities} that have coordinates.
+   */
+  public static BranchSpatialIndex build(List<BranchEntity> entities) {
+    List<BranchEntity> located = entities.stream()
+        .filter(entity -> entity.latitude() != null && entity.longitude() != null)
+        .toList();
+
+    int size = located.size();
+    Branch[] branches = new Branch[size];
+    boolean[] active = new boolean[size];
+    double[] points = new double[size * 3];
+    for (int i = 0; i < size; i++) {
+      BranchEntity entity = located.get(i);
+      branches[i] = entity.toModel();
+      active[i] = Boolean.TRUE.equals(entity.isActive());
+      project(entity.latitude(), entity.longitude(), points, i * 3);
+    }
+
+    BranchSpatialIndex index = new BranchSpatialIndex(branches, active, points);
+    index.buildTree(0, size, 0);
+    return index;
+  }
+
+  public int size() {
+    return branches.length;
+  }
+
+  /**
+   * Returns up to {@code limit} branches closest to the given location, nearest first,
+   * optionally bounded by {@code maxDistanceKm}.
+   */
+  public List<BranchDistance> nearest(double latitude, double longitude, int limit,
+      Double maxDistanceKm, boolean activeOnly) {
+    if (limit <= 0 || branches.length == 0) {
+      return List.of();
+    }
+
+    double[] query = new double[3];
+    project(latitude, longitude, query, 0);
+    double bound = maxDistanceKm == null ? Double.POSITIVE_INFINITY : chordSquared(maxDistanceKm);
+
+    NearestQueue queue = new NearestQueue(Math.min(limit, branches.length), bound);
+    nearest(0, branches.length, 0, query, queue, activeOnly);
+    return queue.drain(this);
+  }
+
+  /**
+   * Returns every branch within {@code radiusKm} of the given location, nearest first.
+   */
+  public List<BranchDistance> within(double latitude, double longitude, double radiusKm,
+      boolean activeOnly) {
+    if (branches.length == 0) {
+      return List.of();
+    }
+
+    double[] query = new double[3];
+    project(latitude, longitude, query, 0);
+    double bound = chordSquared(radiusKm);
+
+    int[] hits = new int[16];
+    int[] count = {0};
+    hits = within(0, branches.length, 0, query, bound, activeOnly, hits, count);
+
+    // Non-negative floats order like their bit patterns, so distance and node pack into one key.
+    long[] keys = new long[count[0]];
+    for (int i = 0; i < keys.length; i++) {
+      float distance = (float) squaredDistance(hits[i], query);
+      keys[i] = ((long) Float.floatToIntBits(distance) << 32) | hits[i];
+    }
+    Arrays.sort(keys);
+
+    List<BranchDistance> result = new ArrayList<>(keys.length);
+    for (long key : keys) {
+      int node = (int) key;
+      result.add(toDistance(node, squaredDistance(node, query)));
+    }
+    return result;
+  }
+
+  private void nearest(int lo, int hi, int depth, double[] query, NearestQueue queue,
+      boolean activeOnly) {
+    if (lo >= hi) {
+      return;
+    }
+    int node = (lo + hi) >>> 1;
+    if (!activeOnly || active[node]) {
+      queue.offer(node, squaredDistance(node, query));
+    }
+
+    int axis = depth % 3;
+    double delta = query[axis] - points[node * 3 + axis];
+    if (delta < 0) {
+      nearest(lo, node, depth + 1, query, queue, activeOnly);
+      if (delta * delta < queue.bound()) {
+        nearest(node + 1, hi, depth + 1, query, queue, activeOnly);
+      }
+    } else {
+      nearest(node + 1, hi, depth + 1, query, queue, activeOnly);
+      if (delta * delta < queue.bound()) {
+        nearest(lo, node, depth + 1, query, queue, activeOnly);
+      }
+    }
+  }
+
+  private int[] within(int lo, int hi, int depth, double[] query, double bound,
+      boolean activeOnly, int[] hits, int[] count) {
+    if (lo >= hi) {
+      return hits;
+    }
+    int node = (lo + hi) >>> 1;
+    if ((!activeOnly || active[node]) && squaredDistance(node, query) <= bound) {
+      if (count[0] == hits.length) {
+        hits = Arrays.copyOf(hits, hits.length * 2);
+      }
+      hits[count[0]++] = node;
+    }
+
+    int axis = depth % 3;
+    double delta = query[axis] - points[node * 3 + axis];
+    if (delta <= 0 || delta * delta <= bound) {
+      hits = within(lo, node, depth + 1, query, bound, activeOnly, hits, count);
+    }
+    if (delta >= 0 || delta * delta <= bound) {
+      hits = within(node + 1, hi, depth + 1, query, bound, activeOnly, hits, count);
+    }
+    return hits;
+  }
+
+  private void buildTree(int lo, int hi, int depth) {
+    if (hi - lo <= 1) {
+      return;
+    }
+    int median = (lo + hi) >>> 1;
+    select(lo, hi - 1, median, depth % 3);
+    buildTree(lo, median, depth + 1);
+    buildTree(median + 1, hi, depth + 1);
+  }
+
+  private void select(int left, int right, int k, int axis) {
+    while (right > left) {
+      int pivot = partition(left, right, (left + right) >>> 1, axis);
+      if (pivot == k) {
+        return;
+      } else if (k < pivot) {
+        right = pivot - 1;
+      } else {
+        left = pivot + 1;
+      }
+    }
+  }
+
+  private int partition(int left, int right, int pivotIndex, int axis) {
+    double pivotValue = points[pivotIndex * 3 + axis];
+    swap(pivotIndex, right);
+    int store = left;
+    for (int i = left; i < right; i++) {
+      if (points[i * 3 + axis] < pivotValue) {
+        swap(store, i);
+        store++;
+      }
+    }
+    swap(right, store);
+    return store;
+  }
+
+  private void swap(int a, int b) {
+    if (a == b) {
+      return;
+    }
+    Branch branch = branches[a];
+    branches[a] = branches[b];
+    branches[b] = branch;
+
+    boolean flag = active[a];
+    active[a] = active[b];
+    active[b] = flag;
+
+    for (int axis = 0; axis < 3; axis++) {
+      double value = points[a * 3 + axis];
+      points[a * 3 + axis] = points[b * 3 + axis];
+      points[b * 3 + axis] = value;
+    }
+  }
+
+  private double squaredDistance(int node, double[] query) {
+    double dx = points[node * 3] - query[0];
+    double dy = points[node * 3 + 1] - query[1];
+    double dz = points[node * 3 + 2] - query[2];
+    return dx * dx + dy * dy + dz * dz;
+  }
+
+  private BranchDistance toDistance(int node, double chordSquared) {
+    double chord = Math.sqrt(chordSquared);
+    double distanceKm = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    return new BranchDistance(branches[node], distanceKm);
+  }
+
+  private static void project(double latitude, double longitude, double[] target, int offset) {
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    target[offset] = cosLat * Math.cos(lon);
+    target[offset + 1] = cosLat * Math.sin(lon);
+    target[offset + 2] = Math.sin(lat);
+  }
+
+  private static double chordSquared(double distanceKm) {
+    double angle = Math.min(Math.PI, Math.max(0, distanceKm) / EARTH_RADIUS_KM);
+    double chord = 2 * Math.sin(angle / 2);
+    return chord * chord;
+  }
+
+  /**
+   * Bounded max-heap of the closest nodes seen so far, keyed by squared chord length.
+   */
+  private static final class NearestQueue {
+
+    private final int[] nodes;
+    private final double[] distances;
+    private final double limit;
+    private int size;
+
+    NearestQueue(int capacity, double limit) {
+      this.nodes = new int[capacity];
+      this.distances = new double[capacity];
+      this.limit = limit;
+    }
+
+    double bound() {
+      return size < nodes.length ? limit : Math.min(limit, distances[0]);
+    }
+
+    void offer(int node, double distance) {
+      if (distance > limit) {
+        return;
+      }
+      if (size < nodes.length) {
+        nodes[size] = node;
+        distances[size] = distance;
+        siftUp(size++);
+      } else if (distance < distances[0]) {
+        nodes[0] = node;
+        distances[0] = distance;
+        siftDown(0);
+      }
+    }
+
+    List<BranchDistance> drain(BranchSpatialIndex index) {
+      BranchDistance[] ordered = new BranchDistance[size];
+      for (int i = size - 1; i >= 0; i--) {
+        ordered[i] = index.toDistance(nodes[0], distances[0]);
+        size--;
+        nodes[0] = nodes[size];
+        distances[0] = distances[size];
+        siftDown(0);
+      }
+      return List.of(ordered);
+    }
+
+    private void siftUp(int i) {
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (distances[parent] >= distances[i]) {
+          return;
+        }
+        swap(i, parent);
+        i = parent;
+      }
+    }
+
+    private void siftDown(int i) {
+      while (true) {
+        int largest = i;
+        int left = 2 * i + 1;
+        int right = left + 1;
+        if (left < size && distances[left] > distances[largest]) {
+          largest = left;
+        }
+        if (right < size && distances[right] > distances[largest]) {
+          largest = right;
+        }
+        if (largest == i) {
+          return;
+        }
+        swap(i, largest);
+        i = largest;
+      }
+    }
+
+    private void swap(int a, int b) {
+      int node = nodes[a];
+      nodes[a] = nodes[b];
+      nodes[b] = node;
+      double distance = distances[a];
+      distances[a] = distances[b];
+      distances[b] = distance;
+    }
+  }
+}
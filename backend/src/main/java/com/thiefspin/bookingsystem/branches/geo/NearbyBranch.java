@@ -0,0 +1,20 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
+import com.thiefspin.bookingsystem.branches.Branch;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A branch near a requested location")
+public record NearbyBranch(
+
+    @Schema(description = "Branch details")
+    Branch branch,
+
+    @Schema(description = "Great-circle distance from the requested location in kilometres",
+        example = "2.75")
+    double distanceKm,
+
+    @Schema(description = "Next bookable slot at the branch, when requested",
+        nullable = true)
+    TimeSlot nextAvailableSlot
+) {}
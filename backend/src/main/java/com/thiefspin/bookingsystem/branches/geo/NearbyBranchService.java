@@ -0,0 +1,80 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import com.thiefspin.bookingsystem.appointments.slots.SlotAvailabilityService;
+import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalog;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class NearbyBranchService {
+
+  static final int MAX_RESULTS = 50;
+
+  static final int NEXT_SLOT_SEARCH_DAYS = 7;
+
+  private final BranchCatalog catalog;
+
+  private final BranchRepository repository;
+
+  private final SlotAvailabilityService slotAvailabilityService;
+
+  public List<NearbyBranch> findNearby(
+      double latitude,
+      double longitude,
+      int limit,
+      Double radiusKm,
+      boolean activeOnly,
+      boolean includeNextSlot
+  ) throws BadRequestException {
+    validateLocation(latitude, longitude);
+    if (radiusKm != null && !(radiusKm > 0)) {
+      throw new BadRequestException("Radius must be greater than zero");
+    }
+
+    int maxResults = Math.max(1, Math.min(limit, MAX_RESULTS));
+    BranchSpatialIndex index = spatialIndex();
+    List<BranchDistance> hits = radiusKm == null
+        ? index.nearest(latitude, longitude, maxResults, null, activeOnly)
+        : index.within(latitude, longitude, radiusKm, activeOnly);
+
+    List<BranchDistance> results = hits.stream().limit(maxResults).toList();
+    Map<Long, TimeSlot> nextSlots = includeNextSlot
+        ? slotAvailabilityService.findNextAvailableSlots(
+            results.stream().map(BranchDistance::branch).toList(),
+            LocalDate.now(),
+            NEXT_SLOT_SEARCH_DAYS)
+        : Map.of();
+
+    return results.stream()
+        .map(hit -> new NearbyBranch(
+            hit.branch(),
+            hit.distanceKm(),
+            nextSlots.get(hit.branch().id())
+        ))
+        .toList();
+  }
+
+  private BranchSpatialIndex spatialIndex() {
+    return catalog.current()
+        .map(BranchCatalogSnapshot::spatialIndex)
+        .orElseGet(() -> BranchSpatialIndex.build(repository.findAllBranches()));
+  }
+
+  private static void validateLocation(double latitude, double longitude)
+      throws BadRequestException {
+    if (!(latitude >= -90 && latitude <= 90)) {
+      throw new BadRequestException("Latitude must be between -90 and 90");
+    }
+    if (!(longitude >= -180 && longitude <= 180)) {
+      throw new BadRequestException("Longitude must be between -180 and 180");
+    }
+  }
+}
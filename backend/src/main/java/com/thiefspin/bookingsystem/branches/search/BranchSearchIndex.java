@@ -0,0 +1,252 @@
+package com.thiefspin.bookingsystem.branches.search;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable inverted index of character trigrams over the name, address and code of active
+ * branches.
+ * <p>
+ * Matching mirrors the SQL search it replaces: a branch matches when the lower-cased term is a
+ * substring of its lower-cased name, address or code. Terms of three or more characters are
+ * narrowed through the trigram postings and then verified against the fields, shorter terms are
+ * checked against every branch. Hits are ranked by where the term matched and then by name.
+ */
+public final class BranchSearchIndex {
+
+  private static final int GRAM_LENGTH = 3;
+
+  private static final int RANK_CODE_EXACT = 0;
+  private static final int RANK_NAME_PREFIX = 1;
+  private static final int RANK_NAME = 2;
+  private static final int RANK_CODE = 3;
+  private static final int RANK_ADDRESS = 4;
+  private static final int NO_MATCH = -1;
+
+  private static final BranchSearchIndex EMPTY = build(List.of());
+
+  private final Branch[] branches;
+  private final String[] names;
+  private final String[] addresses;
+  private final String[] codes;
+
+  private final long[] gramKeys;
+  private final int[][] gramPostings;
+  private final int gramMask;
+
+  private BranchSearchIndex(
+      Branch[] branches,
+      String[] names,
+      String[] addresses,
+      String[] codes,
+      long[] gramKeys,
+      int[][] gramPostings
+  ) {
+    this.branches = branches;
+    this.names = names;
+    this.addresses = addresses;
+    this.codes = codes;
+    this.gramKeys = gramKeys;
+    this.gramPostings = gramPostings;
+    this.gramMask = gramKeys.length - 1;
+  }
+
+  public static BranchSearchIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds an index over the active branches in {@code entities}, keeping their iteration order
+   * as the tie-breaking order between equally ranked hits.
+   */
+  public static BranchSearchIndex build(List<BranchEntity> entities) {
+    List<BranchEntity> active = entities.stream()
+        .filter(entity -> Boolean.TRUE.equals(entity.isActive()))
+        .toList();
+
+    int size = active.size();
+    Branch[] branches = new Branch[size];
+    String[] names = new String[size];
+    String[] addresses = new String[size];
+    String[] codes = new String[size];
+    Map<Long, PostingsBuilder> postings = new HashMap<>();
+
+    for (int doc = 0; doc < size; doc++) {
+      BranchEntity entity = active.get(doc);
+      branches[doc] = entity.toModel();
+      names[doc] = normalize(entity.name());
+      addresses[doc] = normalize(entity.address());
+      codes[doc] = normalize(entity.code());
+
+      addGrams(postings, names[doc], doc);
+      addGrams(postings, addresses[doc], doc);
+      addGrams(postings, codes[doc], doc);
+    }
+
+    int capacity = Integer.highestOneBit(Math.max(2, postings.size() * 2 - 1)) << 1;
+    long[] gramKeys = new long[capacity];
+    int[][] gramPostings = new int[capacity][];
+    postings.forEach((key, builder) -> {
+      int slot = slot(key, capacity - 1);
+      while (gramPostings[slot] != null) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      gramKeys[slot] = key;
+      gramPostings[slot] = builder.toArray();
+    });
+
+    return new BranchSearchIndex(branches, names, addresses, codes, gramKeys, gramPostings);
+  }
+
+  public static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  public int size() {
+    return branches.length;
+  }
+
+  public BranchSearchResult search(String query, long offset, int limit) {
+    String term = normalize(query);
+    if (term.isEmpty() || branches.length == 0) {
+      return BranchSearchResult.EMPTY;
+    }
+
+    int[] candidates = term.length() < GRAM_LENGTH ? null : candidates(term);
+    int candidateCount = candidates == null ? branches.length : candidates.length;
+
+    long[] hits = new long[candidateCount];
+    int hitCount = 0;
+    for (int i = 0; i < candidateCount; i++) {
+      int doc = candidates == null ? i : candidates[i];
+      int rank = rank(doc, term);
+      if (rank != NO_MATCH) {
+        hits[hitCount++] = ((long) rank << 32) | doc;
+      }
+    }
+    Arrays.sort(hits, 0, hitCount);
+
+    if (offset >= hitCount) {
+      return new BranchSearchResult(List.of(), hitCount);
+    }
+    int from = (int) offset;
+    int to = (int) Math.min(hitCount, offset + limit);
+    List<Branch> content = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      content.add(branches[(int) hits[i]]);
+    }
+    return new BranchSearchResult(content, hitCount);
+  }
+
+  private int rank(int doc, String term) {
+    if (codes[doc].equals(term)) {
+      return RANK_CODE_EXACT;
+    }
+    if (names[doc].startsWith(term)) {
+      return RANK_NAME_PREFIX;
+    }
+    if (names[doc].contains(term)) {
+      return RANK_NAME;
+    }
+    if (codes[doc].contains(term)) {
+      return RANK_CODE;
+    }
+    if (addresses[doc].contains(term)) {
+      return RANK_ADDRESS;
+    }
+    return NO_MATCH;
+  }
+
+  private int[] candidates(String term) {
+    int gramCount = term.length() - GRAM_LENGTH + 1;
+    int[][] lists = new int[gramCount][];
+    for (int i = 0; i < gramCount; i++) {
+      int[] postings = postings(gramKey(term, i));
+      if (postings == null) {
+        return new int[0];
+      }
+      lists[i] = postings;
+    }
+    Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+    int[] result = lists[0];
+    for (int i = 1; i < lists.length && result.length > 0; i++) {
+      if (lists[i] != lists[i - 1]) {
+        result = intersect(result, lists[i]);
+      }
+    }
+    return result;
+  }
+
+  private int[] postings(long key) {
+    int slot = slot(key, gramMask);
+    while (gramPostings[slot] != null) {
+      if (gramKeys[slot] == key) {
+        return gramPostings[slot];
+      }
+      slot = (slot + 1) & gramMask;
+    }
+    return null;
+  }
+
+  private static int[] intersect(int[] left, int[] right) {
+    int[] out = new int[Math.min(left.length, right.length)];
+    int i = 0;
+    int j = 0;
+    int n = 0;
+    while (i < left.length && j < right.length) {
+      if (left[i] < right[j]) {
+        i++;
+      } else if (left[i] > right[j]) {
+        j++;
+      } else {
+        out[n++] = left[i];
+        i++;
+        j++;
+      }
+    }
+    return n == out.length ? out : Arrays.copyOf(out, n);
+  }
+
+  private static void addGrams(Map<Long, PostingsBuilder> postings, String field, int doc) {
+    for (int i = 0; i + GRAM_LENGTH <= field.length(); i++) {
+      postings.computeIfAbsent(gramKey(field, i), key -> new PostingsBuilder()).add(doc);
+    }
+  }
+
+  private static long gramKey(String value, int start) {
+    return ((long) value.charAt(start) << 32)
+        | ((long) value.charAt(start + 1) << 16)
+        | value.charAt(start + 2);
+  }
+
+  private static int slot(long key, int mask) {
+    return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+  }
+
+  private static final class PostingsBuilder {
+
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+      if (size > 0 && docs[size - 1] == doc) {
+        return;
+      }
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      docs[size++] = doc;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(docs, size);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.thiefspin.bookingsystem.branches.search;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import java.util.List;
+
+public record BranchSearchResult(
+    List<Branch> content,
+    long total
+) {
+
+  static final BranchSearchResult EMPTY = new BranchSearchResult(List.of(), 0);
+}
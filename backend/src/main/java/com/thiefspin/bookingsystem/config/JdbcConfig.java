@@ -0,0 +1,20 @@
+package com.thiefspin.bookingsystem.config;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentStatusConverters;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jdbc.repository.config.AbstractJdbcConfiguration;
+
+/**
+ * Registers the column converters of the entities. Extending {@link AbstractJdbcConfiguration}
+ * keeps the dialect's own conversions, which a standalone {@code JdbcCustomConversions} bean
+ * would replace.
+ */
+@Configuration
+public class JdbcConfig extends AbstractJdbcConfiguration {
+
+  @Override
+  protected List<?> userConverters() {
+    return AppointmentStatusConverters.all();
+  }
+}
@@ -1,5 +1,6 @@
 package com.thiefspin.bookingsystem.config;
 
+import com.thiefspin.bookingsystem.config.sql.SqlAccountingHeaders;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -37,7 +38,9 @@ public class WebConfig {
             "Authorization",
             "Content-Disposition",
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            SqlAccountingHeaders.STATEMENTS,
+            SqlAccountingHeaders.TIME
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
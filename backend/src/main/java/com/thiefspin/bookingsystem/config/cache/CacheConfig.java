@@ -0,0 +1,59 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers every cache declared under {@code caches.specs} with its own Caffeine policy.
+ * <p>
+ * All caches record statistics, which the actuator binds to Micrometer for caches that exist at
+ * startup. Caches with {@code refresh-after-write} need a {@link CacheRefresher} bean of the same
+ * name; startup fails otherwise.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> caffeineCacheManagerCustomizer(
+      CacheProperties properties,
+      ObjectProvider<CacheRefresher> refreshers
+  ) {
+    return cacheManager -> configure(cacheManager, properties, refreshers.orderedStream().toList());
+  }
+
+  static void configure(
+      CaffeineCacheManager cacheManager,
+      CacheProperties properties,
+      List<CacheRefresher> refreshers
+  ) {
+    Map<String, CacheRefresher> refresherByName = refreshers.stream()
+        .collect(Collectors.toMap(CacheRefresher::cacheName, Function.identity()));
+
+    cacheManager.setCaffeine(properties.defaults().toCaffeine());
+
+    properties.specs().forEach((name, declared) -> {
+      CacheSpec spec = declared.withDefaults(properties.defaults());
+      CacheRefresher refresher = refresherByName.get(name);
+      Caffeine<Object, Object> builder = spec.toCaffeine();
+
+      if (spec.refreshAfterWrite() == null) {
+        cacheManager.registerCustomCache(name, builder.build());
+      } else if (refresher != null) {
+        cacheManager.registerCustomCache(name, builder.build(refresher::reload));
+      } else {
+        throw new IllegalStateException(
+            "Cache '" + name + "' sets refresh-after-write but has no CacheRefresher");
+      }
+    });
+  }
+}
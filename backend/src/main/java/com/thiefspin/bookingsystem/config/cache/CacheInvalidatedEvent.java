@@ -0,0 +1,9 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+/**
+ * Published just before entries of {@code cacheName} are evicted, whether the change happened on
+ * this node or arrived from another one, so that derived state can be rebuilt first.
+ */
+public record CacheInvalidatedEvent(String cacheName) {
+
+}
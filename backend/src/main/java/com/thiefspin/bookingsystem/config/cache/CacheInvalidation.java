@@ -0,0 +1,55 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+/**
+ * Eviction of one key, or of every entry when {@code key} is {@code null}, from a named cache.
+ * <p>
+ * Keys travel as text, so only {@link Long} and {@link String} keys are supported.
+ */
+public record CacheInvalidation(String cacheName, Object key) {
+
+  private static final String ALL_ENTRIES = "*";
+  private static final char LONG_KEY = 'L';
+  private static final char STRING_KEY = 'S';
+
+  public CacheInvalidation {
+    if (cacheName == null || cacheName.isEmpty() || cacheName.indexOf('|') >= 0) {
+      throw new IllegalArgumentException("Invalid cache name: " + cacheName);
+    }
+    if (key != null && !(key instanceof Long) && !(key instanceof String)) {
+      throw new IllegalArgumentException("Unsupported cache key type: " + key.getClass());
+    }
+  }
+
+  public static CacheInvalidation all(String cacheName) {
+    return new CacheInvalidation(cacheName, null);
+  }
+
+  public boolean allEntries() {
+    return key == null;
+  }
+
+  String encode() {
+    if (key == null) {
+      return cacheName + '|' + ALL_ENTRIES;
+    }
+    return cacheName + '|' + (key instanceof Long ? LONG_KEY : STRING_KEY) + key;
+  }
+
+  static CacheInvalidation decode(String value) {
+    int separator = value.indexOf('|');
+    if (separator <= 0 || separator == value.length() - 1) {
+      throw new IllegalArgumentException("Malformed cache invalidation: " + value);
+    }
+    String cacheName = value.substring(0, separator);
+    String key = value.substring(separator + 1);
+
+    if (key.equals(ALL_ENTRIES)) {
+      return all(cacheName);
+    }
+    return switch (key.charAt(0)) {
+      case LONG_KEY -> new CacheInvalidation(cacheName, Long.parseLong(key.substring(1)));
+      case STRING_KEY -> new CacheInvalidation(cacheName, key.substring(1));
+      default -> throw new IllegalArgumentException("Malformed cache invalidation: " + value);
+    };
+  }
+}
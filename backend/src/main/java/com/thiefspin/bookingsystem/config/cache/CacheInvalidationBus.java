@@ -0,0 +1,176 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the local caches of every node coherent.
+ * <p>
+ * Invalidations are applied to this node's caches once the surrounding transaction commits and
+ * are broadcast with Postgres {@code NOTIFY} on the same connection, so other nodes only hear
+ * about committed changes. {@link CacheInvalidationListener} feeds them back in on the receiving
+ * side, where bursts are coalesced before they are applied.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+  private final CacheManager cacheManager;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final boolean enabled;
+
+  private final String channel;
+
+  private final int maxKeysPerCache;
+
+  private final String origin = UUID.randomUUID().toString();
+
+  public CacheInvalidationBus(
+      CacheManager cacheManager,
+      ApplicationEventPublisher eventPublisher,
+      JdbcTemplate jdbcTemplate,
+      @Value("${caches.invalidation.enabled:false}") boolean enabled,
+      @Value("${caches.invalidation.channel:cache_invalidation}") String channel,
+      @Value("${caches.invalidation.max-keys-per-cache:256}") int maxKeysPerCache
+  ) {
+    if (!channel.matches("[a-z_][a-z0-9_]*")) {
+      throw new IllegalArgumentException("Invalid notification channel: " + channel);
+    }
+    this.cacheManager = cacheManager;
+    this.eventPublisher = eventPublisher;
+    this.jdbcTemplate = jdbcTemplate;
+    this.enabled = enabled;
+    this.channel = channel;
+    this.maxKeysPerCache = maxKeysPerCache;
+  }
+
+  public void evict(String cacheName, Object key) {
+    publish(new CacheInvalidation(cacheName, key));
+  }
+
+  public void clear(String cacheName) {
+    publish(CacheInvalidation.all(cacheName));
+  }
+
+  String channel() {
+    return channel;
+  }
+
+  String origin() {
+    return origin;
+  }
+
+  /**
+   * Applies notification payloads received from the channel, skipping this node's own.
+   */
+  void receive(Collection<String> payloads) {
+    List<CacheInvalidation> invalidations = new ArrayList<>(payloads.size());
+    for (String payload : payloads) {
+      int separator = payload.indexOf('|');
+      if (separator < 0) {
+        log.warn("Ignoring malformed cache invalidation '{}'", payload);
+        continue;
+      }
+      if (payload.substring(0, separator).equals(origin)) {
+        continue;
+      }
+      try {
+        invalidations.add(CacheInvalidation.decode(payload.substring(separator + 1)));
+      } catch (IllegalArgumentException e) {
+        log.warn("Ignoring malformed cache invalidation '{}'", payload);
+      }
+    }
+    apply(coalesce(invalidations, maxKeysPerCache));
+  }
+
+  /**
+   * Clears every local cache, for when invalidations may have been missed.
+   */
+  void resynchronize() {
+    apply(cacheManager.getCacheNames().stream().map(CacheInvalidation::all).toList());
+  }
+
+  static List<CacheInvalidation> coalesce(Collection<CacheInvalidation> invalidations,
+      int maxKeysPerCache) {
+    Set<String> cleared = new LinkedHashSet<>();
+    Map<String, Set<Object>> keysByCache = new LinkedHashMap<>();
+    for (CacheInvalidation invalidation : invalidations) {
+      String cacheName = invalidation.cacheName();
+      if (cleared.contains(cacheName)) {
+        continue;
+      }
+      Set<Object> keys = keysByCache.computeIfAbsent(cacheName, name -> new LinkedHashSet<>());
+      if (invalidation.allEntries()
+          || (keys.size() == maxKeysPerCache && !keys.contains(invalidation.key()))) {
+        cleared.add(cacheName);
+        keysByCache.remove(cacheName);
+      } else {
+        keys.add(invalidation.key());
+      }
+    }
+
+    List<CacheInvalidation> coalesced = new ArrayList<>();
+    cleared.forEach(cacheName -> coalesced.add(CacheInvalidation.all(cacheName)));
+    keysByCache.forEach((cacheName, keys) ->
+        keys.forEach(key -> coalesced.add(new CacheInvalidation(cacheName, key))));
+    return coalesced;
+  }
+
+  private void publish(CacheInvalidation invalidation) {
+    if (enabled) {
+      jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null,
+          channel, origin + '|' + invalidation.encode());
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          apply(List.of(invalidation));
+        }
+      });
+    } else {
+      apply(List.of(invalidation));
+    }
+  }
+
+  private void apply(List<CacheInvalidation> invalidations) {
+    Set<String> announced = new LinkedHashSet<>();
+    for (CacheInvalidation invalidation : invalidations) {
+      if (announced.add(invalidation.cacheName())) {
+        eventPublisher.publishEvent(new CacheInvalidatedEvent(invalidation.cacheName()));
+      }
+    }
+
+    for (CacheInvalidation invalidation : invalidations) {
+      Cache cache = cacheManager.getCache(invalidation.cacheName());
+      if (cache == null) {
+        continue;
+      }
+      if (invalidation.allEntries()) {
+        cache.clear();
+      } else {
+        cache.evict(invalidation.key());
+      }
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens for cache invalidations from other nodes on a dedicated Postgres connection.
+ * <p>
+ * The connection is opened outside the pool so a long-lived {@code LISTEN} never holds a pooled
+ * connection. After the first notification of a burst, further ones are collected for the
+ * coalescing window and handed to the bus as one batch. If the connection drops, notifications
+ * sent meanwhile are lost, so every local cache is cleared once the listener reconnects.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "caches.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationListener implements SmartLifecycle {
+
+  private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+  private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+  private final CacheInvalidationBus bus;
+
+  private final DataSourceProperties dataSourceProperties;
+
+  private final Duration coalesceWindow;
+
+  private volatile boolean running;
+
+  private Thread thread;
+
+  public CacheInvalidationListener(
+      CacheInvalidationBus bus,
+      DataSourceProperties dataSourceProperties,
+      @Value("${caches.invalidation.coalesce-window:PT0.005S}") Duration coalesceWindow
+  ) {
+    this.bus = bus;
+    this.dataSourceProperties = dataSourceProperties;
+    this.coalesceWindow = coalesceWindow;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    thread = Thread.ofPlatform()
+        .name("cache-invalidation-listener")
+        .daemon()
+        .start(this::run);
+  }
+
+  @Override
+  public synchronized void stop() {
+    running = false;
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join(POLL_TIMEOUT_MILLIS * 2L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      thread = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    Duration reconnectDelay = Duration.ofSeconds(1);
+    boolean connectedBefore = false;
+
+    while (running) {
+      try (Connection connection = connect()) {
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + bus.channel());
+        }
+        if (connectedBefore) {
+          log.info("Cache invalidation listener reconnected, clearing local caches");
+          bus.resynchronize();
+        }
+        connectedBefore = true;
+        reconnectDelay = Duration.ofSeconds(1);
+
+        listen(connection.unwrap(PGConnection.class));
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          return;
+        }
+        log.warn("Cache invalidation listener failed, retrying in {}", reconnectDelay, e);
+        try {
+          Thread.sleep(reconnectDelay);
+        } catch (InterruptedException interrupted) {
+          return;
+        }
+        reconnectDelay = reconnectDelay.multipliedBy(2);
+        if (reconnectDelay.compareTo(MAX_RECONNECT_DELAY) > 0) {
+          reconnectDelay = MAX_RECONNECT_DELAY;
+        }
+      }
+    }
+  }
+
+  private void listen(PGConnection connection) throws SQLException {
+    while (running) {
+      PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+      if (notifications == null || notifications.length == 0) {
+        continue;
+      }
+
+      List<String> payloads = new ArrayList<>();
+      collect(notifications, payloads);
+
+      long deadline = System.nanoTime() + coalesceWindow.toNanos();
+      long remaining;
+      while ((remaining = deadline - System.nanoTime()) > 0) {
+        int waitMillis = (int) Math.max(1, remaining / 1_000_000);
+        collect(connection.getNotifications(waitMillis), payloads);
+      }
+
+      bus.receive(payloads);
+    }
+  }
+
+  private Connection connect() throws SQLException {
+    return DriverManager.getConnection(
+        dataSourceProperties.determineUrl(),
+        dataSourceProperties.determineUsername(),
+        dataSourceProperties.determinePassword()
+    );
+  }
+
+  private static void collect(PGNotification[] notifications, List<String> payloads) {
+    if (notifications == null) {
+      return;
+    }
+    for (PGNotification notification : notifications) {
+      payloads.add(notification.getParameter());
+    }
+  }
+}
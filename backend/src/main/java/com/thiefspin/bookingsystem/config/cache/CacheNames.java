@@ -0,0 +1,17 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+public final class CacheNames {
+
+  /**
+   * Not a cache of its own: branch reads are served by the branch catalog, which reloads when
+   * this name is invalidated.
+   */
+  public static final String BRANCHES = "branches";
+
+  public static final String SLOTS = "slots";
+
+  public static final String LOOKUPS = "lookups";
+
+  private CacheNames() {
+  }
+}
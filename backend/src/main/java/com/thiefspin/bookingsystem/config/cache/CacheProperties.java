@@ -0,0 +1,20 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "caches")
+public record CacheProperties(CacheSpec defaults, Map<String, CacheSpec> specs) {
+
+  private static final CacheSpec FALLBACK = new CacheSpec(1000L, Duration.ofMinutes(10), null);
+
+  public CacheProperties {
+    if (defaults != null && defaults.refreshAfterWrite() != null) {
+      throw new IllegalArgumentException(
+          "caches.defaults.refresh-after-write is not supported, set it per cache");
+    }
+    defaults = defaults == null ? FALLBACK : defaults.withDefaults(FALLBACK);
+    specs = specs == null ? Map.of() : Map.copyOf(specs);
+  }
+}
@@ -0,0 +1,15 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+/**
+ * Reloads entries of a cache configured with {@code refreshAfterWrite}, so that hot keys are
+ * refreshed in the background instead of expiring under load.
+ */
+public interface CacheRefresher {
+
+  String cacheName();
+
+  /**
+   * Returns the current value for {@code key}, or {@code null} to drop the entry.
+   */
+  Object reload(Object key);
+}
@@ -0,0 +1,37 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+
+/**
+ * Eviction and refresh policy of a single cache. Unset sizes and expiries fall back to the
+ * defaults; refresh is never inherited because it needs a per-cache {@link CacheRefresher}.
+ */
+public record CacheSpec(
+    Long maximumSize,
+    Duration expireAfterWrite,
+    Duration refreshAfterWrite
+) {
+
+  CacheSpec withDefaults(CacheSpec defaults) {
+    return new CacheSpec(
+        maximumSize != null ? maximumSize : defaults.maximumSize(),
+        expireAfterWrite != null ? expireAfterWrite : defaults.expireAfterWrite(),
+        refreshAfterWrite
+    );
+  }
+
+  Caffeine<Object, Object> toCaffeine() {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+    if (maximumSize != null) {
+      builder.maximumSize(maximumSize);
+    }
+    if (expireAfterWrite != null) {
+      builder.expireAfterWrite(expireAfterWrite);
+    }
+    if (refreshAfterWrite != null) {
+      builder.refreshAfterWrite(refreshAfterWrite);
+    }
+    return builder;
+  }
+}
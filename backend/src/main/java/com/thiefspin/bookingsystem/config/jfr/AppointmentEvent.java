@@ -0,0 +1,44 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import java.time.LocalDateTime;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("com.thiefspin.bookingsystem.Appointment")
+@Label("Appointment Operation")
+@Description("An appointment booked or cancelled")
+@Category("Booking System")
+@StackTrace(false)
+public class AppointmentEvent extends SqlTimedEvent {
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Branch ID")
+  long branchId;
+
+  @Label("Slot")
+  @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+  long slot;
+
+  @Label("Outcome")
+  String outcome;
+
+  /**
+   * {@code branchId} and {@code slot} may be null when the operation failed before they were
+   * known.
+   */
+  public void finish(String operation, Long branchId, LocalDateTime slot, boolean success) {
+    if (stop()) {
+      this.operation = operation;
+      this.branchId = orZero(branchId);
+      this.slot = epochMillis(slot);
+      this.outcome = success ? "success" : "failure";
+      commit();
+    }
+  }
+}
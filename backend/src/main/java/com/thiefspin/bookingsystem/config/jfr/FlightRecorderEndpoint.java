@@ -0,0 +1,158 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flight recordings on demand.
+ * <ul>
+ *   <li>{@code POST /actuator/flightrecorder} starts a recording, optionally with another JDK
+ *   {@code template} such as {@code profile} and a {@code duration} after which it stops</li>
+ *   <li>{@code GET /actuator/flightrecorder} lists the recordings in this JVM</li>
+ *   <li>{@code GET /actuator/flightrecorder/{id}} dumps a recording and returns the file</li>
+ *   <li>{@code DELETE /actuator/flightrecorder/{id}} stops and discards a recording</li>
+ * </ul>
+ * The booking events are only enabled while a recording that includes {@code jfr/booking.jfc} is
+ * running.
+ * <p>
+ * Recordings are written to disk and the endpoint has no authentication of its own, so it is not
+ * exposed by default. Add it to {@code ACTUATOR_WEB_EXPOSURE} only where
+ * {@code management.server.port} is reachable from the internal network alone.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "flightrecorder")
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecorderEndpoint {
+
+  static final String BOOKING_TEMPLATE = "jfr/booking.jfc";
+
+  private static final DateTimeFormatter DUMP_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+  private final FlightRecorderProperties properties;
+
+  public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+    this.properties = properties;
+  }
+
+  @WriteOperation
+  public RecordingDescriptor start(@Nullable String template, @Nullable Duration duration)
+      throws IOException, ParseException {
+    Map<String, String> settings = new HashMap<>(
+        Configuration.getConfiguration(template == null ? properties.template() : template)
+            .getSettings());
+    settings.putAll(bookingConfiguration().getSettings());
+
+    Recording recording = new Recording(settings);
+    recording.setName("booking-" + recording.getId());
+    recording.setToDisk(true);
+    recording.setMaxAge(properties.maxAge());
+    recording.setMaxSize(properties.maxSize().toBytes());
+    if (duration != null) {
+      recording.setDuration(duration);
+    }
+    recording.start();
+    log.info("Started flight recording {}", recording.getName());
+    return RecordingDescriptor.of(recording);
+  }
+
+  @ReadOperation
+  public List<RecordingDescriptor> recordings() {
+    return FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .map(RecordingDescriptor::of)
+        .toList();
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public Resource dump(@Selector long id) throws IOException {
+    Optional<Recording> recording = find(id);
+    if (recording.isEmpty()) {
+      return null;
+    }
+    Files.createDirectories(properties.directory());
+    Path file = properties.directory().resolve("%s-%s.jfr".formatted(
+        recording.get().getName(), DUMP_TIMESTAMP.format(Instant.now())));
+    recording.get().dump(file);
+    log.info("Dumped flight recording {} to {}", recording.get().getName(), file);
+    return new FileSystemResource(file);
+  }
+
+  @DeleteOperation
+  public RecordingDescriptor stop(@Selector long id) {
+    return find(id)
+        .map(recording -> {
+          RecordingDescriptor descriptor = RecordingDescriptor.of(recording);
+          recording.close();
+          log.info("Closed flight recording {}", recording.getName());
+          return descriptor;
+        })
+        .orElse(null);
+  }
+
+  static Configuration bookingConfiguration() throws IOException, ParseException {
+    try (Reader reader = new InputStreamReader(
+        new ClassPathResource(BOOKING_TEMPLATE).getInputStream(), StandardCharsets.UTF_8)) {
+      return Configuration.create(reader);
+    }
+  }
+
+  private static Optional<Recording> find(long id) {
+    return FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .filter(recording -> recording.getId() == id)
+        .findFirst();
+  }
+
+  public record RecordingDescriptor(
+      long id,
+      String name,
+      String state,
+      Instant startTime,
+      Duration duration,
+      Duration maxAge,
+      long maxSize
+  ) {
+
+    static RecordingDescriptor of(Recording recording) {
+      return new RecordingDescriptor(
+          recording.getId(),
+          recording.getName(),
+          recording.getState().name(),
+          recording.getStartTime() == null
+              ? null : recording.getStartTime().truncatedTo(ChronoUnit.MILLIS),
+          recording.getDuration(),
+          recording.getMaxAge(),
+          recording.getMaxSize()
+      );
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Recordings started through {@link FlightRecorderEndpoint} use the JDK template {@code template}
+ * with the booking event settings of {@code jfr/booking.jfc} on top, keep at most {@code maxAge}
+ * and {@code maxSize} of data and are dumped into {@code directory}.
+ */
+@ConfigurationProperties(prefix = "diagnostics.jfr")
+public record FlightRecorderProperties(
+    Path directory,
+    String template,
+    Duration maxAge,
+    DataSize maxSize
+) {
+
+  public FlightRecorderProperties {
+    directory = directory == null ? Path.of("jfr") : directory;
+    template = template == null ? "default" : template;
+    maxAge = maxAge == null ? Duration.ofMinutes(30) : maxAge;
+    maxSize = maxSize == null ? DataSize.ofMegabytes(256) : maxSize;
+  }
+}
@@ -0,0 +1,38 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.thiefspin.bookingsystem.NotificationSend")
+@Label("Notification Send")
+@Description("A notification sent by the notification executor")
+@Category("Booking System")
+@StackTrace(false)
+public class NotificationSendEvent extends Event {
+
+  @Label("Type")
+  String type;
+
+  @Label("Outcome")
+  String outcome;
+
+  @Label("Queue Wait")
+  @Description("Time between submission and the send starting")
+  @Timespan
+  long queueWait;
+
+  public void finish(String type, boolean success, long queueWaitNanos) {
+    end();
+    if (shouldCommit()) {
+      this.type = type;
+      this.outcome = success ? "success" : "failure";
+      this.queueWait = queueWaitNanos;
+      commit();
+    }
+  }
+}
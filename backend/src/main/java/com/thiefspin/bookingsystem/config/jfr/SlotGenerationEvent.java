@@ -0,0 +1,40 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import java.time.LocalDate;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("com.thiefspin.bookingsystem.SlotGeneration")
+@Label("Slot Generation")
+@Description("The time slots of one branch and day built from current bookings")
+@Category("Booking System")
+@StackTrace(false)
+public class SlotGenerationEvent extends SqlTimedEvent {
+
+  @Label("Branch ID")
+  long branchId;
+
+  @Label("Day")
+  @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+  long day;
+
+  @Label("Slots")
+  int slots;
+
+  @Label("Outcome")
+  String outcome;
+
+  public void finish(Long branchId, LocalDate day, int slots, boolean success) {
+    if (stop()) {
+      this.branchId = orZero(branchId);
+      this.day = epochMillis(day.atStartOfDay());
+      this.slots = slots;
+      this.outcome = success ? "success" : "failure";
+      commit();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import com.thiefspin.bookingsystem.config.sql.SqlAccounting;
+import com.thiefspin.bookingsystem.config.sql.SqlStatistics;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+
+/**
+ * An event that also reports the statements run while it was open, as counted by
+ * {@link SqlAccounting}; both stay zero when SQL accounting is disabled.
+ * <p>
+ * Callers create the event, {@link #start()} it and finish it in a {@code finally} block. While the
+ * event type is disabled nothing is counted and no fields are filled in, so the instance never
+ * escapes and the JIT removes it.
+ */
+public abstract class SqlTimedEvent extends Event {
+
+  @Label("SQL Statements")
+  int sqlStatements;
+
+  @Label("SQL Time")
+  @Timespan
+  long sqlTime;
+
+  private transient SqlStatistics sql;
+
+  public void start() {
+    if (isEnabled()) {
+      sql = SqlAccounting.begin();
+    }
+    begin();
+  }
+
+  /**
+   * Ends the event and closes its SQL scope. Returns whether the caller should fill in the
+   * remaining fields and {@link #commit()}.
+   */
+  protected boolean stop() {
+    end();
+    if (sql == null) {
+      return false;
+    }
+    SqlAccounting.end(sql);
+    sqlStatements = sql.statements();
+    sqlTime = sql.nanos();
+    sql = null;
+    return shouldCommit();
+  }
+
+  static long epochMillis(LocalDateTime dateTime) {
+    return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  static long orZero(Long value) {
+    return value == null ? 0 : value;
+  }
+}
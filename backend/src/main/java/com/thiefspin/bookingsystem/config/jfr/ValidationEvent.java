@@ -0,0 +1,45 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Rejection;
+import java.time.LocalDateTime;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+@Name("com.thiefspin.bookingsystem.Validation")
+@Label("Booking Validation")
+@Description("One check of a booking or cancellation against the branch and its bookings")
+@Category("Booking System")
+@StackTrace(false)
+public class ValidationEvent extends SqlTimedEvent {
+
+  @Label("Check")
+  String check;
+
+  @Label("Branch ID")
+  long branchId;
+
+  @Label("Slot")
+  @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+  long slot;
+
+  @Label("Outcome")
+  @Description("passed, or the reason the booking or cancellation was rejected")
+  String outcome;
+
+  /**
+   * {@code rejection} is null when the check passed or failed with an unexpected error.
+   */
+  public void finish(String check, Long branchId, LocalDateTime slot, Rejection rejection) {
+    if (stop()) {
+      this.check = check;
+      this.branchId = orZero(branchId);
+      this.slot = epochMillis(slot);
+      this.outcome = rejection == null ? "passed" : rejection.tag();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.thiefspin.bookingsystem.config.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latency of the booking hot paths under {@code booking.operation} and rejected bookings and
+ * cancellations under {@code booking.rejections}.
+ * <p>
+ * Tags only take the values of {@link Operation}, {@link Rejection} and a success or failure
+ * outcome, and every meter is registered up front, so recording is a lookup in an array and does
+ * not allocate. Callers take {@link System#nanoTime()} before the operation and pass it to
+ * {@link #record}.
+ */
+@Component
+public class BookingMetrics {
+
+  public enum Operation {
+    CREATE_APPOINTMENT("create_appointment"),
+    CANCEL_APPOINTMENT("cancel_appointment"),
+    AVAILABLE_SLOTS("available_slots"),
+    BRANCH_SEARCH("branch_search"),
+    GENERATE_REFERENCE("generate_reference");
+
+    private final String tag;
+
+    Operation(String tag) {
+      this.tag = tag;
+    }
+
+    public String tag() {
+      return tag;
+    }
+  }
+
+  public enum Rejection {
+    SLOT_FULL("slot_full"),
+    OUTSIDE_HOURS("outside_hours"),
+    BEYOND_HORIZON("beyond_horizon"),
+    NOT_CANCELLABLE("not_cancellable");
+
+    private final String tag;
+
+    Rejection(String tag) {
+      this.tag = tag;
+    }
+
+    public String tag() {
+      return tag;
+    }
+  }
+
+  private final Timer[] succeeded = new Timer[Operation.values().length];
+
+  private final Timer[] failed = new Timer[Operation.values().length];
+
+  private final Counter[] rejections = new Counter[Rejection.values().length];
+
+  public BookingMetrics(MeterRegistry meterRegistry) {
+    for (Operation operation : Operation.values()) {
+      succeeded[operation.ordinal()] = timer(meterRegistry, operation, "success");
+      failed[operation.ordinal()] = timer(meterRegistry, operation, "failure");
+    }
+    for (Rejection rejection : Rejection.values()) {
+      rejections[rejection.ordinal()] = Counter.builder("booking.rejections")
+          .description("Bookings and cancellations refused by validation")
+          .tag("reason", rejection.tag)
+          .register(meterRegistry);
+    }
+  }
+
+  /**
+   * Records {@code operation} as having run from {@code startedNanos}, a {@link System#nanoTime()}
+   * reading, until now.
+   */
+  public void record(Operation operation, long startedNanos, boolean success) {
+    Timer timer = success ? succeeded[operation.ordinal()] : failed[operation.ordinal()];
+    timer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void reject(Rejection rejection) {
+    rejections[rejection.ordinal()].increment();
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, Operation operation, String outcome) {
+    return Timer.builder("booking.operation")
+        .description("Latency of booking operations")
+        .tag("operation", operation.tag)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
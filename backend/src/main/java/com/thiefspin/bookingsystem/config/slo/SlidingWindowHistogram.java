@@ -0,0 +1,141 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latencies of the last {@code bucketCount} buckets of {@code bucketMillis} each, with counts of
+ * errors and of requests that missed the objective.
+ * <p>
+ * Latencies are binned in microseconds with 8 bins per power of two, so a percentile is at most
+ * 12.5% above the true value, up to about 67 seconds. Every count is an element of one
+ * {@link AtomicLongArray}, so recording takes no lock and allocates nothing. A bucket is reused
+ * by whichever recorder first sees it is stale and clears it; a sample recorded by another thread
+ * while it is being cleared can be lost, which an SLO estimate tolerates.
+ */
+final class SlidingWindowHistogram {
+
+  static final int SUB_BUCKET_BITS = 3;
+
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  static final int BINS = (27 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private static final int ERRORS = BINS;
+
+  private static final int MISSES = BINS + 1;
+
+  private static final int STRIDE = BINS + 2;
+
+  private final long bucketMillis;
+
+  private final int bucketCount;
+
+  private final AtomicLongArray epochs;
+
+  private final AtomicLongArray counts;
+
+  SlidingWindowHistogram(long bucketMillis, int bucketCount) {
+    this.bucketMillis = bucketMillis;
+    this.bucketCount = bucketCount;
+    this.epochs = new AtomicLongArray(bucketCount);
+    this.counts = new AtomicLongArray(bucketCount * STRIDE);
+    for (int i = 0; i < bucketCount; i++) {
+      epochs.set(i, -1);
+    }
+  }
+
+  /**
+   * {@code miss} marks a request that counts against the objective: an error, or too slow.
+   */
+  void record(long nowMillis, long micros, boolean error, boolean miss) {
+    long epoch = nowMillis / bucketMillis;
+    int bucket = (int) (epoch % bucketCount);
+    long seen = epochs.get(bucket);
+    if (seen < epoch && epochs.compareAndSet(bucket, seen, epoch)) {
+      int offset = bucket * STRIDE;
+      for (int i = 0; i < STRIDE; i++) {
+        counts.set(offset + i, 0);
+      }
+    }
+
+    int offset = bucket * STRIDE;
+    counts.incrementAndGet(offset + bin(micros));
+    if (error) {
+      counts.incrementAndGet(offset + ERRORS);
+    }
+    if (miss) {
+      counts.incrementAndGet(offset + MISSES);
+    }
+  }
+
+  /**
+   * Merges the buckets of the last {@code windowMillis}, including the current, partly filled
+   * one.
+   */
+  Window window(long nowMillis, long windowMillis) {
+    long current = nowMillis / bucketMillis;
+    long oldest = current - Math.min(windowMillis / bucketMillis, bucketCount) + 1;
+    long[] bins = new long[BINS];
+    long requests = 0;
+    long errors = 0;
+    long misses = 0;
+    for (int bucket = 0; bucket < bucketCount; bucket++) {
+      long epoch = epochs.get(bucket);
+      if (epoch < oldest || epoch > current) {
+        continue;
+      }
+      int offset = bucket * STRIDE;
+      for (int bin = 0; bin < BINS; bin++) {
+        long count = counts.get(offset + bin);
+        bins[bin] += count;
+        requests += count;
+      }
+      errors += counts.get(offset + ERRORS);
+      misses += counts.get(offset + MISSES);
+    }
+    return new Window(bins, requests, errors, misses);
+  }
+
+  static int bin(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) Math.max(micros, 0);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(micros);
+    int sub = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return Math.min((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub, BINS - 1);
+  }
+
+  /**
+   * The smallest latency in microseconds that falls into {@code bin}.
+   */
+  static long lowerBound(int bin) {
+    if (bin < SUB_BUCKETS) {
+      return bin;
+    }
+    int exponent = bin / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    long sub = bin % SUB_BUCKETS;
+    return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  record Window(long[] bins, long requests, long errors, long misses) {
+
+    /**
+     * The upper bound in microseconds of the bin holding the {@code quantile}, or 0 when the
+     * window is empty.
+     */
+    long percentile(double quantile) {
+      if (requests == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * requests));
+      long seen = 0;
+      for (int bin = 0; bin < BINS; bin++) {
+        seen += bins[bin];
+        if (seen >= rank) {
+          return lowerBound(bin + 1);
+        }
+      }
+      return lowerBound(BINS);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracks the latency objectives in {@code slo.objectives} with {@link SloFilter} and reports them
+ * through {@link SloEndpoint}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "slo.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SloProperties.class)
+public class SloConfig {
+
+  @Bean
+  public SloRegistry sloRegistry(SloProperties properties, MeterRegistry meterRegistry) {
+    return new SloRegistry(properties, meterRegistry);
+  }
+
+  @Bean
+  public SloFilter sloFilter(SloRegistry registry) {
+    return new SloFilter(registry);
+  }
+
+  @Bean
+  public SloEndpoint sloEndpoint(SloRegistry registry) {
+    return new SloEndpoint(registry);
+  }
+}
@@ -0,0 +1,43 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * {@code GET /actuator/slo} reports every objective, and {@code GET /actuator/slo/{objective}}
+ * one, per window.
+ */
+@Endpoint(id = "slo")
+public class SloEndpoint {
+
+  private final SloRegistry registry;
+
+  public SloEndpoint(SloRegistry registry) {
+    this.registry = registry;
+  }
+
+  @ReadOperation
+  public Map<String, Map<String, SloSnapshot>> objectives() {
+    Map<String, Map<String, SloSnapshot>> objectives = new LinkedHashMap<>();
+    registry.snapshots().forEach((name, windows) -> objectives.put(name, byTag(windows)));
+    return objectives;
+  }
+
+  @ReadOperation
+  public Map<String, SloSnapshot> objective(@Selector String objective) {
+    Map<SloWindow, SloSnapshot> windows = new LinkedHashMap<>();
+    for (SloWindow window : SloWindow.values()) {
+      registry.snapshot(objective, window).ifPresent(snapshot -> windows.put(window, snapshot));
+    }
+    return windows.isEmpty() ? null : byTag(windows);
+  }
+
+  private static Map<String, SloSnapshot> byTag(Map<SloWindow, SloSnapshot> windows) {
+    Map<String, SloSnapshot> byTag = new LinkedHashMap<>();
+    windows.forEach((window, snapshot) -> byTag.put(window.tag(), snapshot));
+    return byTag;
+  }
+}
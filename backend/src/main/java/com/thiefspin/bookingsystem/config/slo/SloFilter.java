@@ -0,0 +1,39 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the latency of every request mapped to a handler into the {@link SloRegistry}. A
+ * request that ended with a server error or an exception counts as an error.
+ */
+public class SloFilter extends OncePerRequestFilter {
+
+  private final SloRegistry registry;
+
+  public SloFilter(SloRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    long started = System.nanoTime();
+    boolean failed = true;
+    try {
+      chain.doFilter(request, response);
+      failed = false;
+    } finally {
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      if (pattern != null) {
+        registry.record(request.getMethod(), pattern.toString(), System.nanoTime() - started,
+            failed || response.getStatus() >= 500);
+      }
+    }
+  }
+}
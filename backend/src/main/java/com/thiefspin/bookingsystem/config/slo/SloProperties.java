@@ -0,0 +1,49 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code objectives} maps a name to the request mapping it covers and its objective: at least
+ * {@code target} of requests complete without a server error within {@code threshold}. Latencies
+ * are kept in buckets of {@code bucketWidth}, which must divide every {@link SloWindow}.
+ */
+@ConfigurationProperties(prefix = "slo")
+public record SloProperties(
+    Duration bucketWidth,
+    Map<String, Objective> objectives
+) {
+
+  public SloProperties {
+    bucketWidth = bucketWidth == null ? Duration.ofSeconds(10) : bucketWidth;
+    objectives = objectives == null ? Map.of() : Map.copyOf(objectives);
+    for (SloWindow window : SloWindow.values()) {
+      if (window.length().toMillis() % bucketWidth.toMillis() != 0) {
+        throw new IllegalArgumentException(
+            "slo.bucket-width %s does not divide the %s window".formatted(bucketWidth,
+                window.tag()));
+      }
+    }
+  }
+
+  public record Objective(
+      String method,
+      String pattern,
+      Duration threshold,
+      Double target
+  ) {
+
+    public Objective {
+      method = method == null ? "GET" : method;
+      threshold = threshold == null ? Duration.ofMillis(500) : threshold;
+      target = target == null ? 0.99 : target;
+      if (pattern == null) {
+        throw new IllegalArgumentException("An SLO objective needs a request mapping pattern");
+      }
+      if (target <= 0 || target >= 1) {
+        throw new IllegalArgumentException("SLO target must be between 0 and 1, was " + target);
+      }
+    }
+  }
+}
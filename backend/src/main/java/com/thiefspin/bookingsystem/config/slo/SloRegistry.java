@@ -0,0 +1,93 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+
+/**
+ * Latency objectives per endpoint over sliding windows of one minute, five minutes and one hour.
+ * <p>
+ * {@link #record} runs on the request thread and only looks up the endpoint's tracker and
+ * increments counters. Reading a window merges its buckets, so callers that act on the burn rate,
+ * such as load shedding, should read it periodically rather than per request. Burn rates are also
+ * published as the {@code slo.burn.rate} gauge per objective and window.
+ */
+public class SloRegistry {
+
+  private final Clock clock;
+
+  private final Map<String, SloTracker> byName = new LinkedHashMap<>();
+
+  private final Map<String, SloTracker[]> byPattern = new HashMap<>();
+
+  public SloRegistry(SloProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Clock.systemUTC());
+  }
+
+  SloRegistry(SloProperties properties, MeterRegistry meterRegistry, Clock clock) {
+    this.clock = clock;
+    Map<String, List<SloTracker>> patterns = new HashMap<>();
+    properties.objectives().forEach((name, objective) -> {
+      SloTracker tracker = new SloTracker(name, objective, properties.bucketWidth().toMillis());
+      byName.put(name, tracker);
+      patterns.computeIfAbsent(objective.pattern(), pattern -> new ArrayList<>()).add(tracker);
+      for (SloWindow window : SloWindow.values()) {
+        Gauge.builder("slo.burn.rate", () -> tracker.snapshot(clock.millis(), window).burnRate())
+            .description("Error budget burn rate of a latency objective")
+            .tag("objective", name)
+            .tag("window", window.tag())
+            .register(meterRegistry);
+      }
+    });
+    patterns.forEach((pattern, trackers) ->
+        byPattern.put(pattern, trackers.toArray(SloTracker[]::new)));
+  }
+
+  /**
+   * Records a request to the handler mapped by {@code pattern}; requests to endpoints without an
+   * objective are ignored.
+   */
+  public void record(String method, String pattern, long nanos, boolean error) {
+    SloTracker[] trackers = byPattern.get(pattern);
+    if (trackers == null) {
+      return;
+    }
+    for (SloTracker tracker : trackers) {
+      if (tracker.matches(method)) {
+        tracker.record(clock.millis(), nanos, error);
+      }
+    }
+  }
+
+  public Optional<SloSnapshot> snapshot(String objective, SloWindow window) {
+    return Optional.ofNullable(byName.get(objective))
+        .map(tracker -> tracker.snapshot(clock.millis(), window));
+  }
+
+  public OptionalDouble burnRate(String objective, SloWindow window) {
+    return snapshot(objective, window)
+        .map(snapshot -> OptionalDouble.of(snapshot.burnRate()))
+        .orElse(OptionalDouble.empty());
+  }
+
+  public Map<String, Map<SloWindow, SloSnapshot>> snapshots() {
+    long now = clock.millis();
+    Map<String, Map<SloWindow, SloSnapshot>> snapshots = new LinkedHashMap<>();
+    byName.forEach((name, tracker) -> {
+      Map<SloWindow, SloSnapshot> windows = new EnumMap<>(SloWindow.class);
+      for (SloWindow window : SloWindow.values()) {
+        windows.put(window, tracker.snapshot(now, window));
+      }
+      snapshots.put(name, windows);
+    });
+    return snapshots;
+  }
+}
@@ -0,0 +1,18 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+/**
+ * One objective over one {@link SloWindow}. {@code burnRate} is the share of requests that missed
+ * the objective divided by the error budget, {@code 1 - target}: at 1 the budget runs out exactly
+ * at the end of the SLO period, at 14.4 a 30-day budget is gone in about two days.
+ */
+public record SloSnapshot(
+    long requests,
+    long errors,
+    long misses,
+    double p50Millis,
+    double p95Millis,
+    double p99Millis,
+    double burnRate
+) {
+
+}
@@ -0,0 +1,58 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import com.thiefspin.bookingsystem.config.slo.SloProperties.Objective;
+
+/**
+ * The sliding window of one objective. It keeps enough buckets for the longest {@link SloWindow}.
+ */
+final class SloTracker {
+
+  private final String name;
+
+  private final Objective objective;
+
+  private final long thresholdMicros;
+
+  private final SlidingWindowHistogram histogram;
+
+  SloTracker(String name, Objective objective, long bucketMillis) {
+    this.name = name;
+    this.objective = objective;
+    this.thresholdMicros = objective.threshold().toNanos() / 1_000;
+    long longest = 0;
+    for (SloWindow window : SloWindow.values()) {
+      longest = Math.max(longest, window.length().toMillis());
+    }
+    this.histogram = new SlidingWindowHistogram(bucketMillis, (int) (longest / bucketMillis));
+  }
+
+  String name() {
+    return name;
+  }
+
+  boolean matches(String method) {
+    return objective.method().equalsIgnoreCase(method);
+  }
+
+  void record(long nowMillis, long nanos, boolean error) {
+    long micros = nanos / 1_000;
+    histogram.record(nowMillis, micros, error, error || micros > thresholdMicros);
+  }
+
+  SloSnapshot snapshot(long nowMillis, SloWindow window) {
+    SlidingWindowHistogram.Window merged =
+        histogram.window(nowMillis, window.length().toMillis());
+    double burnRate = merged.requests() == 0
+        ? 0
+        : (double) merged.misses() / merged.requests() / (1 - objective.target());
+    return new SloSnapshot(
+        merged.requests(),
+        merged.errors(),
+        merged.misses(),
+        merged.percentile(0.50) / 1_000.0,
+        merged.percentile(0.95) / 1_000.0,
+        merged.percentile(0.99) / 1_000.0,
+        burnRate
+    );
+  }
+}
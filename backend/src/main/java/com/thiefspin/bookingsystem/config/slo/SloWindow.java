@@ -0,0 +1,26 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import java.time.Duration;
+
+public enum SloWindow {
+  ONE_MINUTE("1m", Duration.ofMinutes(1)),
+  FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+  ONE_HOUR("1h", Duration.ofHours(1));
+
+  private final String tag;
+
+  private final Duration length;
+
+  SloWindow(String tag, Duration length) {
+    this.tag = tag;
+    this.length = length;
+  }
+
+  public String tag() {
+    return tag;
+  }
+
+  public Duration length() {
+    return length;
+  }
+}
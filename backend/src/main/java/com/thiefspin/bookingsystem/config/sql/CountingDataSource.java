@@ -0,0 +1,103 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records every statement executed through its connections with {@link SqlAccounting}. A batch
+ * counts as one statement, as it is one round trip. {@code unwrap} reaches the pooled connection
+ * and driver underneath, so pool metrics and {@code COPY} keep working.
+ */
+public class CountingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  public CountingDataSource(DataSource target) {
+    super(target);
+  }
+
+  // Stands in for the pool as a bean, so it has to close it on shutdown
+  @Override
+  public void close() throws Exception {
+    if (getTargetDataSource() instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return proxy(Connection.class, super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return proxy(Connection.class, super.getConnection(username, password));
+  }
+
+  private static <T> T proxy(Class<T> type, T target) {
+    InvocationHandler handler = Statement.class.isAssignableFrom(type)
+        ? new StatementHandler(target)
+        : new ConnectionHandler(target);
+    return type.cast(Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(),
+        new Class<?>[] {type}, handler));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  private static Object identity(Object proxy, Method method, Object[] args) {
+    return switch (method.getName()) {
+      case "equals" -> proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      default -> null;
+    };
+  }
+
+  private record ConnectionHandler(Object target) implements InvocationHandler {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object identity = identity(proxy, method, args);
+      if (identity != null) {
+        return identity;
+      }
+      Object result = CountingDataSource.invoke(target, method, args);
+      Class<?> type = method.getReturnType();
+      if (result != null && Statement.class.isAssignableFrom(type)) {
+        return proxy((Class<Object>) type, result);
+      }
+      return result;
+    }
+  }
+
+  private record StatementHandler(Object target) implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Object identity = identity(proxy, method, args);
+      if (identity != null) {
+        return identity;
+      }
+      if (!method.getName().startsWith("execute")) {
+        return CountingDataSource.invoke(target, method, args);
+      }
+      long started = System.nanoTime();
+      try {
+        return CountingDataSource.invoke(target, method, args);
+      } finally {
+        SqlAccounting.record(System.nanoTime() - started);
+      }
+    }
+  }
+}
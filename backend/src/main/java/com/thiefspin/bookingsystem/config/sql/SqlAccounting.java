@@ -0,0 +1,48 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+/**
+ * Counts the statements run through a {@link CountingDataSource} on the current thread.
+ * <p>
+ * Scopes nest: closing a scope adds its counts to the one it was opened in, so a test can count
+ * across several requests while each request is still counted on its own. Outside any scope
+ * nothing is recorded.
+ */
+public final class SqlAccounting {
+
+  private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+  private SqlAccounting() {}
+
+  public static SqlStatistics begin() {
+    SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+    CURRENT.set(statistics);
+    return statistics;
+  }
+
+  /**
+   * Closes {@code statistics}, which must be the innermost open scope.
+   */
+  public static void end(SqlStatistics statistics) {
+    if (CURRENT.get() != statistics) {
+      throw new IllegalStateException("SQL accounting scopes must be closed innermost first");
+    }
+    SqlStatistics parent = statistics.parent();
+    if (parent == null) {
+      CURRENT.remove();
+    } else {
+      parent.record(statistics.statements(), statistics.nanos());
+      CURRENT.set(parent);
+    }
+  }
+
+  public static SqlStatistics current() {
+    return CURRENT.get();
+  }
+
+  static void record(long nanos) {
+    SqlStatistics statistics = CURRENT.get();
+    if (statistics != null) {
+      statistics.record(1, nanos);
+    }
+  }
+}
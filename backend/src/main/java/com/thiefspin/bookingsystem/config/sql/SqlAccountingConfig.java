@@ -0,0 +1,38 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the application's data source in a {@link CountingDataSource} and counts statements per
+ * request with {@link SqlAccountingFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql-accounting.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlAccountingProperties.class)
+public class SqlAccountingConfig {
+
+  @Bean
+  public static BeanPostProcessor countingDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+          return new CountingDataSource(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  public SqlAccountingFilter sqlAccountingFilter(SqlAccountingProperties properties,
+      MeterRegistry meterRegistry) {
+    return new SqlAccountingFilter(properties, meterRegistry);
+  }
+}
@@ -0,0 +1,86 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link SqlAccounting} scope around each request. When the request has been mapped to a
+ * handler, its statement count and database time are published per method and mapping pattern
+ * under {@code http.server.requests.sql.*}, and a warning is logged when it ran more statements
+ * than the endpoint's budget. Meters are registered on the first request of each method and
+ * pattern and reused afterwards.
+ */
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+  private final SqlAccountingProperties properties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+  public SqlAccountingFilter(SqlAccountingProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain chain) throws ServletException, IOException {
+    SqlStatistics statistics = SqlAccounting.begin();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      SqlAccounting.end(statistics);
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      if (pattern != null) {
+        report(request.getMethod(), pattern.toString(), statistics);
+      }
+    }
+  }
+
+  private void report(String method, String pattern, SqlStatistics statistics) {
+    if (properties.metrics()) {
+      RouteMeters meters = routeMeters.computeIfAbsent(method + ' ' + pattern,
+          route -> register(method, pattern));
+      meters.statements().record(statistics.statements());
+      meters.time().record(statistics.nanos(), TimeUnit.NANOSECONDS);
+    }
+    int budget = properties.budget(pattern);
+    if (statistics.statements() > budget) {
+      log.warn("{} {} ran {} SQL statements in {} ms, over its budget of {}", method, pattern,
+          statistics.statements(), statistics.millis(), budget);
+    }
+  }
+
+  private RouteMeters register(String method, String pattern) {
+    return new RouteMeters(
+        DistributionSummary.builder("http.server.requests.sql.statements")
+            .description("SQL statements run per request")
+            .tag("method", method)
+            .tag("uri", pattern)
+            .publishPercentileHistogram()
+            .register(meterRegistry),
+        Timer.builder("http.server.requests.sql.time")
+            .description("Time per request spent executing SQL statements")
+            .tag("method", method)
+            .tag("uri", pattern)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+    );
+  }
+
+  private record RouteMeters(DistributionSummary statements, Timer time) {}
+}
@@ -0,0 +1,42 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the statement count and database time of the request so far as response headers. Headers
+ * must be set before the body is written, which is why this is a body advice rather than part of
+ * {@link SqlAccountingFilter}; it covers every response with a body, errors included.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "sql-accounting.response-headers", havingValue = "true")
+public class SqlAccountingHeaders implements ResponseBodyAdvice<Object> {
+
+  public static final String STATEMENTS = "X-Sql-Statements";
+
+  public static final String TIME = "X-Sql-Time-Ms";
+
+  @Override
+  public boolean supports(MethodParameter returnType,
+      Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType,
+      MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request, ServerHttpResponse response) {
+    SqlStatistics statistics = SqlAccounting.current();
+    if (statistics != null) {
+      response.getHeaders().set(STATEMENTS, Integer.toString(statistics.statements()));
+      response.getHeaders().set(TIME, Long.toString(statistics.millis()));
+    }
+    return body;
+  }
+}
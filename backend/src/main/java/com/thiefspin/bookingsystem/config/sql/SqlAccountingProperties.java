@@ -0,0 +1,28 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code budgets} maps a request mapping pattern, such as {@code /api/appointments/slots}, to the
+ * most statements one request to it should run; other endpoints get {@code defaultBudget}.
+ */
+@ConfigurationProperties(prefix = "sql-accounting")
+public record SqlAccountingProperties(
+    Boolean responseHeaders,
+    Boolean metrics,
+    Integer defaultBudget,
+    Map<String, Integer> budgets
+) {
+
+  public SqlAccountingProperties {
+    responseHeaders = responseHeaders != null && responseHeaders;
+    metrics = metrics == null || metrics;
+    defaultBudget = defaultBudget == null ? 20 : defaultBudget;
+    budgets = budgets == null ? Map.of() : Map.copyOf(budgets);
+  }
+
+  public int budget(String pattern) {
+    return budgets.getOrDefault(pattern, defaultBudget);
+  }
+}
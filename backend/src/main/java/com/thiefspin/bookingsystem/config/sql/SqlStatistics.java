@@ -0,0 +1,39 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+/**
+ * Statements executed and time spent executing them within one {@link SqlAccounting} scope. Only
+ * the thread that opened the scope records into it.
+ */
+public final class SqlStatistics {
+
+  private final SqlStatistics parent;
+
+  private int statements;
+
+  private long nanos;
+
+  SqlStatistics(SqlStatistics parent) {
+    this.parent = parent;
+  }
+
+  public int statements() {
+    return statements;
+  }
+
+  public long nanos() {
+    return nanos;
+  }
+
+  public long millis() {
+    return nanos / 1_000_000;
+  }
+
+  SqlStatistics parent() {
+    return parent;
+  }
+
+  void record(int statements, long nanos) {
+    this.statements += statements;
+    this.nanos += nanos;
+  }
+}
@@ -0,0 +1,69 @@
+package com.thiefspin.bookingsystem.controllers;
+
+import com.thiefspin.bookingsystem.appointments.analytics.BranchUtilization;
+import com.thiefspin.bookingsystem.appointments.analytics.UtilizationService;
+import com.thiefspin.bookingsystem.util.exceptions.ApiErrorResponse;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+  private final UtilizationService utilizationService;
+
+  @GetMapping("/branches/{branchId}/utilization")
+  @Operation(
+      summary = "Get branch utilization",
+      description = "Returns occupancy overall, per weekday and per hour of the day, the "
+          + "cancellation rate and a lead time histogram for a branch between two dates, "
+          + "both inclusive. Figures come from rollups that trail bookings by a few seconds."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Utilization of the branch",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = BranchUtilization.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid date range",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "Branch not found",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public BranchUtilization utilization(
+      @PathVariable Long branchId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+  ) throws NotFoundException, BadRequestException {
+    return utilizationService.utilization(branchId, from, to);
+  }
+}
@@ -2,6 +2,8 @@ package com.thiefspin.bookingsystem.controllers;
 
 import com.thiefspin.bookingsystem.appointments.Appointment;
 import com.thiefspin.bookingsystem.appointments.AppointmentService;
+import com.thiefspin.bookingsystem.appointments.export.AppointmentExporter;
+import com.thiefspin.bookingsystem.appointments.export.ExportFormat;
 import com.thiefspin.bookingsystem.appointments.requests.AppointmentRequest;
 import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
 import com.thiefspin.bookingsystem.util.exceptions.ApiErrorResponse;
@@ -15,17 +17,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @AllArgsConstructor
 @RestController
@@ -34,6 +43,8 @@ public class AppointmentController {
 
   private final AppointmentService service;
 
+  private final AppointmentExporter exporter;
+
   @GetMapping("/slots")
   @Operation(
       summary = "Get available time slots",
@@ -63,6 +74,96 @@ public class AppointmentController {
     return service.getAvailableSlots(branchId, date);
   }
 
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export a branch's appointments",
+      description = "Streams every appointment of a branch between two dates, both inclusive, "
+          + "as CSV or newline-delimited JSON. The response is gzip-encoded when the client "
+          + "accepts it."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Appointments of the branch, ordered by date and time",
+          content = {
+              @Content(mediaType = "text/csv"),
+              @Content(mediaType = "application/x-ndjson")
+          }
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid date range",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "Branch not found",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public ResponseEntity<StreamingResponseBody> exportAppointments(
+      @RequestParam Long branchId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "CSV") ExportFormat format,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+  ) throws NotFoundException, BadRequestException {
+    exporter.validate(branchId, from, to);
+    boolean gzip = acceptsGzip(acceptEncoding);
+    String filename = "appointments-%d-%s-%s.%s".formatted(branchId, from, to, format.extension());
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.mediaType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(out -> exporter.export(branchId, from, to, format, gzip, out));
+  }
+
+  /**
+   * Whether an {@code Accept-Encoding} header gives gzip, by name or through {@code *}, a
+   * q-value above zero. A coding named outright takes precedence over {@code *}, and a q-value
+   * that does not parse counts as zero.
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzip = -1;
+    double any = -1;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim().toLowerCase(Locale.ROOT);
+      double q = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.length() > 1 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+            && parameter.charAt(1) == '=') {
+          try {
+            q = Double.parseDouble(parameter.substring(2).trim());
+          } catch (NumberFormatException e) {
+            q = 0;
+          }
+        }
+      }
+      if (name.equals("gzip") || name.equals("x-gzip")) {
+        gzip = Math.max(gzip, q);
+      } else if (name.equals("*")) {
+        any = Math.max(any, q);
+      }
+    }
+    return (gzip >= 0 ? gzip : any) > 0;
+  }
+
   @PostMapping("/book")
   @ResponseStatus(HttpStatus.CREATED)
   @Operation(
@@ -0,0 +1,53 @@
+package com.thiefspin.bookingsystem.controllers;
+
+import com.thiefspin.bookingsystem.appointments.Appointment;
+import com.thiefspin.bookingsystem.appointments.archive.AppointmentArchive;
+import com.thiefspin.bookingsystem.util.exceptions.ApiErrorResponse;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+  private final AppointmentArchive archive;
+
+  @GetMapping("/appointments/{bookingReference}")
+  @Operation(
+      summary = "Look up an archived appointment",
+      description = "Returns an appointment that has been moved to the archive, by booking reference."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Archived appointment found",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = Appointment.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "404",
+          description = "No archived appointment with this reference",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public Appointment findArchivedAppointment(@PathVariable String bookingReference)
+      throws NotFoundException {
+    return archive.findByBookingReference(bookingReference)
+        .orElseThrow(() -> new NotFoundException("Archived appointment not found"));
+  }
+}
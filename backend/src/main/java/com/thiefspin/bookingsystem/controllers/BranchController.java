@@ -2,17 +2,23 @@ package com.thiefspin.bookingsystem.controllers;
 
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.branches.geo.NearbyBranch;
+import com.thiefspin.bookingsystem.branches.geo.NearbyBranchService;
 import com.thiefspin.bookingsystem.util.exceptions.ApiErrorResponse;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import com.thiefspin.bookingsystem.util.pagination.KeysetPage;
+import com.thiefspin.bookingsystem.util.pagination.PaginationMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,10 +32,14 @@ public class BranchController {
 
   private final BranchService service;
 
+  private final NearbyBranchService nearbyService;
+
   @GetMapping
   @Operation(
       summary = "List branches",
-      description = "Returns a paginated list of branches. Supports page, size and sort query parameters."
+      description = "Returns a paginated list of branches. Supports page, size and sort query parameters. "
+          + "In EXACT mode the total is counted in the same query as the page, "
+          + "in SLICE mode no total is computed and only hasNext is reported."
   )
   @ApiResponses(value = {
       @ApiResponse(
@@ -41,8 +51,79 @@ public class BranchController {
           )
       )
   })
-  public Page<Branch> list(@ParameterObject Pageable pageable) {
-    return service.list(pageable);
+  public Slice<Branch> list(
+      @ParameterObject Pageable pageable,
+      @RequestParam(defaultValue = "EXACT") PaginationMode mode
+  ) {
+    return service.list(pageable, mode);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll branches",
+      description = "Returns branches ordered by name using keyset pagination. "
+          + "Pass the nextCursor of a window as 'after' to fetch the following window."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Window of branches",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = KeysetPage.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid cursor",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public KeysetPage<Branch> scroll(
+      @RequestParam(required = false) String after,
+      @RequestParam(defaultValue = "20") int size
+  ) throws BadRequestException {
+    return service.scroll(after, size);
+  }
+
+  @GetMapping("/nearby")
+  @Operation(
+      summary = "Find nearby branches",
+      description = "Returns the branches closest to a location, nearest first. "
+          + "When radiusKm is given only branches within that distance are returned. "
+          + "Optionally includes the next available slot of each branch."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Nearby branches ordered by distance",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = NearbyBranch.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Invalid location or radius",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public List<NearbyBranch> nearby(
+      @RequestParam double latitude,
+      @RequestParam double longitude,
+      @RequestParam(defaultValue = "10") int limit,
+      @RequestParam(required = false) Double radiusKm,
+      @RequestParam(defaultValue = "true") boolean activeOnly,
+      @RequestParam(defaultValue = "false") boolean includeNextSlot
+  ) throws BadRequestException {
+    return nearbyService.findNearby(latitude, longitude, limit, radiusKm, activeOnly,
+        includeNextSlot);
   }
 
   @GetMapping("/{id}")
@@ -87,11 +168,12 @@ public class BranchController {
           )
       )
   })
-  public Page<Branch> search(
+  public Slice<Branch> search(
       @RequestParam(required = true) String query,
-      @ParameterObject Pageable pageable
+      @ParameterObject Pageable pageable,
+      @RequestParam(defaultValue = "EXACT") PaginationMode mode
   ) {
-    return service.search(query, pageable);
+    return service.search(query, pageable, mode);
   }
 
 }
@@ -0,0 +1,71 @@
+package com.thiefspin.bookingsystem.controllers;
+
+import com.thiefspin.bookingsystem.appointments.imports.AppointmentImporter;
+import com.thiefspin.bookingsystem.appointments.imports.ImportResult;
+import com.thiefspin.bookingsystem.util.exceptions.ApiErrorResponse;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.ConflictException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+  private final AppointmentImporter importer;
+
+  @PostMapping(value = "/appointments", consumes = "text/csv")
+  @Operation(
+      summary = "Import appointments",
+      description = "Creates appointments in bulk from a CSV body, optionally gzip encoded, whose "
+          + "first row names the columns. Valid rows are imported together; invalid rows, rows "
+          + "that would overbook a slot and duplicate booking references are skipped and listed "
+          + "in a rejects file."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(
+          responseCode = "200",
+          description = "Import finished",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ImportResult.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "400",
+          description = "Empty input or missing required column",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      ),
+      @ApiResponse(
+          responseCode = "409",
+          description = "Another import is running",
+          content = @Content(
+              mediaType = "application/json",
+              schema = @Schema(implementation = ApiErrorResponse.class)
+          )
+      )
+  })
+  public ImportResult importAppointments(
+      InputStream body,
+      @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding
+  ) throws IOException, BadRequestException, ConflictException {
+    InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+    return importer.importCsv(in);
+  }
+}
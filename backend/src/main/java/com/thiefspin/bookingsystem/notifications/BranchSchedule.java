@@ -0,0 +1,18 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A branch's appointments for one day, in time order, for the staff at {@code email}.
+ */
+public record BranchSchedule(
+    Long branchId,
+    String branchName,
+    String email,
+    LocalDate date,
+    List<AppointmentEntity> appointments
+) {
+
+}
@@ -0,0 +1,56 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.execution.NotificationExecutor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base for {@link NotificationService} implementations: subclasses send synchronously and every
+ * send is scheduled on the shared, bounded {@link NotificationExecutor}.
+ */
+public abstract class ExecutorBackedNotificationService implements NotificationService {
+
+  private final NotificationExecutor executor;
+
+  protected ExecutorBackedNotificationService(NotificationExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public final CompletableFuture<Void> sendConfirmationEvent(AppointmentEntity appointment) {
+    return submit(NotificationEventType.CONFIRMATION, appointment);
+  }
+
+  @Override
+  public final CompletableFuture<Void> sendCancellationEvent(AppointmentEntity appointment) {
+    return submit(NotificationEventType.CANCELLATION, appointment);
+  }
+
+  @Override
+  public final CompletableFuture<Void> sendReminderEvent(AppointmentEntity appointment) {
+    return submit(NotificationEventType.REMINDER, appointment);
+  }
+
+  @Override
+  public final CompletableFuture<Void> sendDigest(List<NotificationEvent> events) {
+    List<NotificationEvent> copy = List.copyOf(events);
+    return executor.submit("digest", () -> deliverDigest(copy));
+  }
+
+  @Override
+  public final CompletableFuture<Void> sendBranchSchedule(BranchSchedule schedule) {
+    return executor.submit("branch-schedule", () -> deliverBranchSchedule(schedule));
+  }
+
+  private CompletableFuture<Void> submit(NotificationEventType type,
+      AppointmentEntity appointment) {
+    return executor.submit(type.tag(), () -> send(type, appointment));
+  }
+
+  protected abstract void send(NotificationEventType type, AppointmentEntity appointment);
+
+  protected abstract void deliverDigest(List<NotificationEvent> events);
+
+  protected abstract void deliverBranchSchedule(BranchSchedule schedule);
+}
@@ -0,0 +1,7 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+
+public record NotificationEvent(NotificationEventType type, AppointmentEntity appointment) {
+
+}
@@ -0,0 +1,18 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import java.util.Locale;
+
+public enum NotificationEventType {
+  CONFIRMATION,
+  CANCELLATION,
+  REMINDER;
+
+  private final String tag = name().toLowerCase(Locale.ROOT);
+
+  /**
+   * Lower-case name used in template file names and metric tags.
+   */
+  public String tag() {
+    return tag;
+  }
+}
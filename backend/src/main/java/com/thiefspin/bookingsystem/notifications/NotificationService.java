@@ -1,6 +1,7 @@
 package com.thiefspin.bookingsystem.notifications;
 
 import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface NotificationService {
@@ -9,4 +10,13 @@ public interface NotificationService {
 
   CompletableFuture<Void> sendCancellationEvent(AppointmentEntity appointment);
 
+  CompletableFuture<Void> sendReminderEvent(AppointmentEntity appointment);
+
+  /**
+   * Sends a single message covering several events for the same customer.
+   */
+  CompletableFuture<Void> sendDigest(List<NotificationEvent> events);
+
+  CompletableFuture<Void> sendBranchSchedule(BranchSchedule schedule);
+
 }
@@ -0,0 +1,24 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import com.thiefspin.bookingsystem.notifications.execution.NotificationExecutor;
+import com.thiefspin.bookingsystem.notifications.smtp.SmtpChannelAdapter;
+import com.thiefspin.bookingsystem.notifications.smtp.SmtpMailer;
+import com.thiefspin.bookingsystem.notifications.smtp.SmtpProperties;
+import com.thiefspin.bookingsystem.notifications.templates.NotificationTemplates;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends email notifications through the configured SMTP relay. There is no SMS gateway in this
+ * mode, so only the email variant of each notification is sent.
+ */
+@Service
+@ConditionalOnProperty(name = "notifications.mode", havingValue = "smtp")
+public class SmtpNotificationService extends TemplatedNotificationService {
+
+  public SmtpNotificationService(NotificationExecutor executor, NotificationTemplates templates,
+      SmtpMailer mailer, SmtpProperties properties) {
+    super(executor, templates, List.of(new SmtpChannelAdapter(mailer, properties)));
+  }
+}
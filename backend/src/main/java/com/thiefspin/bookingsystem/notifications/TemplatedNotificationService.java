@@ -0,0 +1,65 @@
+package com.thiefspin.bookingsystem.notifications;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannel;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannelAdapter;
+import com.thiefspin.bookingsystem.notifications.channels.RenderedNotification;
+import com.thiefspin.bookingsystem.notifications.execution.NotificationExecutor;
+import com.thiefspin.bookingsystem.notifications.templates.NotificationTemplates;
+import com.thiefspin.bookingsystem.notifications.templates.TemplateContext;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders each notification for every configured channel and hands it to that channel's adapter.
+ */
+@Slf4j
+public abstract class TemplatedNotificationService extends ExecutorBackedNotificationService {
+
+  private final NotificationTemplates templates;
+
+  private final List<NotificationChannelAdapter> adapters;
+
+  protected TemplatedNotificationService(NotificationExecutor executor,
+      NotificationTemplates templates, List<NotificationChannelAdapter> adapters) {
+    super(executor);
+    this.templates = templates;
+    this.adapters = List.copyOf(adapters);
+  }
+
+  @Override
+  protected void send(NotificationEventType type, AppointmentEntity appointment) {
+    for (NotificationChannelAdapter adapter : adapters) {
+      RenderedNotification notification = templates.render(type, adapter.channel(), appointment);
+      if (notification == null) {
+        log.debug("No {} address for appointment {}, skipping", adapter.channel(),
+            appointment.bookingReference());
+        continue;
+      }
+      adapter.deliver(notification);
+    }
+  }
+
+  @Override
+  protected void deliverDigest(List<NotificationEvent> events) {
+    List<TemplateContext> items = events.stream()
+        .map(event -> TemplateContext.of(event.type(), event.appointment()))
+        .toList();
+    for (NotificationChannelAdapter adapter : adapters) {
+      RenderedNotification notification = templates.renderDigest(adapter.channel(), items);
+      if (notification != null) {
+        adapter.deliver(notification);
+      }
+    }
+  }
+
+  @Override
+  protected void deliverBranchSchedule(BranchSchedule schedule) {
+    for (NotificationChannelAdapter adapter : adapters) {
+      if (adapter.channel() == NotificationChannel.EMAIL) {
+        adapter.deliver(templates.renderBranchSchedule(schedule.email(), schedule.branchName(),
+            schedule.date(), schedule.appointments()));
+      }
+    }
+  }
+}
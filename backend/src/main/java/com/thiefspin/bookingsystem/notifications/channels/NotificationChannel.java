@@ -0,0 +1,33 @@
+package com.thiefspin.bookingsystem.notifications.channels;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import java.util.Locale;
+
+public enum NotificationChannel {
+  EMAIL {
+    @Override
+    public String recipient(AppointmentEntity appointment) {
+      return appointment.customerEmail();
+    }
+  },
+  SMS {
+    @Override
+    public String recipient(AppointmentEntity appointment) {
+      return appointment.customerPhone();
+    }
+  };
+
+  private final String tag = name().toLowerCase(Locale.ROOT);
+
+  /**
+   * Lower-case name used in template file names.
+   */
+  public String tag() {
+    return tag;
+  }
+
+  /**
+   * The address to deliver to on this channel, or {@code null} when the customer has none.
+   */
+  public abstract String recipient(AppointmentEntity appointment);
+}
@@ -0,0 +1,12 @@
+package com.thiefspin.bookingsystem.notifications.channels;
+
+/**
+ * Delivers rendered notifications over one channel. Implementations are called from notification
+ * executor threads and should block until the message is handed off or has failed.
+ */
+public interface NotificationChannelAdapter {
+
+  NotificationChannel channel();
+
+  void deliver(RenderedNotification notification);
+}
@@ -0,0 +1,13 @@
+package com.thiefspin.bookingsystem.notifications.channels;
+
+/**
+ * A notification ready for delivery. {@code subject} is {@code null} for channels without one.
+ */
+public record RenderedNotification(
+    NotificationChannel channel,
+    String recipient,
+    String subject,
+    String body
+) {
+
+}
@@ -0,0 +1,37 @@
+package com.thiefspin.bookingsystem.notifications.channels;
+
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stands in for a real gateway: counts deliveries and logs a one-line summary at debug level.
+ */
+@Slf4j
+public class SimulatedChannelAdapter implements NotificationChannelAdapter {
+
+  private final NotificationChannel channel;
+
+  private final AtomicLong delivered = new AtomicLong();
+
+  public SimulatedChannelAdapter(NotificationChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public NotificationChannel channel() {
+    return channel;
+  }
+
+  @Override
+  public void deliver(RenderedNotification notification) {
+    delivered.incrementAndGet();
+    if (log.isDebugEnabled()) {
+      log.debug("[SIMULATED] {} to {} ({} chars)", channel, notification.recipient(),
+          notification.body().length());
+    }
+  }
+
+  public long delivered() {
+    return delivered.get();
+  }
+}
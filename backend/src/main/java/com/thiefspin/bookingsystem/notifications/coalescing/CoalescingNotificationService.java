@@ -0,0 +1,201 @@
+package com.thiefspin.bookingsystem.notifications.coalescing;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.BranchSchedule;
+import com.thiefspin.bookingsystem.notifications.NotificationEvent;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import com.thiefspin.bookingsystem.notifications.TemplatedNotificationService;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sits in front of the channel-sending {@link NotificationService} and folds a customer's events
+ * into one message.
+ * <p>
+ * The first event for a recipient opens a {@code window}; events for the same recipient that
+ * arrive before it ends join it. When the window ends a lone event is sent as usual and two or
+ * more are sent as a single digest. Every caller's future completes with the outcome of the
+ * message that carried its event, so the outbox still marks each row individually. Held events
+ * are bounded by {@code max-pending-events}; past that the oldest windows are sent early.
+ */
+@Slf4j
+@Primary
+@Service
+@EnableConfigurationProperties(CoalescingProperties.class)
+@ConditionalOnProperty(
+    name = "notifications.coalescing.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class CoalescingNotificationService implements NotificationService, SmartLifecycle {
+
+  private static final long MIN_TICK_MILLIS = 10;
+
+  private final NotificationService delegate;
+
+  private final CoalescingProperties properties;
+
+  private final LongSupplier nanoTime;
+
+  private final WindowedAggregator<String, Pending> aggregator;
+
+  private ScheduledExecutorService ticker;
+
+  private volatile boolean running;
+
+  @Autowired
+  public CoalescingNotificationService(TemplatedNotificationService delegate,
+      CoalescingProperties properties) {
+    this(delegate, properties, System::nanoTime);
+  }
+
+  CoalescingNotificationService(NotificationService delegate, CoalescingProperties properties,
+      LongSupplier nanoTime) {
+    this.delegate = delegate;
+    this.properties = properties;
+    this.nanoTime = nanoTime;
+    this.aggregator = new WindowedAggregator<>(properties.window().toNanos(),
+        properties.maxGroupSize(), properties.maxPendingEvents());
+  }
+
+  @Override
+  public CompletableFuture<Void> sendConfirmationEvent(AppointmentEntity appointment) {
+    return coalesce(NotificationEventType.CONFIRMATION, appointment);
+  }
+
+  @Override
+  public CompletableFuture<Void> sendCancellationEvent(AppointmentEntity appointment) {
+    return coalesce(NotificationEventType.CANCELLATION, appointment);
+  }
+
+  @Override
+  public CompletableFuture<Void> sendReminderEvent(AppointmentEntity appointment) {
+    return coalesce(NotificationEventType.REMINDER, appointment);
+  }
+
+  @Override
+  public CompletableFuture<Void> sendDigest(List<NotificationEvent> events) {
+    return delegate.sendDigest(events);
+  }
+
+  @Override
+  public CompletableFuture<Void> sendBranchSchedule(BranchSchedule schedule) {
+    return delegate.sendBranchSchedule(schedule);
+  }
+
+  /**
+   * Sends every group whose window has ended.
+   */
+  void flushExpired() {
+    List<List<Pending>> released;
+    synchronized (aggregator) {
+      released = aggregator.expire(nanoTime.getAsLong());
+    }
+    released.forEach(this::send);
+  }
+
+  int pending() {
+    synchronized (aggregator) {
+      return aggregator.pending();
+    }
+  }
+
+  @Override
+  public void start() {
+    long tick = Math.max(MIN_TICK_MILLIS, properties.window().toMillis() / 10);
+    ticker = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("notification-coalescer").factory());
+    ticker.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    running = true;
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+    List<List<Pending>> released;
+    synchronized (aggregator) {
+      released = aggregator.drain();
+    }
+    released.forEach(this::send);
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private CompletableFuture<Void> coalesce(NotificationEventType type,
+      AppointmentEntity appointment) {
+    NotificationEvent event = new NotificationEvent(type, appointment);
+    String recipient = appointment.customerEmail();
+    if (!running || recipient == null) {
+      return sendSingle(event);
+    }
+
+    Pending pending = new Pending(event, new CompletableFuture<>());
+    List<List<Pending>> released;
+    synchronized (aggregator) {
+      released = aggregator.add(recipient.toLowerCase(Locale.ROOT), pending,
+          nanoTime.getAsLong());
+    }
+    released.forEach(this::send);
+    return pending.result();
+  }
+
+  private void tick() {
+    try {
+      flushExpired();
+    } catch (RuntimeException ex) {
+      log.error("Failed to flush coalesced notifications", ex);
+    }
+  }
+
+  private void send(List<Pending> group) {
+    CompletableFuture<Void> sent;
+    try {
+      sent = group.size() == 1
+          ? sendSingle(group.get(0).event())
+          : delegate.sendDigest(group.stream().map(Pending::event).toList());
+    } catch (RuntimeException ex) {
+      sent = CompletableFuture.failedFuture(ex);
+    }
+    if (group.size() > 1) {
+      log.debug("Coalesced {} notifications into one digest", group.size());
+    }
+    sent.whenComplete((ignored, ex) -> group.forEach(pending -> {
+      if (ex == null) {
+        pending.result().complete(null);
+      } else {
+        pending.result().completeExceptionally(ex);
+      }
+    }));
+  }
+
+  private CompletableFuture<Void> sendSingle(NotificationEvent event) {
+    return switch (event.type()) {
+      case CONFIRMATION -> delegate.sendConfirmationEvent(event.appointment());
+      case CANCELLATION -> delegate.sendCancellationEvent(event.appointment());
+      case REMINDER -> delegate.sendReminderEvent(event.appointment());
+    };
+  }
+
+  private record Pending(NotificationEvent event, CompletableFuture<Void> result) {
+
+  }
+}
@@ -0,0 +1,18 @@
+package com.thiefspin.bookingsystem.notifications.coalescing;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notifications.coalescing")
+public record CoalescingProperties(
+    Duration window,
+    Integer maxGroupSize,
+    Integer maxPendingEvents
+) {
+
+  public CoalescingProperties {
+    window = window == null ? Duration.ofSeconds(2) : window;
+    maxGroupSize = maxGroupSize == null ? 20 : maxGroupSize;
+    maxPendingEvents = maxPendingEvents == null ? 10_000 : maxPendingEvents;
+  }
+}
@@ -0,0 +1,110 @@
+package com.thiefspin.bookingsystem.notifications.coalescing;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups values by key over a fixed window that opens with a key's first value.
+ * <p>
+ * A group is released when its window ends, when it reaches {@code maxGroupSize}, or early, oldest
+ * first, whenever more than {@code maxPending} values are held in total. Memory is therefore
+ * bounded regardless of how many keys are active. Groups are kept in the order their windows
+ * opened, so finding the expired ones never scans past the first still-open group.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+final class WindowedAggregator<K, V> {
+
+  private final long windowNanos;
+
+  private final int maxGroupSize;
+
+  private final int maxPending;
+
+  private final Map<K, Group<V>> groups = new LinkedHashMap<>();
+
+  private int pending;
+
+  WindowedAggregator(long windowNanos, int maxGroupSize, int maxPending) {
+    if (maxGroupSize < 1 || maxPending < 1) {
+      throw new IllegalArgumentException("Group and pending limits must be at least 1");
+    }
+    this.windowNanos = windowNanos;
+    this.maxGroupSize = maxGroupSize;
+    this.maxPending = maxPending;
+  }
+
+  int pending() {
+    return pending;
+  }
+
+  /**
+   * Adds {@code value} to its key's group and returns any groups that have to be released now to
+   * stay within the limits.
+   */
+  List<List<V>> add(K key, V value, long nowNanos) {
+    Group<V> group = groups.get(key);
+    if (group == null) {
+      group = new Group<>(nowNanos + windowNanos);
+      groups.put(key, group);
+    }
+    group.values.add(value);
+    pending++;
+
+    List<List<V>> released = new ArrayList<>(0);
+    if (group.values.size() >= maxGroupSize) {
+      groups.remove(key);
+      release(group, released);
+    }
+    Iterator<Group<V>> oldest = groups.values().iterator();
+    while (pending > maxPending && oldest.hasNext()) {
+      Group<V> evicted = oldest.next();
+      oldest.remove();
+      release(evicted, released);
+    }
+    return released;
+  }
+
+  /**
+   * Releases every group whose window has ended by {@code nowNanos}.
+   */
+  List<List<V>> expire(long nowNanos) {
+    List<List<V>> released = new ArrayList<>(0);
+    Iterator<Group<V>> iterator = groups.values().iterator();
+    while (iterator.hasNext()) {
+      Group<V> group = iterator.next();
+      if (group.deadline - nowNanos > 0) {
+        break;
+      }
+      iterator.remove();
+      release(group, released);
+    }
+    return released;
+  }
+
+  List<List<V>> drain() {
+    List<List<V>> released = new ArrayList<>(groups.size());
+    groups.values().forEach(group -> release(group, released));
+    groups.clear();
+    return released;
+  }
+
+  private void release(Group<V> group, List<List<V>> released) {
+    pending -= group.values.size();
+    released.add(group.values);
+  }
+
+  private static final class Group<V> {
+
+    private final long deadline;
+
+    private final List<V> values = new ArrayList<>(2);
+
+    private Group(long deadline) {
+      this.deadline = deadline;
+    }
+  }
+}
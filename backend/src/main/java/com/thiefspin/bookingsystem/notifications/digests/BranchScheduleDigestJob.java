@@ -0,0 +1,168 @@
+package com.thiefspin.bookingsystem.notifications.digests;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.notifications.BranchSchedule;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails each active branch the day's appointment schedule once a day.
+ * <p>
+ * Every node runs the job, but a branch's schedule for a date is only sent by the node that
+ * claims its row in {@code branch_schedule_digests}. The row is marked sent once the send has
+ * succeeded. A failed send deletes the row, and a claim whose node died before sending lapses
+ * after the claim lease, so a later run can try again; the cron repeats through the morning for
+ * that reason.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "notifications.digests.branch-schedule.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class BranchScheduleDigestJob {
+
+  private static final String CLAIM_SQL = """
+      INSERT INTO booking.branch_schedule_digests AS d (branch_id, schedule_date, claimed_until)
+      VALUES (?, ?, CURRENT_TIMESTAMP + make_interval(secs => ?))
+      ON CONFLICT (branch_id, schedule_date) DO UPDATE
+      SET claimed_until = EXCLUDED.claimed_until
+      WHERE d.sent_at IS NULL AND d.claimed_until < CURRENT_TIMESTAMP
+      """;
+
+  private static final String MARK_SENT_SQL = """
+      UPDATE booking.branch_schedule_digests
+      SET sent_at = CURRENT_TIMESTAMP, claimed_until = NULL
+      WHERE branch_id = ? AND schedule_date = ?
+      """;
+
+  private static final String RELEASE_SQL = """
+      DELETE FROM booking.branch_schedule_digests
+      WHERE branch_id = ? AND schedule_date = ? AND sent_at IS NULL
+      """;
+
+  private final BranchRepository branchRepository;
+
+  private final AppointmentRepository appointmentRepository;
+
+  private final NotificationService notificationService;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final Duration sendTimeout;
+
+  private final Duration claimLease;
+
+  private final Clock clock;
+
+  @Autowired
+  public BranchScheduleDigestJob(
+      BranchRepository branchRepository,
+      AppointmentRepository appointmentRepository,
+      NotificationService notificationService,
+      JdbcTemplate jdbcTemplate,
+      @Value("${notifications.digests.branch-schedule.send-timeout:PT1M}") Duration sendTimeout,
+      @Value("${notifications.digests.branch-schedule.claim-lease:PT10M}") Duration claimLease
+  ) {
+    this(branchRepository, appointmentRepository, notificationService, jdbcTemplate, sendTimeout,
+        claimLease, Clock.systemDefaultZone());
+  }
+
+  BranchScheduleDigestJob(BranchRepository branchRepository,
+      AppointmentRepository appointmentRepository, NotificationService notificationService,
+      JdbcTemplate jdbcTemplate, Duration sendTimeout, Duration claimLease, Clock clock) {
+    if (claimLease.compareTo(sendTimeout) <= 0) {
+      throw new IllegalArgumentException("The claim lease must be longer than the send timeout");
+    }
+    this.branchRepository = branchRepository;
+    this.appointmentRepository = appointmentRepository;
+    this.notificationService = notificationService;
+    this.jdbcTemplate = jdbcTemplate;
+    this.sendTimeout = sendTimeout;
+    this.claimLease = claimLease;
+    this.clock = clock;
+  }
+
+  @Scheduled(cron = "${notifications.digests.branch-schedule.cron:0 */15 6-8 * * *}")
+  public void sendToday() {
+    try {
+      int sent = send(LocalDate.now(clock));
+      if (sent > 0) {
+        log.info("Sent {} branch schedules", sent);
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to send branch schedules", ex);
+    }
+  }
+
+  /**
+   * Sends the schedule for {@code date} to every active branch with an email address and at least
+   * one appointment that no node has sent yet, and returns how many were sent.
+   */
+  int send(LocalDate date) {
+    int sent = 0;
+    for (BranchEntity branch : branchRepository.findAllBranches()) {
+      if (!Boolean.TRUE.equals(branch.isActive()) || branch.email() == null
+          || branch.email().isBlank()) {
+        continue;
+      }
+      List<AppointmentEntity> appointments = appointmentRepository
+          .findActiveAppointmentsByBranchAndDateRange(branch.id(), date.atStartOfDay(),
+              date.plusDays(1).atStartOfDay())
+          .stream()
+          .sorted(Comparator.comparing(AppointmentEntity::appointmentDateTime)
+              .thenComparing(AppointmentEntity::id))
+          .toList();
+      if (appointments.isEmpty() || !claim(branch.id(), date)) {
+        continue;
+      }
+
+      BranchSchedule schedule = new BranchSchedule(branch.id(), branch.name(), branch.email(),
+          date, appointments);
+      try {
+        notificationService.sendBranchSchedule(schedule)
+            .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        release(branch.id(), date);
+        return sent;
+      } catch (Exception ex) {
+        log.warn("Failed to send the {} schedule for branch {}", date, branch.code(), ex);
+        release(branch.id(), date);
+        continue;
+      }
+      markSent(branch.id(), date);
+      sent++;
+    }
+    return sent;
+  }
+
+  private boolean claim(Long branchId, LocalDate date) {
+    return jdbcTemplate.update(CLAIM_SQL, branchId, date, claimLease.toMillis() / 1000.0) == 1;
+  }
+
+  private void markSent(Long branchId, LocalDate date) {
+    jdbcTemplate.update(MARK_SENT_SQL, branchId, date);
+  }
+
+  private void release(Long branchId, LocalDate date) {
+    jdbcTemplate.update(RELEASE_SQL, branchId, date);
+  }
+}
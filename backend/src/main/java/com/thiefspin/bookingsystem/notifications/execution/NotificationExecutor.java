@@ -0,0 +1,252 @@
+package com.thiefspin.bookingsystem.notifications.execution;
+
+import com.thiefspin.bookingsystem.config.jfr.NotificationSendEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs notification sends on virtual threads, at most {@code max-concurrency} at a time.
+ * <p>
+ * A send that finds every permit taken waits in a bounded queue and is picked up by the next
+ * worker to finish; once the queue is full the {@link OverflowPolicy} decides. On shutdown new
+ * sends are rejected and queued ones are given {@code drain-timeout} to finish. Queue depth,
+ * in-flight sends, queue wait, send latency and outcomes are published to Micrometer under
+ * {@code notifications.*}; the send timers of a type are registered on its first send and reused
+ * afterwards.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(NotificationExecutorProperties.class)
+public class NotificationExecutor implements SmartLifecycle {
+
+  private final NotificationExecutorProperties properties;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Semaphore permits;
+
+  private final BlockingQueue<Task> queue;
+
+  private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+      Thread.ofVirtual().name("notification-", 0).factory());
+
+  private final Timer queueWait;
+
+  private final Counter rejected;
+
+  private final Map<String, SendTimers> sendTimers = new ConcurrentHashMap<>();
+
+  private volatile boolean accepting = true;
+
+  public NotificationExecutor(NotificationExecutorProperties properties,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.permits = new Semaphore(properties.maxConcurrency());
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+
+    Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+        .description("Notification sends waiting for a permit")
+        .register(meterRegistry);
+    Gauge.builder("notifications.in.flight", this, NotificationExecutor::inFlight)
+        .description("Notification sends currently running")
+        .register(meterRegistry);
+    this.queueWait = Timer.builder("notifications.queue.wait")
+        .description("Time notification sends spend queued before running")
+        .register(meterRegistry);
+    this.rejected = Counter.builder("notifications.rejected")
+        .description("Notification sends refused because the executor was full or stopping")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Schedules {@code send}, tagging its metrics with {@code type}. The returned future completes
+   * when the send finishes, or exceptionally if it fails or is rejected.
+   */
+  public CompletableFuture<Void> submit(String type, Runnable send) {
+    Task task = new Task(type, send, new CompletableFuture<>(), System.nanoTime());
+
+    if (!accepting) {
+      reject(task, "Notification executor is shutting down");
+      return task.future();
+    }
+
+    if (permits.tryAcquire()) {
+      start(task);
+    } else if (queue.offer(task)) {
+      startQueuedIfIdle();
+    } else {
+      overflow(task);
+    }
+    return task.future();
+  }
+
+  int inFlight() {
+    return properties.maxConcurrency() - permits.availablePermits();
+  }
+
+  int queued() {
+    return queue.size();
+  }
+
+  @Override
+  public void start() {
+    accepting = true;
+  }
+
+  @Override
+  public void stop() {
+    accepting = false;
+    long deadline = System.nanoTime() + properties.drainTimeout().toNanos();
+    while ((!queue.isEmpty() || inFlight() > 0) && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+
+    List<Task> abandoned = new ArrayList<>();
+    queue.drainTo(abandoned);
+    abandoned.forEach(task -> reject(task, "Notification executor stopped before send ran"));
+    if (!abandoned.isEmpty() || inFlight() > 0) {
+      log.warn("Notification executor stopped with {} queued and {} running sends",
+          abandoned.size(), inFlight());
+    }
+    threads.shutdownNow();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return accepting;
+  }
+
+  private void overflow(Task task) {
+    switch (properties.overflowPolicy()) {
+      case REJECT -> reject(task, "Notification queue is full");
+      case CALLER_RUNS -> run(task);
+      case DISCARD_OLDEST -> {
+        Task oldest = queue.poll();
+        if (oldest != null) {
+          reject(oldest, "Discarded from a full notification queue");
+        }
+        if (queue.offer(task)) {
+          startQueuedIfIdle();
+        } else {
+          reject(task, "Notification queue is full");
+        }
+      }
+    }
+  }
+
+  private void startQueuedIfIdle() {
+    // A worker may have released its permit between the caller's tryAcquire and offer
+    if (permits.tryAcquire()) {
+      Task next = pollOrRelease();
+      if (next != null) {
+        start(next);
+      }
+    }
+  }
+
+  private void start(Task task) {
+    try {
+      threads.execute(() -> work(task));
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      reject(task, "Notification executor is shut down");
+    }
+  }
+
+  private void work(Task first) {
+    Task task = first;
+    while (task != null) {
+      run(task);
+      task = queue.poll();
+      if (task == null) {
+        permits.release();
+        // A send may have been queued between the poll and the release
+        task = !queue.isEmpty() && permits.tryAcquire() ? pollOrRelease() : null;
+      }
+    }
+  }
+
+  private Task pollOrRelease() {
+    Task task = queue.poll();
+    if (task == null) {
+      permits.release();
+    }
+    return task;
+  }
+
+  private void run(Task task) {
+    long started = System.nanoTime();
+    queueWait.record(started - task.submittedAt(), TimeUnit.NANOSECONDS);
+    NotificationSendEvent event = new NotificationSendEvent();
+    event.begin();
+    try {
+      task.send().run();
+      record(task, true, started);
+      event.finish(task.type(), true, started - task.submittedAt());
+      task.future().complete(null);
+    } catch (Throwable e) {
+      record(task, false, started);
+      event.finish(task.type(), false, started - task.submittedAt());
+      log.warn("Notification send of type {} failed", task.type(), e);
+      task.future().completeExceptionally(e);
+    }
+  }
+
+  private void record(Task task, boolean success, long started) {
+    SendTimers timers = sendTimers.computeIfAbsent(task.type(), this::register);
+    (success ? timers.success() : timers.failure())
+        .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+  }
+
+  private SendTimers register(String type) {
+    return new SendTimers(sendTimer(type, "success"), sendTimer(type, "failure"));
+  }
+
+  private Timer sendTimer(String type, String outcome) {
+    return Timer.builder("notifications.send")
+        .description("Notification send latency")
+        .tag("type", type)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private void reject(Task task, String reason) {
+    rejected.increment();
+    task.future().completeExceptionally(new RejectedExecutionException(reason));
+  }
+
+  private record SendTimers(Timer success, Timer failure) {}
+
+  private record Task(
+      String type,
+      Runnable send,
+      CompletableFuture<Void> future,
+      long submittedAt
+  ) {
+
+  }
+}
@@ -0,0 +1,25 @@
+package com.thiefspin.bookingsystem.notifications.execution;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notifications.executor")
+public record NotificationExecutorProperties(
+    Integer maxConcurrency,
+    Integer queueCapacity,
+    OverflowPolicy overflowPolicy,
+    Duration drainTimeout
+) {
+
+  public NotificationExecutorProperties {
+    maxConcurrency = maxConcurrency == null ? 32 : maxConcurrency;
+    queueCapacity = queueCapacity == null ? 1000 : queueCapacity;
+    overflowPolicy = overflowPolicy == null ? OverflowPolicy.CALLER_RUNS : overflowPolicy;
+    drainTimeout = drainTimeout == null ? Duration.ofSeconds(30) : drainTimeout;
+
+    if (maxConcurrency < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException(
+          "notifications.executor.max-concurrency and queue-capacity must be positive");
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.thiefspin.bookingsystem.notifications.execution;
+
+/**
+ * What {@link NotificationExecutor} does with a send when every permit is taken and the queue is
+ * full.
+ */
+public enum OverflowPolicy {
+  /**
+   * Fail the new send with a {@link java.util.concurrent.RejectedExecutionException}.
+   */
+  REJECT,
+  /**
+   * Run the new send on the submitting thread, slowing the producer down.
+   */
+  CALLER_RUNS,
+  /**
+   * Fail the oldest queued send and queue the new one in its place.
+   */
+  DISCARD_OLDEST
+}
@@ -0,0 +1,167 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the notifications recorded in the outbox.
+ * <p>
+ * Each poll claims due rows in batches with {@code FOR UPDATE SKIP LOCKED}, so any number of
+ * nodes can dispatch concurrently without sending a row twice while its lease holds. A batch is
+ * sent in parallel through {@link NotificationService}; rows that succeed are marked sent in a
+ * single update, failures are retried with exponential backoff until {@code max-attempts}.
+ * Delivery is at least once: a node that dies mid-batch leaves its rows to be claimed again when
+ * the lease runs out.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(NotificationOutboxProperties.class)
+@ConditionalOnProperty(
+    name = "notifications.outbox.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class NotificationDispatcher {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final NotificationOutboxRepository outboxRepository;
+
+  private final AppointmentRepository appointmentRepository;
+
+  private final NotificationService notificationService;
+
+  private final NotificationOutboxProperties properties;
+
+  @Scheduled(
+      fixedDelayString = "${notifications.outbox.poll-interval:PT1S}",
+      initialDelayString = "${notifications.outbox.poll-interval:PT1S}"
+  )
+  public void poll() {
+    try {
+      for (int batch = 0; batch < properties.maxBatchesPerPoll(); batch++) {
+        if (dispatchBatch() < properties.batchSize()) {
+          return;
+        }
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to dispatch notification outbox", ex);
+    }
+  }
+
+  /**
+   * Claims and sends one batch, returning the number of rows claimed.
+   */
+  int dispatchBatch() {
+    List<NotificationOutboxEntity> claimed = outboxRepository.claimDue(
+        properties.batchSize(), properties.lease().toMillis() / 1000.0);
+    if (claimed.isEmpty()) {
+      return 0;
+    }
+
+    Map<Long, AppointmentEntity> appointments = StreamSupport.stream(
+            appointmentRepository.findAllById(
+                claimed.stream().map(NotificationOutboxEntity::appointmentId).distinct().toList()
+            ).spliterator(), false)
+        .collect(Collectors.toMap(AppointmentEntity::id, Function.identity()));
+
+    List<CompletableFuture<Void>> sends = new ArrayList<>(claimed.size());
+    for (NotificationOutboxEntity entry : claimed) {
+      sends.add(send(entry, appointments.get(entry.appointmentId())));
+    }
+
+    awaitAll(sends);
+
+    List<Long> sent = new ArrayList<>(claimed.size());
+    for (int i = 0; i < claimed.size(); i++) {
+      CompletableFuture<Void> future = sends.get(i);
+      if (future.isDone() && !future.isCompletedExceptionally()) {
+        sent.add(claimed.get(i).id());
+      } else {
+        retryOrFail(claimed.get(i), failureOf(future));
+      }
+    }
+    if (!sent.isEmpty()) {
+      outboxRepository.markSent(sent);
+    }
+
+    log.debug("Dispatched {} of {} claimed notifications", sent.size(), claimed.size());
+    return claimed.size();
+  }
+
+  private CompletableFuture<Void> send(NotificationOutboxEntity entry,
+      AppointmentEntity appointment) {
+    if (appointment == null) {
+      return CompletableFuture.failedFuture(
+          new IllegalStateException("Appointment " + entry.appointmentId() + " not found"));
+    }
+    try {
+      return switch (entry.type()) {
+        case CONFIRMATION -> notificationService.sendConfirmationEvent(appointment);
+        case CANCELLATION -> notificationService.sendCancellationEvent(appointment);
+        case REMINDER -> notificationService.sendReminderEvent(appointment);
+      };
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  private void awaitAll(List<CompletableFuture<Void>> sends) {
+    try {
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+          .get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      // Individual outcomes are inspected by the caller
+    }
+  }
+
+  private void retryOrFail(NotificationOutboxEntity entry, String error) {
+    if (entry.attempts() >= properties.maxAttempts()) {
+      log.error("Giving up on {} notification {} for appointment {} after {} attempts: {}",
+          entry.eventType(), entry.id(), entry.appointmentId(), entry.attempts(), error);
+      outboxRepository.markFailed(entry.id(), error);
+      return;
+    }
+
+    Duration delay = properties.backoff(entry.attempts(), ThreadLocalRandom.current().nextDouble());
+    log.warn("{} notification {} failed on attempt {}, retrying in {}: {}",
+        entry.eventType(), entry.id(), entry.attempts(), delay, error);
+    outboxRepository.reschedule(entry.id(), delay.toMillis() / 1000.0, error);
+  }
+
+  private static String failureOf(CompletableFuture<Void> future) {
+    if (!future.isDone()) {
+      return "Timed out";
+    }
+    String message;
+    try {
+      future.join();
+      message = "Unknown failure";
+    } catch (Exception ex) {
+      Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+      message = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+}
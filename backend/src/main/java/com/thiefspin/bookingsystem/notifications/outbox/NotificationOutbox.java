@@ -0,0 +1,24 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records notifications in the same transaction as the appointment change that causes them, so a
+ * notification is sent if and only if that change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationOutbox {
+
+  private final NotificationOutboxRepository repository;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void enqueue(AppointmentEntity appointment, NotificationEventType type) {
+    repository.save(NotificationOutboxEntity.pending(appointment.id(), type));
+  }
+}
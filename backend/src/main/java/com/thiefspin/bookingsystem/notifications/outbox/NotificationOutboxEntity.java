@@ -0,0 +1,58 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table(schema = "booking", name = "notification_outbox")
+public record NotificationOutboxEntity(
+
+    @Id
+    Long id,
+
+    @Column("appointment_id")
+    Long appointmentId,
+
+    @Column("event_type")
+    String eventType,
+
+    @Column("status")
+    String status,
+
+    @Column("attempts")
+    Integer attempts,
+
+    @Column("available_at")
+    Instant availableAt,
+
+    @Column("last_error")
+    String lastError,
+
+    @Column("created_at")
+    Instant createdAt,
+
+    @Column("processed_at")
+    Instant processedAt
+) {
+
+  public static NotificationOutboxEntity pending(Long appointmentId, NotificationEventType type) {
+    Instant now = Instant.now();
+    return new NotificationOutboxEntity(
+        null,
+        appointmentId,
+        type.name(),
+        NotificationOutboxStatus.PENDING.name(),
+        0,
+        now,
+        null,
+        now,
+        null
+    );
+  }
+
+  public NotificationEventType type() {
+    return NotificationEventType.valueOf(eventType);
+  }
+}
@@ -0,0 +1,41 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notifications.outbox")
+public record NotificationOutboxProperties(
+    Integer batchSize,
+    Integer maxBatchesPerPoll,
+    Duration lease,
+    Duration sendTimeout,
+    Integer maxAttempts,
+    Duration initialBackoff,
+    Duration maxBackoff
+) {
+
+  public NotificationOutboxProperties {
+    batchSize = batchSize == null ? 50 : batchSize;
+    maxBatchesPerPoll = maxBatchesPerPoll == null ? 20 : maxBatchesPerPoll;
+    lease = lease == null ? Duration.ofMinutes(1) : lease;
+    sendTimeout = sendTimeout == null ? Duration.ofSeconds(30) : sendTimeout;
+    maxAttempts = maxAttempts == null ? 8 : maxAttempts;
+    initialBackoff = initialBackoff == null ? Duration.ofSeconds(5) : initialBackoff;
+    maxBackoff = maxBackoff == null ? Duration.ofMinutes(30) : maxBackoff;
+
+    if (sendTimeout.compareTo(lease) >= 0) {
+      throw new IllegalArgumentException(
+          "notifications.outbox.send-timeout must be shorter than the lease");
+    }
+  }
+
+  /**
+   * Exponential backoff after {@code attempts} failed attempts, with up to 20% jitter so that
+   * rows failing together do not retry together.
+   */
+  Duration backoff(int attempts, double jitter) {
+    double base = initialBackoff.toMillis() * Math.pow(2, Math.max(attempts - 1, 0));
+    double capped = Math.min(base, maxBackoff.toMillis());
+    return Duration.ofMillis((long) (capped * (1 - 0.2 * jitter)));
+  }
+}
@@ -0,0 +1,58 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import com.thiefspin.bookingsystem.util.repository.BaseDataRepository;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository
+    extends BaseDataRepository<NotificationOutboxEntity, Long> {
+
+  /**
+   * Claims up to {@code limit} due rows for this node by pushing their {@code available_at} past
+   * the lease and counting the attempt. Rows locked by another dispatcher are skipped rather than
+   * waited on, and a claim that is never completed simply becomes due again when the lease ends.
+   */
+  @Query("UPDATE booking.notification_outbox o " +
+      "SET available_at = CURRENT_TIMESTAMP + make_interval(secs => :leaseSeconds), " +
+      "attempts = o.attempts + 1 " +
+      "WHERE o.id IN (" +
+      "  SELECT id FROM booking.notification_outbox " +
+      "  WHERE status = 'PENDING' AND available_at <= CURRENT_TIMESTAMP " +
+      "  ORDER BY available_at, id " +
+      "  LIMIT :limit " +
+      "  FOR UPDATE SKIP LOCKED" +
+      ") " +
+      "RETURNING o.*")
+  List<NotificationOutboxEntity> claimDue(
+      @Param("limit") int limit,
+      @Param("leaseSeconds") double leaseSeconds
+  );
+
+  @Modifying
+  @Query("UPDATE booking.notification_outbox " +
+      "SET status = 'SENT', processed_at = CURRENT_TIMESTAMP, last_error = NULL " +
+      "WHERE id IN (:ids)")
+  int markSent(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("UPDATE booking.notification_outbox " +
+      "SET available_at = CURRENT_TIMESTAMP + make_interval(secs => :delaySeconds), " +
+      "last_error = :error " +
+      "WHERE id = :id")
+  int reschedule(
+      @Param("id") Long id,
+      @Param("delaySeconds") double delaySeconds,
+      @Param("error") String error
+  );
+
+  @Modifying
+  @Query("UPDATE booking.notification_outbox " +
+      "SET status = 'FAILED', processed_at = CURRENT_TIMESTAMP, last_error = :error " +
+      "WHERE id = :id")
+  int markFailed(@Param("id") Long id, @Param("error") String error);
+}
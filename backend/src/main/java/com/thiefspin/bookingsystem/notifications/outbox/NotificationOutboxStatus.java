@@ -0,0 +1,7 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+public enum NotificationOutboxStatus {
+  PENDING,
+  SENT,
+  FAILED
+}
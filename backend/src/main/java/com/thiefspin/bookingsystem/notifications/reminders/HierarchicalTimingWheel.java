@@ -0,0 +1,128 @@
+package com.thiefspin.bookingsystem.notifications.reminders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed hierarchical timing wheel.
+ * <p>
+ * Level 0 has {@code wheelSize} slots of one tick each; every level above covers
+ * {@code wheelSize} times the span of the one below. An entry is placed on the lowest level whose
+ * span reaches its deadline and moves down a level each time the wheel beneath it wraps, so adding
+ * is O(1) and each entry is touched at most once per level, however many are scheduled. Deadlines
+ * beyond the top level are parked in its furthest slot and re-placed when that slot comes round.
+ * <p>
+ * Not thread-safe; callers synchronize.
+ */
+final class HierarchicalTimingWheel<T> {
+
+  private final long tickMillis;
+
+  private final int bits;
+
+  private final int mask;
+
+  private final List<Entry<T>>[][] levels;
+
+  private long currentTick;
+
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+    if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1 || wheelSize < 2 || levelCount < 1) {
+      throw new IllegalArgumentException(
+          "Tick must be positive and wheel size a power of two of at least 2");
+    }
+    this.tickMillis = tickMillis;
+    this.bits = Integer.numberOfTrailingZeros(wheelSize);
+    if ((long) bits * levelCount >= Long.SIZE - 1) {
+      throw new IllegalArgumentException("Timing wheel span does not fit in a long");
+    }
+    this.mask = wheelSize - 1;
+    this.levels = new List[levelCount][wheelSize];
+    this.currentTick = startMillis / tickMillis;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Schedules {@code item}. Returns {@code false}, without scheduling, when the deadline falls
+   * within the current tick and the caller should fire it straight away.
+   */
+  boolean schedule(long deadlineMillis, T item) {
+    long deadlineTick = Math.floorDiv(deadlineMillis, tickMillis);
+    if (deadlineTick <= currentTick) {
+      return false;
+    }
+    place(new Entry<>(deadlineTick, item));
+    size++;
+    return true;
+  }
+
+  /**
+   * Moves the wheel forward to {@code nowMillis} and returns everything that fell due, in
+   * deadline order up to tick resolution.
+   */
+  List<T> advance(long nowMillis) {
+    long targetTick = Math.floorDiv(nowMillis, tickMillis);
+    List<T> expired = new ArrayList<>();
+    while (currentTick < targetTick) {
+      if (size == 0) {
+        currentTick = targetTick;
+        break;
+      }
+      currentTick++;
+      for (int level = levels.length - 1; level >= 0; level--) {
+        if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+          cascade(level, expired);
+        }
+      }
+    }
+    return expired;
+  }
+
+  private void cascade(int level, List<T> expired) {
+    int slot = (int) ((currentTick >>> (bits * level)) & mask);
+    List<Entry<T>> entries = levels[level][slot];
+    if (entries == null) {
+      return;
+    }
+    levels[level][slot] = null;
+    for (Entry<T> entry : entries) {
+      if (entry.deadlineTick <= currentTick) {
+        expired.add(entry.item);
+        size--;
+      } else {
+        place(entry);
+      }
+    }
+  }
+
+  private void place(Entry<T> entry) {
+    long delta = entry.deadlineTick - currentTick;
+    int level = 0;
+    while (level < levels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+      level++;
+    }
+    long tick = entry.deadlineTick;
+    long span = 1L << (bits * (level + 1));
+    if (delta >= span) {
+      // Beyond the top level: park in its furthest slot and re-place when it comes round
+      tick = currentTick + span - 1;
+    }
+    int slot = (int) ((tick >>> (bits * level)) & mask);
+    List<Entry<T>> bucket = levels[level][slot];
+    if (bucket == null) {
+      bucket = new ArrayList<>();
+      levels[level][slot] = bucket;
+    }
+    bucket.add(entry);
+  }
+
+  private record Entry<T>(long deadlineTick, T item) {
+
+  }
+}
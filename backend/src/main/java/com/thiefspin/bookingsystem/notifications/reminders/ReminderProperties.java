@@ -0,0 +1,40 @@
+package com.thiefspin.bookingsystem.notifications.reminders;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "notifications.reminders")
+public record ReminderProperties(
+    Duration leadTime,
+    Duration lookahead,
+    Duration maxLateness,
+    Duration lease,
+    Integer chunkSize,
+    Integer maxScheduled,
+    Integer dispatchBatchSize,
+    Duration sendTimeout,
+    Duration tick,
+    Integer wheelSize,
+    Integer wheelLevels
+) {
+
+  public ReminderProperties {
+    leadTime = leadTime == null ? Duration.ofHours(24) : leadTime;
+    lookahead = lookahead == null ? Duration.ofMinutes(5) : lookahead;
+    maxLateness = maxLateness == null ? Duration.ofHours(1) : maxLateness;
+    lease = lease == null ? Duration.ofMinutes(15) : lease;
+    chunkSize = chunkSize == null ? 500 : chunkSize;
+    maxScheduled = maxScheduled == null ? 100_000 : maxScheduled;
+    dispatchBatchSize = dispatchBatchSize == null ? 100 : dispatchBatchSize;
+    sendTimeout = sendTimeout == null ? Duration.ofSeconds(30) : sendTimeout;
+    tick = tick == null ? Duration.ofSeconds(1) : tick;
+    wheelSize = wheelSize == null ? 64 : wheelSize;
+    wheelLevels = wheelLevels == null ? 4 : wheelLevels;
+
+    // A claim has to outlive the wait in the wheel plus the send, or another node takes it over
+    if (lookahead.plus(sendTimeout).compareTo(lease) >= 0) {
+      throw new IllegalArgumentException(
+          "notifications.reminders.lease must be longer than lookahead plus send-timeout");
+    }
+  }
+}
@@ -0,0 +1,278 @@
+package com.thiefspin.bookingsystem.notifications.reminders;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the reminder that confirmations promise {@code lead-time} before each appointment.
+ * <p>
+ * Every poll claims, in keyset-ordered chunks with {@code FOR UPDATE SKIP LOCKED}, the confirmed
+ * appointments whose reminder falls due within {@code lookahead}. The partial index behind the
+ * query only holds appointments still awaiting a reminder, so a poll reads the window rather than
+ * the day. Claimed reminders wait in a {@link HierarchicalTimingWheel} and fire on the tick they
+ * are due; each tick's reminders are reloaded, to drop any cancelled in the meantime, and sent
+ * through {@link NotificationService} in batches. Sent reminders are recorded in one update per
+ * batch; failed ones release their claim to be picked up again by the next poll. Reminders more
+ * than {@code max-lateness} overdue, for instance after an outage, are not sent.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ReminderProperties.class)
+@ConditionalOnProperty(
+    name = "notifications.reminders.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class ReminderScheduler implements SmartLifecycle {
+
+  private final AppointmentRepository repository;
+
+  private final NotificationService notificationService;
+
+  private final ReminderProperties properties;
+
+  private final Clock clock;
+
+  private final HierarchicalTimingWheel<Long> wheel;
+
+  private final Set<Long> scheduled = new HashSet<>();
+
+  private final List<Long> overdue = new ArrayList<>();
+
+  private volatile Thread firing;
+
+  @Autowired
+  public ReminderScheduler(AppointmentRepository repository,
+      NotificationService notificationService, ReminderProperties properties) {
+    this(repository, notificationService, properties, Clock.systemDefaultZone());
+  }
+
+  ReminderScheduler(AppointmentRepository repository, NotificationService notificationService,
+      ReminderProperties properties, Clock clock) {
+    this.repository = repository;
+    this.notificationService = notificationService;
+    this.properties = properties;
+    this.clock = clock;
+    this.wheel = new HierarchicalTimingWheel<>(properties.tick().toMillis(),
+        properties.wheelSize(), properties.wheelLevels(), clock.millis());
+  }
+
+  @Scheduled(
+      fixedDelayString = "${notifications.reminders.poll-interval:PT1M}",
+      initialDelayString = "${notifications.reminders.poll-interval:PT1M}"
+  )
+  public void poll() {
+    try {
+      int claimed = claimDue();
+      if (claimed > 0) {
+        log.debug("Claimed {} reminders, {} scheduled", claimed, scheduledCount());
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to claim appointment reminders", ex);
+    }
+  }
+
+  /**
+   * Claims every reminder due within the lookahead, up to {@code max-scheduled} held at once, and
+   * returns how many were claimed.
+   */
+  int claimDue() {
+    LocalDateTime now = LocalDateTime.now(clock);
+    LocalDateTime until = now.plus(properties.leadTime()).plus(properties.lookahead());
+    LocalDateTime afterDateTime = now.plus(properties.leadTime()).minus(properties.maxLateness());
+    long afterId = 0;
+    double leaseSeconds = properties.lease().toMillis() / 1000.0;
+    double leadSeconds = properties.leadTime().toMillis() / 1000.0;
+
+    int claimed = 0;
+    int capacity;
+    while ((capacity = properties.maxScheduled() - scheduledCount()) > 0) {
+      int limit = Math.min(properties.chunkSize(), capacity);
+      List<AppointmentEntity> chunk = repository.claimReminders(
+          afterDateTime, afterId, until, limit, leaseSeconds, leadSeconds);
+      for (AppointmentEntity appointment : chunk) {
+        schedule(appointment);
+        LocalDateTime dateTime = appointment.appointmentDateTime();
+        if (dateTime.isAfter(afterDateTime)
+            || dateTime.isEqual(afterDateTime) && appointment.id() > afterId) {
+          afterDateTime = dateTime;
+          afterId = appointment.id();
+        }
+      }
+      claimed += chunk.size();
+      if (chunk.size() < limit) {
+        break;
+      }
+    }
+    return claimed;
+  }
+
+  /**
+   * Advances the wheel to now and sends whatever fell due.
+   */
+  void fire() {
+    List<Long> due;
+    synchronized (this) {
+      due = wheel.advance(clock.millis());
+      due.addAll(overdue);
+      overdue.clear();
+    }
+    for (int from = 0; from < due.size(); from += properties.dispatchBatchSize()) {
+      dispatch(due.subList(from, Math.min(from + properties.dispatchBatchSize(), due.size())));
+    }
+  }
+
+  synchronized int scheduledCount() {
+    return scheduled.size();
+  }
+
+  @Override
+  public void start() {
+    Thread thread = Thread.ofPlatform().daemon().name("reminder-wheel").unstarted(this::run);
+    firing = thread;
+    thread.start();
+  }
+
+  @Override
+  public void stop() {
+    Thread thread = firing;
+    firing = null;
+    if (thread != null) {
+      thread.interrupt();
+      try {
+        thread.join(properties.sendTimeout().toMillis());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // Hand anything still waiting back to the other nodes rather than letting the lease run out
+    List<Long> abandoned;
+    synchronized (this) {
+      abandoned = List.copyOf(scheduled);
+    }
+    if (!abandoned.isEmpty()) {
+      try {
+        repository.releaseReminderClaims(abandoned);
+      } catch (DataAccessException ex) {
+        log.warn("Failed to release {} reminder claims on shutdown", abandoned.size(), ex);
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return firing != null;
+  }
+
+  private synchronized void schedule(AppointmentEntity appointment) {
+    if (!scheduled.add(appointment.id())) {
+      return;
+    }
+    long fireAt = appointment.appointmentDateTime().minus(properties.leadTime())
+        .atZone(clock.getZone()).toInstant().toEpochMilli();
+    if (!wheel.schedule(fireAt, appointment.id())) {
+      overdue.add(appointment.id());
+    }
+  }
+
+  private void run() {
+    long tickMillis = properties.tick().toMillis();
+    while (firing == Thread.currentThread()) {
+      try {
+        Thread.sleep(tickMillis - Math.floorMod(clock.millis(), tickMillis));
+        fire();
+      } catch (InterruptedException e) {
+        return;
+      } catch (RuntimeException e) {
+        log.error("Reminder dispatch failed", e);
+      }
+    }
+  }
+
+  private void dispatch(List<Long> ids) {
+    try {
+      Map<Long, AppointmentEntity> appointments = StreamSupport.stream(
+              repository.findAllById(ids).spliterator(), false)
+          .collect(Collectors.toMap(AppointmentEntity::id, Function.identity()));
+
+      List<Long> attempted = new ArrayList<>(ids.size());
+      List<CompletableFuture<Void>> sends = new ArrayList<>(ids.size());
+      for (Long id : ids) {
+        AppointmentEntity appointment = appointments.get(id);
+        if (appointment == null
+            || appointment.status() != AppointmentStatus.CONFIRMED) {
+          continue;
+        }
+        attempted.add(id);
+        sends.add(send(appointment));
+      }
+      awaitAll(sends);
+
+      List<Long> sent = new ArrayList<>(attempted.size());
+      List<Long> failed = new ArrayList<>();
+      for (int i = 0; i < attempted.size(); i++) {
+        CompletableFuture<Void> future = sends.get(i);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+          sent.add(attempted.get(i));
+        } else {
+          failed.add(attempted.get(i));
+        }
+      }
+      if (!sent.isEmpty()) {
+        repository.markRemindersSent(sent);
+      }
+      if (!failed.isEmpty()) {
+        log.warn("{} of {} reminders failed and will be retried", failed.size(), attempted.size());
+        repository.releaseReminderClaims(failed);
+      }
+    } catch (DataAccessException ex) {
+      log.warn("Failed to record {} reminders, their claims will lapse", ids.size(), ex);
+    } finally {
+      synchronized (this) {
+        ids.forEach(scheduled::remove);
+      }
+    }
+  }
+
+  private CompletableFuture<Void> send(AppointmentEntity appointment) {
+    try {
+      return notificationService.sendReminderEvent(appointment);
+    } catch (RuntimeException ex) {
+      return CompletableFuture.failedFuture(ex);
+    }
+  }
+
+  private void awaitAll(List<CompletableFuture<Void>> sends) {
+    try {
+      CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+          .get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (Exception ex) {
+      // Individual outcomes are inspected by the caller
+    }
+  }
+}
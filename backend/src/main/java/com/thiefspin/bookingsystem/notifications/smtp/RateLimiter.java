@@ -0,0 +1,55 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket allowing {@code ratePerSecond} permits a second with bursts of up to one second's
+ * worth. Callers that find the bucket empty reserve a future permit and sleep until it is theirs,
+ * so waiters are served in arrival order.
+ */
+final class RateLimiter {
+
+  private final double permitsPerNano;
+
+  private final double capacity;
+
+  private final LongSupplier nanoTime;
+
+  private double tokens;
+
+  private long refilledAt;
+
+  RateLimiter(double ratePerSecond) {
+    this(ratePerSecond, System::nanoTime);
+  }
+
+  RateLimiter(double ratePerSecond, LongSupplier nanoTime) {
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.permitsPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.capacity = Math.max(1, ratePerSecond);
+    this.nanoTime = nanoTime;
+    this.tokens = capacity;
+    this.refilledAt = nanoTime.getAsLong();
+  }
+
+  void acquire() throws InterruptedException {
+    long wait = reserve();
+    if (wait > 0) {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+
+  /**
+   * Takes a permit and returns how many nanoseconds the caller must wait before using it.
+   */
+  synchronized long reserve() {
+    long now = nanoTime.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+    refilledAt = now;
+    tokens -= 1;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+  }
+}
@@ -0,0 +1,77 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannel;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannelAdapter;
+import com.thiefspin.bookingsystem.notifications.channels.RenderedNotification;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers email through {@link SmtpMailer}, waiting for the configured relay and recipient
+ * domain rate limits before each message is queued.
+ */
+public class SmtpChannelAdapter implements NotificationChannelAdapter {
+
+  private final SmtpMailer mailer;
+
+  private final SmtpProperties properties;
+
+  private final RateLimiter relayLimit;
+
+  private final Map<String, RateLimiter> providerLimits;
+
+  public SmtpChannelAdapter(SmtpMailer mailer, SmtpProperties properties) {
+    this.mailer = mailer;
+    this.properties = properties;
+    this.relayLimit = properties.maxRate() > 0 ? new RateLimiter(properties.maxRate()) : null;
+    this.providerLimits = properties.providerRates().entrySet().stream()
+        .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+        .collect(Collectors.toUnmodifiableMap(
+            Map.Entry::getKey, entry -> new RateLimiter(entry.getValue())));
+  }
+
+  @Override
+  public NotificationChannel channel() {
+    return NotificationChannel.EMAIL;
+  }
+
+  @Override
+  public void deliver(RenderedNotification notification) {
+    SmtpMessage message = new SmtpMessage(properties.from(), notification.recipient(),
+        notification.subject(), notification.body());
+    try {
+      throttle(message.to());
+      mailer.submit(message).get(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while sending email", ex);
+    } catch (TimeoutException ex) {
+      throw new IllegalStateException("Timed out waiting for the SMTP relay", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException io) {
+        throw new UncheckedIOException(io);
+      }
+      throw new IllegalStateException("Email could not be sent", ex.getCause());
+    }
+  }
+
+  private void throttle(String recipient) throws InterruptedException {
+    RateLimiter provider = providerLimits.get(domainOf(recipient));
+    if (provider != null) {
+      provider.acquire();
+    }
+    if (relayLimit != null) {
+      relayLimit.acquire();
+    }
+  }
+
+  static String domainOf(String address) {
+    return address.substring(address.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,358 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * One SMTP session with the relay, reused for many messages.
+ * <p>
+ * When the relay advertises {@code PIPELINING} (RFC 2920) a batch goes out with one round trip
+ * per message: the envelope of each message is written together with the end of the previous
+ * message's content, and the replies are read back in order. Otherwise every command waits for
+ * its reply. Content is sent base64-encoded, so it never needs dot-stuffing or {@code 8BITMIME}.
+ * <p>
+ * Not thread-safe; each connection is driven by a single worker.
+ */
+final class SmtpConnection implements Closeable {
+
+  private static final byte[] CRLF = {'\r', '\n'};
+
+  private static final Base64.Encoder CONTENT_ENCODER =
+      Base64.getMimeEncoder(76, CRLF);
+
+  private final SmtpProperties properties;
+
+  private Socket socket;
+
+  private InputStream in;
+
+  private OutputStream out;
+
+  private final Set<String> extensions = new HashSet<>();
+
+  private int messagesSent;
+
+  private long lastUsed;
+
+  private SmtpConnection(SmtpProperties properties) {
+    this.properties = properties;
+  }
+
+  static SmtpConnection open(SmtpProperties properties) throws IOException {
+    SmtpConnection connection = new SmtpConnection(properties);
+    try {
+      connection.connect();
+    } catch (IOException | RuntimeException ex) {
+      connection.abort();
+      throw ex;
+    }
+    return connection;
+  }
+
+  boolean pipelining() {
+    return extensions.contains("PIPELINING");
+  }
+
+  /**
+   * Whether this session may carry more messages, given the per-connection cap and idle limit.
+   */
+  boolean reusable(long nowNanos) {
+    return socket != null && !socket.isClosed()
+        && messagesSent < properties.maxMessagesPerConnection()
+        && nowNanos - lastUsed < properties.idleTimeout().toNanos();
+  }
+
+  /**
+   * Sends every message in {@code batch}, completing each future as its outcome is known. A
+   * message the relay refuses fails with {@link SmtpException} without affecting the rest. An
+   * {@link IOException} means the session is broken; futures not yet completed are left for the
+   * caller.
+   */
+  void send(List<Outgoing> batch) throws IOException {
+    if (pipelining()) {
+      sendPipelined(batch);
+    } else {
+      for (Outgoing outgoing : batch) {
+        sendOne(outgoing);
+      }
+    }
+    messagesSent += batch.size();
+    lastUsed = System.nanoTime();
+  }
+
+  @Override
+  public void close() {
+    if (socket == null || socket.isClosed()) {
+      return;
+    }
+    try {
+      write("QUIT");
+      out.flush();
+      readReply();
+    } catch (IOException ex) {
+      // Closing regardless
+    }
+    abort();
+  }
+
+  void abort() {
+    try {
+      if (socket != null) {
+        socket.close();
+      }
+    } catch (IOException ex) {
+      // Nothing more to release
+    }
+  }
+
+  private void connect() throws IOException {
+    socket = new Socket();
+    socket.connect(new InetSocketAddress(properties.host(), properties.port()),
+        (int) properties.connectTimeout().toMillis());
+    socket.setSoTimeout((int) properties.readTimeout().toMillis());
+    socket.setTcpNoDelay(true);
+    bindStreams();
+
+    expect(readReply(), 220);
+    hello();
+
+    if (properties.startTls()) {
+      if (!extensions.contains("STARTTLS")) {
+        throw new IOException("Relay does not offer STARTTLS");
+      }
+      command("STARTTLS", 220);
+      SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+          .createSocket(socket, properties.host(), properties.port(), true);
+      tls.setSoTimeout((int) properties.readTimeout().toMillis());
+      tls.startHandshake();
+      socket = tls;
+      bindStreams();
+      hello();
+    }
+
+    if (properties.username() != null && !properties.username().isBlank()) {
+      String credentials = "\0" + properties.username() + "\0" + properties.password();
+      command("AUTH PLAIN " + Base64.getEncoder()
+          .encodeToString(credentials.getBytes(StandardCharsets.UTF_8)), 235);
+    }
+    lastUsed = System.nanoTime();
+  }
+
+  private void bindStreams() throws IOException {
+    in = new BufferedInputStream(socket.getInputStream());
+    out = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+  }
+
+  private void hello() throws IOException {
+    write("EHLO " + properties.heloName());
+    out.flush();
+    Reply reply = readReply();
+    expect(reply, 250);
+
+    extensions.clear();
+    String[] lines = reply.text().split("\n");
+    for (int i = 1; i < lines.length; i++) {
+      String keyword = lines[i].strip().split(" ", 2)[0];
+      extensions.add(keyword.toUpperCase(Locale.ROOT));
+    }
+  }
+
+  private void sendOne(Outgoing outgoing) throws IOException {
+    SmtpMessage message = outgoing.message();
+    Reply reply = exchange("MAIL FROM:<" + message.from() + ">");
+    if (reply.positive()) {
+      reply = exchange("RCPT TO:<" + message.to() + ">");
+    }
+    if (reply.positive()) {
+      reply = exchange("DATA");
+    }
+    if (reply.code() == 354) {
+      writeContent(message);
+      out.flush();
+      complete(outgoing, readReply());
+      return;
+    }
+    outgoing.result().completeExceptionally(toException(reply));
+    resetTransaction();
+  }
+
+  private void sendPipelined(List<Outgoing> batch) throws IOException {
+    writeEnvelope(batch.get(0).message());
+    out.flush();
+
+    for (int i = 0; i < batch.size(); i++) {
+      Outgoing outgoing = batch.get(i);
+      Reply failure = firstFailure(readReply(), readReply());
+      Reply data = readReply();
+      boolean accepted = failure == null && data.code() == 354;
+
+      if (data.code() == 354) {
+        if (accepted) {
+          writeContent(outgoing.message());
+        } else {
+          write(".");
+        }
+      } else {
+        write("RSET");
+      }
+      if (i + 1 < batch.size()) {
+        writeEnvelope(batch.get(i + 1).message());
+      }
+      out.flush();
+
+      Reply end = readReply();
+      if (accepted) {
+        complete(outgoing, end);
+      } else {
+        outgoing.result().completeExceptionally(toException(failure != null ? failure : data));
+      }
+    }
+  }
+
+  private void resetTransaction() throws IOException {
+    exchange("RSET");
+  }
+
+  private void writeEnvelope(SmtpMessage message) throws IOException {
+    write("MAIL FROM:<" + message.from() + ">");
+    write("RCPT TO:<" + message.to() + ">");
+    write("DATA");
+  }
+
+  private void writeContent(SmtpMessage message) throws IOException {
+    StringBuilder headers = new StringBuilder(256)
+        .append("Date: ")
+        .append(DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()))
+        .append("\r\nFrom: ").append(message.from())
+        .append("\r\nTo: ").append(message.to())
+        .append("\r\nSubject: ").append(encodeHeader(message.subject()))
+        .append("\r\nMessage-ID: <").append(UUID.randomUUID()).append('@')
+        .append(properties.heloName()).append('>')
+        .append("\r\nMIME-Version: 1.0")
+        .append("\r\nContent-Type: text/plain; charset=UTF-8")
+        .append("\r\nContent-Transfer-Encoding: base64\r\n\r\n");
+    out.write(headers.toString().getBytes(StandardCharsets.US_ASCII));
+    String body = message.body().replace("\r\n", "\n").replace("\n", "\r\n");
+    out.write(CONTENT_ENCODER.encode(body.getBytes(StandardCharsets.UTF_8)));
+    out.write(CRLF);
+    write(".");
+  }
+
+  private void command(String line, int expected) throws IOException {
+    expect(exchange(line), expected);
+  }
+
+  private Reply exchange(String line) throws IOException {
+    write(line);
+    out.flush();
+    return readReply();
+  }
+
+  private void write(String line) throws IOException {
+    out.write(line.getBytes(StandardCharsets.US_ASCII));
+    out.write(CRLF);
+  }
+
+  private Reply readReply() throws IOException {
+    StringBuilder text = new StringBuilder();
+    while (true) {
+      String line = readLine();
+      if (line.length() < 3) {
+        throw new IOException("Malformed SMTP reply: " + line);
+      }
+      if (!text.isEmpty()) {
+        text.append('\n');
+      }
+      text.append(line.length() > 4 ? line.substring(4) : "");
+      if (line.length() == 3 || line.charAt(3) != '-') {
+        try {
+          return new Reply(Integer.parseInt(line.substring(0, 3)), text.toString());
+        } catch (NumberFormatException ex) {
+          throw new IOException("Malformed SMTP reply: " + line, ex);
+        }
+      }
+    }
+  }
+
+  private String readLine() throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+    int previous = -1;
+    while (true) {
+      int next = in.read();
+      if (next < 0) {
+        throw new EOFException("SMTP connection closed by relay");
+      }
+      if (previous == '\r' && next == '\n') {
+        byte[] bytes = line.toByteArray();
+        return new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_8);
+      }
+      line.write(next);
+      previous = next;
+    }
+  }
+
+  private static void complete(Outgoing outgoing, Reply reply) {
+    if (reply.positive()) {
+      outgoing.result().complete(null);
+    } else {
+      outgoing.result().completeExceptionally(toException(reply));
+    }
+  }
+
+  private static Reply firstFailure(Reply mail, Reply rcpt) {
+    if (!mail.positive()) {
+      return mail;
+    }
+    return rcpt.positive() ? null : rcpt;
+  }
+
+  private static void expect(Reply reply, int code) throws SmtpException {
+    if (reply.code() != code) {
+      throw toException(reply);
+    }
+  }
+
+  private static SmtpException toException(Reply reply) {
+    return new SmtpException(reply.code(), reply.text());
+  }
+
+  private static String encodeHeader(String value) {
+    String singleLine = value.replaceAll("[\\r\\n]+", " ");
+    if (StandardCharsets.US_ASCII.newEncoder().canEncode(singleLine)) {
+      return singleLine;
+    }
+    return "=?UTF-8?B?" + Base64.getEncoder()
+        .encodeToString(singleLine.getBytes(StandardCharsets.UTF_8)) + "?=";
+  }
+
+  record Outgoing(SmtpMessage message, CompletableFuture<Void> result) {
+
+  }
+
+  private record Reply(int code, String text) {
+
+    boolean positive() {
+      return code >= 200 && code < 300;
+    }
+  }
+}
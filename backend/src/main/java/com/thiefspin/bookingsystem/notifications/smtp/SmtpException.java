@@ -0,0 +1,27 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.io.IOException;
+
+/**
+ * A reply the relay used to refuse a command or message.
+ */
+public class SmtpException extends IOException {
+
+  private final int replyCode;
+
+  public SmtpException(int replyCode, String message) {
+    super(replyCode + " " + message);
+    this.replyCode = replyCode;
+  }
+
+  public int replyCode() {
+    return replyCode;
+  }
+
+  /**
+   * Whether the relay reported a temporary condition worth retrying.
+   */
+  public boolean isTransient() {
+    return replyCode >= 400 && replyCode < 500;
+  }
+}
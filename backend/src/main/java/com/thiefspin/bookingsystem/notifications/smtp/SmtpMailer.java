@@ -0,0 +1,161 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import com.thiefspin.bookingsystem.notifications.smtp.SmtpConnection.Outgoing;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends mail through a fixed pool of persistent SMTP sessions.
+ * <p>
+ * Messages are queued and each of the {@code pool-size} workers takes up to {@code batch-size}
+ * at a time and sends them over its own session, pipelined when the relay allows it. A session is
+ * kept open between batches and replaced after {@code max-messages-per-connection} messages,
+ * after {@code idle-timeout} without use, or as soon as it breaks. A message refused by the relay
+ * fails on its own; a broken session fails the messages of its batch that were still unanswered.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SmtpProperties.class)
+@ConditionalOnProperty(name = "notifications.mode", havingValue = "smtp")
+public class SmtpMailer implements SmartLifecycle {
+
+  private static final long POLL_INTERVAL_MILLIS = 200;
+
+  private final SmtpProperties properties;
+
+  private final BlockingQueue<Outgoing> queue;
+
+  private final ExecutorService workers;
+
+  private volatile boolean running;
+
+  public SmtpMailer(SmtpProperties properties) {
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.workers = Executors.newFixedThreadPool(properties.poolSize(),
+        Thread.ofVirtual().name("smtp-", 0).factory());
+  }
+
+  /**
+   * Queues {@code message}. The future completes once the relay has accepted it, or exceptionally
+   * with an {@link IOException} if it was refused or could not be sent.
+   */
+  public CompletableFuture<Void> submit(SmtpMessage message) {
+    Outgoing outgoing = new Outgoing(message, new CompletableFuture<>());
+    if (!running) {
+      outgoing.result().completeExceptionally(
+          new RejectedExecutionException("SMTP mailer is not running"));
+    } else if (!queue.offer(outgoing)) {
+      outgoing.result().completeExceptionally(
+          new RejectedExecutionException("SMTP queue is full"));
+    }
+    return outgoing.result();
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    for (int i = 0; i < properties.poolSize(); i++) {
+      workers.execute(this::work);
+    }
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    workers.shutdown();
+    try {
+      if (!workers.awaitTermination(properties.sendTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        workers.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      workers.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+
+    List<Outgoing> abandoned = new ArrayList<>();
+    queue.drainTo(abandoned);
+    abandoned.forEach(outgoing -> outgoing.result().completeExceptionally(
+        new RejectedExecutionException("SMTP mailer stopped before message was sent")));
+    if (!abandoned.isEmpty()) {
+      log.warn("SMTP mailer stopped with {} unsent messages", abandoned.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void work() {
+    SmtpConnection connection = null;
+    List<Outgoing> batch = new ArrayList<>(properties.batchSize());
+    try {
+      while (running || !queue.isEmpty()) {
+        Outgoing first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (connection != null && !connection.reusable(System.nanoTime())) {
+            connection.close();
+            connection = null;
+          }
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, properties.batchSize() - 1);
+        connection = send(connection, batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failUnanswered(batch, new IOException("SMTP worker interrupted"));
+    } finally {
+      if (connection != null) {
+        connection.close();
+      }
+    }
+  }
+
+  /**
+   * Sends {@code batch} and returns the session to keep using, or {@code null} if it broke.
+   */
+  private SmtpConnection send(SmtpConnection connection, List<Outgoing> batch) {
+    try {
+      if (connection != null && !connection.reusable(System.nanoTime())) {
+        connection.close();
+        connection = null;
+      }
+      if (connection == null) {
+        connection = SmtpConnection.open(properties);
+      }
+      connection.send(batch);
+      return connection;
+    } catch (IOException | RuntimeException ex) {
+      log.warn("SMTP session to {}:{} failed with {} messages in flight",
+          properties.host(), properties.port(), batch.size(), ex);
+      if (connection != null) {
+        connection.abort();
+      }
+      failUnanswered(batch, ex);
+      return null;
+    }
+  }
+
+  private static void failUnanswered(List<Outgoing> batch, Exception cause) {
+    for (Outgoing outgoing : batch) {
+      outgoing.result().completeExceptionally(cause);
+    }
+  }
+}
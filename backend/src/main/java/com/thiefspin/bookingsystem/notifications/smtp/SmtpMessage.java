@@ -0,0 +1,21 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+/**
+ * A plain-text message to a single recipient.
+ */
+public record SmtpMessage(String from, String to, String subject, String body) {
+
+  public SmtpMessage {
+    requireAddress(from);
+    requireAddress(to);
+    subject = subject == null ? "" : subject;
+  }
+
+  private static void requireAddress(String address) {
+    // Anything that could break out of the envelope or header line it is written into
+    if (address == null || address.isBlank() || address.chars()
+        .anyMatch(c -> c == '\r' || c == '\n' || c == '<' || c == '>')) {
+      throw new IllegalArgumentException("Invalid email address: " + address);
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the SMTP relay used when {@code notifications.mode=smtp}.
+ * <p>
+ * {@code max-rate} caps messages per second through the relay as a whole; {@code provider-rates}
+ * caps them per recipient domain, e.g. {@code notifications.smtp.provider-rates.gmail.com=20}.
+ * A rate of zero or less means unlimited.
+ */
+@ConfigurationProperties(prefix = "notifications.smtp")
+public record SmtpProperties(
+    String host,
+    Integer port,
+    String username,
+    String password,
+    Boolean startTls,
+    String from,
+    String heloName,
+    Integer poolSize,
+    Integer batchSize,
+    Integer queueCapacity,
+    Integer maxMessagesPerConnection,
+    Duration idleTimeout,
+    Duration connectTimeout,
+    Duration readTimeout,
+    Duration sendTimeout,
+    Double maxRate,
+    Map<String, Double> providerRates
+) {
+
+  public SmtpProperties {
+    if (host == null || host.isBlank()) {
+      throw new IllegalArgumentException("notifications.smtp.host is required");
+    }
+    if (from == null || from.isBlank()) {
+      throw new IllegalArgumentException("notifications.smtp.from is required");
+    }
+    port = port == null ? 587 : port;
+    startTls = startTls == null ? port != 25 : startTls;
+    heloName = heloName == null ? "localhost" : heloName;
+    poolSize = poolSize == null ? 4 : poolSize;
+    batchSize = batchSize == null ? 20 : batchSize;
+    queueCapacity = queueCapacity == null ? 1000 : queueCapacity;
+    maxMessagesPerConnection = maxMessagesPerConnection == null ? 1000 : maxMessagesPerConnection;
+    idleTimeout = idleTimeout == null ? Duration.ofSeconds(30) : idleTimeout;
+    connectTimeout = connectTimeout == null ? Duration.ofSeconds(10) : connectTimeout;
+    readTimeout = readTimeout == null ? Duration.ofSeconds(30) : readTimeout;
+    sendTimeout = sendTimeout == null ? Duration.ofSeconds(60) : sendTimeout;
+    maxRate = maxRate == null ? 0 : maxRate;
+    providerRates = providerRates == null ? Map.of() : providerRates.entrySet().stream()
+        .collect(Collectors.toUnmodifiableMap(
+            entry -> entry.getKey().toLowerCase(Locale.ROOT), Map.Entry::getValue));
+
+    if (poolSize < 1 || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "notifications.smtp.pool-size and batch-size must be at least 1");
+    }
+  }
+}
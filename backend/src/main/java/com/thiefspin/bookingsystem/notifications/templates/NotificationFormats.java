@@ -0,0 +1,73 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Date formatting for templates, written directly into the output instead of going through
+ * {@link java.time.format.DateTimeFormatter}.
+ */
+final class NotificationFormats {
+
+  private static final String[] DAYS = {
+      "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+  };
+
+  private static final String[] MONTHS = {
+      "January", "February", "March", "April", "May", "June",
+      "July", "August", "September", "October", "November", "December"
+  };
+
+  private NotificationFormats() {
+  }
+
+  /**
+   * Appends e.g. {@code Monday, January 6, 2025 at 9:30 AM}.
+   */
+  static void appendLongDateTime(StringBuilder out, LocalDateTime dateTime) {
+    appendLongDate(out, dateTime.toLocalDate());
+    out.append(" at ");
+    appendTime(out, dateTime);
+  }
+
+  /**
+   * Appends e.g. {@code Monday, January 6, 2025}.
+   */
+  static void appendLongDate(StringBuilder out, LocalDate date) {
+    out.append(DAYS[date.getDayOfWeek().ordinal()])
+        .append(", ")
+        .append(MONTHS[date.getMonthValue() - 1])
+        .append(' ')
+        .append(date.getDayOfMonth())
+        .append(", ")
+        .append(date.getYear());
+  }
+
+  /**
+   * Appends e.g. {@code 9:30 AM}.
+   */
+  static void appendTime(StringBuilder out, LocalDateTime dateTime) {
+    int hour = dateTime.getHour() % 12;
+    out.append(hour == 0 ? 12 : hour).append(':');
+    appendTwoDigits(out, dateTime.getMinute());
+    out.append(dateTime.getHour() < 12 ? " AM" : " PM");
+  }
+
+  /**
+   * Appends e.g. {@code 2025-01-06 09:30}.
+   */
+  static void appendShortDateTime(StringBuilder out, LocalDateTime dateTime) {
+    out.append(dateTime.getYear()).append('-');
+    appendTwoDigits(out, dateTime.getMonthValue());
+    out.append('-');
+    appendTwoDigits(out, dateTime.getDayOfMonth());
+    out.append(' ');
+    appendTwoDigits(out, dateTime.getHour());
+    out.append(':');
+    appendTwoDigits(out, dateTime.getMinute());
+  }
+
+  private static void appendTwoDigits(StringBuilder out, int value) {
+    out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+  }
+}
@@ -0,0 +1,165 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A template compiled once into an array of segments.
+ * <p>
+ * Supported syntax is {@code {{field}}} for a value and {@code {{#field}}...{{/field}}} for a
+ * section that is only rendered when the field has a value. {@code {{#items}}...{{/items}}} is
+ * rendered once per digest item, against that item. Field names are those of
+ * {@link TemplateField}; anything else is rejected at parse time so a broken template fails
+ * startup rather than a send.
+ */
+public final class NotificationTemplate {
+
+  private static final String OPEN = "{{";
+  private static final String CLOSE = "}}";
+
+  /**
+   * Room reserved for each substituted value when presizing output.
+   */
+  private static final int FIELD_ESTIMATE = 24;
+
+  private final Segment[] segments;
+
+  private final int estimatedLength;
+
+  private NotificationTemplate(Segment[] segments) {
+    this.segments = segments;
+    this.estimatedLength = estimate(segments);
+  }
+
+  public static NotificationTemplate parse(String source) {
+    Deque<Frame> stack = new ArrayDeque<>();
+    stack.push(new Frame(null));
+
+    int position = 0;
+    while (position < source.length()) {
+      int open = source.indexOf(OPEN, position);
+      if (open < 0) {
+        stack.peek().add(new Literal(source.substring(position)));
+        break;
+      }
+      if (open > position) {
+        stack.peek().add(new Literal(source.substring(position, open)));
+      }
+      int close = source.indexOf(CLOSE, open + OPEN.length());
+      if (close < 0) {
+        throw new IllegalArgumentException("Unterminated tag at offset " + open);
+      }
+
+      String tag = source.substring(open + OPEN.length(), close).strip();
+      if (tag.startsWith("#")) {
+        stack.push(new Frame(TemplateField.byName(tag.substring(1).strip())));
+      } else if (tag.startsWith("/")) {
+        TemplateField field = TemplateField.byName(tag.substring(1).strip());
+        Frame section = stack.pop();
+        if (section.field != field) {
+          throw new IllegalArgumentException(
+              "Unexpected {{/" + tag.substring(1).strip() + "}} at offset " + open);
+        }
+        stack.peek().add(new Section(field, section.toArray()));
+      } else {
+        TemplateField field = TemplateField.byName(tag);
+        if (field == TemplateField.ITEMS) {
+          throw new IllegalArgumentException("{{items}} can only be used as a section");
+        }
+        stack.peek().add(new Value(field));
+      }
+      position = close + CLOSE.length();
+    }
+
+    if (stack.size() > 1) {
+      throw new IllegalArgumentException("Unclosed section: " + stack.peek().field);
+    }
+    return new NotificationTemplate(stack.pop().toArray());
+  }
+
+  /**
+   * A capacity that fits most renderings without the builder having to grow.
+   */
+  public int estimatedLength() {
+    return estimatedLength;
+  }
+
+  public String render(TemplateContext context) {
+    StringBuilder out = new StringBuilder(estimatedLength);
+    renderTo(out, context);
+    return out.toString();
+  }
+
+  public void renderTo(StringBuilder out, TemplateContext context) {
+    renderTo(out, segments, context);
+  }
+
+  private static void renderTo(StringBuilder out, Segment[] segments, TemplateContext context) {
+    for (Segment segment : segments) {
+      if (segment instanceof Literal literal) {
+        out.append(literal.text);
+      } else if (segment instanceof Value value) {
+        value.field.append(out, context);
+      } else if (segment instanceof Section section && section.field.present(context)) {
+        if (section.field == TemplateField.ITEMS) {
+          for (TemplateContext item : context.items()) {
+            renderTo(out, section.body, item);
+          }
+        } else {
+          renderTo(out, section.body, context);
+        }
+      }
+    }
+  }
+
+  private static int estimate(Segment[] segments) {
+    int length = 0;
+    for (Segment segment : segments) {
+      if (segment instanceof Literal literal) {
+        length += literal.text.length();
+      } else if (segment instanceof Value) {
+        length += FIELD_ESTIMATE;
+      } else if (segment instanceof Section section) {
+        length += estimate(section.body);
+      }
+    }
+    return length;
+  }
+
+  private sealed interface Segment permits Literal, Value, Section {
+
+  }
+
+  private record Literal(String text) implements Segment {
+
+  }
+
+  private record Value(TemplateField field) implements Segment {
+
+  }
+
+  private record Section(TemplateField field, Segment[] body) implements Segment {
+
+  }
+
+  private static final class Frame {
+
+    private final TemplateField field;
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    private Frame(TemplateField field) {
+      this.field = field;
+    }
+
+    private void add(Segment segment) {
+      segments.add(segment);
+    }
+
+    private Segment[] toArray() {
+      return segments.toArray(Segment[]::new);
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannel;
+import com.thiefspin.bookingsystem.notifications.channels.RenderedNotification;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every notification template, parsed once at startup.
+ * <p>
+ * Templates live at {@code notifications/templates/<name>-<channel>.txt} on the classpath, where
+ * the name is an event type, {@code digest} for a customer's combined notifications or
+ * {@code branch-schedule} for the daily staff schedule (email only). Email templates start with a
+ * {@code Subject: } line followed by a blank line; the rest of the file is the body.
+ */
+@Slf4j
+@Component
+public class NotificationTemplates {
+
+  static final String LOCATION = "classpath:notifications/templates/";
+
+  static final String DIGEST = "digest";
+
+  static final String BRANCH_SCHEDULE = "branch-schedule";
+
+  private static final String SUBJECT_PREFIX = "Subject: ";
+
+  private final Map<String, Map<NotificationChannel, Compiled>> templates = new HashMap<>();
+
+  public NotificationTemplates(ResourceLoader resourceLoader) {
+    Map<String, Set<NotificationChannel>> required = new LinkedHashMap<>();
+    for (NotificationEventType type : NotificationEventType.values()) {
+      required.put(type.tag(), EnumSet.allOf(NotificationChannel.class));
+    }
+    required.put(DIGEST, EnumSet.allOf(NotificationChannel.class));
+    required.put(BRANCH_SCHEDULE, EnumSet.of(NotificationChannel.EMAIL));
+
+    int count = 0;
+    for (Map.Entry<String, Set<NotificationChannel>> entry : required.entrySet()) {
+      Map<NotificationChannel, Compiled> byChannel = new EnumMap<>(NotificationChannel.class);
+      for (NotificationChannel channel : entry.getValue()) {
+        byChannel.put(channel, load(resourceLoader, entry.getKey(), channel));
+        count++;
+      }
+      templates.put(entry.getKey(), byChannel);
+    }
+    log.info("Loaded {} notification templates", count);
+  }
+
+  /**
+   * Renders the notification for {@code channel}, or returns {@code null} when the customer has no
+   * address on that channel.
+   */
+  public RenderedNotification render(NotificationEventType type, NotificationChannel channel,
+      AppointmentEntity appointment) {
+    return render(type.tag(), channel, channel.recipient(appointment),
+        TemplateContext.of(type, appointment));
+  }
+
+  /**
+   * Renders one message covering every item, addressed to the customer of the first. Returns
+   * {@code null} when that customer has no address on {@code channel}.
+   */
+  public RenderedNotification renderDigest(NotificationChannel channel,
+      List<TemplateContext> items) {
+    AppointmentEntity first = items.get(0).appointment();
+    return render(DIGEST, channel, channel.recipient(first),
+        new TemplateContext(first, null, null, null, items));
+  }
+
+  /**
+   * Renders a branch's schedule for {@code date}, one item per appointment, as an email.
+   */
+  public RenderedNotification renderBranchSchedule(String recipient, String branchName,
+      LocalDate date, List<AppointmentEntity> appointments) {
+    List<TemplateContext> items = appointments.stream()
+        .map(appointment -> TemplateContext.of(null, appointment))
+        .toList();
+    return render(BRANCH_SCHEDULE, NotificationChannel.EMAIL, recipient,
+        new TemplateContext(null, null, branchName, date, items));
+  }
+
+  private RenderedNotification render(String name, NotificationChannel channel, String recipient,
+      TemplateContext context) {
+    if (recipient == null || recipient.isBlank()) {
+      return null;
+    }
+
+    Compiled compiled = templates.get(name).get(channel);
+    StringBuilder out = new StringBuilder(compiled.capacity());
+    String subject = null;
+    if (compiled.subject != null) {
+      compiled.subject.renderTo(out, context);
+      subject = out.toString();
+      out.setLength(0);
+    }
+    compiled.body.renderTo(out, context);
+    return new RenderedNotification(channel, recipient, subject, out.toString());
+  }
+
+  static Compiled compile(String source, NotificationChannel channel) {
+    NotificationTemplate subject = null;
+    String body = source;
+    if (channel == NotificationChannel.EMAIL) {
+      int lineEnd = source.indexOf('\n');
+      if (!source.startsWith(SUBJECT_PREFIX) || lineEnd < 0) {
+        throw new IllegalArgumentException("Email templates must start with a Subject line");
+      }
+      subject = NotificationTemplate.parse(source.substring(SUBJECT_PREFIX.length(), lineEnd)
+          .strip());
+      body = source.substring(lineEnd + 1).stripLeading();
+    }
+    return new Compiled(subject, NotificationTemplate.parse(body));
+  }
+
+  private static Compiled load(ResourceLoader resourceLoader, String name,
+      NotificationChannel channel) {
+    String location = LOCATION + name + "-" + channel.tag() + ".txt";
+    Resource resource = resourceLoader.getResource(location);
+    if (!resource.exists()) {
+      throw new IllegalStateException("Missing notification template " + location);
+    }
+    try (InputStream in = resource.getInputStream()) {
+      return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8), channel);
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new IllegalStateException("Could not load notification template " + location, ex);
+    }
+  }
+
+  /**
+   * {@code subject} is {@code null} for channels without one. One builder sized for the longer of
+   * the two is reused for both.
+   */
+  record Compiled(NotificationTemplate subject, NotificationTemplate body) {
+
+    int capacity() {
+      return Math.max(body.estimatedLength(), subject != null ? subject.estimatedLength() : 0);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The values a template is rendered against. Single notifications only carry an appointment and
+ * event type; digests also carry the {@code items} a {@code {{#items}}} section repeats over.
+ */
+public record TemplateContext(
+    AppointmentEntity appointment,
+    NotificationEventType type,
+    String branchName,
+    LocalDate date,
+    List<TemplateContext> items
+) {
+
+  public TemplateContext {
+    items = items == null ? List.of() : items;
+  }
+
+  public static TemplateContext of(NotificationEventType type, AppointmentEntity appointment) {
+    return new TemplateContext(appointment, type, null, null, List.of());
+  }
+}
@@ -0,0 +1,153 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Values a template can reference as {@code {{name}}}.
+ */
+public enum TemplateField {
+  FIRST_NAME("firstName") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().customerFirstName());
+    }
+  },
+  LAST_NAME("lastName") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().customerLastName());
+    }
+  },
+  REFERENCE("reference") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().bookingReference());
+    }
+  },
+  DATE_TIME("dateTime") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      NotificationFormats.appendLongDateTime(out, context.appointment().appointmentDateTime());
+    }
+  },
+  SHORT_DATE_TIME("shortDateTime") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      NotificationFormats.appendShortDateTime(out, context.appointment().appointmentDateTime());
+    }
+  },
+  DURATION("duration") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().durationMinutes().intValue());
+    }
+  },
+  PURPOSE("purpose") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().purpose());
+    }
+
+    @Override
+    boolean present(TemplateContext context) {
+      return hasText(context.appointment().purpose());
+    }
+  },
+  REASON("reason") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.appointment().cancellationReason());
+    }
+
+    @Override
+    boolean present(TemplateContext context) {
+      return hasText(context.appointment().cancellationReason());
+    }
+  },
+  TIME("time") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      NotificationFormats.appendTime(out, context.appointment().appointmentDateTime());
+    }
+  },
+  EVENT("event") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(switch (context.type()) {
+        case CONFIRMATION -> "Confirmed";
+        case CANCELLATION -> "Cancelled";
+        case REMINDER -> "Reminder";
+      });
+    }
+  },
+  BRANCH_NAME("branchName") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.branchName());
+    }
+
+    @Override
+    boolean present(TemplateContext context) {
+      return hasText(context.branchName());
+    }
+  },
+  DATE("date") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      NotificationFormats.appendLongDate(out, context.date());
+    }
+  },
+  COUNT("count") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      out.append(context.items().size());
+    }
+  },
+  /**
+   * Only valid as a section, which is rendered once per digest item.
+   */
+  ITEMS("items") {
+    @Override
+    void append(StringBuilder out, TemplateContext context) {
+      throw new UnsupportedOperationException("{{items}} can only be used as a section");
+    }
+
+    @Override
+    boolean present(TemplateContext context) {
+      return !context.items().isEmpty();
+    }
+  };
+
+  private static final Map<String, TemplateField> BY_NAME = Arrays.stream(values())
+      .collect(Collectors.toUnmodifiableMap(field -> field.name, Function.identity()));
+
+  private final String name;
+
+  TemplateField(String name) {
+    this.name = name;
+  }
+
+  static TemplateField byName(String name) {
+    TemplateField field = BY_NAME.get(name);
+    if (field == null) {
+      throw new IllegalArgumentException("Unknown template field: " + name);
+    }
+    return field;
+  }
+
+  abstract void append(StringBuilder out, AppointmentEntity appointment);
+
+  /**
+   * Whether a {@code {{#name}}...{{/name}}} section over this field should be rendered.
+   */
+  boolean present(TemplateContext context) {
+    return true;
+  }
+
+  private static boolean hasText(String value) {
+    return value != null && !value.isBlank();
+  }
+}
@@ -0,0 +1,88 @@
+package com.thiefspin.bookingsystem.util.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the records written by {@link CsvWriter} one at a time. Unquoted empty fields are read as
+ * {@code null}; quoted fields may span lines.
+ */
+public final class CsvReader {
+
+  private final Reader in;
+
+  private int pending = -2;
+
+  public CsvReader(Reader in) {
+    this.in = in;
+  }
+
+  /**
+   * Returns the next record, or {@code null} at the end of the input.
+   */
+  public List<String> next() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (c == '"' && field.isEmpty() && !quoted) {
+        quoted = true;
+        c = readQuoted(field);
+        continue;
+      }
+      if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+        fields.add(quoted || !field.isEmpty() ? field.toString() : null);
+        field.setLength(0);
+        quoted = false;
+        if (c == ',') {
+          c = read();
+          continue;
+        }
+        if (c == '\r') {
+          int next = read();
+          if (next != '\n') {
+            pending = next;
+          }
+        }
+        return fields;
+      }
+      field.append((char) c);
+      c = read();
+    }
+  }
+
+  /**
+   * Reads a quoted field up to its closing quote and returns the character after it.
+   */
+  private int readQuoted(StringBuilder field) throws IOException {
+    while (true) {
+      int c = read();
+      if (c == -1) {
+        throw new IOException("Unterminated quoted field");
+      }
+      if (c == '"') {
+        int next = read();
+        if (next != '"') {
+          return next;
+        }
+      }
+      field.append((char) c);
+    }
+  }
+
+  private int read() throws IOException {
+    if (pending != -2) {
+      int c = pending;
+      pending = -2;
+      return c;
+    }
+    return in.read();
+  }
+}
@@ -0,0 +1,72 @@
+package com.thiefspin.bookingsystem.util.csv;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 records one field at a time, without building a row in memory.
+ * <p>
+ * Fields are quoted only when they contain a separator, quote or line break. A {@code null} field
+ * is written empty and an empty string as {@code ""}, so {@link CsvReader} tells the two apart.
+ */
+public final class CsvWriter implements Flushable {
+
+  private final Writer out;
+
+  private boolean firstField = true;
+
+  public CsvWriter(Writer out) {
+    this.out = out;
+  }
+
+  public CsvWriter field(Object value) throws IOException {
+    return field(value == null ? null : value.toString());
+  }
+
+  public CsvWriter field(String value) throws IOException {
+    if (!firstField) {
+      out.write(',');
+    }
+    firstField = false;
+    if (value == null) {
+      return this;
+    }
+    if (value.isEmpty()) {
+      out.write("\"\"");
+    } else if (needsQuotes(value)) {
+      out.write('"');
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        if (c == '"') {
+          out.write('"');
+        }
+        out.write(c);
+      }
+      out.write('"');
+    } else {
+      out.write(value);
+    }
+    return this;
+  }
+
+  public void endRecord() throws IOException {
+    out.write("\r\n");
+    firstField = true;
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  private static boolean needsQuotes(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,9 @@
+package com.thiefspin.bookingsystem.util.exceptions;
+
+public class ConflictException extends ClientApiException {
+
+  public ConflictException(String message) {
+    super(409, message);
+  }
+
+}
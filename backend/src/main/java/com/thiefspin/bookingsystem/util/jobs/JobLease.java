@@ -0,0 +1,16 @@
+package com.thiefspin.bookingsystem.util.jobs;
+
+import java.time.LocalDateTime;
+
+/**
+ * A held lease on a scheduled job, with the watermark its last run checkpointed. The watermark is
+ * {@code null} until the job first checkpoints.
+ */
+public record JobLease(
+    String jobName,
+    String owner,
+    LocalDateTime watermarkAt,
+    Long watermarkId
+) {
+
+}
@@ -0,0 +1,109 @@
+package com.thiefspin.bookingsystem.util.jobs;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database leases that keep a scheduled job to one node at a time.
+ * <p>
+ * A node takes a job's lease when nobody holds it or the holder's lease has lapsed, for instance
+ * because it died mid-run. The holder extends the lease with every checkpoint, so a lease only
+ * has to cover the gap between two checkpoints rather than a whole run.
+ */
+@Component
+public class JobLeases {
+
+  private static final String ACQUIRE_SQL = """
+      INSERT INTO booking.job_leases (job_name, owner, leased_until)
+      VALUES (?, ?, CURRENT_TIMESTAMP + make_interval(secs => ?))
+      ON CONFLICT (job_name) DO UPDATE
+      SET owner = EXCLUDED.owner, leased_until = EXCLUDED.leased_until,
+          updated_at = CURRENT_TIMESTAMP
+      WHERE job_leases.leased_until IS NULL
+         OR job_leases.leased_until < CURRENT_TIMESTAMP
+         OR job_leases.owner = EXCLUDED.owner
+      RETURNING job_name, owner, watermark_at, watermark_id
+      """;
+
+  private static final String CHECKPOINT_SQL = """
+      UPDATE booking.job_leases
+      SET watermark_at = ?, watermark_id = ?,
+          leased_until = CURRENT_TIMESTAMP + make_interval(secs => ?),
+          updated_at = CURRENT_TIMESTAMP
+      WHERE job_name = ? AND owner = ?
+      """;
+
+  private static final String RENEW_SQL = """
+      UPDATE booking.job_leases
+      SET leased_until = CURRENT_TIMESTAMP + make_interval(secs => ?),
+          updated_at = CURRENT_TIMESTAMP
+      WHERE job_name = ? AND owner = ?
+      """;
+
+  private static final String RELEASE_SQL = """
+      UPDATE booking.job_leases
+      SET leased_until = NULL, updated_at = CURRENT_TIMESTAMP
+      WHERE job_name = ? AND owner = ?
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final String owner = UUID.randomUUID().toString();
+
+  public JobLeases(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Takes the lease on {@code jobName} for {@code duration}, or returns empty when another node
+   * holds it.
+   */
+  public Optional<JobLease> tryAcquire(String jobName, Duration duration) {
+    return jdbcTemplate.query(ACQUIRE_SQL, JobLeases::map, jobName, owner, seconds(duration))
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Records the watermark and extends the lease by {@code duration}. Returns {@code false} when
+   * the lease has been taken over by another node, in which case the run should stop.
+   */
+  public boolean checkpoint(JobLease lease, LocalDateTime watermarkAt, long watermarkId,
+      Duration duration) {
+    return jdbcTemplate.update(CHECKPOINT_SQL, watermarkAt, watermarkId, seconds(duration),
+        lease.jobName(), lease.owner()) == 1;
+  }
+
+  /**
+   * Extends the lease by {@code duration} without moving the watermark. Returns {@code false}
+   * when the lease has been taken over by another node.
+   */
+  public boolean renew(JobLease lease, Duration duration) {
+    return jdbcTemplate.update(RENEW_SQL, seconds(duration), lease.jobName(), lease.owner()) == 1;
+  }
+
+  public void release(JobLease lease) {
+    jdbcTemplate.update(RELEASE_SQL, lease.jobName(), lease.owner());
+  }
+
+  private static double seconds(Duration duration) {
+    return duration.toMillis() / 1000.0;
+  }
+
+  private static JobLease map(ResultSet rs, int rowNum) throws SQLException {
+    LocalDateTime watermarkAt = rs.getObject("watermark_at", LocalDateTime.class);
+    long watermarkId = rs.getLong("watermark_id");
+    return new JobLease(
+        rs.getString("job_name"),
+        rs.getString("owner"),
+        watermarkAt,
+        rs.wasNull() ? null : watermarkId
+    );
+  }
+}
@@ -0,0 +1,24 @@
+package com.thiefspin.bookingsystem.util.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "A window of results addressed by a cursor instead of a page offset")
+public record KeysetPage<T>(
+
+    @Schema(description = "Results in this window")
+    List<T> content,
+
+    @Schema(description = "Requested window size",
+        example = "20")
+    int size,
+
+    @Schema(description = "Whether more results follow this window",
+        example = "true")
+    boolean hasNext,
+
+    @Schema(description = "Cursor to pass as 'after' to fetch the next window, absent on the last window",
+        example = "Q2xhcmVtb250IEJyYW5jaAAx",
+        nullable = true)
+    String nextCursor
+) {}
@@ -0,0 +1,13 @@
+package com.thiefspin.bookingsystem.util.pagination;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "How a paginated endpoint computes the totals it reports")
+public enum PaginationMode {
+
+  @Schema(description = "Returns a page with exact totals, counted in the same query as the content")
+  EXACT,
+
+  @Schema(description = "Returns a slice that only reports whether a next page exists, without counting")
+  SLICE
+}
@@ -0,0 +1,153 @@
+-- Partition appointments by month of appointment_date_time so that date-bounded queries only
+-- touch the months they ask for and old months can be detached instead of deleted row by row.
+-- The table is rebuilt and its rows copied, which holds an exclusive lock for the duration.
+
+-- Creates the partition holding the month of the given date unless it exists, returning its
+-- name when it was created. Called by AppointmentPartitionMaintenance to stay ahead of bookings.
+CREATE OR REPLACE FUNCTION booking.create_appointment_partition(for_month DATE)
+    RETURNS TEXT AS
+$$
+DECLARE
+    start_date     DATE := date_trunc('month', for_month)::DATE;
+    partition_name TEXT := 'appointments_p' || to_char(start_date, 'YYYYMM');
+BEGIN
+    IF to_regclass('booking.' || partition_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format(
+        'CREATE TABLE booking.%I PARTITION OF booking.appointments FOR VALUES FROM (%L) TO (%L)',
+        partition_name, start_date, (start_date + INTERVAL '1 month')::DATE);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A foreign key to a partitioned table has to include the partition key; outbox rows only ever
+-- point at appointments that exist, so the reference is dropped rather than widened
+ALTER TABLE booking.notification_outbox DROP CONSTRAINT notification_outbox_appointment_id_fkey;
+
+ALTER TABLE booking.appointments RENAME TO appointments_unpartitioned;
+ALTER SEQUENCE booking.appointments_id_seq OWNED BY NONE;
+
+CREATE TABLE booking.appointments
+(
+    id                     BIGINT                     NOT NULL DEFAULT nextval('booking.appointments_id_seq'),
+    booking_reference      VARCHAR(20)                NOT NULL,
+    branch_id              BIGINT                     NOT NULL REFERENCES booking.branches(id),
+    customer_first_name    VARCHAR(100)               NOT NULL,
+    customer_last_name     VARCHAR(100)               NOT NULL,
+    customer_email         VARCHAR(255)               NOT NULL,
+    customer_phone         VARCHAR(20)                NOT NULL,
+    appointment_date_time  TIMESTAMP                  NOT NULL,
+    duration_minutes       INT                        NOT NULL CHECK (duration_minutes >= 15),
+    purpose                VARCHAR(500),
+    notes                  TEXT,
+    status                 booking.appointment_status NOT NULL DEFAULT 'PENDING',
+    created_at             TIMESTAMP                  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at             TIMESTAMP                  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    cancelled_at           TIMESTAMP,
+    cancellation_reason    TEXT,
+    reminder_sent_at       TIMESTAMP,
+    reminder_claimed_until TIMESTAMP,
+
+    CONSTRAINT chk_email_format CHECK (customer_email ~* '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$'),
+    CONSTRAINT chk_phone_format CHECK (customer_phone ~ '^[\+]?[0-9\-\s\(\)]+$'),
+    CONSTRAINT chk_future_appointment CHECK (appointment_date_time > created_at)
+) PARTITION BY RANGE (appointment_date_time);
+
+-- Every month with existing appointments, and at least the coming year
+DO
+$$
+DECLARE
+    next_month DATE;
+    last_month DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(appointment_date_time), CURRENT_DATE))::DATE,
+           date_trunc('month', GREATEST(COALESCE(MAX(appointment_date_time), CURRENT_DATE),
+                                        CURRENT_DATE + INTERVAL '12 months'))::DATE
+    INTO next_month, last_month
+    FROM booking.appointments_unpartitioned;
+
+    WHILE next_month <= last_month LOOP
+        PERFORM booking.create_appointment_partition(next_month);
+        next_month := (next_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+END;
+$$;
+
+INSERT INTO booking.appointments (id, booking_reference, branch_id, customer_first_name,
+                                  customer_last_name, customer_email, customer_phone,
+                                  appointment_date_time, duration_minutes, purpose, notes, status,
+                                  created_at, updated_at, cancelled_at, cancellation_reason,
+                                  reminder_sent_at, reminder_claimed_until)
+SELECT id, booking_reference, branch_id, customer_first_name, customer_last_name, customer_email,
+       customer_phone, appointment_date_time, duration_minutes, purpose, notes, status, created_at,
+       updated_at, cancelled_at, cancellation_reason, reminder_sent_at, reminder_claimed_until
+FROM booking.appointments_unpartitioned;
+
+DROP TABLE booking.appointments_unpartitioned;
+ALTER SEQUENCE booking.appointments_id_seq OWNED BY booking.appointments.id;
+
+-- Keys and indexes are built once the rows are in; each is created on every partition
+ALTER TABLE booking.appointments ADD PRIMARY KEY (id, appointment_date_time);
+
+CREATE INDEX idx_appointments_booking_reference ON booking.appointments (booking_reference);
+CREATE INDEX idx_appointments_branch_id ON booking.appointments (branch_id);
+CREATE INDEX idx_appointments_customer_email ON booking.appointments (customer_email);
+CREATE INDEX idx_appointments_appointment_date_time ON booking.appointments (appointment_date_time);
+CREATE INDEX idx_appointments_created_at ON booking.appointments (created_at);
+
+CREATE INDEX idx_appointments_active_branch_datetime
+    ON booking.appointments (branch_id, appointment_date_time)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+CREATE INDEX idx_appointments_active_datetime
+    ON booking.appointments (appointment_date_time, id)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+CREATE INDEX idx_appointments_reminder_due
+    ON booking.appointments (appointment_date_time, id)
+    WHERE status = 'CONFIRMED' AND reminder_sent_at IS NULL;
+
+CREATE TRIGGER update_appointments_updated_at
+    BEFORE UPDATE ON booking.appointments
+    FOR EACH ROW
+    WHEN (OLD.reminder_sent_at IS NOT DISTINCT FROM NEW.reminder_sent_at
+        AND OLD.reminder_claimed_until IS NOT DISTINCT FROM NEW.reminder_claimed_until)
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- A unique index on a partitioned table must include the partition key, which would only make
+-- booking references unique per month. References are instead kept unique here, along with the
+-- partition key of their appointment so a lookup by reference reads a single partition.
+CREATE TABLE booking.booking_references
+(
+    booking_reference     VARCHAR(20) PRIMARY KEY,
+    appointment_id        BIGINT      NOT NULL,
+    appointment_date_time TIMESTAMP   NOT NULL
+);
+
+INSERT INTO booking.booking_references (booking_reference, appointment_id, appointment_date_time)
+SELECT booking_reference, id, appointment_date_time
+FROM booking.appointments;
+
+CREATE OR REPLACE FUNCTION booking.record_booking_reference()
+    RETURNS TRIGGER AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO booking.booking_references (booking_reference, appointment_id, appointment_date_time)
+        VALUES (NEW.booking_reference, NEW.id, NEW.appointment_date_time);
+    ELSE
+        UPDATE booking.booking_references
+        SET booking_reference     = NEW.booking_reference,
+            appointment_id        = NEW.id,
+            appointment_date_time = NEW.appointment_date_time
+        WHERE booking_reference = OLD.booking_reference;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER record_appointment_booking_reference
+    AFTER INSERT OR UPDATE OF booking_reference, appointment_date_time ON booking.appointments
+    FOR EACH ROW
+    EXECUTE FUNCTION booking.record_booking_reference();
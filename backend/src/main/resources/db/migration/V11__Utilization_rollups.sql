@@ -0,0 +1,126 @@
+-- Per-branch utilization rollups in hourly and daily buckets of appointment time, so analytics
+-- never aggregate booking.appointments itself. An appointment's minutes count towards the hour it
+-- starts in. Cancelled appointments are counted separately and excluded from booked.
+CREATE TABLE booking.utilization_hourly
+(
+    branch_id      BIGINT    NOT NULL,
+    bucket_start   TIMESTAMP NOT NULL,
+    booked         INT       NOT NULL DEFAULT 0,
+    booked_minutes BIGINT    NOT NULL DEFAULT 0,
+    cancelled      INT       NOT NULL DEFAULT 0,
+    no_shows       INT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (branch_id, bucket_start)
+);
+
+CREATE TABLE booking.utilization_daily
+(
+    branch_id      BIGINT NOT NULL,
+    bucket_date    DATE   NOT NULL,
+    booked         INT    NOT NULL DEFAULT 0,
+    booked_minutes BIGINT NOT NULL DEFAULT 0,
+    cancelled      INT    NOT NULL DEFAULT 0,
+    no_shows       INT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (branch_id, bucket_date)
+);
+
+-- Bookings made per day of appointment, by how far ahead they were made
+CREATE TABLE booking.utilization_lead_times
+(
+    branch_id        BIGINT   NOT NULL,
+    bucket_date      DATE     NOT NULL,
+    lead_time_bucket SMALLINT NOT NULL,
+    bookings         INT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (branch_id, bucket_date, lead_time_bucket)
+);
+
+-- Changes to apply to the rollups, written in the same transaction as the appointment change and
+-- folded in batches by UtilizationRollups. Deltas are append-only, so concurrent bookings never
+-- contend on a rollup row.
+CREATE TABLE booking.utilization_deltas
+(
+    id                    BIGSERIAL PRIMARY KEY,
+    branch_id             BIGINT    NOT NULL,
+    appointment_date_time TIMESTAMP NOT NULL,
+    booked                INT       NOT NULL,
+    booked_minutes        INT       NOT NULL,
+    cancelled             INT       NOT NULL,
+    no_shows              INT       NOT NULL,
+    lead_time_bucket      SMALLINT
+);
+
+-- Bucket boundaries match LeadTimeBucket
+CREATE OR REPLACE FUNCTION booking.lead_time_bucket(lead_time INTERVAL)
+    RETURNS SMALLINT AS
+$$
+SELECT (CASE
+            WHEN lead_time < INTERVAL '1 hour' THEN 0
+            WHEN lead_time < INTERVAL '1 day' THEN 1
+            WHEN lead_time < INTERVAL '3 days' THEN 2
+            WHEN lead_time < INTERVAL '7 days' THEN 3
+            WHEN lead_time < INTERVAL '14 days' THEN 4
+            WHEN lead_time < INTERVAL '30 days' THEN 5
+            ELSE 6
+    END)::SMALLINT
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Deletes are not recorded: archived and detached appointments stay counted
+CREATE OR REPLACE FUNCTION booking.record_utilization_delta()
+    RETURNS TRIGGER AS
+$$
+DECLARE
+    was_booked INT := (TG_OP = 'UPDATE' AND OLD.status <> 'CANCELLED')::INT;
+    is_booked  INT := (NEW.status <> 'CANCELLED')::INT;
+BEGIN
+    INSERT INTO booking.utilization_deltas (branch_id, appointment_date_time, booked,
+                                            booked_minutes, cancelled, no_shows, lead_time_bucket)
+    VALUES (NEW.branch_id,
+            NEW.appointment_date_time,
+            is_booked - was_booked,
+            (is_booked - was_booked) * NEW.duration_minutes,
+            (NEW.status = 'CANCELLED')::INT - (TG_OP = 'UPDATE' AND OLD.status = 'CANCELLED')::INT,
+            (NEW.status = 'NO_SHOW')::INT - (TG_OP = 'UPDATE' AND OLD.status = 'NO_SHOW')::INT,
+            CASE
+                WHEN TG_OP = 'INSERT'
+                    THEN booking.lead_time_bucket(NEW.appointment_date_time - NEW.created_at)
+                END);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER record_appointment_utilization
+    AFTER INSERT ON booking.appointments
+    FOR EACH ROW
+    EXECUTE FUNCTION booking.record_utilization_delta();
+
+CREATE TRIGGER record_appointment_status_utilization
+    AFTER UPDATE OF status ON booking.appointments
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION booking.record_utilization_delta();
+
+-- Seed the rollups from the appointments that exist now; the triggers cover everything after
+INSERT INTO booking.utilization_hourly (branch_id, bucket_start, booked, booked_minutes, cancelled,
+                                        no_shows)
+SELECT branch_id,
+       date_trunc('hour', appointment_date_time),
+       COUNT(*) FILTER (WHERE status <> 'CANCELLED'),
+       COALESCE(SUM(duration_minutes) FILTER (WHERE status <> 'CANCELLED'), 0),
+       COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+       COUNT(*) FILTER (WHERE status = 'NO_SHOW')
+FROM booking.appointments
+GROUP BY 1, 2;
+
+INSERT INTO booking.utilization_daily (branch_id, bucket_date, booked, booked_minutes, cancelled,
+                                       no_shows)
+SELECT branch_id, bucket_start::DATE, SUM(booked), SUM(booked_minutes), SUM(cancelled),
+       SUM(no_shows)
+FROM booking.utilization_hourly
+GROUP BY 1, 2;
+
+INSERT INTO booking.utilization_lead_times (branch_id, bucket_date, lead_time_bucket, bookings)
+SELECT branch_id,
+       appointment_date_time::DATE,
+       booking.lead_time_bucket(appointment_date_time - created_at),
+       COUNT(*)
+FROM booking.appointments
+GROUP BY 1, 2, 3;
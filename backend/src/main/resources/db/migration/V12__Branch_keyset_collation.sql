@@ -0,0 +1,5 @@
+-- Branch listings order names under the "C" collation so that database pages and the in-memory
+-- catalog agree on keyset positions; the index has to use the same collation to serve them.
+DROP INDEX IF EXISTS booking.idx_branches_name_id;
+
+CREATE INDEX idx_branches_name_c_id ON booking.branches (name COLLATE "C", id);
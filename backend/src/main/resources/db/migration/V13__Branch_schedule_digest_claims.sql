@@ -0,0 +1,6 @@
+-- A digest row is now claimed before the send and only marked sent afterwards. A claim whose
+-- node died before sending lapses at claimed_until, so a later run can take it over.
+ALTER TABLE booking.branch_schedule_digests
+    ADD COLUMN claimed_until TIMESTAMP,
+    ALTER COLUMN sent_at DROP NOT NULL,
+    ALTER COLUMN sent_at DROP DEFAULT;
@@ -0,0 +1,5 @@
+-- Keyset pagination walks branches in (name, id) order; the composite index
+-- supersedes the name-only index.
+DROP INDEX IF EXISTS booking.idx_branches_name;
+
+CREATE INDEX idx_branches_name_id ON booking.branches (name, id);
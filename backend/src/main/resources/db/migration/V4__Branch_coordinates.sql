@@ -0,0 +1,28 @@
+ALTER TABLE booking.branches
+    ADD COLUMN latitude  DOUBLE PRECISION,
+    ADD COLUMN longitude DOUBLE PRECISION,
+    ADD CONSTRAINT chk_latitude_range CHECK (latitude BETWEEN -90 AND 90),
+    ADD CONSTRAINT chk_longitude_range CHECK (longitude BETWEEN -180 AND 180),
+    ADD CONSTRAINT chk_coordinates_paired CHECK ((latitude IS NULL) = (longitude IS NULL));
+
+UPDATE booking.branches AS b
+SET latitude  = c.latitude,
+    longitude = c.longitude
+FROM (VALUES ('CPT001', -33.9806, 18.4653),
+             ('CPT002', -33.9036, 18.4208),
+             ('JHB001', -26.1076, 28.0567),
+             ('JHB002', -26.1458, 28.0416),
+             ('PTA001', -25.7836, 28.2757),
+             ('DBN001', -29.7271, 31.0660),
+             ('DBN002', -29.8285, 31.0186),
+             ('PE001', -33.9820, 25.5570),
+             ('BLO001', -29.1155, 26.2083),
+             ('PLK001', -23.9280, 29.4600),
+             ('KIM001', -28.7240, 24.7420),
+             ('MTH001', -32.9800, 27.9000),
+             ('NEL001', -25.4660, 30.9860),
+             ('FSH001', -34.0780, 18.8500),
+             ('CPT003', -33.8930, 18.5110),
+             ('CPT099', -33.9225, 18.4180),
+             ('JHB099', -26.0940, 28.0060)) AS c (code, latitude, longitude)
+WHERE b.code = c.code;
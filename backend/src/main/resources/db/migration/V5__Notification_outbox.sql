@@ -0,0 +1,22 @@
+CREATE TABLE booking.notification_outbox
+(
+    id              BIGSERIAL PRIMARY KEY,
+    appointment_id  BIGINT      NOT NULL REFERENCES booking.appointments(id),
+    event_type      VARCHAR(20) NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts        INT         NOT NULL DEFAULT 0,
+    available_at    TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error      TEXT,
+    created_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at    TIMESTAMP,
+
+    CONSTRAINT chk_outbox_event_type CHECK (event_type IN ('CONFIRMATION', 'CANCELLATION')),
+    CONSTRAINT chk_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+-- Only pending rows are ever scanned by the dispatcher, so keep the index to those
+CREATE INDEX idx_notification_outbox_pending
+    ON booking.notification_outbox (available_at, id)
+    WHERE status = 'PENDING';
+
+CREATE INDEX idx_notification_outbox_appointment_id ON booking.notification_outbox (appointment_id);
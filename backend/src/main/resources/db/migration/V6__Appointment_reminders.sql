@@ -0,0 +1,19 @@
+ALTER TABLE booking.appointments
+    ADD COLUMN reminder_sent_at       TIMESTAMP,
+    ADD COLUMN reminder_claimed_until TIMESTAMP;
+
+-- Only confirmed appointments still awaiting a reminder are ever scanned, so the index shrinks
+-- as reminders go out instead of growing with the table
+CREATE INDEX idx_appointments_reminder_due
+    ON booking.appointments (appointment_date_time, id)
+    WHERE status = 'CONFIRMED' AND reminder_sent_at IS NULL;
+
+-- Reminder bookkeeping is not a change to the appointment itself
+DROP TRIGGER update_appointments_updated_at ON booking.appointments;
+
+CREATE TRIGGER update_appointments_updated_at
+    BEFORE UPDATE ON booking.appointments
+    FOR EACH ROW
+    WHEN (OLD.reminder_sent_at IS NOT DISTINCT FROM NEW.reminder_sent_at
+        AND OLD.reminder_claimed_until IS NOT DISTINCT FROM NEW.reminder_claimed_until)
+    EXECUTE FUNCTION update_updated_at_column();
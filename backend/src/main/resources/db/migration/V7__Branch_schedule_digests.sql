@@ -0,0 +1,9 @@
+-- One row per branch and day whose schedule has been sent; inserting the row claims the send
+CREATE TABLE booking.branch_schedule_digests
+(
+    branch_id     BIGINT    NOT NULL REFERENCES booking.branches(id),
+    schedule_date DATE      NOT NULL,
+    sent_at       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (branch_id, schedule_date)
+);
@@ -0,0 +1,11 @@
+-- Scheduled jobs that must run on one node at a time hold a row here for the length of a run,
+-- along with the (timestamp, id) watermark they have processed up to
+CREATE TABLE booking.job_leases
+(
+    job_name     VARCHAR(100) PRIMARY KEY,
+    owner        VARCHAR(100),
+    leased_until TIMESTAMP,
+    watermark_at TIMESTAMP,
+    watermark_id BIGINT,
+    updated_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
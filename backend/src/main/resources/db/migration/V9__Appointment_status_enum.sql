@@ -0,0 +1,29 @@
+-- Store status as a Postgres enum: four bytes per row instead of a length-prefixed string, and
+-- the type itself rejects unknown values. String literals in queries still compare as before.
+CREATE TYPE booking.appointment_status AS ENUM ('PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'NO_SHOW');
+
+-- Indexes whose definition mentions status are rebuilt below against the new type
+DROP INDEX booking.idx_appointments_status;
+DROP INDEX booking.idx_appointments_branch_datetime_status;
+DROP INDEX booking.idx_appointments_reminder_due;
+
+ALTER TABLE booking.appointments DROP CONSTRAINT chk_status;
+ALTER TABLE booking.appointments ALTER COLUMN status DROP DEFAULT;
+ALTER TABLE booking.appointments
+    ALTER COLUMN status TYPE booking.appointment_status USING status::booking.appointment_status;
+ALTER TABLE booking.appointments ALTER COLUMN status SET DEFAULT 'PENDING';
+
+-- Capacity checks only ever look at appointments that can still take place; once the lifecycle
+-- job closes past ones, this index holds the upcoming days rather than all of history
+CREATE INDEX idx_appointments_active_branch_datetime
+    ON booking.appointments (branch_id, appointment_date_time)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+-- Keyset scan of the lifecycle job, which starts at the oldest still-active appointment
+CREATE INDEX idx_appointments_active_datetime
+    ON booking.appointments (appointment_date_time, id)
+    WHERE status IN ('PENDING', 'CONFIRMED');
+
+CREATE INDEX idx_appointments_reminder_due
+    ON booking.appointments (appointment_date_time, id)
+    WHERE status = 'CONFIRMED' AND reminder_sent_at IS NULL;
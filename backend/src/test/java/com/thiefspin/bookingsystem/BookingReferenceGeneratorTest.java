@@ -1,7 +1,7 @@
 package com.thiefspin.bookingsystem;
 
-import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
 import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +11,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -26,6 +25,9 @@ class BookingReferenceGeneratorTest {
     @Mock
     private AppointmentRepository repository;
 
+    @Mock
+    private BookingMetrics metrics;
+
     @InjectMocks
     private BookingReferenceGenerator generator;
 
@@ -38,7 +40,7 @@ class BookingReferenceGeneratorTest {
     @DisplayName("Should generate unique reference with correct format")
     void shouldGenerateUniqueReferenceWithCorrectFormat() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         String reference = generator.generate();
@@ -49,17 +51,17 @@ class BookingReferenceGeneratorTest {
         assertThat(reference).hasSize(10);
         assertThat(reference.substring(2)).matches("[A-Z0-9]{8}");
 
-        verify(repository, atLeastOnce()).findByBookingReference(anyString());
+        verify(repository, atLeastOnce()).existsBookingReference(anyString());
     }
 
     @Test
     @DisplayName("Should retry when reference already exists")
     void shouldRetryWhenReferenceAlreadyExists() {
-        AppointmentEntity existingAppointment = mock(AppointmentEntity.class);
-        when(repository.findByBookingReference(anyString()))
-            .thenReturn(Optional.of(existingAppointment))
-            .thenReturn(Optional.of(existingAppointment))
-            .thenReturn(Optional.empty());
+        // Given
+        when(repository.existsBookingReference(anyString()))
+            .thenReturn(true)
+            .thenReturn(true)
+            .thenReturn(false);
 
         // When
         String reference = generator.generate();
@@ -68,30 +70,28 @@ class BookingReferenceGeneratorTest {
         assertThat(reference).isNotNull();
         assertThat(reference).startsWith("BK");
 
-        verify(repository, atLeast(3)).findByBookingReference(anyString());
+        verify(repository, atLeast(3)).existsBookingReference(anyString());
     }
 
     @Test
     @DisplayName("Should throw exception when max attempts exceeded")
     void shouldThrowExceptionWhenMaxAttemptsExceeded() {
         // Given
-        AppointmentEntity existingAppointment = mock(AppointmentEntity.class);
-        when(repository.findByBookingReference(anyString()))
-            .thenReturn(Optional.of(existingAppointment));
+        when(repository.existsBookingReference(anyString())).thenReturn(true);
 
         // When & Then
         assertThatThrownBy(() -> generator.generate())
             .isInstanceOf(IllegalStateException.class)
             .hasMessage("Failed to generate unique reference");
 
-        verify(repository, times(5)).findByBookingReference(anyString());
+        verify(repository, times(5)).existsBookingReference(anyString());
     }
 
     @RepeatedTest(10)
     @DisplayName("Should generate different references each time")
     void shouldGenerateDifferentReferencesEachTime() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         Set<String> generatedReferences = new HashSet<>();
@@ -107,7 +107,7 @@ class BookingReferenceGeneratorTest {
     @DisplayName("Should only use uppercase alphanumeric characters after prefix")
     void shouldOnlyUseUppercaseAlphanumericCharacters() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         String reference = generator.generate();
@@ -123,21 +123,21 @@ class BookingReferenceGeneratorTest {
     @DisplayName("Should find available reference on first attempt")
     void shouldFindAvailableReferenceOnFirstAttempt() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         String reference = generator.generate();
 
         // Then
         assertThat(reference).isNotNull();
-        verify(repository, times(1)).findByBookingReference(anyString());
+        verify(repository, times(1)).existsBookingReference(anyString());
     }
 
     @Test
     @DisplayName("Should use consistent prefix")
     void shouldUseConsistentPrefix() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         Set<String> prefixes = new HashSet<>();
@@ -155,7 +155,7 @@ class BookingReferenceGeneratorTest {
     @DisplayName("Should handle concurrent generation attempts")
     void shouldHandleConcurrentGenerationAttempts() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         Set<String> references = new HashSet<>();
@@ -175,7 +175,7 @@ class BookingReferenceGeneratorTest {
     @DisplayName("Should validate reference length is exactly 10 characters")
     void shouldValidateReferenceLength() {
         // Given
-        when(repository.findByBookingReference(anyString())).thenReturn(Optional.empty());
+        when(repository.existsBookingReference(anyString())).thenReturn(false);
 
         // When
         String reference = generator.generate();
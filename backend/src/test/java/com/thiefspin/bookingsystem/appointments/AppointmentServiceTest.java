@@ -7,7 +7,12 @@ import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
 import com.thiefspin.bookingsystem.appointments.validation.AppointmentValidator;
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
-import com.thiefspin.bookingsystem.notifications.NotificationService;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.outbox.NotificationOutbox;
 import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,7 +30,6 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -55,7 +59,13 @@ class AppointmentServiceTest {
   private SlotAvailabilityService slotAvailabilityService;
 
   @Mock
-  private NotificationService notificationService;
+  private NotificationOutbox notificationOutbox;
+
+  @Mock
+  private CacheInvalidationBus cacheInvalidationBus;
+
+  @Mock
+  private BookingMetrics metrics;
 
   @InjectMocks
   private AppointmentService service;
@@ -102,7 +112,7 @@ class AppointmentServiceTest {
         30,
         "Consultation",
         "Please call me 5 minutes before",
-        AppointmentStatus.CONFIRMED.name(),
+        AppointmentStatus.CONFIRMED,
         Instant.now(),
         Instant.now(),
         null,
@@ -121,8 +131,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -143,7 +151,10 @@ class AppointmentServiceTest {
           30);
       verify(referenceGenerator).generate();
       verify(repository).save(any(AppointmentEntity.class));
-      verify(notificationService).sendConfirmationEvent(testEntity);
+      verify(notificationOutbox).enqueue(testEntity, NotificationEventType.CONFIRMATION);
+      verify(cacheInvalidationBus).evict(CacheNames.SLOTS,
+          "1:" + testEntity.appointmentDateTime().toLocalDate());
+      verify(metrics).record(eq(Operation.CREATE_APPOINTMENT), anyLong(), eq(true));
     }
 
     @Test
@@ -157,7 +168,8 @@ class AppointmentServiceTest {
           .isInstanceOf(NotFoundException.class);
 
       verify(repository, never()).save(any());
-      verify(notificationService, never()).sendConfirmationEvent(any());
+      verify(notificationOutbox, never()).enqueue(any(), any());
+      verify(metrics).record(eq(Operation.CREATE_APPOINTMENT), anyLong(), eq(false));
     }
 
     @Test
@@ -173,7 +185,7 @@ class AppointmentServiceTest {
           .isInstanceOf(BadRequestException.class);
 
       verify(repository, never()).save(any());
-      verify(notificationService, never()).sendConfirmationEvent(any());
+      verify(notificationOutbox, never()).enqueue(any(), any());
     }
 
     @Test
@@ -191,7 +203,23 @@ class AppointmentServiceTest {
           .isInstanceOf(BadRequestException.class);
 
       verify(repository, never()).save(any());
-      verify(notificationService, never()).sendConfirmationEvent(any());
+      verify(notificationOutbox, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw BadRequestException when appointment is beyond the booking horizon")
+    void shouldThrowBadRequestWhenBeyondBookingHorizon() throws BadRequestException {
+      // Given
+      when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
+      doThrow(new BadRequestException("Appointments can only be booked before 2031-01-01"))
+          .when(validator).validateWithinBookingHorizon(any(LocalDateTime.class));
+
+      // When/Then
+      assertThatThrownBy(() -> service.createAppointment(validRequest))
+          .isInstanceOf(BadRequestException.class);
+
+      verify(validator, never()).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
+      verify(repository, never()).save(any());
     }
   }
 
@@ -209,8 +237,6 @@ class AppointmentServiceTest {
 
       when(repository.findByBookingReference(TEST_BOOKING_REF)).thenReturn(Optional.of(testEntity));
       when(repository.save(any(AppointmentEntity.class))).thenReturn(cancelledEntity);
-      when(notificationService.sendCancellationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateCancellable(any(AppointmentEntity.class));
 
       // When
@@ -223,7 +249,12 @@ class AppointmentServiceTest {
       verify(repository).findByBookingReference(TEST_BOOKING_REF);
       verify(validator).validateCancellable(testEntity);
       verify(repository).save(any(AppointmentEntity.class));
-      verify(notificationService).sendCancellationEvent(any(AppointmentEntity.class));
+      verify(notificationOutbox)
+          .enqueue(any(AppointmentEntity.class), eq(NotificationEventType.CANCELLATION));
+      verify(cacheInvalidationBus).evict(CacheNames.SLOTS,
+          "1:" + testEntity.appointmentDateTime().toLocalDate());
+      verify(cacheInvalidationBus).evict(CacheNames.LOOKUPS,
+          "john.doe@example.com|" + TEST_BOOKING_REF);
     }
 
     @Test
@@ -235,8 +266,6 @@ class AppointmentServiceTest {
 
       when(repository.findByBookingReference(TEST_BOOKING_REF)).thenReturn(Optional.of(testEntity));
       when(repository.save(any(AppointmentEntity.class))).thenReturn(cancelledEntity);
-      when(notificationService.sendCancellationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateCancellable(any(AppointmentEntity.class));
 
       // When
@@ -259,7 +288,7 @@ class AppointmentServiceTest {
           .isInstanceOf(NotFoundException.class);
 
       verify(repository, never()).save(any());
-      verify(notificationService, never()).sendCancellationEvent(any());
+      verify(notificationOutbox, never()).enqueue(any(), any());
     }
 
     @Test
@@ -279,7 +308,7 @@ class AppointmentServiceTest {
           .isInstanceOf(BadRequestException.class);
 
       verify(repository, never()).save(any());
-      verify(notificationService, never()).sendCancellationEvent(any());
+      verify(notificationOutbox, never()).enqueue(any(), any());
     }
   }
 
@@ -331,7 +360,7 @@ class AppointmentServiceTest {
       AppointmentEntity secondEntity = new AppointmentEntity(
           2L, TEST_BOOKING_REF, 1L, "John", "Doe", email, "+27821234567",
           LocalDateTime.now().plusDays(2), 30, "Follow-up", null,
-          AppointmentStatus.CONFIRMED.name(), Instant.now(), Instant.now(), null, null
+          AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null
       );
 
       when(repository.findByCustomerEmailAndBookingReference(email, TEST_BOOKING_REF))
@@ -444,8 +473,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -478,8 +505,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -512,8 +537,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -548,11 +571,9 @@ class AppointmentServiceTest {
       AppointmentEntity savedEntity = new AppointmentEntity(
           1L, TEST_BOOKING_REF, 1L, "JoHn", "DoE", "john.doe@example.com",
           "+27821234567", LocalDateTime.now().plusDays(1), 30, "Consultation", "Notes",
-          AppointmentStatus.CONFIRMED.name(), Instant.now(), Instant.now(), null, null
+          AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null
       );
       when(repository.save(any(AppointmentEntity.class))).thenReturn(savedEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -572,15 +593,13 @@ class AppointmentServiceTest {
       AppointmentEntity cancelledEntity = new AppointmentEntity(
           1L, TEST_BOOKING_REF, 1L, "John", "Doe", "john.doe@example.com",
           "+27821234567", LocalDateTime.now().plusDays(1), 30, "Consultation", "Notes",
-          AppointmentStatus.CANCELLED.name(), Instant.now(), Instant.now(),
+          AppointmentStatus.CANCELLED, Instant.now(), Instant.now(),
           Instant.now(), "Personal emergency"
       );
 
       when(repository.findByBookingReference(TEST_BOOKING_REF)).thenReturn(Optional.of(testEntity));
       doNothing().when(validator).validateCancellable(testEntity);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(cancelledEntity);
-      when(notificationService.sendCancellationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
 
       //When
       Appointment result = service.cancelAppointment(TEST_BOOKING_REF, "Personal emergency");
@@ -599,8 +618,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -633,8 +650,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -706,8 +721,6 @@ class AppointmentServiceTest {
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(
-          CompletableFuture.completedFuture(null));
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -721,14 +734,12 @@ class AppointmentServiceTest {
     }
 
     @Test
-    @DisplayName("Should call notification service asynchronously")
-    void shouldCallNotificationServiceAsync() throws NotFoundException, BadRequestException {
+    @DisplayName("Should record the confirmation in the outbox instead of sending it")
+    void shouldRecordConfirmationInOutbox() throws NotFoundException, BadRequestException {
       //Given
-      CompletableFuture<Void> future = new CompletableFuture<>();
       when(branchService.findById(1L)).thenReturn(Optional.of(testBranch));
       when(referenceGenerator.generate()).thenReturn(TEST_BOOKING_REF);
       when(repository.save(any(AppointmentEntity.class))).thenReturn(testEntity);
-      when(notificationService.sendConfirmationEvent(any())).thenReturn(future);
       doNothing().when(validator).validateSlotAvailable(anyLong(), any(LocalDateTime.class));
       doNothing().when(validator)
           .validateWithinOperatingHours(any(Branch.class), any(LocalDateTime.class), anyInt());
@@ -736,10 +747,10 @@ class AppointmentServiceTest {
       //When
       Appointment result = service.createAppointment(validRequest);
 
-
       //Then
       assertThat(result).isNotNull();
-      verify(notificationService).sendConfirmationEvent(testEntity);
+      verify(notificationOutbox).enqueue(testEntity, NotificationEventType.CONFIRMATION);
+      verifyNoMoreInteractions(notificationOutbox);
     }
   }
 }
@@ -0,0 +1,41 @@
+package com.thiefspin.bookingsystem.appointments;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+import org.springframework.data.jdbc.core.mapping.JdbcValue;
+
+@DisplayName("AppointmentStatusConverters Tests")
+class AppointmentStatusConvertersTest {
+
+  @Test
+  @DisplayName("Should bind statuses untyped so Postgres casts them to the enum")
+  void shouldBindUntyped() {
+    // When
+    JdbcValue value = new AppointmentStatusConverters.ToColumn()
+        .convert(AppointmentStatus.CONFIRMED);
+
+    // Then
+    assertThat(value.getValue()).isEqualTo("CONFIRMED");
+    assertThat(value.getJdbcType()).isEqualTo(JDBCType.OTHER);
+  }
+
+  @Test
+  @DisplayName("Should read statuses returned as strings or driver objects")
+  void shouldReadEitherRepresentation() throws SQLException {
+    // Given
+    PGobject object = new PGobject();
+    object.setType("booking.appointment_status");
+    object.setValue("NO_SHOW");
+
+    // When / Then
+    assertThat(new AppointmentStatusConverters.FromString().convert("CANCELLED"))
+        .isEqualTo(AppointmentStatus.CANCELLED);
+    assertThat(new AppointmentStatusConverters.FromPgObject().convert(object))
+        .isEqualTo(AppointmentStatus.NO_SHOW);
+  }
+}
@@ -0,0 +1,98 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UtilizationRebuild Tests")
+class UtilizationRebuildTest {
+
+  private static final Duration LEASE = Duration.ofMinutes(30);
+
+  private final JobLease lease = new JobLease(UtilizationRollups.JOB_NAME, "node", null, null);
+
+  @Mock
+  private UtilizationRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private JobLeases jobLeases;
+
+  private UtilizationRebuild rebuild;
+
+  @BeforeEach
+  void setUp() {
+    rebuild = new UtilizationRebuild(repository, transactionManager, jobLeases,
+        new UtilizationProperties(null, null, null, 2, LEASE));
+  }
+
+  @Test
+  @DisplayName("Should rebuild every month with appointments under the rollup lease")
+  void shouldRebuildEveryMonth() {
+    // Given
+    when(repository.appointmentMonths()).thenReturn(Optional.of(
+        new MonthRange(YearMonth.of(2024, 11), YearMonth.of(2025, 2))));
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.of(lease));
+    when(jobLeases.renew(lease, LEASE)).thenReturn(true);
+
+    // When
+    int months = rebuild.rebuild();
+
+    // Then
+    assertThat(months).isEqualTo(4);
+    verify(repository).rebuild(YearMonth.of(2024, 11));
+    verify(repository).rebuild(YearMonth.of(2024, 12));
+    verify(repository).rebuild(YearMonth.of(2025, 1));
+    verify(repository).rebuild(YearMonth.of(2025, 2));
+    verify(jobLeases).release(lease);
+  }
+
+  @Test
+  @DisplayName("Should refuse to rebuild while the rollups are being folded")
+  void shouldRefuseWithoutLease() {
+    // Given
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThatThrownBy(() -> rebuild.rebuild(
+        new MonthRange(YearMonth.of(2025, 1), YearMonth.of(2025, 1))))
+        .isInstanceOf(IllegalStateException.class);
+    verify(repository, never()).rebuild(any());
+  }
+
+  @Test
+  @DisplayName("Should fail the rebuild when a month fails")
+  void shouldFailWhenMonthFails() {
+    // Given
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.of(lease));
+    doThrow(new DataAccessResourceFailureException("down"))
+        .when(repository).rebuild(YearMonth.of(2025, 1));
+
+    // When / Then
+    assertThatThrownBy(() -> rebuild.rebuild(
+        new MonthRange(YearMonth.of(2025, 1), YearMonth.of(2025, 1))))
+        .isInstanceOf(DataAccessResourceFailureException.class);
+    verify(jobLeases).release(lease);
+  }
+}
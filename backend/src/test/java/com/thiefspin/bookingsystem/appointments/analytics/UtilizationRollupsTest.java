@@ -0,0 +1,89 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UtilizationRollups Tests")
+class UtilizationRollupsTest {
+
+  private static final Duration LEASE = Duration.ofMinutes(1);
+
+  private final JobLease lease = new JobLease(UtilizationRollups.JOB_NAME, "node", null, null);
+
+  @Mock
+  private UtilizationRepository repository;
+
+  @Mock
+  private JobLeases jobLeases;
+
+  private UtilizationRollups rollups;
+
+  @BeforeEach
+  void setUp() {
+    rollups = new UtilizationRollups(repository, jobLeases,
+        new UtilizationProperties(100, 3, LEASE, null, null));
+  }
+
+  @Test
+  @DisplayName("Should fold batches until one comes back short")
+  void shouldFoldUntilShortBatch() {
+    // Given
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.of(lease));
+    when(repository.fold(100)).thenReturn(100, 40);
+    when(jobLeases.renew(lease, LEASE)).thenReturn(true);
+
+    // When
+    int folded = rollups.fold();
+
+    // Then
+    assertThat(folded).isEqualTo(140);
+    verify(repository, times(2)).fold(100);
+    verify(jobLeases).release(lease);
+  }
+
+  @Test
+  @DisplayName("Should stop after the maximum number of batches per poll")
+  void shouldStopAtMaxBatches() {
+    // Given
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.of(lease));
+    when(repository.fold(100)).thenReturn(100);
+    when(jobLeases.renew(lease, LEASE)).thenReturn(true);
+
+    // When
+    int folded = rollups.fold();
+
+    // Then
+    assertThat(folded).isEqualTo(300);
+    verify(jobLeases).release(lease);
+  }
+
+  @Test
+  @DisplayName("Should do nothing while the lease is held elsewhere")
+  void shouldSkipWithoutLease() {
+    // Given
+    when(jobLeases.tryAcquire(UtilizationRollups.JOB_NAME, LEASE)).thenReturn(Optional.empty());
+
+    // When
+    int folded = rollups.fold();
+
+    // Then
+    assertThat(folded).isZero();
+    verify(repository, never()).fold(anyInt());
+  }
+}
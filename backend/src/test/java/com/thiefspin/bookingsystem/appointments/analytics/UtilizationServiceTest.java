@@ -0,0 +1,113 @@
+package com.thiefspin.bookingsystem.appointments.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UtilizationService Tests")
+class UtilizationServiceTest {
+
+  // Monday to Sunday
+  private static final LocalDate FROM = LocalDate.of(2025, 1, 6);
+
+  private static final LocalDate TO = LocalDate.of(2025, 1, 12);
+
+  @Mock
+  private UtilizationRepository repository;
+
+  @Mock
+  private BranchService branchService;
+
+  private UtilizationService service;
+
+  private Branch branch;
+
+  @BeforeEach
+  void setUp() {
+    service = new UtilizationService(repository, branchService);
+    branch = new Branch(1L, "BR001", "Main Branch", "123 Main St, City", "+1-555-0100",
+        LocalTime.of(9, 0), LocalTime.of(12, 30), 2);
+  }
+
+  @Test
+  @DisplayName("Should count capacity only for the minutes a branch is open")
+  void shouldComputeHourlyCapacity() {
+    // When
+    long[] capacity = UtilizationService.hourlyCapacity(branch);
+
+    // Then
+    assertThat(capacity[8]).isZero();
+    assertThat(capacity[9]).isEqualTo(120);
+    assertThat(capacity[11]).isEqualTo(120);
+    assertThat(capacity[12]).isEqualTo(60);
+    assertThat(capacity[13]).isZero();
+  }
+
+  @Test
+  @DisplayName("Should derive occupancy, cancellation rate and lead times from the rollups")
+  void shouldComputeUtilization() throws Exception {
+    // Given a branch with 420 minutes of capacity a day
+    when(branchService.findById(1L)).thenReturn(Optional.of(branch));
+    when(repository.hourlyUsage(1L, FROM, TO)).thenReturn(List.of(
+        new HourlyUsage(DayOfWeek.MONDAY, 9, 120),
+        new HourlyUsage(DayOfWeek.TUESDAY, 9, 60),
+        new HourlyUsage(DayOfWeek.TUESDAY, 12, 210)
+    ));
+    when(repository.totals(1L, FROM, TO)).thenReturn(new UtilizationTotals(13, 390, 1, 2));
+    when(repository.leadTimes(1L, FROM, TO)).thenReturn(new long[]{0, 4, 5, 5, 0, 0, 0});
+
+    // When
+    BranchUtilization utilization = service.utilization(1L, FROM, TO);
+
+    // Then
+    assertThat(utilization.occupancyPercent()).isEqualTo(13.3);
+    assertThat(utilization.cancellationRatePercent()).isEqualTo(7.1);
+    assertThat(utilization.noShows()).isEqualTo(2);
+    assertThat(utilization.byWeekday()).hasSize(7)
+        .contains(new WeekdayUtilization(DayOfWeek.MONDAY, 28.6),
+            new WeekdayUtilization(DayOfWeek.TUESDAY, 64.3),
+            new WeekdayUtilization(DayOfWeek.SUNDAY, 0));
+    assertThat(utilization.byHour()).containsExactly(
+        new HourUtilization(9, 21.4),
+        new HourUtilization(10, 0),
+        new HourUtilization(11, 0),
+        new HourUtilization(12, 50.0));
+    assertThat(utilization.leadTimes()).hasSize(LeadTimeBucket.values().length)
+        .contains(new LeadTimeCount(LeadTimeBucket.UNDER_3_DAYS, 5));
+  }
+
+  @Test
+  @DisplayName("Should reject a range that ends before it starts")
+  void shouldRejectReversedRange() {
+    assertThatThrownBy(() -> service.utilization(1L, TO, FROM))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown branch")
+  void shouldRejectUnknownBranch() {
+    // Given
+    when(branchService.findById(1L)).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThatThrownBy(() -> service.utilization(1L, FROM, TO))
+        .isInstanceOf(NotFoundException.class);
+  }
+}
@@ -0,0 +1,119 @@
+package com.thiefspin.bookingsystem.appointments.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("Archive segment Tests")
+class ArchiveSegmentTest {
+
+  @TempDir
+  private Path directory;
+
+  private Path dataFile;
+
+  private Path indexFile;
+
+  @BeforeEach
+  void setUp() {
+    dataFile = directory.resolve("appointments-20250106T030000" + ArchiveSegmentWriter.DATA_SUFFIX);
+    indexFile = directory.resolve("appointments-20250106T030000"
+        + ArchiveSegmentWriter.INDEX_SUFFIX);
+  }
+
+  private static String[] row(int n) {
+    return new String[]{
+        String.valueOf(n), reference(n), "1", "John", "Doe", "john.doe@example.com",
+        "+27821234567", "2023-01-06T09:30", "30", n % 2 == 0 ? "Account, opening" : null,
+        null, "COMPLETED", "2023-01-01T08:00", "2023-01-06T12:00", null, null
+    };
+  }
+
+  private static String reference(int n) {
+    return "BK%08d".formatted(n);
+  }
+
+  private long write(int rows) throws IOException {
+    try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(dataFile, indexFile, 10)) {
+      for (int n = 1; n <= rows; n++) {
+        writer.append(reference(n), row(n));
+      }
+      writer.finish();
+      return writer.rows();
+    }
+  }
+
+  @Test
+  @DisplayName("Should find every row through the sparse index")
+  void shouldFindEveryRow() throws IOException {
+    // Given
+    write(95);
+
+    // When
+    ArchiveSegment segment = ArchiveSegment.open(indexFile);
+
+    // Then
+    assertThat(segment.blocks()).isEqualTo(10);
+    for (int n = 1; n <= 95; n++) {
+      String[] expected = row(n);
+      assertThat(segment.find(reference(n)))
+          .hasValueSatisfying(fields -> assertThat(fields).containsExactly(expected));
+    }
+    assertThat(segment.find("BK00000000")).isEmpty();
+    assertThat(segment.find("BK00000096")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should read as a single CSV when decompressed as a whole")
+  void shouldReadAsSingleCsv() throws IOException {
+    // Given
+    write(25);
+
+    // When
+    List<String> lines;
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        new GZIPInputStream(Files.newInputStream(dataFile)), StandardCharsets.UTF_8))) {
+      lines = reader.lines().toList();
+    }
+
+    // Then
+    assertThat(lines).hasSize(26);
+    assertThat(lines.get(0)).startsWith("id,booking_reference,branch_id");
+    assertThat(lines.get(25)).startsWith("25,BK00000025,");
+  }
+
+  @Test
+  @DisplayName("Should map archived fields back to an appointment")
+  void shouldMapToAppointment() throws IOException {
+    // Given
+    write(2);
+
+    // When
+    List<String> fields = ArchiveSegment.open(indexFile).find(reference(2)).orElseThrow();
+
+    // Then
+    assertThat(ArchiveColumns.toEntity(fields).toModel().purpose()).isEqualTo("Account, opening");
+  }
+
+  @Test
+  @DisplayName("Should refuse rows that are not in booking reference order")
+  void shouldRejectUnorderedRows() throws IOException {
+    try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(dataFile, indexFile, 10)) {
+      writer.append(reference(2), row(2));
+      assertThatThrownBy(() -> writer.append(reference(1), row(1)))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentExporter Tests")
+class AppointmentExporterTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private BranchService branchService;
+
+  private AppointmentExporter exporter;
+
+  private final LocalDate from = LocalDate.of(2025, 1, 1);
+
+  @BeforeEach
+  void setUp() {
+    exporter = new AppointmentExporter(jdbcTemplate, transactionManager, branchService,
+        new ObjectMapper(), new ExportProperties(null, null, 31));
+  }
+
+  @Test
+  @DisplayName("Should accept a range of up to the maximum number of days")
+  void shouldAcceptMaximumRange() {
+    // Given
+    when(branchService.findById(1L)).thenReturn(Optional.of(new Branch(1L, "BR001",
+        "Main Branch", "123 Main St, City", "+1-555-0100", LocalTime.of(9, 0),
+        LocalTime.of(17, 0), 5)));
+
+    // When / Then
+    assertThatCode(() -> exporter.validate(1L, from, from.plusDays(30)))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  @DisplayName("Should reject a range longer than the maximum")
+  void shouldRejectLongRange() {
+    assertThatThrownBy(() -> exporter.validate(1L, from, from.plusDays(31)))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject a range that ends before it starts")
+  void shouldRejectReversedRange() {
+    assertThatThrownBy(() -> exporter.validate(1L, from, from.minusDays(1)))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown branch")
+  void shouldRejectUnknownBranch() {
+    // Given
+    when(branchService.findById(1L)).thenReturn(Optional.empty());
+
+    // When / Then
+    assertThatThrownBy(() -> exporter.validate(1L, from, from))
+        .isInstanceOf(NotFoundException.class);
+  }
+}
@@ -0,0 +1,68 @@
+package com.thiefspin.bookingsystem.appointments.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiefspin.bookingsystem.appointments.export.ExportFormat.RowWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ExportFormat Tests")
+class ExportFormatTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static Object[] row() {
+    return new Object[]{
+        7L, "BK12345678", 1L, "John", "Doe", "john.doe@example.com", "+27821234567",
+        LocalDateTime.of(2025, 1, 6, 9, 30), 30, "Account, opening", null, "CONFIRMED"
+    };
+  }
+
+  private String write(ExportFormat format) throws IOException {
+    StringWriter out = new StringWriter();
+    RowWriter writer = format.writer(out, objectMapper.getFactory());
+    writer.header(ExportColumn.ALL);
+    writer.row(ExportColumn.ALL, row());
+    writer.row(ExportColumn.ALL, row());
+    writer.finish();
+    return out.toString();
+  }
+
+  @Test
+  @DisplayName("Should write CSV with a header row")
+  void shouldWriteCsv() throws IOException {
+    // When
+    String csv = write(ExportFormat.CSV);
+
+    // Then
+    String[] lines = csv.split("\r\n");
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).isEqualTo("id,booking_reference,branch_id,customer_first_name,"
+        + "customer_last_name,customer_email,customer_phone,appointment_date_time,"
+        + "duration_minutes,purpose,notes,status");
+    assertThat(lines[1]).isEqualTo("7,BK12345678,1,John,Doe,john.doe@example.com,+27821234567,"
+        + "2025-01-06T09:30:00,30,\"Account, opening\",,CONFIRMED");
+  }
+
+  @Test
+  @DisplayName("Should write one JSON object per line using the appointment field names")
+  void shouldWriteNdjson() throws IOException {
+    // When
+    String ndjson = write(ExportFormat.NDJSON);
+
+    // Then
+    String[] lines = ndjson.split("\n");
+    assertThat(lines).hasSize(2);
+    var json = objectMapper.readTree(lines[0]);
+    assertThat(json.get("id").isNumber()).isTrue();
+    assertThat(json.get("bookingReference").asText()).isEqualTo("BK12345678");
+    assertThat(json.get("appointmentDateTime").asText()).isEqualTo("2025-01-06T09:30:00");
+    assertThat(json.get("durationMinutes").asInt()).isEqualTo(30);
+    assertThat(json.get("notes").isNull()).isTrue();
+    assertThat(json.get("status").asText()).isEqualTo("CONFIRMED");
+  }
+}
@@ -0,0 +1,43 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CapacityLedger Tests")
+class CapacityLedgerTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2025, 1, 7, 10, 0);
+
+  private final Branch branch = new Branch(1L, "BR001", "Main Branch", "123 Main St, City",
+      "+1-555-0100", LocalTime.of(9, 0), LocalTime.of(17, 0), 2);
+
+  @Test
+  @DisplayName("Should refuse a place once the slot is full")
+  void shouldRefuseFullSlot() {
+    // Given
+    CapacityLedger ledger = new CapacityLedger(key -> Map.of());
+
+    // When / Then
+    assertThat(ledger.tryReserve(branch, START)).isTrue();
+    assertThat(ledger.tryReserve(branch, START)).isTrue();
+    assertThat(ledger.tryReserve(branch, START)).isFalse();
+    assertThat(ledger.tryReserve(branch, START.plusMinutes(30))).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should count appointments already booked in the database")
+  void shouldCountExistingBookings() {
+    // Given
+    CapacityLedger ledger = new CapacityLedger(key -> Map.of(START, 1));
+
+    // When / Then
+    assertThat(ledger.tryReserve(branch, START)).isTrue();
+    assertThat(ledger.tryReserve(branch, START)).isFalse();
+  }
+}
@@ -0,0 +1,136 @@
+package com.thiefspin.bookingsystem.appointments.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ImportRowParser Tests")
+class ImportRowParserTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-01-06T08:00:00Z"), ZoneOffset.UTC);
+
+  private static final String GENERATED_REFERENCE = "BKA1B2C3D4";
+
+  private static final List<String> HEADER = List.of(
+      "Branch_Code", "customer_first_name", "customer_last_name", "customer_email",
+      "customer_phone", "appointment_date_time", "duration_minutes", "status", "created_at"
+  );
+
+  private Branch branch;
+
+  private ImportRowParser parser;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    branch = new Branch(1L, "BR001", "Main Branch", "123 Main St, City", "+1-555-0100",
+        LocalTime.of(9, 0), LocalTime.of(17, 0), 1);
+    parser = new ImportRowParser(HEADER, Map.of("BR001", branch),
+        () -> GENERATED_REFERENCE, CLOCK);
+  }
+
+  private static List<String> row(String appointmentDateTime, String status, String createdAt) {
+    return List.of("BR001", "John", "Doe", "john.doe@example.com", "+1-555-0123",
+        appointmentDateTime, "30", status, createdAt);
+  }
+
+  @Test
+  @DisplayName("Should parse a valid row with defaults for optional columns")
+  void shouldParseValidRow() throws Exception {
+    // When
+    ImportRow row = parser.parse(2, row("2025-01-07T10:00", "", ""));
+
+    // Then
+    assertThat(row.line()).isEqualTo(2);
+    assertThat(row.branchId()).isEqualTo(1L);
+    assertThat(row.bookingReference()).isEqualTo(GENERATED_REFERENCE);
+    assertThat(row.referenceGenerated()).isTrue();
+    assertThat(row.appointmentDateTime()).isEqualTo(LocalDateTime.of(2025, 1, 7, 10, 0));
+    assertThat(row.durationMinutes()).isEqualTo(30);
+    assertThat(row.status()).isEqualTo(AppointmentStatus.CONFIRMED);
+    assertThat(row.createdAt()).isEqualTo(LocalDateTime.of(2025, 1, 6, 8, 0));
+    assertThat(row.purpose()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should reject an input without a required column")
+  void shouldRejectMissingColumn() {
+    // When / Then
+    assertThatThrownBy(() -> new ImportRowParser(HEADER.subList(0, 6), Map.of(),
+        () -> GENERATED_REFERENCE, CLOCK))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessageContaining("duration_minutes");
+  }
+
+  @Test
+  @DisplayName("Should reject a row for an unknown branch")
+  void shouldRejectUnknownBranch() {
+    // Given
+    List<String> fields = List.of("BR999", "John", "Doe", "john.doe@example.com",
+        "+1-555-0123", "2025-01-07T10:00", "30", "", "");
+
+    // When / Then
+    assertThatThrownBy(() -> parser.parse(2, fields))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessage("Unknown branch code");
+  }
+
+  @Test
+  @DisplayName("Should reject a row with an invalid email")
+  void shouldRejectInvalidEmail() {
+    // Given
+    List<String> fields = List.of("BR001", "John", "Doe", "not-an-email", "+1-555-0123",
+        "2025-01-07T10:00", "30", "", "");
+
+    // When / Then
+    assertThatThrownBy(() -> parser.parse(2, fields))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessage("customer_email format is invalid");
+  }
+
+  @Test
+  @DisplayName("Should reject an appointment outside branch operating hours")
+  void shouldRejectOutsideOperatingHours() {
+    // When / Then
+    assertThatThrownBy(() -> parser.parse(2, row("2025-01-07T16:45", "", "")))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessage("Appointment time is outside branch operating hours");
+  }
+
+  @Test
+  @DisplayName("Should require created_at for past appointments")
+  void shouldRequireCreatedAtForPastAppointments() throws Exception {
+    // When / Then
+    assertThatThrownBy(() -> parser.parse(2, row("2024-06-03T10:00", "COMPLETED", "")))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessageContaining("created_at");
+    assertThat(parser.parse(3, row("2024-06-03T10:00", "completed", "2024-05-20T12:00"))
+        .status()).isEqualTo(AppointmentStatus.COMPLETED);
+  }
+
+  @Test
+  @DisplayName("Should reject past appointments that are still active")
+  void shouldRejectPastActiveAppointments() {
+    // When / Then
+    assertThatThrownBy(() -> parser.parse(2, row("2024-06-03T10:00", "CONFIRMED",
+        "2024-05-20T12:00")))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessageContaining("COMPLETED, NO_SHOW or CANCELLED");
+    assertThatThrownBy(() -> parser.parse(3, row("2024-06-03T10:00", "", "2024-05-20T12:00")))
+        .isInstanceOf(RowRejectedException.class)
+        .hasMessageContaining("COMPLETED, NO_SHOW or CANCELLED");
+  }
+}
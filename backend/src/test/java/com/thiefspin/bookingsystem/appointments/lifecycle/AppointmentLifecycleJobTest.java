@@ -0,0 +1,153 @@
+package com.thiefspin.bookingsystem.appointments.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentLifecycleJob Tests")
+class AppointmentLifecycleJobTest {
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 6, 12, 0);
+
+  private static final LocalDateTime CUTOFF = NOW.minusHours(4);
+
+  private static final Duration LEASE = Duration.ofMinutes(2);
+
+  @Mock
+  private AppointmentRepository repository;
+
+  @Mock
+  private JobLeases jobLeases;
+
+  @Mock
+  private CacheInvalidationBus cacheInvalidationBus;
+
+  private AppointmentLifecycleJob job;
+
+  @BeforeEach
+  void setUp() {
+    AppointmentLifecycleProperties properties = new AppointmentLifecycleProperties(
+        Duration.ofHours(4), 2, 10, Duration.ZERO, LEASE);
+    Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    job = new AppointmentLifecycleJob(repository, jobLeases, cacheInvalidationBus, properties,
+        clock);
+  }
+
+  private static AppointmentEntity appointment(long id, LocalDateTime dateTime,
+      AppointmentStatus status) {
+    return new AppointmentEntity(id, "BK0000000" + id, 1L, "John", "Doe", "john.doe@example.com",
+        "+27821234567", dateTime, 30, null, null, status, Instant.now(), Instant.now(), null,
+        null);
+  }
+
+  @Test
+  @DisplayName("Should close chunks from the watermark and checkpoint after each")
+  void shouldCloseInChunksFromWatermark() {
+    // Given
+    LocalDateTime watermark = NOW.minusDays(1);
+    JobLease lease = new JobLease(AppointmentLifecycleJob.JOB_NAME, "node", watermark, 7L);
+    LocalDateTime first = NOW.minusHours(10);
+    LocalDateTime second = NOW.minusHours(9);
+    when(jobLeases.tryAcquire(AppointmentLifecycleJob.JOB_NAME, LEASE))
+        .thenReturn(Optional.of(lease));
+    when(repository.closePastAppointments(watermark, 7L, CUTOFF, 2))
+        .thenReturn(List.of(appointment(9, second, AppointmentStatus.COMPLETED),
+            appointment(8, first, AppointmentStatus.NO_SHOW)));
+    when(repository.closePastAppointments(second, 9L, CUTOFF, 2))
+        .thenReturn(List.of(appointment(10, second.plusHours(1), AppointmentStatus.COMPLETED)));
+    when(jobLeases.checkpoint(eq(lease), any(), anyLong(), eq(LEASE))).thenReturn(true);
+
+    // When
+    int closed = job.closePastAppointments();
+
+    // Then
+    assertThat(closed).isEqualTo(3);
+    verify(jobLeases).checkpoint(lease, second, 9L, LEASE);
+    verify(jobLeases).checkpoint(lease, second.plusHours(1), 10L, LEASE);
+    verify(jobLeases).release(lease);
+    verify(cacheInvalidationBus).clear(CacheNames.LOOKUPS);
+  }
+
+  @Test
+  @DisplayName("Should start from the beginning when no watermark has been recorded")
+  void shouldStartWithoutWatermark() {
+    // Given
+    JobLease lease = new JobLease(AppointmentLifecycleJob.JOB_NAME, "node", null, null);
+    when(jobLeases.tryAcquire(AppointmentLifecycleJob.JOB_NAME, LEASE))
+        .thenReturn(Optional.of(lease));
+    when(repository.closePastAppointments(LocalDateTime.of(1970, 1, 1, 0, 0), 0L, CUTOFF, 2))
+        .thenReturn(List.of());
+
+    // When
+    int closed = job.closePastAppointments();
+
+    // Then
+    assertThat(closed).isZero();
+    verify(jobLeases, never()).checkpoint(any(), any(), anyLong(), any());
+    verify(jobLeases).release(lease);
+    verify(cacheInvalidationBus, never()).clear(any());
+  }
+
+  @Test
+  @DisplayName("Should do nothing while another node holds the lease")
+  void shouldSkipWhenLeaseHeldElsewhere() {
+    // Given
+    when(jobLeases.tryAcquire(AppointmentLifecycleJob.JOB_NAME, LEASE))
+        .thenReturn(Optional.empty());
+
+    // When
+    int closed = job.closePastAppointments();
+
+    // Then
+    assertThat(closed).isZero();
+    verify(repository, never()).closePastAppointments(any(), anyLong(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should stop once the lease has been taken over")
+  void shouldStopWhenLeaseLost() {
+    // Given
+    JobLease lease = new JobLease(AppointmentLifecycleJob.JOB_NAME, "node", null, null);
+    LocalDateTime first = NOW.minusHours(10);
+    when(jobLeases.tryAcquire(AppointmentLifecycleJob.JOB_NAME, LEASE))
+        .thenReturn(Optional.of(lease));
+    when(repository.closePastAppointments(any(), anyLong(), eq(CUTOFF), eq(2)))
+        .thenReturn(List.of(appointment(1, first, AppointmentStatus.COMPLETED),
+            appointment(2, first, AppointmentStatus.COMPLETED)));
+    when(jobLeases.checkpoint(lease, first, 2L, LEASE)).thenReturn(false);
+
+    // When
+    int closed = job.closePastAppointments();
+
+    // Then
+    assertThat(closed).isEqualTo(2);
+    verify(repository).closePastAppointments(any(), anyLong(), any(), anyInt());
+  }
+}
@@ -0,0 +1,115 @@
+package com.thiefspin.bookingsystem.appointments.partitions;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.partitions.AppointmentPartitionMaintenance.Partition;
+import com.thiefspin.bookingsystem.util.jobs.JobLease;
+import com.thiefspin.bookingsystem.util.jobs.JobLeases;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AppointmentPartitionMaintenance Tests")
+class AppointmentPartitionMaintenanceTest {
+
+  private static final Duration LEASE = Duration.ofMinutes(10);
+
+  private static final String CREATE_SQL = "SELECT booking.create_appointment_partition(?)";
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private JobLeases jobLeases;
+
+  private AppointmentPartitionMaintenance maintenance;
+
+  private JobLease lease;
+
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(LocalDate.of(2025, 3, 15).atStartOfDay().toInstant(ZoneOffset.UTC),
+        ZoneOffset.UTC);
+    maintenance = new AppointmentPartitionMaintenance(jdbcTemplate, jobLeases,
+        new AppointmentPartitionProperties(2, 12, LEASE), clock);
+    lease = new JobLease(AppointmentPartitionMaintenance.JOB_NAME, "node", null, null);
+  }
+
+  @Test
+  @DisplayName("Should create the current month and every month up to the premake horizon")
+  @SuppressWarnings("unchecked")
+  void shouldCreateAheadOfTime() {
+    // Given
+    when(jobLeases.tryAcquire(AppointmentPartitionMaintenance.JOB_NAME, LEASE))
+        .thenReturn(Optional.of(lease));
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+
+    // When
+    maintenance.maintain();
+
+    // Then
+    verify(jdbcTemplate).queryForObject(CREATE_SQL, String.class, LocalDate.of(2025, 3, 1));
+    verify(jdbcTemplate).queryForObject(CREATE_SQL, String.class, LocalDate.of(2025, 4, 1));
+    verify(jdbcTemplate).queryForObject(CREATE_SQL, String.class, LocalDate.of(2025, 5, 1));
+    verify(jdbcTemplate, never())
+        .queryForObject(CREATE_SQL, String.class, LocalDate.of(2025, 6, 1));
+    verify(jobLeases).release(lease);
+  }
+
+  @Test
+  @DisplayName("Should detach months past retention and finalize interrupted detaches")
+  @SuppressWarnings("unchecked")
+  void shouldDetachExpiredPartitions() {
+    // Given
+    when(jobLeases.tryAcquire(AppointmentPartitionMaintenance.JOB_NAME, LEASE))
+        .thenReturn(Optional.of(lease));
+    when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(
+        new Partition("appointments_p202401", true),
+        new Partition("appointments_p202402", false),
+        new Partition("appointments_p202403", false),
+        new Partition("appointments_p202503", false)));
+
+    // When
+    maintenance.maintain();
+
+    // Then
+    verify(jdbcTemplate).execute(
+        "ALTER TABLE booking.appointments DETACH PARTITION booking.appointments_p202401 FINALIZE");
+    verify(jdbcTemplate).execute("ALTER TABLE booking.appointments DETACH PARTITION "
+        + "booking.appointments_p202402 CONCURRENTLY");
+    verify(jdbcTemplate, never()).execute(eq("ALTER TABLE booking.appointments DETACH PARTITION "
+        + "booking.appointments_p202403 CONCURRENTLY"));
+  }
+
+  @Test
+  @DisplayName("Should leave partitions alone while another node maintains them")
+  void shouldSkipWhenLeaseHeldElsewhere() {
+    // Given
+    when(jobLeases.tryAcquire(AppointmentPartitionMaintenance.JOB_NAME, LEASE))
+        .thenReturn(Optional.empty());
+
+    // When
+    maintenance.maintain();
+
+    // Then
+    verifyNoInteractions(jdbcTemplate);
+  }
+}
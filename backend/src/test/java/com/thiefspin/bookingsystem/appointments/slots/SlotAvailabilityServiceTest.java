@@ -2,6 +2,7 @@ package com.thiefspin.bookingsystem.appointments.slots;
 
 import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
 import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,7 +15,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,6 +31,9 @@ class SlotAvailabilityServiceTest {
   @Mock
   private AppointmentRepository repository;
 
+  @Mock
+  private BookingMetrics metrics;
+
   @InjectMocks
   private SlotAvailabilityService service;
 
@@ -438,4 +444,81 @@ class SlotAvailabilityServiceTest {
       assertThat(slots.get(2).currentBookings()).isEqualTo(3);
     }
   }
+
+  @Nested
+  @DisplayName("Find Next Available Slot Tests")
+  class FindNextAvailableSlotTests {
+
+    private Map<LocalDateTime, Integer> fullyBooked(LocalDate from, int days) {
+      Map<LocalDateTime, Integer> bookings = new HashMap<>();
+      for (LocalDate date = from; date.isBefore(from.plusDays(days)); date = date.plusDays(1)) {
+        for (LocalTime time = LocalTime.of(9, 0); time.isBefore(LocalTime.of(17, 0));
+            time = time.plusMinutes(30)) {
+          bookings.put(date.atTime(time), 3);
+        }
+      }
+      return bookings;
+    }
+
+    @Test
+    @DisplayName("Should skip fully booked days")
+    void shouldSkipFullyBookedDays() {
+      // Given
+      when(repository.countActiveAppointmentsBySlot(anyCollection(), any(LocalDateTime.class),
+          any(LocalDateTime.class))).thenReturn(Map.of(1L, fullyBooked(testDate, 1)));
+
+      // When
+      Map<Long, TimeSlot> next = service.findNextAvailableSlots(List.of(testBranch), testDate, 3);
+
+      // Then
+      assertThat(next.get(1L).startTime()).isEqualTo(testDate.plusDays(1).atTime(9, 0));
+    }
+
+    @Test
+    @DisplayName("Should return empty when no slot is free within the window")
+    void shouldReturnEmptyWhenFullyBooked() {
+      // Given
+      when(repository.countActiveAppointmentsBySlot(anyCollection(), any(LocalDateTime.class),
+          any(LocalDateTime.class))).thenReturn(Map.of(1L, fullyBooked(testDate, 2)));
+
+      // When / Then
+      assertThat(service.findNextAvailableSlots(List.of(testBranch), testDate, 2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find next slots of several branches with one grouped query")
+    void shouldFindNextSlotsWithOneQuery() {
+      // Given
+      Branch otherBranch = new Branch(2L, "CPT-001", "Cape Town", "1 Long Street",
+          "+27211234567", LocalTime.of(9, 0), LocalTime.of(10, 0), 1);
+      when(repository.countActiveAppointmentsBySlot(anyCollection(), any(LocalDateTime.class),
+          any(LocalDateTime.class))).thenReturn(Map.of(
+          1L, Map.of(testDate.atTime(9, 0), 3),
+          2L, Map.of(testDate.atTime(9, 0), 1, testDate.atTime(9, 30), 1)));
+
+      // When
+      Map<Long, TimeSlot> next = service.findNextAvailableSlots(
+          List.of(testBranch, otherBranch), testDate, 2);
+
+      // Then
+      assertThat(next.get(1L).startTime()).isEqualTo(testDate.atTime(9, 30));
+      assertThat(next.get(2L).startTime()).isEqualTo(testDate.plusDays(1).atTime(9, 0));
+      verify(repository).countActiveAppointmentsBySlot(List.of(1L, 2L),
+          testDate.atStartOfDay(), testDate.plusDays(2).atStartOfDay());
+      verify(repository, never()).countActiveAppointmentsAtTime(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should leave out branches without a free slot in the window")
+    void shouldLeaveOutFullyBookedBranches() {
+      // Given
+      Branch smallBranch = new Branch(2L, "CPT-001", "Cape Town", "1 Long Street",
+          "+27211234567", LocalTime.of(9, 0), LocalTime.of(9, 30), 1);
+      when(repository.countActiveAppointmentsBySlot(anyCollection(), any(LocalDateTime.class),
+          any(LocalDateTime.class))).thenReturn(Map.of(2L, Map.of(testDate.atTime(9, 0), 1)));
+
+      // When / Then
+      assertThat(service.findNextAvailableSlots(List.of(smallBranch), testDate, 1)).isEmpty();
+    }
+  }
 }
@@ -13,10 +13,13 @@ import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
 import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Rejection;
 import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +29,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("AppointmentValidator Tests")
@@ -37,6 +41,9 @@ class AppointmentValidatorTest {
     @Mock
     private BranchService branchService;
 
+    @Mock
+    private BookingMetrics metrics;
+
     @InjectMocks
     private AppointmentValidator validator;
 
@@ -91,6 +98,7 @@ class AppointmentValidatorTest {
 
             verify(branchService).findById(1L);
             verify(repository).countActiveAppointmentsAtTime(1L, appointmentTime);
+            verify(metrics).reject(Rejection.SLOT_FULL);
         }
 
         @Test
@@ -109,6 +117,42 @@ class AppointmentValidatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Validate Within Booking Horizon Tests")
+    class ValidateWithinBookingHorizonTests {
+
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(validator, "bookingHorizonMonths", 12);
+        }
+
+        @Test
+        @DisplayName("Should pass validation for the last day before the horizon")
+        void shouldPassBeforeHorizon() {
+            // Given
+            LocalDateTime appointmentTime = YearMonth.now().plusMonths(11).atEndOfMonth()
+                .atTime(10, 0);
+
+            // When & Then
+            assertThatNoException().isThrownBy(() ->
+                validator.validateWithinBookingHorizon(appointmentTime)
+            );
+        }
+
+        @Test
+        @DisplayName("Should throw exception when appointment is past the partitioned months")
+        void shouldThrowExceptionWhenBeyondHorizon() {
+            // Given
+            LocalDateTime appointmentTime = LocalDateTime.now().plusMonths(13);
+
+            // When & Then
+            assertThatThrownBy(() -> validator.validateWithinBookingHorizon(appointmentTime))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining(YearMonth.now().plusMonths(12).atDay(1).toString());
+            verify(metrics).reject(Rejection.BEYOND_HORIZON);
+        }
+    }
+
     @Nested
     @DisplayName("Validate Within Operating Hours Tests")
     class ValidateWithinOperatingHoursTests {
@@ -135,6 +179,7 @@ class AppointmentValidatorTest {
             assertThatThrownBy(() ->
                 validator.validateWithinOperatingHours(testBranch, appointmentTime, 30))
                 .isInstanceOf(BadRequestException.class);
+            verify(metrics).reject(Rejection.OUTSIDE_HOURS);
         }
 
         @Test
@@ -185,7 +230,7 @@ class AppointmentValidatorTest {
             AppointmentEntity futureAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusDays(1), 30, "Consultation", null,
-                AppointmentStatus.CONFIRMED.name(),
+                AppointmentStatus.CONFIRMED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -202,7 +247,7 @@ class AppointmentValidatorTest {
             AppointmentEntity futureAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusDays(1), 30, "Consultation", null,
-                AppointmentStatus.PENDING.name(),
+                AppointmentStatus.PENDING,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -219,13 +264,14 @@ class AppointmentValidatorTest {
             AppointmentEntity cancelledAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusDays(1), 30, "Consultation", null,
-                AppointmentStatus.CANCELLED.name(),
+                AppointmentStatus.CANCELLED,
                 Instant.now(), Instant.now(), Instant.now(), "Customer requested"
             );
 
             // When & Then
             assertThatThrownBy(() -> validator.validateCancellable(cancelledAppointment))
                 .isInstanceOf(BadRequestException.class);
+            verify(metrics).reject(Rejection.NOT_CANCELLABLE);
         }
 
         @Test
@@ -235,7 +281,7 @@ class AppointmentValidatorTest {
             AppointmentEntity completedAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().minusDays(1), 30, "Consultation", null,
-                AppointmentStatus.COMPLETED.name(),
+                AppointmentStatus.COMPLETED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -251,7 +297,7 @@ class AppointmentValidatorTest {
             AppointmentEntity noShowAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().minusDays(1), 30, "Consultation", null,
-                AppointmentStatus.NO_SHOW.name(),
+                AppointmentStatus.NO_SHOW,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -267,7 +313,7 @@ class AppointmentValidatorTest {
             AppointmentEntity pastAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().minusDays(1), 30, "Consultation", null,
-                AppointmentStatus.CONFIRMED.name(),
+                AppointmentStatus.CONFIRMED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -283,7 +329,7 @@ class AppointmentValidatorTest {
             AppointmentEntity pastAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().minusDays(1), 30, "Consultation", null,
-                AppointmentStatus.PENDING.name(),
+                AppointmentStatus.PENDING,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -299,7 +345,7 @@ class AppointmentValidatorTest {
             AppointmentEntity soonAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusMinutes(30), 30, "Consultation", null,
-                AppointmentStatus.CONFIRMED.name(),
+                AppointmentStatus.CONFIRMED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -381,7 +427,7 @@ class AppointmentValidatorTest {
             AppointmentEntity boundaryAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusSeconds(1), 30, "Consultation", null,
-                AppointmentStatus.CONFIRMED.name(),
+                AppointmentStatus.CONFIRMED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -435,7 +481,7 @@ class AppointmentValidatorTest {
             AppointmentEntity almostNowAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().plusSeconds(500), 30, "Consultation", null,
-                AppointmentStatus.CONFIRMED.name(),
+                AppointmentStatus.CONFIRMED,
                 Instant.now(), Instant.now(), null, null
             );
 
@@ -450,7 +496,7 @@ class AppointmentValidatorTest {
             AppointmentEntity pastPendingAppointment = new AppointmentEntity(
                 1L, "BK12345678", 1L, "John", "Doe", "john@example.com", "+27821234567",
                 LocalDateTime.now().minusHours(2), 30, "Consultation", null,
-                AppointmentStatus.PENDING.name(),
+                AppointmentStatus.PENDING,
                 Instant.now(), Instant.now(), null, null
             );
 
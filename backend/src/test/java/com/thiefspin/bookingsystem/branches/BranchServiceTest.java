@@ -1,13 +1,24 @@
 package com.thiefspin.bookingsystem.branches;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalog;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import com.thiefspin.bookingsystem.util.pagination.KeysetPage;
+import com.thiefspin.bookingsystem.util.pagination.PaginationMode;
 import java.time.Instant;
 import java.time.LocalTime;
 import java.util.List;
@@ -24,6 +35,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("BranchService Tests")
@@ -32,6 +46,15 @@ class BranchServiceTest {
   @Mock
   private BranchRepository repository;
 
+  @Mock
+  private BranchCatalog catalog;
+
+  @Mock
+  private CacheInvalidationBus cacheInvalidationBus;
+
+  @Mock
+  private BookingMetrics metrics;
+
   @InjectMocks
   private BranchService service;
 
@@ -54,30 +77,111 @@ class BranchServiceTest {
         3,
         true,
         Instant.now(),
-        Instant.now()
+        Instant.now(),
+        null,
+        null
     );
   }
 
+  private void givenCatalog(BranchEntity... entities) {
+    when(catalog.current()).thenReturn(Optional.of(
+        BranchCatalogSnapshot.build(List.of(entities), 1, Instant.now())));
+  }
+
+  private void givenStaleCatalog() {
+    when(catalog.current()).thenReturn(Optional.empty());
+  }
+
   @Nested
-  @DisplayName("List Branches Tests")
+  @DisplayName("List Branches From Catalog Tests")
+  class ListBranchesFromCatalogTests {
+
+    private BranchEntity capeTown;
+
+    @BeforeEach
+    void setUp() {
+      capeTown = new BranchEntity(
+          2L, "CPT-001", "Cape Town Branch", "456 Long Street",
+          "+27211234567", "cpt@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 5,
+          false, Instant.now(), Instant.now(), null, null
+      );
+    }
+
+    @Test
+    @DisplayName("Should list all branches ordered by name without querying the database")
+    void shouldListFromCatalog() {
+      // Given
+      givenCatalog(testBranchEntity, capeTown);
+
+      // When
+      Page<Branch> result = (Page<Branch>) service.list(pageable, PaginationMode.EXACT);
+
+      // Then
+      assertThat(result.getContent()).extracting(Branch::code)
+          .containsExactly("CPT-001", "JHB-001");
+      assertThat(result.getTotalElements()).isEqualTo(2);
+      verify(repository, never()).findPageWithTotal(any());
+    }
+
+    @Test
+    @DisplayName("Should slice the catalog and report hasNext")
+    void shouldSliceCatalog() {
+      // Given
+      givenCatalog(testBranchEntity, capeTown);
+
+      // When
+      Slice<Branch> result = service.list(PageRequest.of(0, 1), PaginationMode.SLICE);
+
+      // Then
+      assertThat(result).isNotInstanceOf(Page.class);
+      assertThat(result.getContent()).extracting(Branch::code).containsExactly("CPT-001");
+      assertThat(result.hasNext()).isTrue();
+      verify(repository, never()).findSlice(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the database for orders the catalog does not hold")
+    void shouldFallBackForUnsupportedSort() {
+      // Given
+      Pageable byCode = PageRequest.of(0, 10, Sort.by("code"));
+      givenCatalog(testBranchEntity, capeTown);
+      when(repository.findPageWithTotal(byCode))
+          .thenReturn(new PageImpl<>(List.of(testBranchEntity), byCode, 1));
+
+      // When
+      Slice<Branch> result = service.list(byCode, PaginationMode.EXACT);
+
+      // Then
+      assertThat(result.getContent()).hasSize(1);
+      verify(repository).findPageWithTotal(byCode);
+    }
+  }
+
+  @Nested
+  @DisplayName("List Branches From Database Tests")
   class ListBranchesTests {
 
+    @BeforeEach
+    void setUp() {
+      givenStaleCatalog();
+    }
+
     @Test
     @DisplayName("Should return paginated list of branches")
     void shouldReturnPaginatedList() {
       // Given
       Page<BranchEntity> entityPage = new PageImpl<>(List.of(testBranchEntity), pageable, 1);
-      when(repository.findAll(pageable)).thenReturn(entityPage);
+      when(repository.findPageWithTotal(pageable)).thenReturn(entityPage);
 
       // When
-      Page<Branch> result = service.list(pageable);
+      Page<Branch> result = (Page<Branch>) service.list(pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getContent()).hasSize(1);
       assertThat(result.getContent().get(0).code()).isEqualTo("JHB-001");
       assertThat(result.getTotalElements()).isEqualTo(1);
-      verify(repository).findAll(pageable);
+      verify(repository).findPageWithTotal(pageable);
     }
 
     @Test
@@ -85,16 +189,16 @@ class BranchServiceTest {
     void shouldReturnEmptyPage() {
       // Given
       Page<BranchEntity> emptyPage = new PageImpl<>(List.of(), pageable, 0);
-      when(repository.findAll(pageable)).thenReturn(emptyPage);
+      when(repository.findPageWithTotal(pageable)).thenReturn(emptyPage);
 
       // When
-      Page<Branch> result = service.list(pageable);
+      Page<Branch> result = (Page<Branch>) service.list(pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getContent()).isEmpty();
       assertThat(result.getTotalElements()).isZero();
-      verify(repository).findAll(pageable);
+      verify(repository).findPageWithTotal(pageable);
     }
 
     @Test
@@ -105,17 +209,17 @@ class BranchServiceTest {
       BranchEntity branch2 = new BranchEntity(
           2L, "CPT-001", "Cape Town Branch", "456 Long Street",
           "+27211234567", "cpt@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 5,
-          true, Instant.now(), Instant.now()
+          true, Instant.now(), Instant.now(), null, null
       );
       Page<BranchEntity> entityPage = new PageImpl<>(
           List.of(testBranchEntity, branch2),
           customPageable,
           100
       );
-      when(repository.findAll(customPageable)).thenReturn(entityPage);
+      when(repository.findPageWithTotal(customPageable)).thenReturn(entityPage);
 
       // When
-      Page<Branch> result = service.list(customPageable);
+      Page<Branch> result = (Page<Branch>) service.list(customPageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
@@ -123,7 +227,7 @@ class BranchServiceTest {
       assertThat(result.getNumber()).isEqualTo(2);
       assertThat(result.getSize()).isEqualTo(20);
       assertThat(result.getTotalElements()).isEqualTo(100);
-      verify(repository).findAll(customPageable);
+      verify(repository).findPageWithTotal(customPageable);
     }
 
     @Test
@@ -133,14 +237,14 @@ class BranchServiceTest {
       BranchEntity branch2 = new BranchEntity(
           2L, "CPT-001", "Cape Town", "456 Long St",
           "+27211234567", "cpt@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 5,
-          true, Instant.now(), Instant.now()
+          true, Instant.now(), Instant.now(), null, null
       );
       Page<BranchEntity> entityPage = new PageImpl<>(List.of(testBranchEntity, branch2), pageable,
           2);
-      when(repository.findAll(pageable)).thenReturn(entityPage);
+      when(repository.findPageWithTotal(pageable)).thenReturn(entityPage);
 
       // When
-      Page<Branch> result = service.list(pageable);
+      Page<Branch> result = (Page<Branch>) service.list(pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result.getContent()).allSatisfy(branch -> {
@@ -149,14 +253,183 @@ class BranchServiceTest {
         assertThat(branch.code()).isNotNull();
         assertThat(branch.name()).isNotNull();
       });
-      verify(repository).findAll(pageable);
+      verify(repository).findPageWithTotal(pageable);
+    }
+  }
+
+  @Nested
+  @DisplayName("Slice And Scroll Tests")
+  class SliceAndScrollTests {
+
+    private BranchEntity capeTown;
+
+    @BeforeEach
+    void setUp() {
+      capeTown = new BranchEntity(
+          2L, "CPT-001", "Cape Town Branch", "456 Long Street",
+          "+27211234567", "cpt@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 5,
+          true, Instant.now(), Instant.now(), null, null
+      );
+    }
+
+    @Test
+    @DisplayName("Should list a slice without counting")
+    void shouldListSliceWithoutCounting() {
+      // Given
+      givenStaleCatalog();
+      when(repository.findSlice(pageable))
+          .thenReturn(new SliceImpl<>(List.of(testBranchEntity), pageable, true));
+
+      // When
+      Slice<Branch> result = service.list(pageable, PaginationMode.SLICE);
+
+      // Then
+      assertThat(result).isNotInstanceOf(Page.class);
+      assertThat(result.hasNext()).isTrue();
+      verify(repository, never()).findPageWithTotal(any());
+    }
+
+    @Test
+    @DisplayName("Should scroll from the start when no cursor is given")
+    void shouldScrollFromStart() throws BadRequestException {
+      // Given
+      givenStaleCatalog();
+      when(repository.findAfter(isNull(), eq(2)))
+          .thenReturn(List.of(capeTown, testBranchEntity));
+
+      // When
+      KeysetPage<Branch> result = service.scroll(null, 1);
+
+      // Then
+      assertThat(result.content()).extracting(Branch::code).containsExactly("CPT-001");
+      assertThat(result.hasNext()).isTrue();
+      assertThat(BranchCursor.decode(result.nextCursor()))
+          .isEqualTo(new BranchCursor("Cape Town Branch", 2L));
+    }
+
+    @Test
+    @DisplayName("Should continue after the decoded cursor")
+    void shouldContinueAfterCursor() throws BadRequestException {
+      // Given
+      BranchCursor cursor = new BranchCursor("Cape Town Branch", 2L);
+      givenStaleCatalog();
+      when(repository.findAfter(cursor, 11)).thenReturn(List.of(testBranchEntity));
+
+      // When
+      KeysetPage<Branch> result = service.scroll(cursor.encode(), 10);
+
+      // Then
+      assertThat(result.content()).extracting(Branch::code).containsExactly("JHB-001");
+      assertThat(result.hasNext()).isFalse();
+      assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap the scroll window size")
+    void shouldCapScrollWindowSize() throws BadRequestException {
+      // Given
+      givenStaleCatalog();
+      when(repository.findAfter(null, BranchService.MAX_SCROLL_SIZE + 1)).thenReturn(List.of());
+
+      // When
+      KeysetPage<Branch> result = service.scroll(null, 10_000);
+
+      // Then
+      assertThat(result.size()).isEqualTo(BranchService.MAX_SCROLL_SIZE);
+      assertThat(result.content()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should scroll the catalog past the cursor position")
+    void shouldScrollCatalog() throws BadRequestException {
+      // Given
+      givenCatalog(testBranchEntity, capeTown);
+      String cursor = new BranchCursor("Cape Town Branch", 2L).encode();
+
+      // When
+      KeysetPage<Branch> result = service.scroll(cursor, 10);
+
+      // Then
+      assertThat(result.content()).extracting(Branch::code).containsExactly("JHB-001");
+      assertThat(result.hasNext()).isFalse();
+      verify(repository, never()).findAfter(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+      assertThatThrownBy(() -> service.scroll("not-a-cursor!", 10))
+          .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should report hasNext for search slices from the exact total")
+    void shouldReportHasNextForSearchSlices() {
+      // Given
+      givenCatalog(testBranchEntity, capeTown);
+
+      // When
+      Slice<Branch> result = service.search("street", PageRequest.of(0, 1),
+          PaginationMode.SLICE);
+
+      // Then
+      assertThat(result.getContent()).hasSize(1);
+      assertThat(result.hasNext()).isTrue();
     }
   }
 
   @Nested
-  @DisplayName("Find By ID Tests")
+  @DisplayName("Find By ID From Catalog Tests")
+  class FindByIdFromCatalogTests {
+
+    @Test
+    @DisplayName("Should return branch from the catalog")
+    void shouldReturnBranchFromCatalog() {
+      // Given
+      givenCatalog(testBranchEntity);
+
+      // When
+      Optional<Branch> result = service.findById(1L);
+
+      // Then
+      assertThat(result).map(Branch::code).contains("JHB-001");
+      verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should return empty without querying the database when not in the catalog")
+    void shouldReturnEmptyWhenNotInCatalog() {
+      // Given
+      givenCatalog(testBranchEntity);
+
+      // When
+      Optional<Branch> result = service.findById(999L);
+
+      // Then
+      assertThat(result).isEmpty();
+      verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should invalidate the branches cache on every node when branches change")
+    void shouldInvalidateBranchesOnChange() {
+      // When
+      service.onBranchesChanged();
+
+      // Then
+      verify(cacheInvalidationBus).clear(CacheNames.BRANCHES);
+    }
+  }
+
+  @Nested
+  @DisplayName("Find By ID From Database Tests")
   class FindByIdTests {
 
+    @BeforeEach
+    void setUp() {
+      givenStaleCatalog();
+    }
+
     @Test
     @DisplayName("Should return branch when found")
     void shouldReturnBranchWhenFound() {
@@ -235,226 +508,225 @@ class BranchServiceTest {
   @DisplayName("Search Branches Tests")
   class SearchBranchesTests {
 
+    private BranchEntity johannesburgNorth;
+    private BranchEntity capeTown;
+
+    @BeforeEach
+    void setUp() {
+      johannesburgNorth = new BranchEntity(
+          2L, "JHB-002", "Johannesburg North", "789 North Ave",
+          "+27111234568", "jhb2@example.com", LocalTime.of(9, 0), LocalTime.of(17, 0), 3,
+          true, Instant.now(), Instant.now(), null, null
+      );
+      capeTown = new BranchEntity(
+          3L, "CPT-001", "Cape Town Branch", "456 Long Street, Johannesburg Road",
+          "+27211234567", "cpt@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 5,
+          true, Instant.now(), Instant.now(), null, null
+      );
+    }
+
     @Test
     @DisplayName("Should return branches matching search query by name")
     void shouldSearchByName() {
       // Given
-      when(repository.searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of(testBranchEntity));
+      givenCatalog(testBranchEntity, capeTown);
 
       // When
-      Page<Branch> result = service.search("johannesburg", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("central", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
       assertThat(result.getContent()).hasSize(1);
       assertThat(result.getContent().get(0).name()).contains("Johannesburg");
-      verify(repository).searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber());
+      assertThat(result.getTotalElements()).isEqualTo(1);
     }
 
     @Test
     @DisplayName("Should return branches matching search query by code")
     void shouldSearchByCode() {
       // Given
-      when(repository.searchBranches("jhb-001", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of(testBranchEntity));
+      givenCatalog(testBranchEntity, johannesburgNorth);
 
       // When
-      Page<Branch> result = service.search("jhb-001", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("jhb-001", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
       assertThat(result.getContent()).hasSize(1);
       assertThat(result.getContent().get(0).code()).isEqualTo("JHB-001");
-      verify(repository).searchBranches("jhb-001", pageable.getPageSize(),
-          pageable.getPageNumber());
     }
 
     @Test
     @DisplayName("Should return branches matching search query by address")
     void shouldSearchByAddress() {
       // Given
-      when(repository.searchBranches("main street", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of(testBranchEntity));
+      givenCatalog(testBranchEntity, capeTown);
 
       // When
-      Page<Branch> result = service.search("main street", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("main street", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
       assertThat(result.getContent()).hasSize(1);
       assertThat(result.getContent().get(0).address()).contains("Main Street");
-      verify(repository).searchBranches("main street", pageable.getPageSize(),
-          pageable.getPageNumber());
+    }
+
+    @Test
+    @DisplayName("Should match case-insensitively")
+    void shouldMatchCaseInsensitively() {
+      // Given
+      givenCatalog(testBranchEntity);
+
+      // When
+      Page<Branch> result =
+          (Page<Branch>) service.search("JoHaNnEsBuRg", pageable, PaginationMode.EXACT);
+
+      // Then
+      assertThat(result.getContent()).hasSize(1);
     }
 
     @Test
     @DisplayName("Should return empty page when no matches found")
     void shouldReturnEmptyWhenNoMatches() {
       // Given
-      when(repository.searchBranches("nonexistent", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of());
+      givenCatalog(testBranchEntity, capeTown);
 
       // When
-      Page<Branch> result = service.search("nonexistent", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("nonexistent", pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getContent()).isEmpty();
       assertThat(result.getTotalElements()).isZero();
-      verify(repository).searchBranches("nonexistent", pageable.getPageSize(),
-          pageable.getPageNumber());
     }
 
     @Test
     @DisplayName("Should return empty page when search query is empty")
     void shouldReturnEmptyWhenQueryEmpty() {
       // When
-      Page<Branch> result = service.search("", pageable);
+      Page<Branch> result = (Page<Branch>) service.search("", pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getContent()).isEmpty();
       assertThat(result.getTotalElements()).isZero();
-      verify(repository, never()).searchBranches(anyString(), anyInt(),
-          anyInt());
+      verify(catalog, never()).current();
     }
 
     @Test
     @DisplayName("Should return empty page when search query is whitespace only")
     void shouldReturnEmptyWhenQueryWhitespaceOnly() {
-      // Given
-
       // When
-      Page<Branch> result = service.search("   ", pageable);
+      Page<Branch> result = (Page<Branch>) service.search("   ", pageable, PaginationMode.EXACT);
 
       // Then
       assertThat(result).isNotNull();
       assertThat(result.getContent()).isEmpty();
       assertThat(result.getTotalElements()).isZero();
-      verify(repository, never()).searchBranches(anyString(), anyInt(),
-          anyInt());
+      verify(catalog, never()).current();
     }
 
     @Test
     @DisplayName("Should trim search query before searching")
     void shouldTrimSearchQuery() {
       // Given
-      when(repository.searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of(testBranchEntity));
+      givenCatalog(testBranchEntity);
 
       // When
-      Page<Branch> result = service.search("  johannesburg  ", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("  johannesburg  ", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
       assertThat(result.getContent()).hasSize(1);
-      verify(repository).searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber());
     }
 
     @Test
-    @DisplayName("Should support pagination with search results")
-    void shouldSupportPagination() {
+    @DisplayName("Should not return inactive branches")
+    void shouldNotReturnInactiveBranches() {
       // Given
-      Pageable customPageable = PageRequest.of(0, 5);
-      BranchEntity branch2 = new BranchEntity(
-          2L, "JHB-002", "Johannesburg North", "789 North Ave",
-          "+27111234568", "jhb2@example.com", LocalTime.of(9, 0), LocalTime.of(17, 0), 3,
-          true, Instant.now(), Instant.now()
+      BranchEntity inactive = new BranchEntity(
+          4L, "JHB-099", "Johannesburg Closed", "1 Closed Road",
+          "+27111234500", "closed@example.com", LocalTime.of(9, 0), LocalTime.of(17, 0), 1,
+          false, Instant.now(), Instant.now(), null, null
       );
-      when(repository.searchBranches("johannesburg", customPageable.getPageSize(),
-          customPageable.getPageNumber())).thenReturn(
-          List.of(testBranchEntity, branch2));
+      givenCatalog(testBranchEntity, inactive);
 
       // When
-      Page<Branch> result = service.search("johannesburg", customPageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("johannesburg", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
-      assertThat(result.getContent()).hasSize(2);
-      assertThat(result.getNumber()).isEqualTo(0);
-      assertThat(result.getSize()).isEqualTo(5);
-      assertThat(result.getTotalElements()).isEqualTo(2);
-      verify(repository).searchBranches("johannesburg", customPageable.getPageSize(),
-          customPageable.getPageNumber());
+      assertThat(result.getContent()).extracting(Branch::code).containsExactly("JHB-001");
+      assertThat(result.getTotalElements()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("Should return partial match results")
-    void shouldReturnPartialMatches() {
+    @DisplayName("Should rank name matches ahead of address matches")
+    void shouldRankNameMatchesFirst() {
       // Given
-      when(repository.searchBranches("joh", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(List.of(testBranchEntity));
+      givenCatalog(capeTown, testBranchEntity, johannesburgNorth);
 
       // When
-      Page<Branch> result = service.search("joh", pageable);
+      Page<Branch> result =
+          (Page<Branch>) service.search("johannesburg", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
-      assertThat(result.getContent()).hasSize(1);
-      verify(repository).searchBranches("joh", pageable.getPageSize(), pageable.getPageNumber());
+      assertThat(result.getContent()).extracting(Branch::code)
+          .containsExactly("JHB-001", "JHB-002", "CPT-001");
     }
 
     @Test
-    @DisplayName("Should convert search results to models")
-    void shouldConvertSearchResultsToModels() {
+    @DisplayName("Should return partial match results")
+    void shouldReturnPartialMatches() {
       // Given
-      BranchEntity branch2 = new BranchEntity(
-          2L, "JHB-002", "Johannesburg North", "789 North Ave",
-          "+27111234568", "jhb2@example.com", LocalTime.of(9, 0), LocalTime.of(17, 0), 3,
-          true, Instant.now(), Instant.now()
-      );
-      when(repository.searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber())).thenReturn(
-          List.of(testBranchEntity, branch2));
+      givenCatalog(testBranchEntity, capeTown);
 
       // When
-      Page<Branch> result = service.search("johannesburg", pageable);
+      Page<Branch> result = (Page<Branch>) service.search("jo", pageable, PaginationMode.EXACT);
 
       // Then
-      assertThat(result.getContent()).allSatisfy(branch -> {
-        assertThat(branch).isNotNull();
-        assertThat(branch.id()).isNotNull();
-        assertThat(branch.code()).isNotNull();
-        assertThat(branch.name()).isNotNull();
-        assertThat(branch.name().toLowerCase()).contains("johannesburg");
-      });
-      verify(repository).searchBranches("johannesburg", pageable.getPageSize(),
-          pageable.getPageNumber());
+      assertThat(result.getContent()).hasSize(2);
     }
 
     @Test
-    @DisplayName("Should handle multiple pages in search pagination")
+    @DisplayName("Should report exact totals across multiple pages")
     void shouldHandleMultiplePagesInSearch() {
       // Given
       Pageable firstPage = PageRequest.of(0, 2);
-      BranchEntity branch2 = new BranchEntity(
-          2L, "JHB-002", "Johannesburg North", "789 North Ave",
-          "+27111234568", "jhb2@example.com", LocalTime.of(9, 0), LocalTime.of(17, 0), 3,
-          true, Instant.now(), Instant.now()
-      );
-      BranchEntity branch3 = new BranchEntity(
-          3L, "JHB-003", "Johannesburg East", "999 East St",
-          "+27111234569", "jhb3@example.com", LocalTime.of(8, 0), LocalTime.of(18, 0), 2,
-          true, Instant.now(), Instant.now()
-      );
-      when(repository.searchBranches("johannesburg", firstPage.getPageSize(),
-          firstPage.getPageNumber()))
-          .thenReturn(List.of(testBranchEntity, branch2, branch3));
+      Pageable secondPage = PageRequest.of(1, 2);
+      givenCatalog(testBranchEntity, johannesburgNorth, capeTown);
 
       // When
-      Page<Branch> result = service.search("johannesburg", firstPage);
+      Page<Branch> first =
+          (Page<Branch>) service.search("johannesburg", firstPage, PaginationMode.EXACT);
+      Page<Branch> second =
+          (Page<Branch>) service.search("johannesburg", secondPage, PaginationMode.EXACT);
 
       // Then
-      assertThat(result).isNotNull();
-      assertThat(result.getContent()).hasSize(3);
-      assertThat(result.getNumber()).isEqualTo(0);
-      assertThat(result.getTotalElements()).isEqualTo(3);
-      assertThat(result.getTotalPages()).isEqualTo(2);
-      verify(repository).searchBranches("johannesburg", firstPage.getPageSize(),
-          firstPage.getPageNumber());
+      assertThat(first.getContent()).hasSize(2);
+      assertThat(first.getTotalElements()).isEqualTo(3);
+      assertThat(first.getTotalPages()).isEqualTo(2);
+      assertThat(second.getContent()).extracting(Branch::code).containsExactly("CPT-001");
+      assertThat(second.getNumber()).isEqualTo(1);
+      verify(catalog, times(2)).current();
+    }
+
+    @Test
+    @DisplayName("Should search the database when the catalog is stale")
+    void shouldSearchDatabaseWhenCatalogStale() {
+      // Given
+      givenStaleCatalog();
+      when(repository.searchActive("johannesburg", pageable))
+          .thenReturn(new PageImpl<>(List.of(testBranchEntity), pageable, 1));
+
+      // When
+      Page<Branch> result =
+          (Page<Branch>) service.search("Johannesburg", pageable, PaginationMode.EXACT);
+
+      // Then
+      assertThat(result.getContent()).extracting(Branch::code).containsExactly("JHB-001");
+      assertThat(result.getTotalElements()).isEqualTo(1);
     }
   }
 }
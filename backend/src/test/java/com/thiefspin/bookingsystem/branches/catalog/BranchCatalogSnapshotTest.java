@@ -0,0 +1,120 @@
+package com.thiefspin.bookingsystem.branches.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchCursor;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+@DisplayName("BranchCatalogSnapshot Tests")
+class BranchCatalogSnapshotTest {
+
+  private BranchCatalogSnapshot snapshot;
+
+  @BeforeEach
+  void setUp() {
+    snapshot = BranchCatalogSnapshot.build(List.of(
+        branch(3L, "JHB001", "Sandton City Branch", true),
+        branch(1L, "CPT001", "Claremont Branch", true),
+        branch(4L, "CPT099", "Closed Long Street Branch", false),
+        branch(2L, "CPT002", "Claremont Branch", true)
+    ), 7, Instant.now());
+  }
+
+  private static BranchEntity branch(Long id, String code, String name, boolean active) {
+    return new BranchEntity(id, code, name, "1 Main Road", "+27215550101", null,
+        LocalTime.of(8, 0), LocalTime.of(17, 0), 3, active, Instant.now(), Instant.now(),
+        null, null);
+  }
+
+  @Test
+  @DisplayName("Should order branches by name and id")
+  void shouldOrderByNameAndId() {
+    assertThat(snapshot.range(0, 10)).extracting(Branch::id).containsExactly(1L, 2L, 4L, 3L);
+    assertThat(snapshot.size()).isEqualTo(4);
+    assertThat(snapshot.version()).isEqualTo(7);
+  }
+
+  @Test
+  @DisplayName("Should slice ranges and return nothing past the end")
+  void shouldSliceRanges() {
+    assertThat(snapshot.range(1, 2)).extracting(Branch::id).containsExactly(2L, 4L);
+    assertThat(snapshot.range(10, 2)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should resume after a cursor whether or not it is still present")
+  void shouldResumeAfterCursor() {
+    assertThat(snapshot.after(new BranchCursor("Claremont Branch", 1L), 10))
+        .extracting(Branch::id).containsExactly(2L, 4L, 3L);
+    assertThat(snapshot.after(new BranchCursor("D", 0L), 10))
+        .extracting(Branch::id).containsExactly(3L);
+    assertThat(snapshot.after(null, 1)).extracting(Branch::id).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("Should page mixed-case names in C collation order")
+  void shouldPageMixedCaseNamesInCollationOrder() {
+    // Given
+    BranchCatalogSnapshot mixed = BranchCatalogSnapshot.build(List.of(
+        branch(1L, "A1", "apple", true),
+        branch(2L, "A2", "Banana", true),
+        branch(3L, "A3", "a-b", true),
+        branch(4L, "A4", "Zed", true),
+        branch(5L, "A5", "_under", true)
+    ), 1, Instant.now());
+
+    // When
+    List<Branch> firstPage = mixed.after(null, 2);
+    List<Branch> secondPage = mixed.after(BranchCursor.after(firstPage.get(1)), 2);
+    List<Branch> lastPage = mixed.after(BranchCursor.after(secondPage.get(1)), 2);
+
+    // Then
+    assertThat(firstPage).extracting(Branch::name).containsExactly("Banana", "Zed");
+    assertThat(secondPage).extracting(Branch::name).containsExactly("_under", "a-b");
+    assertThat(lastPage).extracting(Branch::name).containsExactly("apple");
+  }
+
+  @Test
+  @DisplayName("Should compare names by code point rather than UTF-16 unit")
+  void shouldCompareByCodePoint() {
+    String supplementary = new String(Character.toChars(0x1F600));
+
+    assertThat(BranchCatalogSnapshot.compareCodePoints(supplementary, "\uFF5E")).isPositive();
+    assertThat(supplementary.compareTo("\uFF5E")).isNegative();
+    assertThat(BranchCatalogSnapshot.compareCodePoints("ab", "abc")).isNegative();
+    assertThat(BranchCatalogSnapshot.compareCodePoints("abc", "abc")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should look branches up by id and code")
+  void shouldLookUpByIdAndCode() {
+    assertThat(snapshot.findById(4L)).map(Branch::code).contains("CPT099");
+    assertThat(snapshot.findByCode("JHB001")).map(Branch::id).contains(3L);
+    assertThat(snapshot.findById(99L)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should only index active branches for search")
+  void shouldOnlyIndexActiveBranches() {
+    assertThat(snapshot.searchIndex().size()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should only support ascending name ordering")
+  void shouldSupportNameOrdering() {
+    assertThat(BranchCatalogSnapshot.supports(Sort.unsorted())).isTrue();
+    assertThat(BranchCatalogSnapshot.supports(Sort.by("name"))).isTrue();
+    assertThat(BranchCatalogSnapshot.supports(Sort.by("name", "id"))).isTrue();
+    assertThat(BranchCatalogSnapshot.supports(Sort.by("code"))).isFalse();
+    assertThat(BranchCatalogSnapshot.supports(Sort.by("id"))).isFalse();
+    assertThat(BranchCatalogSnapshot.supports(Sort.by(Sort.Direction.DESC, "name"))).isFalse();
+  }
+}
@@ -0,0 +1,147 @@
+package com.thiefspin.bookingsystem.branches.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.BranchesChangedEvent;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidatedEvent;
+import com.thiefspin.bookingsystem.config.cache.CacheNames;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BranchCatalog Tests")
+class BranchCatalogTest {
+
+  @Mock
+  private BranchRepository repository;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private BranchEntity branch;
+
+  @BeforeEach
+  void setUp() {
+    branch = new BranchEntity(1L, "CPT001", "Claremont Branch", "33 Main Road", "+27215550101",
+        null, LocalTime.of(8, 0), LocalTime.of(17, 0), 5, true, Instant.now(), Instant.now(),
+        null, null);
+  }
+
+  @Test
+  @DisplayName("Should load the catalog on first use")
+  void shouldLoadOnFirstUse() {
+    // Given
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofMinutes(10));
+    when(repository.fingerprint()).thenReturn("1:a");
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+
+    // When / Then
+    assertThat(catalog.current()).hasValueSatisfying(snapshot -> {
+      assertThat(snapshot.version()).isEqualTo(1);
+      assertThat(snapshot.size()).isEqualTo(1);
+    });
+  }
+
+  @Test
+  @DisplayName("Should only reload when the fingerprint changes")
+  void shouldReloadOnlyWhenFingerprintChanges() {
+    // Given
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofMinutes(10));
+    when(repository.fingerprint()).thenReturn("1:a", "1:a", "2:b", "2:b");
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+    catalog.refresh();
+
+    // When
+    catalog.refreshIfChanged();
+    catalog.refreshIfChanged();
+
+    // Then
+    assertThat(catalog.current()).map(BranchCatalogSnapshot::version).contains(2L);
+    verify(repository, times(2)).findAllBranches();
+    verify(eventPublisher).publishEvent(any(BranchesChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should not announce the first load as a branch change")
+  void shouldNotAnnounceFirstLoad() {
+    // Given
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofMinutes(10));
+    when(repository.fingerprint()).thenReturn("1:a");
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+
+    // When
+    catalog.refreshIfChanged();
+
+    // Then
+    assertThat(catalog.current()).map(BranchCatalogSnapshot::version).contains(1L);
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("Should only reload on invalidation when the branch table has moved on")
+  void shouldReloadOnInvalidationWhenBehind() {
+    // Given
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofMinutes(10));
+    when(repository.fingerprint()).thenReturn("1:a", "1:a", "2:b", "2:b");
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+    catalog.refresh();
+    CacheInvalidatedEvent event = new CacheInvalidatedEvent(CacheNames.BRANCHES);
+
+    // When
+    catalog.onBranchesInvalidated(event);
+    catalog.onBranchesInvalidated(event);
+
+    // Then
+    assertThat(catalog.current()).map(BranchCatalogSnapshot::version).contains(2L);
+    verify(repository, times(2)).findAllBranches();
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("Should stop serving a snapshot that is past the staleness bound")
+  void shouldStopServingStaleSnapshot() {
+    // Given a bound that every snapshot has already exceeded
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofSeconds(-1));
+    when(repository.fingerprint()).thenReturn("1:a");
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+    catalog.refresh();
+
+    // When / Then
+    assertThat(catalog.current()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should keep the current snapshot when a scheduled refresh fails")
+  void shouldKeepSnapshotWhenRefreshFails() {
+    // Given
+    BranchCatalog catalog = new BranchCatalog(repository, eventPublisher, Duration.ofMinutes(10));
+    when(repository.fingerprint())
+        .thenReturn("1:a")
+        .thenThrow(new DataAccessResourceFailureException("down"));
+    when(repository.findAllBranches()).thenReturn(List.of(branch));
+    catalog.refresh();
+
+    // When
+    catalog.refreshIfChanged();
+
+    // Then
+    assertThat(catalog.current()).map(BranchCatalogSnapshot::version).contains(1L);
+  }
+}
@@ -0,0 +1,119 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BranchSpatialIndex Tests")
+class BranchSpatialIndexTest {
+
+  private BranchSpatialIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = BranchSpatialIndex.build(List.of(
+        branch(1L, "Claremont Branch", -33.9806, 18.4653, true),
+        branch(2L, "V&A Waterfront Branch", -33.9036, 18.4208, true),
+        branch(3L, "Sandton City Branch", -26.1076, 28.0567, true),
+        branch(4L, "Closed Long Street Branch", -33.9225, 18.4180, false),
+        branch(5L, "Unmapped Branch", null, null, true)
+    ));
+  }
+
+  private static BranchEntity branch(Long id, String name, Double latitude, Double longitude,
+      boolean active) {
+    return new BranchEntity(id, "CODE" + id, name, "Address", "+27215550101", null,
+        LocalTime.of(8, 0), LocalTime.of(17, 0), 3, active, Instant.now(), Instant.now(),
+        latitude, longitude);
+  }
+
+  @Test
+  @DisplayName("Should skip branches without coordinates")
+  void shouldSkipBranchesWithoutCoordinates() {
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should return the nearest branches first")
+  void shouldReturnNearestFirst() {
+    List<BranchDistance> result = index.nearest(-33.92, 18.42, 3, null, false);
+
+    assertThat(result).extracting(hit -> hit.branch().id()).containsExactly(4L, 2L, 1L);
+  }
+
+  @Test
+  @DisplayName("Should skip inactive branches when asked to")
+  void shouldSkipInactiveBranches() {
+    List<BranchDistance> result = index.nearest(-33.92, 18.42, 3, null, true);
+
+    assertThat(result).extracting(hit -> hit.branch().id()).containsExactly(2L, 1L, 3L);
+  }
+
+  @Test
+  @DisplayName("Should report great-circle distances")
+  void shouldReportGreatCircleDistances() {
+    // Claremont to Sandton City is roughly 1,260 km
+    List<BranchDistance> result = index.nearest(-33.9806, 18.4653, 4, null, true);
+
+    assertThat(result.get(0).distanceKm()).isCloseTo(0, within(1e-6));
+    assertThat(result.get(2).branch().id()).isEqualTo(3L);
+    assertThat(result.get(2).distanceKm()).isCloseTo(1260, within(20.0));
+  }
+
+  @Test
+  @DisplayName("Should bound nearest results and radius queries by distance")
+  void shouldBoundByDistance() {
+    assertThat(index.nearest(-33.92, 18.42, 10, 50.0, true))
+        .extracting(hit -> hit.branch().id()).containsExactly(2L, 1L);
+    assertThat(index.within(-33.92, 18.42, 50.0, false))
+        .extracting(hit -> hit.branch().id()).containsExactly(4L, 2L, 1L);
+    assertThat(index.within(-33.92, 18.42, 0.1, true)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should agree with a brute-force scan")
+  void shouldAgreeWithBruteForce() {
+    Random random = new Random(42);
+    List<BranchEntity> entities = new ArrayList<>();
+    for (long id = 0; id < 2_000; id++) {
+      entities.add(branch(id, "Branch " + id, -35 + random.nextDouble() * 13,
+          16 + random.nextDouble() * 17, random.nextInt(10) > 0));
+    }
+    BranchSpatialIndex large = BranchSpatialIndex.build(entities);
+
+    for (int query = 0; query < 50; query++) {
+      double latitude = -35 + random.nextDouble() * 13;
+      double longitude = 16 + random.nextDouble() * 17;
+      List<Long> expected = entities.stream()
+          .filter(BranchEntity::isActive)
+          .sorted(Comparator.comparingDouble(
+              entity -> haversine(latitude, longitude, entity.latitude(), entity.longitude())))
+          .limit(10)
+          .map(BranchEntity::id)
+          .toList();
+
+      assertThat(large.nearest(latitude, longitude, 10, null, true))
+          .extracting(hit -> hit.branch().id())
+          .containsExactlyElementsOf(expected);
+    }
+  }
+
+  private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+    double dLat = Math.toRadians(lat2 - lat1);
+    double dLon = Math.toRadians(lon2 - lon1);
+    double h = Math.pow(Math.sin(dLat / 2), 2)
+        + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+        * Math.pow(Math.sin(dLon / 2), 2);
+    return 2 * BranchSpatialIndex.EARTH_RADIUS_KM * Math.asin(Math.sqrt(h));
+  }
+}
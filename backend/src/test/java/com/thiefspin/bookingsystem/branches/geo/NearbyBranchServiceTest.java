@@ -0,0 +1,185 @@
+package com.thiefspin.bookingsystem.branches.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.slots.SlotAvailabilityService;
+import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalog;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NearbyBranchService Tests")
+class NearbyBranchServiceTest {
+
+  @Mock
+  private BranchCatalog catalog;
+
+  @Mock
+  private BranchRepository repository;
+
+  @Mock
+  private SlotAvailabilityService slotAvailabilityService;
+
+  @InjectMocks
+  private NearbyBranchService service;
+
+  private static final List<BranchEntity> BRANCHES = List.of(
+      branch(1L, -33.9806, 18.4653, true),
+      branch(2L, -33.9036, 18.4208, true),
+      branch(3L, -26.1076, 28.0567, true),
+      branch(4L, -33.9225, 18.4180, false)
+  );
+
+  private static BranchEntity branch(Long id, double latitude, double longitude, boolean active) {
+    return new BranchEntity(id, "CODE" + id, "Branch " + id, "Address", "+27215550101", null,
+        LocalTime.of(8, 0), LocalTime.of(17, 0), 3, active, Instant.now(), Instant.now(),
+        latitude, longitude);
+  }
+
+  private void givenCatalog(List<BranchEntity> entities) {
+    when(catalog.current())
+        .thenReturn(Optional.of(BranchCatalogSnapshot.build(entities, 1, Instant.now())));
+  }
+
+  @Nested
+  @DisplayName("Validation")
+  class ValidationTests {
+
+    @Test
+    @DisplayName("Should reject coordinates outside their ranges")
+    void shouldRejectOutOfRangeCoordinates() {
+      assertThatThrownBy(() -> service.findNearby(91, 18.4, 10, null, true, false))
+          .isInstanceOf(BadRequestException.class);
+      assertThatThrownBy(() -> service.findNearby(-33.9, 181, 10, null, true, false))
+          .isInstanceOf(BadRequestException.class);
+      assertThatThrownBy(() -> service.findNearby(Double.NaN, 18.4, 10, null, true, false))
+          .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive radius")
+    void shouldRejectNonPositiveRadius() {
+      assertThatThrownBy(() -> service.findNearby(-33.9, 18.4, 10, 0.0, true, false))
+          .isInstanceOf(BadRequestException.class)
+          .hasMessageContaining("Radius");
+    }
+  }
+
+  @Nested
+  @DisplayName("Find Nearby")
+  class FindNearbyTests {
+
+    @Test
+    @DisplayName("Should return nearest active branches from the catalog")
+    void shouldReturnNearestFromCatalog() throws BadRequestException {
+      // Given
+      givenCatalog(BRANCHES);
+
+      // When
+      List<NearbyBranch> result = service.findNearby(-33.92, 18.42, 2, null, true, false);
+
+      // Then
+      assertThat(result).extracting(hit -> hit.branch().id()).containsExactly(2L, 1L);
+      assertThat(result).allMatch(hit -> hit.nextAvailableSlot() == null);
+      verify(repository, never()).findAllBranches();
+      verify(slotAvailabilityService, never()).findNextAvailableSlots(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should limit radius searches and clamp the result size")
+    void shouldLimitRadiusSearches() throws BadRequestException {
+      // Given
+      List<BranchEntity> crowded = new ArrayList<>();
+      for (long id = 1; id <= 80; id++) {
+        crowded.add(branch(id, -33.92 + id * 0.0001, 18.42, true));
+      }
+      givenCatalog(crowded);
+
+      // When
+      List<NearbyBranch> result = service.findNearby(-33.92, 18.42, 500, 5.0, true, false);
+
+      // Then
+      assertThat(result).hasSize(NearbyBranchService.MAX_RESULTS);
+      assertThat(result.get(0).branch().id()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should attach the next available slot when requested")
+    void shouldAttachNextSlot() throws BadRequestException {
+      // Given
+      givenCatalog(BRANCHES);
+      LocalDateTime start = LocalDate.now().plusDays(1).atTime(9, 0);
+      TimeSlot slot = new TimeSlot(start, start.plusMinutes(30), true, 0, 3);
+      when(slotAvailabilityService.findNextAvailableSlots(anyCollection(), any(LocalDate.class),
+          anyInt())).thenReturn(Map.of(2L, slot));
+
+      // When
+      List<NearbyBranch> result = service.findNearby(-33.92, 18.42, 2, null, true, true);
+
+      // Then
+      assertThat(result).extracting(hit -> hit.branch().id()).containsExactly(2L, 1L);
+      assertThat(result.get(0).nextAvailableSlot()).isEqualTo(slot);
+      assertThat(result.get(1).nextAvailableSlot()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should look up next slots for every hit in one call")
+    void shouldLookUpNextSlotsInOneCall() throws BadRequestException {
+      // Given
+      givenCatalog(BRANCHES);
+      when(slotAvailabilityService.findNextAvailableSlots(anyCollection(), any(LocalDate.class),
+          anyInt())).thenReturn(Map.of());
+
+      // When
+      service.findNearby(-33.92, 18.42, 10, null, true, true);
+
+      // Then
+      verify(slotAvailabilityService).findNextAvailableSlots(
+          argThat(branches -> branches.stream().map(Branch::id).toList()
+              .equals(List.of(2L, 1L, 3L))),
+          any(LocalDate.class), eq(NearbyBranchService.NEXT_SLOT_SEARCH_DAYS));
+    }
+
+    @Test
+    @DisplayName("Should build an index from the database when the catalog is stale")
+    void shouldFallBackToDatabase() throws BadRequestException {
+      // Given
+      when(catalog.current()).thenReturn(Optional.empty());
+      when(repository.findAllBranches()).thenReturn(BRANCHES);
+
+      // When
+      List<NearbyBranch> result = service.findNearby(-26.1, 28.05, 1, null, false, false);
+
+      // Then
+      assertThat(result).extracting(hit -> hit.branch().id()).containsExactly(3L);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.thiefspin.bookingsystem.branches.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BranchSearchIndex Tests")
+class BranchSearchIndexTest {
+
+  private BranchSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = BranchSearchIndex.build(List.of(
+        branch(1L, "CPT001", "Claremont Branch", "33 Main Road, Claremont, Cape Town", true),
+        branch(2L, "CPT002", "V&A Waterfront Branch", "Shop 209, V&A Waterfront, Cape Town", true),
+        branch(3L, "JHB001", "Sandton City Branch", "Rivonia Road, Sandton, Johannesburg", true),
+        branch(4L, "CPT099", "Closed Long Street Branch", "123 Long Street, Cape Town", false)
+    ));
+  }
+
+  private static BranchEntity branch(Long id, String code, String name, String address,
+      boolean active) {
+    return new BranchEntity(id, code, name, address, "+27215550101", null,
+        LocalTime.of(8, 0), LocalTime.of(17, 0), 3, active, Instant.now(), Instant.now(),
+        null, null);
+  }
+
+  @Test
+  @DisplayName("Should only index active branches")
+  void shouldOnlyIndexActiveBranches() {
+    assertThat(index.size()).isEqualTo(3);
+    assertThat(index.search("long street", 0, 10).total()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should match substrings through the trigram postings")
+  void shouldMatchSubstrings() {
+    BranchSearchResult result = index.search("cape town", 0, 10);
+
+    assertThat(result.total()).isEqualTo(2);
+    assertThat(result.content()).extracting(Branch::code).containsExactly("CPT001", "CPT002");
+  }
+
+  @Test
+  @DisplayName("Should match terms shorter than a trigram")
+  void shouldMatchShortTerms() {
+    assertThat(index.search("v&", 0, 10).content())
+        .extracting(Branch::code)
+        .containsExactly("CPT002");
+  }
+
+  @Test
+  @DisplayName("Should not match terms spanning two fields")
+  void shouldNotMatchAcrossFields() {
+    assertThat(index.search("branchshop", 0, 10).total()).isZero();
+    assertThat(index.search("town cpt", 0, 10).total()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should rank an exact code match first")
+  void shouldRankExactCodeFirst() {
+    assertThat(index.search("cpt002", 0, 10).content())
+        .extracting(Branch::code)
+        .containsExactly("CPT002");
+    assertThat(index.search("cpt00", 0, 10).content())
+        .extracting(Branch::code)
+        .containsExactly("CPT001", "CPT002");
+  }
+
+  @Test
+  @DisplayName("Should return exact totals when the offset is past the last hit")
+  void shouldReturnTotalsPastLastHit() {
+    BranchSearchResult result = index.search("branch", 10, 10);
+
+    assertThat(result.content()).isEmpty();
+    assertThat(result.total()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should return nothing from an empty index")
+  void shouldReturnNothingFromEmptyIndex() {
+    assertThat(BranchSearchIndex.empty().search("branch", 0, 10).total()).isZero();
+  }
+}
@@ -0,0 +1,171 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+  private static CaffeineCacheManager configure(Map<String, CacheSpec> specs,
+      List<CacheRefresher> refreshers) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    CacheConfig.configure(cacheManager, new CacheProperties(null, specs), refreshers);
+    return cacheManager;
+  }
+
+  private static Cache<Object, Object> nativeCache(CaffeineCacheManager cacheManager,
+      String name) {
+    return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+  }
+
+  private static CacheRefresher refresher(String name) {
+    return new CacheRefresher() {
+      @Override
+      public String cacheName() {
+        return name;
+      }
+
+      @Override
+      public Object reload(Object key) {
+        return "reloaded-" + key;
+      }
+    };
+  }
+
+  @Nested
+  @DisplayName("Policies")
+  class PolicyTests {
+
+    @Test
+    @DisplayName("Should apply per-cache size and expiry, falling back to defaults")
+    void shouldApplyPerCachePolicies() {
+      // Given
+      CaffeineCacheManager cacheManager = configure(Map.of(
+          CacheNames.SLOTS, new CacheSpec(50L, Duration.ofSeconds(30), null),
+          CacheNames.LOOKUPS, new CacheSpec(null, null, null)
+      ), List.of());
+
+      // When
+      Policy<Object, Object> slots = nativeCache(cacheManager, CacheNames.SLOTS).policy();
+      Policy<Object, Object> lookups = nativeCache(cacheManager, CacheNames.LOOKUPS).policy();
+
+      // Then
+      assertThat(slots.eviction().orElseThrow().getMaximum()).isEqualTo(50);
+      assertThat(slots.expireAfterWrite().orElseThrow().getExpiresAfter())
+          .isEqualTo(Duration.ofSeconds(30));
+      assertThat(lookups.eviction().orElseThrow().getMaximum()).isEqualTo(1000);
+      assertThat(lookups.expireAfterWrite().orElseThrow().getExpiresAfter())
+          .isEqualTo(Duration.ofMinutes(10));
+      assertThat(slots.isRecordingStats()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should bound caches created on demand by the defaults")
+    void shouldBoundDynamicCaches() {
+      CaffeineCacheManager cacheManager = configure(Map.of(), List.of());
+
+      assertThat(nativeCache(cacheManager, "other").policy().eviction().orElseThrow().getMaximum())
+          .isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should reject refresh-after-write in the defaults")
+    void shouldRejectDefaultRefresh() {
+      assertThatThrownBy(() -> new CacheProperties(
+          new CacheSpec(10L, null, Duration.ofMinutes(1)), Map.of()))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Refresh")
+  class RefreshTests {
+
+    @Test
+    @DisplayName("Should back refreshing caches with their refresher")
+    void shouldUseRefresher() {
+      // Given
+      CaffeineCacheManager cacheManager = configure(Map.of(
+          CacheNames.BRANCHES, new CacheSpec(null, null, Duration.ofMinutes(1))
+      ), List.of(refresher(CacheNames.BRANCHES)));
+
+      // When
+      Cache<Object, Object> branches = nativeCache(cacheManager, CacheNames.BRANCHES);
+
+      // Then
+      assertThat(branches).isInstanceOf(LoadingCache.class);
+      assertThat(branches.policy().refreshAfterWrite()).isPresent();
+      assertThat(((LoadingCache<Object, Object>) branches).get(7L)).isEqualTo("reloaded-7");
+    }
+
+    @Test
+    @DisplayName("Should fail when a refreshing cache has no refresher")
+    void shouldFailWithoutRefresher() {
+      assertThatThrownBy(() -> configure(Map.of(
+          CacheNames.BRANCHES, new CacheSpec(null, null, Duration.ofMinutes(1))
+      ), List.of()))
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining(CacheNames.BRANCHES);
+    }
+  }
+
+  @Nested
+  @DisplayName("Stampede protection")
+  class StampedeTests {
+
+    @Test
+    @DisplayName("Should load a missing key once for concurrent callers")
+    void shouldCollapseConcurrentMisses() throws Exception {
+      // Given
+      CaffeineCache slots = (CaffeineCache) configure(Map.of(
+          CacheNames.SLOTS, new CacheSpec(null, null, null)
+      ), List.of()).getCache(CacheNames.SLOTS);
+      AtomicInteger loads = new AtomicInteger();
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(8);
+
+      // When
+      try {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+          results.add(executor.submit(() -> {
+            start.await();
+            return slots.get("1:2025-01-01", () -> {
+              loads.incrementAndGet();
+              Thread.sleep(50);
+              return "slots";
+            });
+          }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+          assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("slots");
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      // Then
+      assertThat(loads).hasValue(1);
+    }
+  }
+}
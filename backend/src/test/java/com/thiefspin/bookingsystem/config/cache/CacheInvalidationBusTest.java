@@ -0,0 +1,254 @@
+package com.thiefspin.bookingsystem.config.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheInvalidationBus Tests")
+class CacheInvalidationBusTest {
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private ConcurrentMapCacheManager cacheManager;
+  private Cache slots;
+  private Cache branches;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new ConcurrentMapCacheManager(CacheNames.SLOTS, CacheNames.BRANCHES);
+    slots = cacheManager.getCache(CacheNames.SLOTS);
+    branches = cacheManager.getCache(CacheNames.BRANCHES);
+    slots.put("1:2025-01-01", "slots-1");
+    slots.put("2:2025-01-01", "slots-2");
+    branches.put(1L, "branch-1");
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private CacheInvalidationBus bus(boolean enabled) {
+    return new CacheInvalidationBus(cacheManager, eventPublisher, jdbcTemplate, enabled,
+        "cache_invalidation", 2);
+  }
+
+  @Nested
+  @DisplayName("Publishing")
+  class PublishingTests {
+
+    @Test
+    @DisplayName("Should evict locally and notify other nodes")
+    void shouldEvictAndNotify() {
+      // Given
+      CacheInvalidationBus bus = bus(true);
+
+      // When
+      bus.evict(CacheNames.SLOTS, "1:2025-01-01");
+
+      // Then
+      assertThat(slots.get("1:2025-01-01")).isNull();
+      assertThat(slots.get("2:2025-01-01")).isNotNull();
+      verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+          eq("cache_invalidation"), eq(bus.origin() + "|slots|S1:2025-01-01"));
+    }
+
+    @Test
+    @DisplayName("Should only evict locally when the bus is disabled")
+    void shouldSkipNotifyWhenDisabled() {
+      // When
+      bus(false).clear(CacheNames.BRANCHES);
+
+      // Then
+      assertThat(branches.get(1L)).isNull();
+      verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should defer local eviction until the transaction commits")
+    void shouldDeferUntilCommit() {
+      // Given
+      TransactionSynchronizationManager.initSynchronization();
+
+      // When
+      bus(false).evict(CacheNames.BRANCHES, 1L);
+
+      // Then
+      assertThat(branches.get(1L)).isNotNull();
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+      assertThat(branches.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should announce an invalidation before evicting")
+    void shouldAnnounceBeforeEvicting() {
+      // Given
+      Cache spied = spy(branches);
+      ConcurrentMapCacheManager spiedManager = new ConcurrentMapCacheManager() {
+        @Override
+        public Cache getCache(String name) {
+          return spied;
+        }
+      };
+      CacheInvalidationBus bus = new CacheInvalidationBus(spiedManager, eventPublisher,
+          jdbcTemplate, false, "cache_invalidation", 2);
+
+      // When
+      bus.clear(CacheNames.BRANCHES);
+
+      // Then
+      InOrder order = inOrder(eventPublisher, spied);
+      order.verify(eventPublisher).publishEvent(new CacheInvalidatedEvent(CacheNames.BRANCHES));
+      order.verify(spied).clear();
+    }
+
+    @Test
+    @DisplayName("Should reject unsafe channel names")
+    void shouldRejectUnsafeChannel() {
+      assertThatThrownBy(() -> new CacheInvalidationBus(cacheManager, eventPublisher, jdbcTemplate,
+          true, "cache; DROP TABLE x", 2))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Receiving")
+  class ReceivingTests {
+
+    @Test
+    @DisplayName("Should apply invalidations from other nodes and skip its own")
+    void shouldApplyRemoteInvalidations() {
+      // Given
+      CacheInvalidationBus bus = bus(true);
+
+      // When
+      bus.receive(List.of(
+          bus.origin() + "|branches|L1",
+          "other-node|slots|S2:2025-01-01",
+          "garbage"
+      ));
+
+      // Then
+      assertThat(branches.get(1L)).isNotNull();
+      assertThat(slots.get("2:2025-01-01")).isNull();
+      assertThat(slots.get("1:2025-01-01")).isNotNull();
+      verify(eventPublisher).publishEvent(new CacheInvalidatedEvent(CacheNames.SLOTS));
+      verify(eventPublisher, never()).publishEvent(new CacheInvalidatedEvent(CacheNames.BRANCHES));
+    }
+
+    @Test
+    @DisplayName("Should clear every cache when resynchronizing")
+    void shouldClearEverythingOnResynchronize() {
+      // When
+      bus(true).resynchronize();
+
+      // Then
+      assertThat(slots.get("1:2025-01-01")).isNull();
+      assertThat(branches.get(1L)).isNull();
+    }
+  }
+
+  @Nested
+  @DisplayName("Coalescing")
+  class CoalescingTests {
+
+    @Test
+    @DisplayName("Should drop duplicate keys")
+    void shouldDropDuplicates() {
+      List<CacheInvalidation> result = CacheInvalidationBus.coalesce(List.of(
+          new CacheInvalidation(CacheNames.SLOTS, "a"),
+          new CacheInvalidation(CacheNames.SLOTS, "a"),
+          new CacheInvalidation(CacheNames.BRANCHES, 1L)
+      ), 10);
+
+      assertThat(result).containsExactly(
+          new CacheInvalidation(CacheNames.SLOTS, "a"),
+          new CacheInvalidation(CacheNames.BRANCHES, 1L));
+    }
+
+    @Test
+    @DisplayName("Should collapse to a full clear when a cache sees too many keys")
+    void shouldCollapseLargeBursts() {
+      List<CacheInvalidation> result = CacheInvalidationBus.coalesce(List.of(
+          new CacheInvalidation(CacheNames.SLOTS, "a"),
+          new CacheInvalidation(CacheNames.SLOTS, "b"),
+          new CacheInvalidation(CacheNames.SLOTS, "c"),
+          new CacheInvalidation(CacheNames.SLOTS, "d"),
+          new CacheInvalidation(CacheNames.BRANCHES, 1L)
+      ), 2);
+
+      assertThat(result).containsExactly(
+          CacheInvalidation.all(CacheNames.SLOTS),
+          new CacheInvalidation(CacheNames.BRANCHES, 1L));
+    }
+
+    @Test
+    @DisplayName("Should let a full clear absorb single keys")
+    void shouldAbsorbKeysIntoClear() {
+      List<CacheInvalidation> result = CacheInvalidationBus.coalesce(List.of(
+          new CacheInvalidation(CacheNames.BRANCHES, 1L),
+          CacheInvalidation.all(CacheNames.BRANCHES),
+          new CacheInvalidation(CacheNames.BRANCHES, 2L)
+      ), 10);
+
+      assertThat(result).containsExactly(CacheInvalidation.all(CacheNames.BRANCHES));
+    }
+  }
+
+  @Nested
+  @DisplayName("Encoding")
+  class EncodingTests {
+
+    @Test
+    @DisplayName("Should round-trip long, string and all-entries invalidations")
+    void shouldRoundTrip() {
+      for (CacheInvalidation invalidation : List.of(
+          new CacheInvalidation(CacheNames.BRANCHES, 42L),
+          new CacheInvalidation(CacheNames.LOOKUPS, "john@example.com|BK1234"),
+          CacheInvalidation.all(CacheNames.SLOTS))) {
+        assertThat(CacheInvalidation.decode(invalidation.encode())).isEqualTo(invalidation);
+      }
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported keys")
+    void shouldRejectUnsupportedKeys() {
+      assertThatThrownBy(() -> new CacheInvalidation(CacheNames.SLOTS, 1))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> CacheInvalidation.decode("slots|X1"))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
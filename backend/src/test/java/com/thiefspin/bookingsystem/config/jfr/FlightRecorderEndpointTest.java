@@ -0,0 +1,118 @@
+package com.thiefspin.bookingsystem.config.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.config.jfr.FlightRecorderEndpoint.RecordingDescriptor;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Rejection;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+class FlightRecorderEndpointTest {
+
+  @TempDir
+  Path directory;
+
+  private FlightRecorderEndpoint endpoint;
+
+  private RecordingDescriptor recording;
+
+  @BeforeEach
+  void setUp() {
+    endpoint = new FlightRecorderEndpoint(new FlightRecorderProperties(
+        directory, "default", Duration.ofMinutes(5), DataSize.ofMegabytes(16)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (recording != null) {
+      endpoint.stop(recording.id());
+    }
+  }
+
+  @Test
+  @DisplayName("Should record booking events while a recording is running")
+  void shouldRecordBookingEvents() throws Exception {
+    // Given
+    recording = endpoint.start(null, null);
+    LocalDateTime slot = LocalDateTime.of(2030, 1, 15, 10, 0);
+
+    // When
+    AppointmentEvent appointment = new AppointmentEvent();
+    appointment.start();
+    ValidationEvent validation = new ValidationEvent();
+    validation.start();
+    validation.finish("slot_available", 7L, slot, Rejection.SLOT_FULL);
+    appointment.finish("create", 7L, slot, false);
+
+    NotificationSendEvent send = new NotificationSendEvent();
+    send.begin();
+    send.finish("CONFIRMATION", true, 1_500_000);
+
+    Resource dump = endpoint.dump(recording.id());
+
+    // Then
+    List<RecordedEvent> events = RecordingFile.readAllEvents(dump.getFile().toPath()).stream()
+        .filter(event -> event.getEventType().getName().startsWith("com.thiefspin"))
+        .toList();
+    assertThat(dump.getFile().toPath().getParent()).isEqualTo(directory);
+    assertThat(events).extracting(event -> event.getEventType().getName())
+        .containsExactlyInAnyOrder(
+            "com.thiefspin.bookingsystem.Validation",
+            "com.thiefspin.bookingsystem.Appointment",
+            "com.thiefspin.bookingsystem.NotificationSend");
+
+    RecordedEvent rejected = events.stream()
+        .filter(event -> event.getEventType().getName().endsWith("Validation"))
+        .findFirst()
+        .orElseThrow();
+    assertThat(rejected.getLong("branchId")).isEqualTo(7L);
+    assertThat(rejected.getString("outcome")).isEqualTo("slot_full");
+
+    RecordedEvent sent = events.stream()
+        .filter(event -> event.getEventType().getName().endsWith("NotificationSend"))
+        .findFirst()
+        .orElseThrow();
+    assertThat(sent.getDuration("queueWait")).isEqualTo(Duration.ofNanos(1_500_000));
+  }
+
+  @Test
+  @DisplayName("Should list and stop recordings")
+  void shouldListAndStopRecordings() throws Exception {
+    // Given
+    RecordingDescriptor started = endpoint.start("profile", Duration.ofMinutes(1));
+
+    // When
+    List<RecordingDescriptor> running = endpoint.recordings();
+    RecordingDescriptor stopped = endpoint.stop(started.id());
+
+    // Then
+    assertThat(running).extracting(RecordingDescriptor::id).contains(started.id());
+    assertThat(stopped.duration()).isEqualTo(Duration.ofMinutes(1));
+    assertThat(endpoint.recordings()).extracting(RecordingDescriptor::id)
+        .doesNotContain(started.id());
+    assertThat(endpoint.dump(started.id())).isNull();
+  }
+
+  @Test
+  @DisplayName("Should parse the booking template")
+  void shouldParseBookingTemplate() throws Exception {
+    // When
+    var settings = FlightRecorderEndpoint.bookingConfiguration().getSettings();
+
+    // Then
+    assertThat(settings)
+        .containsEntry("com.thiefspin.bookingsystem.Appointment#enabled", "true")
+        .containsEntry("com.thiefspin.bookingsystem.NotificationSend#threshold", "0 ms");
+  }
+}
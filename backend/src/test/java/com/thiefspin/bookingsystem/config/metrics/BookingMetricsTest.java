@@ -0,0 +1,72 @@
+package com.thiefspin.bookingsystem.config.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Operation;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics.Rejection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BookingMetrics Tests")
+class BookingMetricsTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private BookingMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new BookingMetrics(meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should register every operation, outcome and rejection up front")
+  void shouldRegisterMetersUpFront() {
+    // Then
+    assertThat(meterRegistry.find("booking.operation").timers())
+        .hasSize(Operation.values().length * 2);
+    assertThat(meterRegistry.find("booking.rejections").counters())
+        .hasSize(Rejection.values().length);
+  }
+
+  @Test
+  @DisplayName("Should record operations by outcome")
+  void shouldRecordOperationsByOutcome() {
+    // When
+    long started = System.nanoTime();
+    metrics.record(Operation.CREATE_APPOINTMENT, started, true);
+    metrics.record(Operation.CREATE_APPOINTMENT, started, true);
+    metrics.record(Operation.CREATE_APPOINTMENT, started, false);
+
+    // Then
+    assertThat(meterRegistry.get("booking.operation")
+        .tags("operation", "create_appointment", "outcome", "success").timer().count())
+        .isEqualTo(2);
+    assertThat(meterRegistry.get("booking.operation")
+        .tags("operation", "create_appointment", "outcome", "failure").timer().count())
+        .isEqualTo(1);
+    assertThat(meterRegistry.get("booking.operation")
+        .tags("operation", "cancel_appointment", "outcome", "success").timer().count())
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("Should count rejections by reason")
+  void shouldCountRejectionsByReason() {
+    // When
+    metrics.reject(Rejection.SLOT_FULL);
+    metrics.reject(Rejection.SLOT_FULL);
+    metrics.reject(Rejection.NOT_CANCELLABLE);
+
+    // Then
+    assertThat(meterRegistry.get("booking.rejections").tag("reason", "slot_full").counter()
+        .count()).isEqualTo(2);
+    assertThat(meterRegistry.get("booking.rejections").tag("reason", "not_cancellable").counter()
+        .count()).isEqualTo(1);
+    assertThat(meterRegistry.get("booking.rejections").tag("reason", "outside_hours").counter()
+        .count()).isZero();
+  }
+}
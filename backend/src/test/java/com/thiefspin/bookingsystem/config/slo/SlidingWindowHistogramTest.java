@@ -0,0 +1,95 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.config.slo.SlidingWindowHistogram.Window;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SlidingWindowHistogram Tests")
+class SlidingWindowHistogramTest {
+
+  private static final long BUCKET_MILLIS = 10_000;
+
+  private static final long NOW = 1_000_000_000_000L;
+
+  private SlidingWindowHistogram histogram;
+
+  @BeforeEach
+  void setUp() {
+    histogram = new SlidingWindowHistogram(BUCKET_MILLIS, 360);
+  }
+
+  @Test
+  @DisplayName("Should place every latency in a bin whose bounds contain it")
+  void shouldBinLatenciesWithinBounds() {
+    for (long micros = 0; micros < 5_000_000; micros += micros / 7 + 1) {
+      int bin = SlidingWindowHistogram.bin(micros);
+
+      assertThat(SlidingWindowHistogram.lowerBound(bin)).isLessThanOrEqualTo(micros);
+      assertThat(SlidingWindowHistogram.lowerBound(bin + 1)).isGreaterThan(micros);
+    }
+  }
+
+  @Test
+  @DisplayName("Should report percentiles within the bin resolution")
+  void shouldReportPercentiles() {
+    // Given
+    for (int i = 1; i <= 1_000; i++) {
+      histogram.record(NOW, i * 1_000L, false, false);
+    }
+
+    // When
+    Window window = histogram.window(NOW, 60_000);
+
+    // Then
+    assertThat(window.requests()).isEqualTo(1_000);
+    assertThat(window.percentile(0.50)).isBetween(500_000L, 562_500L);
+    assertThat(window.percentile(0.99)).isBetween(990_000L, 1_113_750L);
+  }
+
+  @Test
+  @DisplayName("Should only merge the buckets inside the window")
+  void shouldOnlyMergeBucketsInsideWindow() {
+    // Given
+    histogram.record(NOW - 30 * 60_000, 1_000, true, true);
+    histogram.record(NOW - 3 * 60_000, 1_000, false, true);
+    histogram.record(NOW, 1_000, false, false);
+
+    // Then
+    assertThat(histogram.window(NOW, 60_000).requests()).isEqualTo(1);
+    assertThat(histogram.window(NOW, 5 * 60_000).misses()).isEqualTo(1);
+    Window hour = histogram.window(NOW, 60 * 60_000);
+    assertThat(hour.requests()).isEqualTo(3);
+    assertThat(hour.errors()).isEqualTo(1);
+    assertThat(hour.misses()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should clear a bucket when it is reused for a later interval")
+  void shouldClearReusedBuckets() {
+    // Given
+    histogram.record(NOW, 1_000, true, true);
+
+    // When
+    long hourLater = NOW + 360 * BUCKET_MILLIS;
+    histogram.record(hourLater, 2_000, false, false);
+
+    // Then
+    Window window = histogram.window(hourLater, 60 * 60_000);
+    assertThat(window.requests()).isEqualTo(1);
+    assertThat(window.errors()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should report zero for an empty window")
+  void shouldReportZeroForEmptyWindow() {
+    // When
+    Window window = histogram.window(NOW, 60_000);
+
+    // Then
+    assertThat(window.requests()).isZero();
+    assertThat(window.percentile(0.99)).isZero();
+  }
+}
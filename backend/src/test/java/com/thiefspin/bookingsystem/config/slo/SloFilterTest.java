@@ -0,0 +1,126 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.thiefspin.bookingsystem.config.slo.SloProperties.Objective;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@DisplayName("SloFilter Tests")
+class SloFilterTest {
+
+  private SloRegistry registry;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    Duration threshold = Duration.ofSeconds(30);
+    SloProperties properties = new SloProperties(null, Map.of(
+        "branch", new Objective("GET", "/api/branches/{id}", threshold, 0.99),
+        "unavailable", new Objective("GET", "/api/unavailable", threshold, 0.99),
+        "missing", new Objective("GET", "/api/missing", threshold, 0.99),
+        "broken", new Objective("GET", "/api/broken", threshold, 0.99)
+    ));
+    registry = new SloRegistry(properties, new SimpleMeterRegistry());
+    mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+        .addFilters(new SloFilter(registry))
+        .build();
+  }
+
+  private SloSnapshot snapshot(String objective) {
+    return registry.snapshot(objective, SloWindow.ONE_HOUR).orElseThrow();
+  }
+
+  @Test
+  @DisplayName("Should record requests under the objective of their mapping pattern")
+  void shouldRecordUnderMappingPattern() throws Exception {
+    // When
+    mockMvc.perform(get("/api/branches/1")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/branches/2")).andExpect(status().isOk());
+
+    // Then
+    assertThat(snapshot("branch").requests()).isEqualTo(2);
+    assertThat(snapshot("branch").errors()).isZero();
+    assertThat(snapshot("unavailable").requests()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should ignore unmatched routes and methods without an objective")
+  void shouldIgnoreUnmatchedRequests() throws Exception {
+    // When
+    mockMvc.perform(get("/api/untracked")).andExpect(status().isOk());
+    mockMvc.perform(get("/api/nowhere")).andExpect(status().isNotFound());
+    mockMvc.perform(post("/api/branches/1")).andExpect(status().isOk());
+
+    // Then
+    registry.snapshots().values().forEach(windows ->
+        assertThat(windows.get(SloWindow.ONE_HOUR).requests()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should count server errors and exceptions as errors but not client errors")
+  void shouldCountServerErrors() throws Exception {
+    // When
+    mockMvc.perform(get("/api/unavailable")).andExpect(status().isServiceUnavailable());
+    mockMvc.perform(get("/api/missing")).andExpect(status().isNotFound());
+    assertThatThrownBy(() -> mockMvc.perform(get("/api/broken")))
+        .hasRootCauseInstanceOf(IllegalStateException.class);
+
+    // Then
+    assertThat(snapshot("unavailable").errors()).isEqualTo(1);
+    assertThat(snapshot("missing").requests()).isEqualTo(1);
+    assertThat(snapshot("missing").errors()).isZero();
+    assertThat(snapshot("broken").errors()).isEqualTo(1);
+    assertThat(snapshot("broken").misses()).isEqualTo(1);
+  }
+
+  @RestController
+  static class TestController {
+
+    @GetMapping("/api/branches/{id}")
+    String branch(@PathVariable("id") Long id) {
+      return "branch " + id;
+    }
+
+    @PostMapping("/api/branches/{id}")
+    String updateBranch(@PathVariable("id") Long id) {
+      return "updated " + id;
+    }
+
+    @GetMapping("/api/untracked")
+    String untracked() {
+      return "untracked";
+    }
+
+    @GetMapping("/api/unavailable")
+    ResponseEntity<Void> unavailable() {
+      return ResponseEntity.status(503).build();
+    }
+
+    @GetMapping("/api/missing")
+    ResponseEntity<Void> missing() {
+      return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/api/broken")
+    String broken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.thiefspin.bookingsystem.config.slo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.thiefspin.bookingsystem.config.slo.SloProperties.Objective;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SloRegistry Tests")
+class SloRegistryTest {
+
+  private static final String SLOTS = "/api/appointments/slots";
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private SloRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    SloProperties properties = new SloProperties(null, Map.of(
+        "slots", new Objective("GET", SLOTS, Duration.ofMillis(300), 0.99)
+    ));
+    registry = new SloRegistry(properties, meterRegistry,
+        Clock.fixed(Instant.parse("2030-01-15T10:00:00Z"), ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("Should compute burn rate from errors and slow requests")
+  void shouldComputeBurnRate() {
+    // Given
+    for (int i = 0; i < 96; i++) {
+      registry.record("GET", SLOTS, TimeUnit.MILLISECONDS.toNanos(50), false);
+    }
+    registry.record("GET", SLOTS, TimeUnit.MILLISECONDS.toNanos(400), false);
+    registry.record("GET", SLOTS, TimeUnit.MILLISECONDS.toNanos(400), false);
+    registry.record("GET", SLOTS, TimeUnit.MILLISECONDS.toNanos(20), true);
+    registry.record("GET", SLOTS, TimeUnit.MILLISECONDS.toNanos(20), true);
+
+    // When
+    SloSnapshot snapshot = registry.snapshot("slots", SloWindow.FIVE_MINUTES).orElseThrow();
+
+    // Then
+    assertThat(snapshot.requests()).isEqualTo(100);
+    assertThat(snapshot.errors()).isEqualTo(2);
+    assertThat(snapshot.misses()).isEqualTo(4);
+    assertThat(snapshot.burnRate()).isCloseTo(4.0, within(1e-9));
+    assertThat(snapshot.p50Millis()).isBetween(50.0, 56.25);
+    assertThat(registry.burnRate("slots", SloWindow.ONE_MINUTE)).hasValue(snapshot.burnRate());
+  }
+
+  @Test
+  @DisplayName("Should ignore requests to other methods and endpoints")
+  void shouldIgnoreOtherRequests() {
+    // When
+    registry.record("POST", SLOTS, 1_000, true);
+    registry.record("GET", "/api/appointments/lookup", 1_000, true);
+
+    // Then
+    assertThat(registry.snapshot("slots", SloWindow.ONE_HOUR).orElseThrow().requests()).isZero();
+    assertThat(registry.burnRate("lookup", SloWindow.ONE_HOUR)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should publish a burn rate gauge per objective and window")
+  void shouldPublishBurnRateGauges() {
+    // When
+    registry.record("GET", SLOTS, 1_000, true);
+
+    // Then
+    assertThat(meterRegistry.find("slo.burn.rate").gauges()).hasSize(SloWindow.values().length);
+    assertThat(meterRegistry.get("slo.burn.rate").tag("window", "1m").gauge().value())
+        .isCloseTo(100.0, within(1e-9));
+  }
+}
@@ -0,0 +1,114 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+@DisplayName("CountingDataSource Tests")
+class CountingDataSourceTest {
+
+  @RegisterExtension
+  final SqlStatementCounter sql = new SqlStatementCounter();
+
+  private CountingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:counting;DB_CLOSE_DELAY=-1");
+    dataSource = new CountingDataSource(h2);
+  }
+
+  @Test
+  @DisplayName("Should count statements, prepared statements and batches")
+  void shouldCountStatements() throws Exception {
+    // Given
+    try (Connection connection = dataSource.getConnection()) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("CREATE TABLE IF NOT EXISTS counted (id INT)");
+      }
+      sql.reset();
+
+      // When
+      try (PreparedStatement insert = connection.prepareStatement(
+          "INSERT INTO counted (id) VALUES (?)")) {
+        for (int i = 0; i < 3; i++) {
+          insert.setInt(1, i);
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+      try (Statement statement = connection.createStatement();
+          ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM counted")) {
+        rs.next();
+      }
+    }
+
+    // Then
+    assertThat(sql.statements()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should add a closed scope to the scope it was opened in")
+  void shouldRollNestedScopesUp() throws Exception {
+    // Given
+    sql.reset();
+
+    // When
+    SqlStatistics request = SqlAccounting.begin();
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SELECT 1");
+      statement.execute("SELECT 2");
+    } finally {
+      SqlAccounting.end(request);
+    }
+
+    // Then
+    assertThat(request.statements()).isEqualTo(2);
+    assertThat(sql.statements()).isEqualTo(2);
+    assertThat(SqlAccounting.current()).isNotSameAs(request);
+  }
+
+  @Test
+  @DisplayName("Should not count statements outside of any scope")
+  void shouldNotCountOutsideScope() throws Exception {
+    // Given
+    sql.reset();
+
+    // When
+    Thread other = new Thread(() -> {
+      try (Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.execute("SELECT 1");
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    other.start();
+    other.join();
+
+    // Then
+    assertThat(sql.statements()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should unwrap to the driver's connection")
+  void shouldUnwrapToDriverConnection() throws Exception {
+    // When / Then
+    try (Connection connection = dataSource.getConnection()) {
+      assertThat(connection.isWrapperFor(JdbcConnection.class)).isTrue();
+      assertThat(connection.unwrap(JdbcConnection.class)).isInstanceOf(JdbcConnection.class);
+      assertThat(connection).isEqualTo(connection);
+    }
+  }
+}
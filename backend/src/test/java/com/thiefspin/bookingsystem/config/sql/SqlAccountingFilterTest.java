@@ -0,0 +1,63 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+@DisplayName("SqlAccountingFilter Tests")
+class SqlAccountingFilterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private SqlAccountingFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    filter = new SqlAccountingFilter(new SqlAccountingProperties(null, null, null, null),
+        meterRegistry);
+  }
+
+  private void perform(String method, String pattern) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+    if (pattern != null) {
+      request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+    }
+    filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+  }
+
+  @Test
+  @DisplayName("Should record every request of a route on the same meters")
+  void shouldReuseMetersPerRoute() throws Exception {
+    // When
+    perform("GET", "/api/branches");
+    perform("GET", "/api/branches");
+    perform("POST", "/api/branches");
+
+    // Then
+    DistributionSummary get = meterRegistry.get("http.server.requests.sql.statements")
+        .tag("method", "GET").tag("uri", "/api/branches").summary();
+    assertThat(get.count()).isEqualTo(2);
+    assertThat(meterRegistry.get("http.server.requests.sql.time")
+        .tag("method", "POST").tag("uri", "/api/branches").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.find("http.server.requests.sql.statements").summaries()).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Should not record requests that were not mapped to a handler")
+  void shouldSkipUnmappedRequests() throws Exception {
+    // When
+    perform("GET", null);
+
+    // Then
+    assertThat(meterRegistry.find("http.server.requests.sql.statements").summaries()).isEmpty();
+  }
+}
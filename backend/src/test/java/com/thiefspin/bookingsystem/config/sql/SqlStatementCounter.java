@@ -0,0 +1,39 @@
+package com.thiefspin.bookingsystem.config.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Counts the SQL statements a test runs on its own thread, which includes requests made through
+ * {@code MockMvc}. Register it with {@code @RegisterExtension} and call {@link #reset()} right
+ * before the part of the test being measured.
+ */
+public class SqlStatementCounter implements BeforeEachCallback, AfterEachCallback {
+
+  private SqlStatistics statistics;
+
+  @Override
+  public void beforeEach(ExtensionContext context) {
+    statistics = SqlAccounting.begin();
+  }
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    SqlAccounting.end(statistics);
+    statistics = null;
+  }
+
+  public void reset() {
+    SqlAccounting.end(statistics);
+    statistics = SqlAccounting.begin();
+  }
+
+  public int statements() {
+    return statistics.statements();
+  }
+
+  public long millis() {
+    return statistics.millis();
+  }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thiefspin.bookingsystem.appointments.Appointment;
 import com.thiefspin.bookingsystem.appointments.AppointmentService;
 import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.appointments.export.AppointmentExporter;
+import com.thiefspin.bookingsystem.appointments.export.ExportFormat;
 import com.thiefspin.bookingsystem.appointments.requests.AppointmentRequest;
 import com.thiefspin.bookingsystem.appointments.slots.TimeSlot;
 import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
@@ -15,10 +17,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -47,6 +53,9 @@ class AppointmentControllerTest {
     @MockBean
     private AppointmentService appointmentService;
 
+    @MockBean
+    private AppointmentExporter appointmentExporter;
+
     private AppointmentRequest validRequest;
     private Appointment testAppointment;
     private final String TEST_BOOKING_REF = "BK12345678";
@@ -450,4 +459,103 @@ class AppointmentControllerTest {
             verify(appointmentService).cancelAppointment(eq(TEST_BOOKING_REF), anyString());
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/appointments/export")
+    class ExportAppointmentsTests {
+
+        private final LocalDate from = LocalDate.of(2025, 1, 6);
+        private final LocalDate to = LocalDate.of(2025, 1, 10);
+
+        @Test
+        @DisplayName("Should stream the export as an attachment")
+        void shouldStreamExport() throws Exception {
+            // Given
+            when(appointmentExporter.export(eq(1L), eq(from), eq(to), eq(ExportFormat.CSV),
+                eq(false), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(5);
+                    out.write("id,booking_reference\r\n1,BK12345678\r\n"
+                        .getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+            // When
+            MvcResult result = mockMvc.perform(get("/api/appointments/export")
+                    .param("branchId", "1")
+                    .param("from", from.toString())
+                    .param("to", to.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                    containsString("appointments-1-2025-01-06-2025-01-10.csv")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("id,booking_reference\r\n1,BK12345678\r\n"));
+        }
+
+        @Test
+        @DisplayName("Should gzip the export when the client accepts it")
+        void shouldGzipWhenAccepted() throws Exception {
+            // When
+            MvcResult result = mockMvc.perform(get("/api/appointments/export")
+                    .param("branchId", "1")
+                    .param("from", from.toString())
+                    .param("to", to.toString())
+                    .param("format", "NDJSON")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+            verify(appointmentExporter).export(eq(1L), eq(from), eq(to), eq(ExportFormat.NDJSON),
+                eq(true), any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Should not gzip the export when the client refuses it with q=0")
+        void shouldNotGzipWhenRefused() throws Exception {
+            // When
+            MvcResult result = mockMvc.perform(get("/api/appointments/export")
+                    .param("branchId", "1")
+                    .param("from", from.toString())
+                    .param("to", to.toString())
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            // Then
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+            verify(appointmentExporter).export(eq(1L), eq(from), eq(to), eq(ExportFormat.CSV),
+                eq(false), any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 before streaming when the range is invalid")
+        void shouldReturn400WhenRangeInvalid() throws Exception {
+            // Given
+            doThrow(new BadRequestException("Export end date must not be before its start date"))
+                .when(appointmentExporter).validate(1L, to, from);
+
+            // When & Then
+            mockMvc.perform(get("/api/appointments/export")
+                    .param("branchId", "1")
+                    .param("from", to.toString())
+                    .param("to", from.toString()))
+                .andExpect(status().isBadRequest());
+
+            verify(appointmentExporter, never()).export(anyLong(), any(), any(), any(),
+                anyBoolean(), any());
+        }
+    }
 }
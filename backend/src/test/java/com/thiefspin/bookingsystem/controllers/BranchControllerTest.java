@@ -2,7 +2,12 @@ package com.thiefspin.bookingsystem.controllers;
 
 import com.thiefspin.bookingsystem.branches.Branch;
 import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.branches.geo.NearbyBranch;
+import com.thiefspin.bookingsystem.branches.geo.NearbyBranchService;
+import com.thiefspin.bookingsystem.util.exceptions.BadRequestException;
 import com.thiefspin.bookingsystem.util.exceptions.NotFoundException;
+import com.thiefspin.bookingsystem.util.pagination.KeysetPage;
+import com.thiefspin.bookingsystem.util.pagination.PaginationMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +20,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalTime;
 import java.util.Arrays;
@@ -36,6 +43,9 @@ class BranchControllerTest {
     @Mock
     private BranchService branchService;
 
+    @Mock
+    private NearbyBranchService nearbyBranchService;
+
     @InjectMocks
     private BranchController branchController;
 
@@ -67,16 +77,17 @@ class BranchControllerTest {
             // Given
             List<Branch> branches = Arrays.asList(testBranch);
             Page<Branch> page = new PageImpl<>(branches, pageable, branches.size());
-            when(branchService.list(any(Pageable.class))).thenReturn(page);
+            when(branchService.list(any(Pageable.class), eq(PaginationMode.EXACT))).thenReturn(page);
 
             // When
-            Page<Branch> result = branchController.list(pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.list(pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0)).isEqualTo(testBranch);
-            verify(branchService).list(pageable);
+            verify(branchService).list(pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -84,16 +95,76 @@ class BranchControllerTest {
         void shouldReturnEmptyPage() {
             // Given
             Page<Branch> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(branchService.list(any(Pageable.class))).thenReturn(emptyPage);
+            when(branchService.list(any(Pageable.class), eq(PaginationMode.EXACT))).thenReturn(emptyPage);
 
             // When
-            Page<Branch> result = branchController.list(pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.list(pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isZero();
-            verify(branchService).list(pageable);
+            verify(branchService).list(pageable, PaginationMode.EXACT);
+        }
+
+        @Test
+        @DisplayName("should return a slice without totals in slice mode")
+        void shouldReturnSliceInSliceMode() {
+            // Given
+            Slice<Branch> slice = new SliceImpl<>(List.of(testBranch), pageable, true);
+            when(branchService.list(pageable, PaginationMode.SLICE)).thenReturn(slice);
+
+            // When
+            Slice<Branch> result = branchController.list(pageable, PaginationMode.SLICE);
+
+            // Then
+            assertThat(result).isNotInstanceOf(Page.class);
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.hasNext()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Scroll Branches")
+    class ScrollBranchesTests {
+
+        @Test
+        @DisplayName("should pass cursor and size to the service")
+        void shouldPassCursorAndSize() throws BadRequestException {
+            // Given
+            KeysetPage<Branch> window = new KeysetPage<>(List.of(testBranch), 1, true, "next");
+            when(branchService.scroll("cursor", 1)).thenReturn(window);
+
+            // When
+            KeysetPage<Branch> result = branchController.scroll("cursor", 1);
+
+            // Then
+            assertThat(result.content()).containsExactly(testBranch);
+            assertThat(result.hasNext()).isTrue();
+            assertThat(result.nextCursor()).isEqualTo("next");
+            verify(branchService).scroll("cursor", 1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Nearby Branches")
+    class NearbyBranchesTests {
+
+        @Test
+        @DisplayName("should pass location and filters to the nearby service")
+        void shouldPassLocationAndFilters() throws BadRequestException {
+            // Given
+            NearbyBranch nearby = new NearbyBranch(testBranch, 1.5, null);
+            when(nearbyBranchService.findNearby(-33.9, 18.4, 5, 10.0, true, false))
+                .thenReturn(List.of(nearby));
+
+            // When
+            List<NearbyBranch> result = branchController.nearby(-33.9, 18.4, 5, 10.0, true, false);
+
+            // Then
+            assertThat(result).containsExactly(nearby);
+            verify(nearbyBranchService).findNearby(-33.9, 18.4, 5, 10.0, true, false);
         }
     }
 
@@ -142,16 +213,18 @@ class BranchControllerTest {
             String searchQuery = "Main";
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).name()).contains("Main");
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -171,16 +244,18 @@ class BranchControllerTest {
             );
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).address()).contains("123 Main St");
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -190,16 +265,18 @@ class BranchControllerTest {
             String searchQuery = "BR001";
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).code()).isEqualTo("BR001");
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -208,16 +285,18 @@ class BranchControllerTest {
             // Given
             String searchQuery = "NonExistent";
             Page<Branch> emptyResults = new PageImpl<>(Collections.emptyList(), pageable, 0);
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(emptyResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(emptyResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).isEmpty();
             assertThat(result.getTotalElements()).isZero();
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -227,15 +306,17 @@ class BranchControllerTest {
             String searchQuery = "Mai";
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -245,16 +326,18 @@ class BranchControllerTest {
             String searchQuery = "main";
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(anyString(), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(anyString(), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
             assertThat(result.getContent().get(0).name()).isEqualTo("Main Branch");
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -264,15 +347,17 @@ class BranchControllerTest {
             String searchQuery = "  Main  ";
             List<Branch> matchingBranches = Arrays.asList(testBranch);
             Page<Branch> searchResults = new PageImpl<>(matchingBranches, pageable, matchingBranches.size());
-            when(branchService.search(eq(searchQuery), any(Pageable.class))).thenReturn(searchResults);
+            when(branchService.search(eq(searchQuery), any(Pageable.class), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, pageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, pageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
             assertThat(result.getContent()).hasSize(1);
-            verify(branchService).search(searchQuery, pageable);
+            verify(branchService).search(searchQuery, pageable, PaginationMode.EXACT);
         }
 
         @Test
@@ -297,10 +382,12 @@ class BranchControllerTest {
                 customPageable,
                 10 // Total elements
             );
-            when(branchService.search(anyString(), eq(customPageable))).thenReturn(searchResults);
+            when(branchService.search(anyString(), eq(customPageable), eq(PaginationMode.EXACT)))
+                .thenReturn(searchResults);
 
             // When
-            Page<Branch> result = branchController.search(searchQuery, customPageable);
+            Page<Branch> result =
+                (Page<Branch>) branchController.search(searchQuery, customPageable, PaginationMode.EXACT);
 
             // Then
             assertThat(result).isNotNull();
@@ -308,7 +395,7 @@ class BranchControllerTest {
             assertThat(result.getNumber()).isEqualTo(1); // Page number
             assertThat(result.getSize()).isEqualTo(5); // Page size
             assertThat(result.getTotalElements()).isEqualTo(10);
-            verify(branchService).search(searchQuery, customPageable);
+            verify(branchService).search(searchQuery, customPageable, PaginationMode.EXACT);
         }
     }
 }
@@ -0,0 +1,210 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Imports through {@code POST /api/imports/appointments} into Postgres, covering COPY into the
+ * staging table, duplicate references, the rejects file and the import lock.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+class AppointmentImportIntegrationTest extends BaseIntegrationTest {
+
+  private static final Path REJECTS_DIRECTORY = createRejectsDirectory();
+
+  private static final String HEADER = "branch_code,booking_reference,customer_first_name,"
+      + "customer_last_name,customer_email,customer_phone,appointment_date_time,"
+      + "duration_minutes,status,created_at";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private final String email = "import-" + UUID.randomUUID().toString().substring(0, 8)
+      + "@example.com";
+
+  @DynamicPropertySource
+  static void registerImportProperties(DynamicPropertyRegistry registry) {
+    registry.add("appointments.import.rejects-directory", REJECTS_DIRECTORY::toString);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM booking.appointments WHERE customer_email = ?", email);
+  }
+
+  @Test
+  @DisplayName("Should import valid rows and list the rest in the rejects file")
+  void shouldImportMixedFile() throws Exception {
+    // Given
+    String reference = newReference();
+    LocalDateTime future = LocalDate.now().plusMonths(2).atTime(10, 0);
+    LocalDateTime past = LocalDate.now().minusMonths(2).atTime(11, 0);
+    String csv = String.join("\n", List.of(
+        HEADER,
+        row("CPT001", reference, future, "CONFIRMED", ""),
+        row("CPT001", "", future.plusMinutes(30), "", ""),
+        row("CPT001", reference, future.plusHours(1), "CONFIRMED", ""),
+        row("XXX999", "", future, "", ""),
+        row("CPT001", "", past, "CONFIRMED", past.minusDays(7).toString()),
+        row("CPT001", "", past, "COMPLETED", past.minusDays(7).toString())
+    )) + "\n";
+
+    // When
+    String response = mockMvc.perform(post("/api/imports/appointments")
+            .contentType("text/csv")
+            .content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rowsRead").value(6))
+        .andExpect(jsonPath("$.imported").value(3))
+        .andExpect(jsonPath("$.rejected").value(3))
+        .andReturn().getResponse().getContentAsString();
+
+    // Then
+    List<String> statuses = jdbcTemplate.queryForList("""
+        SELECT status::TEXT FROM booking.appointments
+        WHERE customer_email = ? ORDER BY appointment_date_time
+        """, String.class, email);
+    assertThat(statuses).containsExactly("COMPLETED", "CONFIRMED", "CONFIRMED");
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT customer_email FROM booking.appointments WHERE booking_reference = ?",
+        String.class, reference)).isEqualTo(email);
+    assertThat(jdbcTemplate.queryForList(
+        "SELECT booking_reference FROM booking.appointments WHERE customer_email = ?",
+        String.class, email))
+        .allMatch(it -> it.matches("^BK[A-Z0-9]{8}$"))
+        .doesNotHaveDuplicates();
+
+    JsonNode result = objectMapper.readTree(response);
+    List<String> rejects = Files.readAllLines(Path.of(result.get("rejectsFile").asText()));
+    assertThat(rejects).hasSize(4);
+    assertThat(rejects.get(0)).startsWith("row,reason,branch_code");
+    assertThat(String.join("\n", rejects.subList(1, 4)))
+        .contains("4,Duplicate booking reference " + reference + ",CPT001," + reference
+            + ",Jane,Importer," + email + ",+27-21-555-0199," + future.plusHours(1) + ",30,"
+            + "CONFIRMED,")
+        .contains("5,Unknown branch code")
+        .contains("6,\"Past appointments must have status");
+  }
+
+  @Test
+  @DisplayName("Should not let rejected duplicates or closed rows take a place in the slot")
+  void shouldCheckCapacityWithoutDuplicates() throws Exception {
+    // Given
+    String reference = newReference();
+    LocalDateTime slot = LocalDate.now().plusMonths(2).atTime(15, 30);
+    List<String> rows = new ArrayList<>(List.of(
+        HEADER,
+        row("CPT001", reference, slot, "CONFIRMED", ""),
+        row("CPT001", reference, slot, "CONFIRMED", ""),
+        row("CPT001", "", slot, "CANCELLED", "")
+    ));
+    // CPT001 takes five appointments per slot
+    for (int i = 0; i < 5; i++) {
+      rows.add(row("CPT001", "", slot, "", ""));
+    }
+
+    // When
+    String response = mockMvc.perform(post("/api/imports/appointments")
+            .contentType("text/csv")
+            .content(String.join("\n", rows) + "\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rowsRead").value(8))
+        .andExpect(jsonPath("$.imported").value(6))
+        .andExpect(jsonPath("$.rejected").value(2))
+        .andReturn().getResponse().getContentAsString();
+
+    // Then
+    JsonNode result = objectMapper.readTree(response);
+    List<String> rejects = Files.readAllLines(Path.of(result.get("rejectsFile").asText()));
+    assertThat(rejects).hasSize(3);
+    assertThat(rejects.get(1)).startsWith("3,Duplicate booking reference " + reference);
+    assertThat(rejects.get(2)).startsWith("9,Slot is fully booked,CPT001,BK")
+        .contains(email);
+  }
+
+  @Test
+  @DisplayName("Should refuse an import while another one holds the import lock")
+  void shouldRefuseConcurrentImport() throws Exception {
+    // Given
+    String csv = HEADER + "\n"
+        + row("CPT001", "", LocalDate.now().plusMonths(2).atTime(12, 0), "", "") + "\n";
+
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("SELECT pg_advisory_lock(hashtext('appointment-import'))");
+      try {
+        // When / Then
+        mockMvc.perform(post("/api/imports/appointments")
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isConflict());
+      } finally {
+        statement.execute("SELECT pg_advisory_unlock(hashtext('appointment-import'))");
+      }
+    }
+
+    assertThat(jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM booking.appointments WHERE customer_email = ?",
+        Integer.class, email)).isZero();
+  }
+
+  private String row(String branchCode, String reference, LocalDateTime appointmentDateTime,
+      String status, String createdAt) {
+    return String.join(",", branchCode, reference, "Jane", "Importer", email, "+27-21-555-0199",
+        appointmentDateTime.toString(), "30", status, createdAt);
+  }
+
+  private static String newReference() {
+    return "BK" + UUID.randomUUID().toString().replace("-", "").substring(0, 8)
+        .toUpperCase(Locale.ROOT);
+  }
+
+  private static Path createRejectsDirectory() {
+    try {
+      return Files.createTempDirectory("appointment-import-rejects");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
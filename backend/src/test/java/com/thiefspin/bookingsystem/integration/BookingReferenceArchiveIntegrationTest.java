@@ -0,0 +1,109 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.BookingReferenceGenerator;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.archive.AppointmentArchiver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * A booking reference stays taken after its appointment is archived out of
+ * {@code booking.appointments}, so the generator never hands it out again.
+ */
+@SpringBootTest(properties = {
+    "appointments.archive.enabled=true",
+    "appointments.archive.cron=-"
+})
+@ActiveProfiles("integration")
+class BookingReferenceArchiveIntegrationTest extends BaseIntegrationTest {
+
+  private static final Path ARCHIVE_DIRECTORY = createArchiveDirectory();
+
+  @Autowired
+  private AppointmentArchiver archiver;
+
+  @Autowired
+  private BookingReferenceGenerator generator;
+
+  @Autowired
+  private AppointmentRepository appointmentRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final String email = "archive-" + UUID.randomUUID().toString().substring(0, 8)
+      + "@example.com";
+
+  @DynamicPropertySource
+  static void registerArchiveProperties(DynamicPropertyRegistry registry) {
+    registry.add("appointments.archive.directory", ARCHIVE_DIRECTORY::toString);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM booking.appointments WHERE customer_email = ?", email);
+  }
+
+  @Test
+  @DisplayName("Should not hand out the reference of an archived appointment")
+  void shouldRejectArchivedReference() {
+    // Given
+    String archived = newReference();
+    String fresh = newReference();
+    LocalDateTime threeYearsAgo = LocalDateTime.now().minusYears(3).withNano(0);
+    jdbcTemplate.queryForObject("SELECT booking.create_appointment_partition(?)", String.class,
+        threeYearsAgo.toLocalDate());
+    jdbcTemplate.update("""
+            INSERT INTO booking.appointments (booking_reference, branch_id, customer_first_name,
+                customer_last_name, customer_email, customer_phone, appointment_date_time,
+                duration_minutes, status, created_at)
+            VALUES (?, (SELECT id FROM booking.branches WHERE code = 'CPT001'), 'Jane', 'Doe', ?,
+                '+27821234567', ?, 30, 'COMPLETED', ?)
+            """,
+        archived, email, threeYearsAgo, threeYearsAgo.minusDays(1));
+
+    archiver.run();
+    assertThat(appointmentRepository.findByBookingReference(archived)).isEmpty();
+
+    BookingReferenceGenerator candidates = spy(generator);
+    doReturn(archived, fresh).when(candidates).candidate();
+
+    // When
+    String reference = candidates.generate();
+
+    // Then
+    assertThat(reference).isEqualTo(fresh);
+    assertThat(appointmentRepository.existsBookingReference(archived)).isTrue();
+  }
+
+  private static String newReference() {
+    return "BK" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT);
+  }
+
+  private static Path createArchiveDirectory() {
+    try {
+      return Files.createTempDirectory("appointment-archive");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.BranchService;
+import com.thiefspin.bookingsystem.branches.BranchesChangedEvent;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalog;
+import com.thiefspin.bookingsystem.config.cache.CacheInvalidationBus;
+import com.thiefspin.bookingsystem.config.metrics.BookingMetrics;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * A branch change seen by one node reaches another through Postgres {@code NOTIFY}. The
+ * application context is the receiving node; the sending node is wired by hand from the same
+ * classes against the same database.
+ */
+@SpringBootTest(properties = {
+    "caches.invalidation.enabled=true",
+    "branch.catalog.refresh-interval=PT1H"
+})
+@ActiveProfiles("integration")
+class BranchInvalidationIntegrationTest extends BaseIntegrationTest {
+
+  private static final long BRANCH_ID = 1L;
+
+  @Autowired
+  private BranchService branchService;
+
+  @Autowired
+  private BranchCatalog branchCatalog;
+
+  @Autowired
+  private BranchRepository branchRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private BookingMetrics bookingMetrics;
+
+  private BranchCatalog otherNodeCatalog;
+
+  private String originalName;
+
+  @BeforeEach
+  void startOtherNode() {
+    BranchService[] otherNodeService = new BranchService[1];
+    CacheInvalidationBus otherNodeBus = new CacheInvalidationBus(
+        new ConcurrentMapCacheManager(), event -> {}, jdbcTemplate, true,
+        "cache_invalidation", 256);
+    otherNodeCatalog = new BranchCatalog(branchRepository, event -> {
+      if (event instanceof BranchesChangedEvent) {
+        otherNodeService[0].onBranchesChanged();
+      }
+    }, Duration.ofMinutes(10));
+    otherNodeService[0] = new BranchService(branchRepository, otherNodeCatalog, otherNodeBus,
+        bookingMetrics);
+
+    otherNodeCatalog.refresh();
+    originalName = branchService.findById(BRANCH_ID).map(Branch::name).orElseThrow();
+  }
+
+  @AfterEach
+  void restoreBranch() {
+    jdbcTemplate.update("UPDATE booking.branches SET name = ? WHERE id = ?",
+        originalName, BRANCH_ID);
+    branchCatalog.refresh();
+  }
+
+  @Test
+  @DisplayName("Should refresh this node when another node sees a branch change")
+  void shouldRefreshWhenAnotherNodeSeesChange() {
+    // Given
+    jdbcTemplate.update("UPDATE booking.branches SET name = ? WHERE id = ?",
+        "Renamed Branch", BRANCH_ID);
+    assertThat(branchService.findById(BRANCH_ID)).map(Branch::name).contains(originalName);
+
+    // When
+    otherNodeCatalog.refreshIfChanged();
+
+    // Then
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+        assertThat(branchService.findById(BRANCH_ID)).map(Branch::name)
+            .contains("Renamed Branch"));
+  }
+}
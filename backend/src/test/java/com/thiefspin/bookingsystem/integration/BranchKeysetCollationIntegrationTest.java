@@ -0,0 +1,108 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchCursor;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keyset pages served by the database and by the catalog snapshot must agree, so that a cursor
+ * issued by one path resumes on the other without skipping or repeating branches.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Transactional
+class BranchKeysetCollationIntegrationTest extends BaseIntegrationTest {
+
+  private static final int PAGE_SIZE = 3;
+
+  @Autowired
+  private BranchRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void insertMixedCaseBranches() {
+    String[][] branches = {
+        {"MIX001", "apple Branch"},
+        {"MIX002", "Apple Branch"},
+        {"MIX003", "a-b Branch"},
+        {"MIX004", "_underscore Branch"},
+        {"MIX005", "Zed Branch"},
+        {"MIX006", "zed Branch"},
+        {"MIX007", "Émile Branch"}
+    };
+    for (String[] branch : branches) {
+      jdbcTemplate.update("""
+              INSERT INTO booking.branches (code, name, address, phone_number, opening_time,
+                  closing_time, max_concurrent_appointments_per_slot)
+              VALUES (?, ?, '1 Main Road', '+27215550101', '08:00', '17:00', 3)
+              """,
+          branch[0], branch[1]);
+    }
+  }
+
+  @Test
+  @DisplayName("Should walk mixed-case names in the same order from the database and snapshot")
+  void shouldWalkSameOrder() {
+    // Given
+    BranchCatalogSnapshot snapshot = BranchCatalogSnapshot.build(
+        repository.findAllBranches(), 1, Instant.now());
+
+    // When
+    List<Long> fromDatabase = new ArrayList<>();
+    BranchCursor cursor = null;
+    List<BranchEntity> page;
+    do {
+      page = repository.findAfter(cursor, PAGE_SIZE);
+      page.forEach(branch -> fromDatabase.add(branch.id()));
+      if (!page.isEmpty()) {
+        BranchEntity last = page.get(page.size() - 1);
+        cursor = new BranchCursor(last.name(), last.id());
+      }
+    } while (page.size() == PAGE_SIZE);
+
+    // Then
+    assertThat(fromDatabase)
+        .containsExactlyElementsOf(snapshot.range(0, snapshot.size()).stream()
+            .map(Branch::id).toList());
+  }
+
+  @Test
+  @DisplayName("Should resume a snapshot cursor on the database at the same position")
+  void shouldResumeAcrossPaths() {
+    // Given
+    BranchCatalogSnapshot snapshot = BranchCatalogSnapshot.build(
+        repository.findAllBranches(), 1, Instant.now());
+
+    for (int offset = 0; offset < snapshot.size(); offset++) {
+      BranchCursor cursor = BranchCursor.after(snapshot.range(offset, 1).get(0));
+
+      // When
+      List<Long> fromSnapshot = snapshot.after(cursor, PAGE_SIZE).stream()
+          .map(Branch::id).toList();
+      List<Long> fromDatabase = repository.findAfter(cursor, PAGE_SIZE).stream()
+          .map(BranchEntity::id).toList();
+
+      // Then
+      assertThat(fromDatabase).as("page after %s", cursor.name())
+          .containsExactlyElementsOf(fromSnapshot);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.notifications.BranchSchedule;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import com.thiefspin.bookingsystem.notifications.digests.BranchScheduleDigestJob;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Claims in {@code branch_schedule_digests} against Postgres: a schedule is marked sent only after
+ * the send, and a claim left behind by a node that died before sending lapses.
+ */
+@SpringBootTest(properties = "notifications.digests.branch-schedule.cron=-")
+@ActiveProfiles("integration")
+class BranchScheduleDigestIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  private BranchRepository branchRepository;
+
+  @Autowired
+  private AppointmentRepository appointmentRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private final NotificationService notificationService = mock(NotificationService.class);
+
+  private final String email = "digest-" + UUID.randomUUID().toString().substring(0, 8)
+      + "@example.com";
+
+  private BranchScheduleDigestJob job;
+
+  private Long branchId;
+
+  @BeforeEach
+  void setUp() {
+    job = new BranchScheduleDigestJob(branchRepository, appointmentRepository,
+        notificationService, jdbcTemplate, Duration.ofSeconds(5), Duration.ofMinutes(10));
+    branchId = jdbcTemplate.queryForObject(
+        "SELECT id FROM booking.branches WHERE code = 'CPT001'", Long.class);
+
+    LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+    jdbcTemplate.update("""
+            INSERT INTO booking.appointments (booking_reference, branch_id, customer_first_name,
+                customer_last_name, customer_email, customer_phone, appointment_date_time,
+                duration_minutes, status, created_at)
+            VALUES (?, ?, 'Jane', 'Doe', ?, '+27821234567', ?, 30, 'CONFIRMED', ?)
+            """,
+        "BK" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT), branchId,
+        email, startOfToday.plusMinutes(1), startOfToday.minusDays(1));
+    when(notificationService.sendBranchSchedule(any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM booking.branch_schedule_digests WHERE schedule_date = ?",
+        LocalDate.now());
+    jdbcTemplate.update("DELETE FROM booking.appointments WHERE customer_email = ?", email);
+  }
+
+  private Map<String, Object> digestRow() {
+    return jdbcTemplate.queryForMap("""
+            SELECT sent_at, claimed_until FROM booking.branch_schedule_digests
+            WHERE branch_id = ? AND schedule_date = ?
+            """,
+        branchId, LocalDate.now());
+  }
+
+  private void givenClaim(String claimedUntil) {
+    jdbcTemplate.update("""
+            INSERT INTO booking.branch_schedule_digests (branch_id, schedule_date, claimed_until)
+            VALUES (?, ?, CURRENT_TIMESTAMP + CAST(? AS INTERVAL))
+            """,
+        branchId, LocalDate.now(), claimedUntil);
+  }
+
+  private static BranchSchedule forBranch(Long branchId) {
+    return argThat(schedule -> schedule != null && schedule.branchId().equals(branchId));
+  }
+
+  @Test
+  @DisplayName("Should mark the schedule sent after sending it once")
+  void shouldMarkSentAfterSending() {
+    // When
+    job.sendToday();
+    job.sendToday();
+
+    // Then
+    verify(notificationService).sendBranchSchedule(forBranch(branchId));
+    assertThat(digestRow().get("sent_at")).isNotNull();
+    assertThat(digestRow().get("claimed_until")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should take over a claim that lapsed before the schedule was sent")
+  void shouldTakeOverLapsedClaim() {
+    // Given
+    givenClaim("-1 minute");
+
+    // When
+    job.sendToday();
+
+    // Then
+    verify(notificationService).sendBranchSchedule(forBranch(branchId));
+    assertThat(digestRow().get("sent_at")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should leave a live claim to the node holding it")
+  void shouldLeaveLiveClaim() {
+    // Given
+    givenClaim("5 minutes");
+
+    // When
+    job.sendToday();
+
+    // Then
+    verify(notificationService, never()).sendBranchSchedule(forBranch(branchId));
+    assertThat(digestRow().get("sent_at")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should drop the claim when the send fails")
+  void shouldDropClaimWhenSendFails() {
+    // Given
+    when(notificationService.sendBranchSchedule(any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("smtp down")));
+
+    // When
+    job.sendToday();
+
+    // Then
+    assertThat(jdbcTemplate.queryForObject("""
+            SELECT COUNT(*) FROM booking.branch_schedule_digests
+            WHERE branch_id = ? AND schedule_date = ?
+            """,
+        Integer.class, branchId, LocalDate.now())).isZero();
+  }
+}
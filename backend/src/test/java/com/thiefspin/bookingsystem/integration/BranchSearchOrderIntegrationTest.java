@@ -0,0 +1,76 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.branches.Branch;
+import com.thiefspin.bookingsystem.branches.BranchEntity;
+import com.thiefspin.bookingsystem.branches.BranchRepository;
+import com.thiefspin.bookingsystem.branches.catalog.BranchCatalogSnapshot;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * A search answered by the database, while the catalog is not loaded, must rank branches the same
+ * way as the catalog snapshot's search index.
+ */
+@SpringBootTest
+@ActiveProfiles("integration")
+@Transactional
+class BranchSearchOrderIntegrationTest extends BaseIntegrationTest {
+
+  @Autowired
+  private BranchRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void insertBranches() {
+    String[][] branches = {
+        {"RNK001", "Harbour Branch", "1 Rank Road"},
+        {"RANKED", "Alpha Branch", "2 Quay Street"},
+        {"RNK003", "rank Outlet", "3 Quay Street"},
+        {"RNK004", "Zulu Ranking Branch", "4 Quay Street"},
+        {"RNK005", "Bravo Branch", "5 Frank Avenue"}
+    };
+    for (String[] branch : branches) {
+      jdbcTemplate.update("""
+              INSERT INTO booking.branches (code, name, address, phone_number, opening_time,
+                  closing_time, max_concurrent_appointments_per_slot)
+              VALUES (?, ?, ?, '+27215550101', '08:00', '17:00', 3)
+              """,
+          branch[0], branch[1], branch[2]);
+    }
+  }
+
+  @Test
+  @DisplayName("Should rank search hits the same from the database and the snapshot")
+  void shouldRankSameOrder() {
+    // Given
+    BranchCatalogSnapshot snapshot = BranchCatalogSnapshot.build(
+        repository.findAllBranches(), 1, Instant.now());
+
+    for (String term : List.of("rank", "ranked", "rnk", "quay", "branch", "a")) {
+      // When
+      List<Long> fromDatabase = repository.searchActive(term, PageRequest.of(0, 100)).stream()
+          .map(BranchEntity::id).toList();
+      List<Long> fromSnapshot = snapshot.searchIndex().search(term, 0, 100).content().stream()
+          .map(Branch::id).toList();
+
+      // Then
+      assertThat(fromDatabase).as("search for %s", term)
+          .isNotEmpty()
+          .containsExactlyElementsOf(fromSnapshot);
+    }
+  }
+}
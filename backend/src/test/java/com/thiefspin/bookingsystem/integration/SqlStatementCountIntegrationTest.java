@@ -0,0 +1,122 @@
+package com.thiefspin.bookingsystem.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.thiefspin.bookingsystem.BaseIntegrationTest;
+import com.thiefspin.bookingsystem.config.sql.SqlAccountingHeaders;
+import com.thiefspin.bookingsystem.config.sql.SqlStatementCounter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Query budgets of the read endpoints, so that an N+1 shows up as a failing test.
+ */
+@SpringBootTest(properties = "sql-accounting.response-headers=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("integration")
+class SqlStatementCountIntegrationTest extends BaseIntegrationTest {
+
+  @RegisterExtension
+  final SqlStatementCounter sql = new SqlStatementCounter();
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("Should list branches with at most one statement")
+  void shouldListBranches() throws Exception {
+    // Given
+    sql.reset();
+
+    // When
+    mockMvc.perform(get("/api/branches").param("page", "0").param("size", "10"))
+        .andExpect(status().isOk());
+
+    // Then
+    assertThat(sql.statements()).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should find and search branches with at most one statement each")
+  void shouldFindAndSearchBranches() throws Exception {
+    // Given
+    sql.reset();
+
+    // When
+    mockMvc.perform(get("/api/branches/1")).andExpect(status().isOk());
+    int find = sql.statements();
+    sql.reset();
+    mockMvc.perform(get("/api/branches/search").param("query", "Claremont"))
+        .andExpect(status().isOk());
+
+    // Then
+    assertThat(find).isLessThanOrEqualTo(1);
+    assertThat(sql.statements()).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should stay within budget for slots and serve a repeat request from cache")
+  void shouldServeSlotsWithinBudget() throws Exception {
+    // Given
+    LocalDate date = LocalDate.now().plusDays(7);
+    sql.reset();
+
+    // When
+    mockMvc.perform(get("/api/appointments/slots").param("branchId", "1")
+            .param("date", date.toString()))
+        .andExpect(status().isOk());
+    int first = sql.statements();
+    sql.reset();
+    mockMvc.perform(get("/api/appointments/slots").param("branchId", "1")
+            .param("date", date.toString()))
+        .andExpect(status().isOk());
+
+    // Then
+    assertThat(first).isBetween(1, 20);
+    assertThat(sql.statements()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should find nearby branches with their next slots in one statement")
+  void shouldFindNearbyWithNextSlots() throws Exception {
+    // Given
+    sql.reset();
+
+    // When
+    mockMvc.perform(get("/api/branches/nearby")
+            .param("latitude", "-33.92")
+            .param("longitude", "18.42")
+            .param("limit", "50")
+            .param("includeNextSlot", "true"))
+        .andExpect(status().isOk());
+
+    // Then
+    assertThat(sql.statements()).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should look up an appointment with one statement and report it in headers")
+  void shouldLookUpAppointment() throws Exception {
+    // Given
+    sql.reset();
+
+    // When / Then
+    mockMvc.perform(get("/api/appointments/lookup")
+            .param("email", "nobody@example.com")
+            .param("bookingReference", "BK00000000"))
+        .andExpect(status().isNotFound())
+        .andExpect(header().string(SqlAccountingHeaders.STATEMENTS, "1"))
+        .andExpect(header().exists(SqlAccountingHeaders.TIME));
+    assertThat(sql.statements()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,151 @@
+package com.thiefspin.bookingsystem.notifications.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationEvent;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingNotificationService Tests")
+class CoalescingNotificationServiceTest {
+
+  private static final long WINDOW_NANOS = Duration.ofHours(1).toNanos();
+
+  @Mock
+  private NotificationService delegate;
+
+  private final AtomicLong now = new AtomicLong();
+
+  private CoalescingNotificationService service;
+
+  @BeforeEach
+  void setUp() {
+    // A long window keeps the background ticker out of the way; tests advance time themselves
+    CoalescingProperties properties = new CoalescingProperties(Duration.ofHours(1), 3, 100);
+    service = new CoalescingNotificationService(delegate, properties, now::get);
+    service.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    service.stop();
+  }
+
+  private static AppointmentEntity appointment(long id, String email) {
+    return new AppointmentEntity(id, "BK0000000" + id, 1L, "John", "Doe", email, "+27821234567",
+        LocalDateTime.of(2025, 1, 6, 9, 30), 30, null, null, AppointmentStatus.CONFIRMED, Instant.now(),
+        Instant.now(), null, null);
+  }
+
+  @Test
+  @DisplayName("Should send a lone event on its own once the window ends")
+  void shouldSendLoneEvent() {
+    // Given
+    AppointmentEntity appointment = appointment(1, "john.doe@example.com");
+    when(delegate.sendConfirmationEvent(appointment))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    CompletableFuture<Void> result = service.sendConfirmationEvent(appointment);
+
+    // When
+    now.addAndGet(WINDOW_NANOS);
+    service.flushExpired();
+
+    // Then
+    assertThat(result).isCompleted();
+    verify(delegate, never()).sendDigest(any());
+  }
+
+  @Test
+  @DisplayName("Should fold a recipient's events into one digest")
+  void shouldCoalesceIntoDigest() {
+    // Given
+    AppointmentEntity first = appointment(1, "john.doe@example.com");
+    AppointmentEntity second = appointment(2, "John.Doe@example.com");
+    when(delegate.sendDigest(any())).thenReturn(CompletableFuture.completedFuture(null));
+    CompletableFuture<Void> confirmed = service.sendConfirmationEvent(first);
+    CompletableFuture<Void> cancelled = service.sendCancellationEvent(second);
+
+    // When
+    assertThat(confirmed).isNotDone();
+    now.addAndGet(WINDOW_NANOS);
+    service.flushExpired();
+
+    // Then
+    assertThat(confirmed).isCompleted();
+    assertThat(cancelled).isCompleted();
+    verify(delegate).sendDigest(List.of(
+        new NotificationEvent(NotificationEventType.CONFIRMATION, first),
+        new NotificationEvent(NotificationEventType.CANCELLATION, second)));
+  }
+
+  @Test
+  @DisplayName("Should fail every event in a digest that could not be sent")
+  void shouldFailEveryEventInFailedDigest() {
+    // Given
+    when(delegate.sendDigest(any()))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("down")));
+    CompletableFuture<Void> first = service.sendConfirmationEvent(appointment(1, "a@example.com"));
+    CompletableFuture<Void> second = service.sendReminderEvent(appointment(2, "a@example.com"));
+
+    // When
+    now.addAndGet(WINDOW_NANOS);
+    service.flushExpired();
+
+    // Then
+    assertThat(first).isCompletedExceptionally();
+    assertThat(second).isCompletedExceptionally();
+  }
+
+  @Test
+  @DisplayName("Should send a full group without waiting for the window")
+  void shouldSendFullGroupImmediately() {
+    // Given
+    when(delegate.sendDigest(any())).thenReturn(CompletableFuture.completedFuture(null));
+    service.sendConfirmationEvent(appointment(1, "a@example.com"));
+    service.sendConfirmationEvent(appointment(2, "a@example.com"));
+
+    // When
+    CompletableFuture<Void> third = service.sendConfirmationEvent(appointment(3, "a@example.com"));
+
+    // Then
+    assertThat(third).isCompleted();
+    assertThat(service.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should send held events when stopped")
+  void shouldFlushOnStop() {
+    // Given
+    AppointmentEntity appointment = appointment(1, "a@example.com");
+    when(delegate.sendCancellationEvent(appointment))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    CompletableFuture<Void> result = service.sendCancellationEvent(appointment);
+
+    // When
+    service.stop();
+
+    // Then
+    assertThat(result).isCompleted();
+    assertThat(service.isRunning()).isFalse();
+  }
+}
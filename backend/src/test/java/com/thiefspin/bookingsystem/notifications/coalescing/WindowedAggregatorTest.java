@@ -0,0 +1,65 @@
+package com.thiefspin.bookingsystem.notifications.coalescing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("WindowedAggregator Tests")
+class WindowedAggregatorTest {
+
+  @Test
+  @DisplayName("Should hold values for a key until its window ends")
+  void shouldReleaseWhenWindowEnds() {
+    // Given
+    WindowedAggregator<String, Integer> aggregator = new WindowedAggregator<>(100, 10, 100);
+    aggregator.add("a", 1, 0);
+    aggregator.add("b", 2, 50);
+    aggregator.add("a", 3, 90);
+
+    // When
+    List<List<Integer>> early = aggregator.expire(99);
+    List<List<Integer>> first = aggregator.expire(100);
+    List<List<Integer>> second = aggregator.expire(150);
+
+    // Then
+    assertThat(early).isEmpty();
+    assertThat(first).containsExactly(List.of(1, 3));
+    assertThat(second).containsExactly(List.of(2));
+    assertThat(aggregator.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should release a group as soon as it is full")
+  void shouldReleaseFullGroup() {
+    // Given
+    WindowedAggregator<String, Integer> aggregator = new WindowedAggregator<>(100, 2, 100);
+    aggregator.add("a", 1, 0);
+
+    // When
+    List<List<Integer>> released = aggregator.add("a", 2, 10);
+
+    // Then
+    assertThat(released).containsExactly(List.of(1, 2));
+    assertThat(aggregator.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should release the oldest groups early when too many values are held")
+  void shouldEvictOldestGroups() {
+    // Given
+    WindowedAggregator<String, Integer> aggregator = new WindowedAggregator<>(100, 10, 3);
+    aggregator.add("a", 1, 0);
+    aggregator.add("b", 2, 1);
+    aggregator.add("a", 3, 2);
+
+    // When
+    List<List<Integer>> released = aggregator.add("c", 4, 3);
+
+    // Then
+    assertThat(released).containsExactly(List.of(1, 3));
+    assertThat(aggregator.pending()).isEqualTo(2);
+    assertThat(aggregator.drain()).containsExactly(List.of(2), List.of(4));
+  }
+}
@@ -0,0 +1,244 @@
+package com.thiefspin.bookingsystem.notifications.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NotificationExecutor Tests")
+class NotificationExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private NotificationExecutor executor;
+  private CountDownLatch release;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    release = new CountDownLatch(1);
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    if (executor != null) {
+      executor.stop();
+    }
+  }
+
+  private NotificationExecutor executor(int maxConcurrency, int queueCapacity,
+      OverflowPolicy policy) {
+    executor = new NotificationExecutor(new NotificationExecutorProperties(
+        maxConcurrency, queueCapacity, policy, Duration.ofSeconds(5)), meterRegistry);
+    return executor;
+  }
+
+  private Runnable blocking() {
+    return () -> {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+  }
+
+  private static void awaitCondition(java.util.function.BooleanSupplier condition)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+
+  @Nested
+  @DisplayName("Concurrency")
+  class ConcurrencyTests {
+
+    @Test
+    @DisplayName("Should never run more sends than the concurrency limit")
+    void shouldRespectConcurrencyLimit() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(3, 100, OverflowPolicy.REJECT);
+      AtomicInteger running = new AtomicInteger();
+      AtomicInteger peak = new AtomicInteger();
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 50; i++) {
+        futures.add(executor.submit("confirmation", () -> {
+          peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+          try {
+            Thread.sleep(2);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          running.decrementAndGet();
+        }));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+      // Then
+      assertThat(peak.get()).isLessThanOrEqualTo(3);
+      assertThat(meterRegistry.get("notifications.send").tag("outcome", "success").timer()
+          .count()).isEqualTo(50);
+      awaitCondition(() -> executor.inFlight() == 0);
+    }
+
+    @Test
+    @DisplayName("Should queue sends while every permit is taken")
+    void shouldQueueWhenBusy() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(1, 10, OverflowPolicy.REJECT);
+      CompletableFuture<Void> first = executor.submit("confirmation", blocking());
+
+      // When
+      CompletableFuture<Void> second = executor.submit("confirmation", () -> { });
+
+      // Then
+      assertThat(executor.queued()).isEqualTo(1);
+      assertThat(meterRegistry.get("notifications.queue.depth").gauge().value()).isEqualTo(1);
+      release.countDown();
+      CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+      assertThat(executor.queued()).isZero();
+    }
+  }
+
+  @Nested
+  @DisplayName("Overflow")
+  class OverflowTests {
+
+    @Test
+    @DisplayName("Should reject sends when the queue is full")
+    void shouldRejectWhenFull() {
+      // Given
+      NotificationExecutor executor = executor(1, 1, OverflowPolicy.REJECT);
+      executor.submit("confirmation", blocking());
+      executor.submit("confirmation", blocking());
+
+      // When
+      CompletableFuture<Void> overflow = executor.submit("confirmation", () -> { });
+
+      // Then
+      assertThatThrownBy(overflow::get).hasCauseInstanceOf(RejectedExecutionException.class);
+      assertThat(meterRegistry.get("notifications.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run overflowing sends on the caller")
+    void shouldRunOnCaller() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(1, 1, OverflowPolicy.CALLER_RUNS);
+      executor.submit("confirmation", blocking());
+      executor.submit("confirmation", blocking());
+      AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+      // When
+      CompletableFuture<Void> overflow = executor.submit("confirmation",
+          () -> ranOn.set(Thread.currentThread()));
+
+      // Then
+      assertThat(overflow).isCompleted();
+      assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    @DisplayName("Should discard the oldest queued send")
+    void shouldDiscardOldest() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(1, 1, OverflowPolicy.DISCARD_OLDEST);
+      CompletableFuture<Void> running = executor.submit("confirmation", blocking());
+      CompletableFuture<Void> oldest = executor.submit("confirmation", () -> { });
+
+      // When
+      CompletableFuture<Void> newest = executor.submit("confirmation", () -> { });
+
+      // Then
+      assertThatThrownBy(oldest::get).hasCauseInstanceOf(RejectedExecutionException.class);
+      release.countDown();
+      CompletableFuture.allOf(running, newest).get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Nested
+  @DisplayName("Failures And Shutdown")
+  class FailureAndShutdownTests {
+
+    @Test
+    @DisplayName("Should fail the future and count failed sends")
+    void shouldRecordFailures() {
+      // Given
+      NotificationExecutor executor = executor(2, 10, OverflowPolicy.REJECT);
+
+      // When
+      CompletableFuture<Void> future = executor.submit("cancellation", () -> {
+        throw new IllegalStateException("SMTP down");
+      });
+
+      // Then
+      assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .hasCauseInstanceOf(IllegalStateException.class);
+      assertThat(meterRegistry.get("notifications.send")
+          .tag("type", "cancellation").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record every send of a type on the same two timers")
+    void shouldReuseSendTimers() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(2, 10, OverflowPolicy.REJECT);
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 2; i++) {
+        futures.add(executor.submit("reminder", () -> { }));
+        futures.add(executor.submit("reminder", () -> {
+          throw new IllegalStateException("SMTP down");
+        }).exceptionally(e -> null));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+      // Then
+      assertThat(meterRegistry.find("notifications.send").tag("type", "reminder").timers())
+          .hasSize(2)
+          .allSatisfy(timer -> assertThat(timer.count()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should drain queued sends on stop and reject new ones")
+    void shouldDrainOnStop() throws Exception {
+      // Given
+      NotificationExecutor executor = executor(1, 10, OverflowPolicy.REJECT);
+      AtomicInteger sent = new AtomicInteger();
+      for (int i = 0; i < 5; i++) {
+        executor.submit("confirmation", sent::incrementAndGet);
+      }
+
+      // When
+      executor.stop();
+
+      // Then
+      assertThat(sent).hasValue(5);
+      assertThat(executor.isRunning()).isFalse();
+      assertThatThrownBy(() -> executor.submit("confirmation", () -> { }).get())
+          .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.thiefspin.bookingsystem.notifications.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationDispatcher Tests")
+class NotificationDispatcherTest {
+
+  @Mock
+  private NotificationOutboxRepository outboxRepository;
+
+  @Mock
+  private AppointmentRepository appointmentRepository;
+
+  @Mock
+  private NotificationService notificationService;
+
+  private NotificationDispatcher dispatcher;
+
+  private AppointmentEntity appointment;
+
+  @BeforeEach
+  void setUp() {
+    NotificationOutboxProperties properties = new NotificationOutboxProperties(
+        2, 3, Duration.ofMinutes(1), Duration.ofSeconds(1), 3,
+        Duration.ofSeconds(5), Duration.ofMinutes(30));
+    dispatcher = new NotificationDispatcher(outboxRepository, appointmentRepository,
+        notificationService, properties);
+
+    appointment = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", "+27821234567", LocalDateTime.now().plusDays(1), 30, null, null,
+        AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null);
+  }
+
+  private static NotificationOutboxEntity entry(long id, NotificationEventType type,
+      int attempts) {
+    return new NotificationOutboxEntity(id, 10L, type.name(),
+        NotificationOutboxStatus.PENDING.name(), attempts, Instant.now(), null, Instant.now(),
+        null);
+  }
+
+  @Nested
+  @DisplayName("Dispatch Batch")
+  class DispatchBatchTests {
+
+    @Test
+    @DisplayName("Should send claimed notifications and mark them sent together")
+    void shouldSendAndMarkSent() {
+      // Given
+      when(outboxRepository.claimDue(eq(2), anyDouble())).thenReturn(List.of(
+          entry(1L, NotificationEventType.CONFIRMATION, 1),
+          entry(2L, NotificationEventType.CANCELLATION, 1)));
+      when(appointmentRepository.findAllById(List.of(10L))).thenReturn(List.of(appointment));
+      when(notificationService.sendConfirmationEvent(appointment))
+          .thenReturn(CompletableFuture.completedFuture(null));
+      when(notificationService.sendCancellationEvent(appointment))
+          .thenReturn(CompletableFuture.completedFuture(null));
+
+      // When
+      int claimed = dispatcher.dispatchBatch();
+
+      // Then
+      assertThat(claimed).isEqualTo(2);
+      verify(outboxRepository).markSent(List.of(1L, 2L));
+      verify(outboxRepository, never()).reschedule(anyLong(), anyDouble(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed notifications with backoff")
+    void shouldRescheduleFailures() {
+      // Given
+      when(outboxRepository.claimDue(eq(2), anyDouble()))
+          .thenReturn(List.of(entry(1L, NotificationEventType.CONFIRMATION, 1)));
+      when(appointmentRepository.findAllById(List.of(10L))).thenReturn(List.of(appointment));
+      when(notificationService.sendConfirmationEvent(appointment))
+          .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("SMTP down")));
+
+      // When
+      dispatcher.dispatchBatch();
+
+      // Then
+      verify(outboxRepository).reschedule(eq(1L), anyDouble(), contains("SMTP down"));
+      verify(outboxRepository, never()).markSent(any());
+    }
+
+    @Test
+    @DisplayName("Should give up once the attempts are exhausted")
+    void shouldFailAfterMaxAttempts() {
+      // Given
+      when(outboxRepository.claimDue(eq(2), anyDouble()))
+          .thenReturn(List.of(entry(1L, NotificationEventType.CONFIRMATION, 3)));
+      when(appointmentRepository.findAllById(List.of(10L))).thenReturn(List.of(appointment));
+      when(notificationService.sendConfirmationEvent(appointment))
+          .thenThrow(new IllegalStateException("boom"));
+
+      // When
+      dispatcher.dispatchBatch();
+
+      // Then
+      verify(outboxRepository).markFailed(eq(1L), contains("boom"));
+    }
+
+    @Test
+    @DisplayName("Should treat a missing appointment as a failure")
+    void shouldFailMissingAppointment() {
+      // Given
+      when(outboxRepository.claimDue(eq(2), anyDouble()))
+          .thenReturn(List.of(entry(1L, NotificationEventType.CANCELLATION, 1)));
+      when(appointmentRepository.findAllById(List.of(10L))).thenReturn(List.of());
+
+      // When
+      dispatcher.dispatchBatch();
+
+      // Then
+      verify(outboxRepository).reschedule(eq(1L), anyDouble(), contains("not found"));
+      verify(notificationService, never()).sendCancellationEvent(any());
+    }
+
+    @Test
+    @DisplayName("Should leave sends that outlive the timeout to be retried")
+    void shouldRetryTimedOutSends() {
+      // Given
+      when(outboxRepository.claimDue(eq(2), anyDouble()))
+          .thenReturn(List.of(entry(1L, NotificationEventType.CONFIRMATION, 1)));
+      when(appointmentRepository.findAllById(List.of(10L))).thenReturn(List.of(appointment));
+      when(notificationService.sendConfirmationEvent(appointment))
+          .thenReturn(new CompletableFuture<>());
+
+      // When
+      dispatcher.dispatchBatch();
+
+      // Then
+      verify(outboxRepository).reschedule(eq(1L), anyDouble(), eq("Timed out"));
+    }
+  }
+
+  @Nested
+  @DisplayName("Poll")
+  class PollTests {
+
+    @Test
+    @DisplayName("Should keep claiming while batches come back full")
+    void shouldDrainFullBatches() {
+      // Given
+      when(outboxRepository.claimDue(anyInt(), anyDouble())).thenReturn(
+          List.of(entry(1L, NotificationEventType.CONFIRMATION, 1),
+              entry(2L, NotificationEventType.CONFIRMATION, 1)),
+          List.of(entry(3L, NotificationEventType.CONFIRMATION, 1)));
+      when(appointmentRepository.findAllById(any())).thenReturn(List.of(appointment));
+      when(notificationService.sendConfirmationEvent(appointment))
+          .thenReturn(CompletableFuture.completedFuture(null));
+
+      // When
+      dispatcher.poll();
+
+      // Then
+      verify(outboxRepository, times(2)).claimDue(anyInt(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Should survive database failures")
+    void shouldSurviveDatabaseFailures() {
+      // Given
+      when(outboxRepository.claimDue(anyInt(), anyDouble()))
+          .thenThrow(new DataAccessResourceFailureException("down"));
+
+      // When
+      dispatcher.poll();
+
+      // Then
+      verify(outboxRepository, never()).markSent(any());
+    }
+  }
+
+  @Nested
+  @DisplayName("Backoff")
+  class BackoffTests {
+
+    @Test
+    @DisplayName("Should double per attempt, cap and apply jitter")
+    void shouldBackOffExponentially() {
+      NotificationOutboxProperties properties = new NotificationOutboxProperties(
+          null, null, null, null, null, Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+      assertThat(properties.backoff(1, 0)).isEqualTo(Duration.ofSeconds(5));
+      assertThat(properties.backoff(3, 0)).isEqualTo(Duration.ofSeconds(20));
+      assertThat(properties.backoff(50, 0)).isEqualTo(Duration.ofMinutes(1));
+      assertThat(properties.backoff(1, 1)).isEqualTo(Duration.ofSeconds(4));
+    }
+  }
+}
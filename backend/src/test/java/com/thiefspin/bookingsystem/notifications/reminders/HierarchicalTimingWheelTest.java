@@ -0,0 +1,93 @@
+package com.thiefspin.bookingsystem.notifications.reminders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+  @Test
+  @DisplayName("Should fire entries on the tick they are due")
+  void shouldFireOnDeadline() {
+    // Given
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 0);
+    wheel.schedule(2_500, "a");
+    wheel.schedule(3_000, "b");
+
+    // When / Then
+    assertThat(wheel.advance(1_999)).isEmpty();
+    assertThat(wheel.advance(2_000)).containsExactly("a");
+    assertThat(wheel.advance(2_999)).isEmpty();
+    assertThat(wheel.advance(3_000)).containsExactly("b");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should refuse entries due within the current tick")
+  void shouldRefuseDueEntries() {
+    // Given
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1000, 8, 3, 5_000);
+
+    // When / Then
+    assertThat(wheel.schedule(5_999, "now")).isFalse();
+    assertThat(wheel.schedule(1_000, "past")).isFalse();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should cascade entries from upper levels and past the top level's span")
+  void shouldCascadeAcrossLevels() {
+    // Given a wheel spanning 4^2 = 16 ticks
+    HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 4, 2, 0);
+    SplittableRandom random = new SplittableRandom(7);
+    List<long[]> expected = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      long deadline = 1 + random.nextLong(200);
+      wheel.schedule(deadline, i);
+      expected.add(new long[]{deadline, i});
+    }
+
+    // When advancing one tick at a time
+    for (long now = 1; now <= 200; now++) {
+      List<Integer> fired = wheel.advance(now);
+
+      // Then exactly the entries due on that tick fire
+      long tick = now;
+      assertThat(fired).containsExactlyInAnyOrderElementsOf(expected.stream()
+          .filter(entry -> entry[0] == tick)
+          .map(entry -> (int) entry[1])
+          .toList());
+    }
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should fire everything overdue when advanced by a large jump")
+  void shouldCatchUpAfterJump() {
+    // Given
+    HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 16, 3, 0);
+    for (int i = 1; i <= 100; i++) {
+      wheel.schedule(i * 37L, i);
+    }
+
+    // When
+    List<Integer> fired = wheel.advance(1_850);
+
+    // Then
+    assertThat(fired).hasSize(50).isSorted();
+    assertThat(wheel.size()).isEqualTo(50);
+  }
+
+  @Test
+  @DisplayName("Should reject wheel sizes that are not powers of two")
+  void shouldRejectInvalidWheelSize() {
+    assertThatThrownBy(() -> new HierarchicalTimingWheel<>(1000, 10, 3, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,241 @@
+package com.thiefspin.bookingsystem.notifications.reminders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentRepository;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationService;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReminderScheduler Tests")
+class ReminderSchedulerTest {
+
+  private static final ZoneId ZONE = ZoneOffset.UTC;
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+  @Mock
+  private AppointmentRepository repository;
+
+  @Mock
+  private NotificationService notificationService;
+
+  private MutableClock clock;
+
+  private ReminderScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(NOW.atZone(ZONE).toInstant());
+    ReminderProperties properties = new ReminderProperties(Duration.ofHours(24),
+        Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofMinutes(15), 2, 10, 2,
+        Duration.ofSeconds(1), Duration.ofSeconds(1), 64, 4);
+    scheduler = new ReminderScheduler(repository, notificationService, properties, clock);
+  }
+
+  private static AppointmentEntity appointment(long id, LocalDateTime dateTime,
+      AppointmentStatus status) {
+    return new AppointmentEntity(id, "BK0000000" + id, 1L, "John", "Doe", "john.doe@example.com",
+        "+27821234567", dateTime, 30, null, null, status, Instant.now(), Instant.now(), null,
+        null);
+  }
+
+  @Nested
+  @DisplayName("Claiming")
+  class ClaimingTests {
+
+    @Test
+    @DisplayName("Should claim the window in keyset-ordered chunks")
+    void shouldClaimInChunks() {
+      // Given
+      LocalDateTime first = NOW.plusHours(24).plusMinutes(1);
+      LocalDateTime second = NOW.plusHours(24).plusMinutes(2);
+      when(repository.claimReminders(eq(NOW.plusHours(23)), eq(0L),
+          eq(NOW.plusHours(24).plusMinutes(5)), eq(2), anyDouble(), anyDouble()))
+          .thenReturn(List.of(appointment(2, second, AppointmentStatus.CONFIRMED),
+              appointment(1, first, AppointmentStatus.CONFIRMED)));
+      when(repository.claimReminders(eq(second), eq(2L), any(), eq(2), anyDouble(),
+          anyDouble()))
+          .thenReturn(List.of(appointment(3, second, AppointmentStatus.CONFIRMED)));
+
+      // When
+      int claimed = scheduler.claimDue();
+
+      // Then
+      assertThat(claimed).isEqualTo(3);
+      assertThat(scheduler.scheduledCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should stop claiming once the scheduling limit is reached")
+    void shouldRespectMaxScheduled() {
+      // Given
+      LocalDateTime dateTime = NOW.plusHours(24).plusMinutes(1);
+      when(repository.claimReminders(any(), anyLong(), any(), anyInt(), anyDouble(), anyDouble()))
+          .thenReturn(
+              List.of(appointment(1, dateTime, AppointmentStatus.CONFIRMED), appointment(2, dateTime, AppointmentStatus.CONFIRMED)),
+              List.of(appointment(3, dateTime, AppointmentStatus.CONFIRMED), appointment(4, dateTime, AppointmentStatus.CONFIRMED)),
+              List.of(appointment(5, dateTime, AppointmentStatus.CONFIRMED), appointment(6, dateTime, AppointmentStatus.CONFIRMED)),
+              List.of(appointment(7, dateTime, AppointmentStatus.CONFIRMED), appointment(8, dateTime, AppointmentStatus.CONFIRMED)),
+              List.of(appointment(9, dateTime, AppointmentStatus.CONFIRMED), appointment(10, dateTime, AppointmentStatus.CONFIRMED)),
+              List.of(appointment(11, dateTime, AppointmentStatus.CONFIRMED)));
+
+      // When
+      scheduler.claimDue();
+
+      // Then
+      assertThat(scheduler.scheduledCount()).isEqualTo(10);
+    }
+  }
+
+  @Nested
+  @DisplayName("Firing")
+  class FiringTests {
+
+    @Test
+    @DisplayName("Should send reminders when they fall due and record them")
+    void shouldFireWhenDue() {
+      // Given
+      AppointmentEntity appointment = appointment(1, NOW.plusHours(24).plusMinutes(3),
+          AppointmentStatus.CONFIRMED);
+      when(repository.claimReminders(any(), anyLong(), any(), anyInt(), anyDouble(), anyDouble()))
+          .thenReturn(List.of(appointment));
+      when(repository.findAllById(List.of(1L))).thenReturn(List.of(appointment));
+      when(notificationService.sendReminderEvent(appointment))
+          .thenReturn(CompletableFuture.completedFuture(null));
+      scheduler.claimDue();
+
+      // When
+      clock.advance(Duration.ofMinutes(2));
+      scheduler.fire();
+
+      // Then nothing is due yet
+      verify(notificationService, never()).sendReminderEvent(any());
+
+      // When
+      clock.advance(Duration.ofMinutes(1));
+      scheduler.fire();
+
+      // Then
+      verify(notificationService).sendReminderEvent(appointment);
+      verify(repository).markRemindersSent(List.of(1L));
+      assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should send overdue reminders on the next tick")
+    void shouldFireOverdueImmediately() {
+      // Given a reminder that was due ten minutes ago
+      AppointmentEntity appointment = appointment(1, NOW.plusHours(24).minusMinutes(10),
+          AppointmentStatus.CONFIRMED);
+      when(repository.claimReminders(any(), anyLong(), any(), anyInt(), anyDouble(), anyDouble()))
+          .thenReturn(List.of(appointment));
+      when(repository.findAllById(List.of(1L))).thenReturn(List.of(appointment));
+      when(notificationService.sendReminderEvent(appointment))
+          .thenReturn(CompletableFuture.completedFuture(null));
+      scheduler.claimDue();
+
+      // When
+      scheduler.fire();
+
+      // Then
+      verify(repository).markRemindersSent(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should skip appointments cancelled after they were claimed")
+    void shouldSkipCancelled() {
+      // Given
+      LocalDateTime dateTime = NOW.plusHours(24).minusMinutes(1);
+      when(repository.claimReminders(any(), anyLong(), any(), anyInt(), anyDouble(), anyDouble()))
+          .thenReturn(List.of(appointment(1, dateTime, AppointmentStatus.CONFIRMED)));
+      when(repository.findAllById(List.of(1L)))
+          .thenReturn(List.of(appointment(1, dateTime, AppointmentStatus.CANCELLED)));
+      scheduler.claimDue();
+
+      // When
+      scheduler.fire();
+
+      // Then
+      verify(notificationService, never()).sendReminderEvent(any());
+      verify(repository, never()).markRemindersSent(any());
+      assertThat(scheduler.scheduledCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the claims of reminders that failed to send")
+    void shouldReleaseFailures() {
+      // Given
+      LocalDateTime dateTime = NOW.plusHours(24).minusMinutes(1);
+      AppointmentEntity sent = appointment(1, dateTime, AppointmentStatus.CONFIRMED);
+      AppointmentEntity failed = appointment(2, dateTime, AppointmentStatus.CONFIRMED);
+      when(repository.claimReminders(any(), anyLong(), any(), anyInt(), anyDouble(), anyDouble()))
+          .thenReturn(List.of(sent, failed), List.of());
+      when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(sent, failed));
+      when(notificationService.sendReminderEvent(sent))
+          .thenReturn(CompletableFuture.completedFuture(null));
+      when(notificationService.sendReminderEvent(failed))
+          .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+      scheduler.claimDue();
+
+      // When
+      scheduler.fire();
+
+      // Then
+      verify(repository).markRemindersSent(List.of(1L));
+      verify(repository).releaseReminderClaims(List.of(2L));
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZONE;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
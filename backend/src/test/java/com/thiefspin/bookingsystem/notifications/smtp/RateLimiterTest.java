@@ -0,0 +1,48 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  @DisplayName("Should allow a burst of one second's permits, then space callers out")
+  void shouldAllowBurstThenSpaceOut() {
+    // Given
+    RateLimiter limiter = new RateLimiter(10, now::get);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.reserve()).isZero();
+    }
+
+    // Then each further caller waits one more interval
+    assertThat(limiter.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(100), within(1_000L));
+    assertThat(limiter.reserve()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(200), within(1_000L));
+  }
+
+  @Test
+  @DisplayName("Should refill with elapsed time up to the burst size")
+  void shouldRefill() {
+    // Given
+    RateLimiter limiter = new RateLimiter(2, now::get);
+    limiter.reserve();
+    limiter.reserve();
+
+    // When
+    now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    // Then
+    assertThat(limiter.reserve()).isZero();
+    assertThat(limiter.reserve()).isZero();
+    assertThat(limiter.reserve()).isPositive();
+  }
+}
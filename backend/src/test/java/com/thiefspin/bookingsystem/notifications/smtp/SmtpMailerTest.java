@@ -0,0 +1,202 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.thiefspin.bookingsystem.notifications.smtp.SmtpTestServer.Received;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SmtpMailer Tests")
+class SmtpMailerTest {
+
+  private SmtpTestServer server;
+
+  private SmtpMailer mailer;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (mailer != null) {
+      mailer.stop();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  static SmtpProperties properties(int port, int poolSize, int maxMessagesPerConnection) {
+    return new SmtpProperties("127.0.0.1", port, null, null, false, "bookings@company.com",
+        "test", poolSize, 20, 1000, maxMessagesPerConnection, Duration.ofSeconds(30),
+        Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10), 0.0, null);
+  }
+
+  private void start(boolean pipelining, int poolSize, int maxMessagesPerConnection)
+      throws IOException {
+    server = new SmtpTestServer(pipelining, Duration.ZERO);
+    mailer = new SmtpMailer(properties(server.port(), poolSize, maxMessagesPerConnection));
+    mailer.start();
+  }
+
+  private static SmtpMessage message(String to, String body) {
+    return new SmtpMessage("bookings@company.com", to, "Appointment confirmed - BK12345678",
+        body);
+  }
+
+  private static void awaitAll(List<CompletableFuture<Void>> sends) {
+    CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+        .handle((ignored, ex) -> null)
+        .orTimeout(10, TimeUnit.SECONDS)
+        .join();
+  }
+
+  @Nested
+  @DisplayName("Pipelined Relay")
+  class PipelinedTests {
+
+    @Test
+    @DisplayName("Should deliver every message over one persistent connection")
+    void shouldReuseConnection() throws Exception {
+      // Given
+      start(true, 1, 1000);
+      List<CompletableFuture<Void>> sends = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 25; i++) {
+        sends.add(mailer.submit(message("customer" + i + "@example.com", "Dear customer " + i)));
+      }
+      awaitAll(sends);
+
+      // Then
+      assertThat(sends).allMatch(send -> send.isDone() && !send.isCompletedExceptionally());
+      assertThat(server.received()).hasSize(25);
+      assertThat(server.connections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should send headers and a UTF-8 body intact")
+    void shouldEncodeContent() throws Exception {
+      // Given
+      start(true, 1, 1000);
+
+      // When
+      mailer.submit(new SmtpMessage("bookings@company.com", "zoe@example.com",
+          "Afspraak bevestig – BK1", "Dear Zoë\nLine two\n.leading dot"))
+          .get(10, TimeUnit.SECONDS);
+
+      // Then
+      Received received = server.received().get(0);
+      assertThat(received.to()).isEqualTo("zoe@example.com");
+      assertThat(received.header("Subject")).startsWith("=?UTF-8?B?");
+      assertThat(received.header("Content-Type")).isEqualTo("text/plain; charset=UTF-8");
+      assertThat(received.body()).isEqualTo("Dear Zoë\r\nLine two\r\n.leading dot");
+    }
+
+    @Test
+    @DisplayName("Should fail only the message whose recipient is refused")
+    void shouldFailOnlyRejectedMessage() {
+      // Given
+      start(true, 1, 1000);
+      server.rejectRecipient("unknown@example.com");
+
+      // When
+      CompletableFuture<Void> first = mailer.submit(message("a@example.com", "a"));
+      CompletableFuture<Void> rejected = mailer.submit(message("unknown@example.com", "b"));
+      CompletableFuture<Void> last = mailer.submit(message("c@example.com", "c"));
+      awaitAll(List.of(first, rejected, last));
+
+      // Then
+      assertThat(first).isCompleted();
+      assertThat(last).isCompleted();
+      assertThatThrownBy(rejected::get)
+          .isInstanceOf(ExecutionException.class)
+          .cause()
+          .isInstanceOfSatisfying(SmtpException.class,
+              ex -> assertThat(ex.replyCode()).isEqualTo(550));
+      assertThat(server.received()).extracting(Received::to)
+          .containsExactly("a@example.com", "c@example.com");
+      assertThat(server.connections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replace a connection after its message limit")
+    void shouldRecycleConnections() throws Exception {
+      // Given
+      start(true, 1, 2);
+
+      // When
+      for (int i = 0; i < 5; i++) {
+        mailer.submit(message("customer" + i + "@example.com", "body")).get(10, TimeUnit.SECONDS);
+      }
+
+      // Then
+      assertThat(server.received()).hasSize(5);
+      assertThat(server.connections()).isEqualTo(3);
+    }
+  }
+
+  @Nested
+  @DisplayName("Plain Relay")
+  class PlainTests {
+
+    @Test
+    @DisplayName("Should send command by command when pipelining is not offered")
+    void shouldSendWithoutPipelining() {
+      // Given
+      start(false, 2, 1000);
+      server.rejectRecipient("unknown@example.com");
+      List<CompletableFuture<Void>> sends = new ArrayList<>();
+
+      // When
+      for (int i = 0; i < 10; i++) {
+        sends.add(mailer.submit(message("customer" + i + "@example.com", "body")));
+      }
+      CompletableFuture<Void> rejected = mailer.submit(message("unknown@example.com", "b"));
+      sends.add(rejected);
+      awaitAll(sends);
+
+      // Then
+      assertThat(rejected).isCompletedExceptionally();
+      assertThat(server.received()).hasSize(10);
+      assertThat(server.connections()).isLessThanOrEqualTo(2);
+    }
+  }
+
+  @Test
+  @DisplayName("Should fail messages when the relay cannot be reached")
+  void shouldFailWhenRelayUnreachable() throws IOException {
+    // Given a port nothing listens on
+    int port;
+    try (SmtpTestServer closed = new SmtpTestServer(true, Duration.ZERO)) {
+      port = closed.port();
+    }
+    mailer = new SmtpMailer(properties(port, 1, 1000));
+    mailer.start();
+
+    // When
+    CompletableFuture<Void> send = mailer.submit(message("a@example.com", "a"));
+
+    // Then
+    assertThatThrownBy(() -> send.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IOException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject messages when not running")
+  void shouldRejectWhenStopped() {
+    // Given
+    mailer = new SmtpMailer(properties(25, 1, 1000));
+
+    // When / Then
+    assertThat(mailer.submit(message("a@example.com", "a"))).isCompletedExceptionally();
+  }
+}
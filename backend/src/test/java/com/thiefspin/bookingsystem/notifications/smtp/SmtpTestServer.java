@@ -0,0 +1,238 @@
+package com.thiefspin.bookingsystem.notifications.smtp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests and benchmarks.
+ * <p>
+ * Accepts everything except recipients added with {@link #rejectRecipient}, optionally
+ * advertises {@code PIPELINING}, and can hold each flush of replies for a fixed latency to stand
+ * in for the round trip to a real relay. Replies are only flushed once the client has nothing
+ * more buffered, so pipelined commands are answered together as a real server would.
+ */
+public final class SmtpTestServer implements Closeable {
+
+  private final boolean pipelining;
+
+  private final Duration latency;
+
+  private final ServerSocket serverSocket;
+
+  private final boolean retain;
+
+  private final Queue<Received> received = new ConcurrentLinkedQueue<>();
+
+  private final AtomicInteger receivedCount = new AtomicInteger();
+
+  private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger connections = new AtomicInteger();
+
+  private final AtomicInteger flushes = new AtomicInteger();
+
+  public SmtpTestServer(boolean pipelining, Duration latency) throws IOException {
+    this(pipelining, latency, true);
+  }
+
+  /**
+   * With {@code retain} false only the count of received messages is kept, for long runs.
+   */
+  public SmtpTestServer(boolean pipelining, Duration latency, boolean retain)
+      throws IOException {
+    this.pipelining = pipelining;
+    this.latency = latency;
+    this.retain = retain;
+    this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread.ofVirtual().name("smtp-test-server").start(this::accept);
+  }
+
+  public int port() {
+    return serverSocket.getLocalPort();
+  }
+
+  public List<Received> received() {
+    return List.copyOf(received);
+  }
+
+  public int receivedCount() {
+    return receivedCount.get();
+  }
+
+  public int connections() {
+    return connections.get();
+  }
+
+  /**
+   * Number of times replies were flushed back to clients, i.e. round trips served.
+   */
+  public int flushes() {
+    return flushes.get();
+  }
+
+  public void rejectRecipient(String address) {
+    rejected.add(address);
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        connections.incrementAndGet();
+        Thread.ofVirtual().start(() -> serve(socket));
+      } catch (IOException ex) {
+        return;
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      InputStream in = new BufferedInputStream(socket.getInputStream());
+      OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+      reply(out, "220 localhost test SMTP");
+      flush(out);
+
+      String from = null;
+      String to = null;
+      String line;
+      while ((line = readLine(in)) != null) {
+        String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line;
+        switch (command) {
+          case "EHLO" -> reply(out, pipelining
+              ? "250-localhost\r\n250-PIPELINING\r\n250 8BITMIME"
+              : "250-localhost\r\n250 8BITMIME");
+          case "MAIL" -> {
+            from = between(line);
+            to = null;
+            reply(out, "250 OK");
+          }
+          case "RCPT" -> {
+            String recipient = between(line);
+            if (rejected.contains(recipient)) {
+              reply(out, "550 No such user");
+            } else {
+              to = recipient;
+              reply(out, "250 OK");
+            }
+          }
+          case "DATA" -> {
+            if (from == null || to == null) {
+              reply(out, "554 No valid recipients");
+              break;
+            }
+            reply(out, "354 End data with <CR><LF>.<CR><LF>");
+            flush(out);
+            String data = readData(in);
+            receivedCount.incrementAndGet();
+            if (retain) {
+              received.add(new Received(from, to, data));
+            }
+            from = null;
+            to = null;
+            reply(out, "250 Queued");
+          }
+          case "RSET" -> {
+            from = null;
+            to = null;
+            reply(out, "250 OK");
+          }
+          case "NOOP" -> reply(out, "250 OK");
+          case "QUIT" -> {
+            reply(out, "221 Bye");
+            flush(out);
+            return;
+          }
+          default -> reply(out, "502 Command not implemented");
+        }
+        if (in.available() == 0) {
+          flush(out);
+        }
+      }
+    } catch (IOException | InterruptedException ex) {
+      // Client went away
+    }
+  }
+
+  private void flush(OutputStream out) throws IOException, InterruptedException {
+    if (!latency.isZero()) {
+      Thread.sleep(latency);
+    }
+    flushes.incrementAndGet();
+    out.flush();
+  }
+
+  private static void reply(OutputStream out, String reply) throws IOException {
+    out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static String between(String line) {
+    return line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+  }
+
+  private static String readData(InputStream in) throws IOException {
+    StringBuilder data = new StringBuilder();
+    String line;
+    while ((line = readLine(in)) != null && !line.equals(".")) {
+      data.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+    }
+    return data.toString();
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int previous = -1;
+    int next;
+    while ((next = in.read()) >= 0) {
+      if (previous == '\r' && next == '\n') {
+        byte[] bytes = line.toByteArray();
+        return new String(bytes, 0, bytes.length - 1, StandardCharsets.UTF_8);
+      }
+      line.write(next);
+      previous = next;
+    }
+    return null;
+  }
+
+  public record Received(String from, String to, String data) {
+
+    public String header(String name) {
+      for (String line : data.split("\r\n")) {
+        if (line.isEmpty()) {
+          return null;
+        }
+        if (line.regionMatches(true, 0, name + ":", 0, name.length() + 1)) {
+          return line.substring(name.length() + 1).strip();
+        }
+      }
+      return null;
+    }
+
+    public String body() {
+      String encoded = data.substring(data.indexOf("\r\n\r\n") + 4);
+      return new String(Base64.getMimeDecoder().decode(encoded), StandardCharsets.UTF_8);
+    }
+  }
+}
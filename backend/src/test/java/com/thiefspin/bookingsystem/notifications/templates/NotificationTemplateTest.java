@@ -0,0 +1,177 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NotificationTemplate Tests")
+class NotificationTemplateTest {
+
+  private static AppointmentEntity appointment(LocalDateTime dateTime, String purpose,
+      String reason) {
+    return new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe", "john.doe@example.com",
+        "+27821234567", dateTime, 30, purpose, null, AppointmentStatus.CONFIRMED,
+        Instant.now(), Instant.now(), null, reason);
+  }
+
+  private static TemplateContext context(LocalDateTime dateTime, String purpose, String reason) {
+    return TemplateContext.of(NotificationEventType.CONFIRMATION,
+        appointment(dateTime, purpose, reason));
+  }
+
+  @Nested
+  @DisplayName("Rendering")
+  class RenderingTests {
+
+    @Test
+    @DisplayName("Should substitute fields between literals")
+    void shouldSubstituteFields() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse(
+          "Dear {{firstName}} {{ lastName }}, ref {{reference}} ({{duration}} min)");
+
+      // When
+      String rendered = template.render(
+          context(LocalDateTime.of(2025, 1, 6, 9, 30), null, null));
+
+      // Then
+      assertThat(rendered).isEqualTo("Dear John Doe, ref BK12345678 (30 min)");
+    }
+
+    @Test
+    @DisplayName("Should only render sections whose field has a value")
+    void shouldRenderSectionsConditionally() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse(
+          "Booked.{{#purpose}} Purpose: {{purpose}}.{{/purpose}}");
+      LocalDateTime dateTime = LocalDateTime.of(2025, 1, 6, 9, 30);
+
+      // When / Then
+      assertThat(template.render(context(dateTime, "Loan", null)))
+          .isEqualTo("Booked. Purpose: Loan.");
+      assertThat(template.render(context(dateTime, null, null))).isEqualTo("Booked.");
+      assertThat(template.render(context(dateTime, "  ", null))).isEqualTo("Booked.");
+    }
+
+    @Test
+    @DisplayName("Should format dates like the previous DateTimeFormatter pattern")
+    void shouldFormatDates() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse(
+          "{{dateTime}}|{{shortDateTime}}");
+      DateTimeFormatter formatter =
+          DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy 'at' h:mm a", Locale.ENGLISH);
+
+      // When / Then
+      for (LocalDateTime dateTime : new LocalDateTime[]{
+          LocalDateTime.of(2025, 1, 6, 9, 5),
+          LocalDateTime.of(2025, 3, 15, 0, 0),
+          LocalDateTime.of(2025, 12, 31, 12, 45),
+          LocalDateTime.of(2026, 7, 4, 23, 59)}) {
+        String[] parts = template.render(context(dateTime, null, null)).split("\\|");
+        assertThat(parts[0]).isEqualTo(dateTime.format(formatter));
+        assertThat(parts[1]).isEqualTo(
+            dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+      }
+    }
+
+    @Test
+    @DisplayName("Should append to a caller-supplied builder")
+    void shouldAppendToBuilder() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse("{{reference}}");
+      StringBuilder out = new StringBuilder("ref=");
+
+      // When
+      template.renderTo(out, context(LocalDateTime.of(2025, 1, 6, 9, 30), null, null));
+
+      // Then
+      assertThat(out).hasToString("ref=BK12345678");
+    }
+  }
+
+  @Nested
+  @DisplayName("Digest Items")
+  class DigestItemTests {
+
+    @Test
+    @DisplayName("Should render an items section once per item against that item")
+    void shouldRepeatItems() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse(
+          "{{count}} updates:{{#items}} {{event}} {{time}};{{/items}}");
+      TemplateContext digest = new TemplateContext(null, null, null, null, List.of(
+          TemplateContext.of(NotificationEventType.CONFIRMATION,
+              appointment(LocalDateTime.of(2025, 1, 6, 9, 30), null, null)),
+          TemplateContext.of(NotificationEventType.CANCELLATION,
+              appointment(LocalDateTime.of(2025, 1, 6, 14, 0), null, null))));
+
+      // When / Then
+      assertThat(template.render(digest))
+          .isEqualTo("2 updates: Confirmed 9:30 AM; Cancelled 2:00 PM;");
+    }
+
+    @Test
+    @DisplayName("Should reject items used as a plain value")
+    void shouldRejectItemsValue() {
+      assertThatThrownBy(() -> NotificationTemplate.parse("{{items}}"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("section");
+    }
+  }
+
+  @Nested
+  @DisplayName("Parsing")
+  class ParsingTests {
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void shouldRejectUnknownFields() {
+      assertThatThrownBy(() -> NotificationTemplate.parse("Hi {{nickname}}"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("nickname");
+    }
+
+    @Test
+    @DisplayName("Should reject unterminated tags")
+    void shouldRejectUnterminatedTags() {
+      assertThatThrownBy(() -> NotificationTemplate.parse("Hi {{firstName"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Unterminated");
+    }
+
+    @Test
+    @DisplayName("Should reject unclosed and mismatched sections")
+    void shouldRejectBadSections() {
+      assertThatThrownBy(() -> NotificationTemplate.parse("{{#purpose}}x"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Unclosed");
+      assertThatThrownBy(() -> NotificationTemplate.parse("{{#purpose}}x{{/reason}}"))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Unexpected");
+      assertThatThrownBy(() -> NotificationTemplate.parse("x{{/reason}}"))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should estimate at least the literal length")
+    void shouldEstimateLength() {
+      // Given
+      NotificationTemplate template = NotificationTemplate.parse("Hello {{firstName}}!");
+
+      // When / Then
+      assertThat(template.estimatedLength()).isGreaterThanOrEqualTo("Hello !".length());
+    }
+  }
+}
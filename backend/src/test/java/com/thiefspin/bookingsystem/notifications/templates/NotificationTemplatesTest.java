@@ -0,0 +1,126 @@
+package com.thiefspin.bookingsystem.notifications.templates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.thiefspin.bookingsystem.appointments.AppointmentEntity;
+import com.thiefspin.bookingsystem.appointments.AppointmentStatus;
+import com.thiefspin.bookingsystem.notifications.NotificationEventType;
+import com.thiefspin.bookingsystem.notifications.channels.NotificationChannel;
+import com.thiefspin.bookingsystem.notifications.channels.RenderedNotification;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+@DisplayName("NotificationTemplates Tests")
+class NotificationTemplatesTest {
+
+  private NotificationTemplates templates;
+
+  private AppointmentEntity appointment;
+
+  @BeforeEach
+  void setUp() {
+    templates = new NotificationTemplates(new DefaultResourceLoader());
+    appointment = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", "+27821234567", LocalDateTime.of(2025, 1, 6, 9, 30), 30,
+        "Account opening", null, AppointmentStatus.CANCELLED, Instant.now(),
+        Instant.now(), Instant.now(), "Schedule conflict");
+  }
+
+  @Test
+  @DisplayName("Should render an email with subject and body for every event type")
+  void shouldRenderEmails() {
+    for (NotificationEventType type : NotificationEventType.values()) {
+      // When
+      RenderedNotification email = templates.render(type, NotificationChannel.EMAIL, appointment);
+
+      // Then
+      assertThat(email.recipient()).isEqualTo("john.doe@example.com");
+      assertThat(email.subject()).endsWith("BK12345678").doesNotContain("{{");
+      assertThat(email.body())
+          .startsWith("Dear John Doe,")
+          .contains("Monday, January 6, 2025 at 9:30 AM")
+          .doesNotContain("{{");
+    }
+  }
+
+  @Test
+  @DisplayName("Should render a single-line SMS without a subject")
+  void shouldRenderSms() {
+    // When
+    RenderedNotification sms = templates.render(NotificationEventType.CANCELLATION,
+        NotificationChannel.SMS, appointment);
+
+    // Then
+    assertThat(sms.recipient()).isEqualTo("+27821234567");
+    assertThat(sms.subject()).isNull();
+    assertThat(sms.body().strip())
+        .isEqualTo("Hi John, your appointment BK12345678 on 2025-01-06 09:30 has been "
+            + "cancelled. Reason: Schedule conflict");
+  }
+
+  @Test
+  @DisplayName("Should skip channels the customer has no address for")
+  void shouldSkipMissingRecipient() {
+    // Given
+    AppointmentEntity noPhone = new AppointmentEntity(10L, "BK12345678", 1L, "John", "Doe",
+        "john.doe@example.com", null, LocalDateTime.of(2025, 1, 6, 9, 30), 30, null, null,
+        AppointmentStatus.CONFIRMED, Instant.now(), Instant.now(), null, null);
+
+    // When / Then
+    assertThat(templates.render(NotificationEventType.CONFIRMATION, NotificationChannel.SMS,
+        noPhone)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should render a digest of several events for the first event's customer")
+  void shouldRenderDigest() {
+    // Given
+    List<TemplateContext> items = List.of(
+        TemplateContext.of(NotificationEventType.CONFIRMATION, appointment),
+        TemplateContext.of(NotificationEventType.CANCELLATION, appointment));
+
+    // When
+    RenderedNotification email = templates.renderDigest(NotificationChannel.EMAIL, items);
+
+    // Then
+    assertThat(email.recipient()).isEqualTo("john.doe@example.com");
+    assertThat(email.subject()).isEqualTo("Updates to your appointments (2)");
+    assertThat(email.body())
+        .contains("Confirmed: BK12345678 on Monday, January 6, 2025 at 9:30 AM")
+        .contains("Cancelled: BK12345678")
+        .contains("Reason: Schedule conflict")
+        .doesNotContain("{{");
+  }
+
+  @Test
+  @DisplayName("Should render a branch schedule with one line per appointment")
+  void shouldRenderBranchSchedule() {
+    // When
+    RenderedNotification email = templates.renderBranchSchedule("claremont@company.com",
+        "Claremont Branch", LocalDate.of(2025, 1, 6), List.of(appointment));
+
+    // Then
+    assertThat(email.recipient()).isEqualTo("claremont@company.com");
+    assertThat(email.subject())
+        .isEqualTo("Claremont Branch schedule for Monday, January 6, 2025 (1 appointments)");
+    assertThat(email.body())
+        .contains("9:30 AM  John Doe (BK12345678, 30 minutes) - Account opening")
+        .doesNotContain("{{");
+  }
+
+  @Test
+  @DisplayName("Should require a subject line on email templates")
+  void shouldRequireEmailSubject() {
+    assertThatThrownBy(() -> NotificationTemplates.compile("Dear {{firstName}}\n",
+        NotificationChannel.EMAIL))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Subject");
+  }
+}
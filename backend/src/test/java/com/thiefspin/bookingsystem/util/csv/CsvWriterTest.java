@@ -0,0 +1,46 @@
+package com.thiefspin.bookingsystem.util.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsvWriter Tests")
+class CsvWriterTest {
+
+  @Test
+  @DisplayName("Should quote only fields that need it")
+  void shouldQuoteWhenNeeded() throws IOException {
+    // Given
+    StringWriter out = new StringWriter();
+    CsvWriter csv = new CsvWriter(out);
+
+    // When
+    csv.field("plain").field("a,b").field("say \"hi\"").field(null).field("").endRecord();
+
+    // Then
+    assertThat(out).hasToString("plain,\"a,b\",\"say \"\"hi\"\"\",,\"\"\r\n");
+  }
+
+  @Test
+  @DisplayName("Should read back what it wrote, including nulls and line breaks")
+  void shouldRoundTrip() throws IOException {
+    // Given
+    StringWriter out = new StringWriter();
+    CsvWriter csv = new CsvWriter(out);
+    csv.field("first line\nsecond line").field(null).field("").field(42).endRecord();
+    csv.field("x").endRecord();
+
+    // When
+    CsvReader reader = new CsvReader(new StringReader(out.toString()));
+
+    // Then
+    assertThat(reader.next()).isEqualTo(Arrays.asList("first line\nsecond line", null, "", "42"));
+    assertThat(reader.next()).containsExactly("x");
+    assertThat(reader.next()).isNull();
+  }
+}